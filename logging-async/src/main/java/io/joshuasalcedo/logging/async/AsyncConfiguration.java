@@ -1,5 +1,7 @@
 package io.joshuasalcedo.logging.async;
 
+import io.joshuasalcedo.logging.core.LogLevel;
+
 /**
  * Configuration for async logging
  */
@@ -9,6 +11,23 @@ public class AsyncConfiguration {
     private int threadCount = 2;
     private boolean discardOnOverflow = true;
     private long shutdownTimeoutSeconds = 30;
+    private WaitStrategy waitStrategy = WaitStrategy.BLOCKING;
+    private int batchSize = 256;
+    private long lingerMillis = 0;
+    private int partitions = 1;
+    private PartitionKey partitionKey = PartitionKey.LOGGER_NAME;
+    private boolean virtualThreads = false;
+    private boolean priorityShedding = false;
+    private double debugWatermark = 0.50;
+    private double infoWatermark = 0.75;
+    private double eventWatermark = 0.90;
+    private boolean expressLane = false;
+    private LogLevel expressLevel = LogLevel.ERROR;
+    private int expressQueueSize = 1024;
+    private LogLevel flushThroughLevel = null;
+    private long flushThroughTimeoutMillis = 1000;
+    private int formatThreads = 0;
+    private int pipelineWindow = 64;
     
     // TODO: Add getters and setters
     
@@ -23,4 +42,79 @@ public class AsyncConfiguration {
     
     public long getShutdownTimeoutSeconds() { return shutdownTimeoutSeconds; }
     public void setShutdownTimeoutSeconds(long shutdownTimeoutSeconds) { this.shutdownTimeoutSeconds = shutdownTimeoutSeconds; }
+    
+    public WaitStrategy getWaitStrategy() { return waitStrategy; }
+    public void setWaitStrategy(WaitStrategy waitStrategy) { this.waitStrategy = waitStrategy; }
+    
+    /** Most records handed to the wrapped handler's publishBatch at once */
+    public int getBatchSize() { return batchSize; }
+    public void setBatchSize(int batchSize) { this.batchSize = batchSize; }
+    
+    /** How long a worker waits for a partial batch to fill; 0 hands over whatever is queued */
+    public long getLingerMillis() { return lingerMillis; }
+    public void setLingerMillis(long lingerMillis) { this.lingerMillis = lingerMillis; }
+    
+    /** Number of ordered lanes, each with its own queue and worker; 1 disables partitioning */
+    public int getPartitions() { return partitions; }
+    public void setPartitions(int partitions) { this.partitions = partitions; }
+    
+    public PartitionKey getPartitionKey() { return partitionKey; }
+    public void setPartitionKey(PartitionKey partitionKey) { this.partitionKey = partitionKey; }
+    
+    /**
+     * Run workers, and so the wrapped handler, on virtual threads instead of a
+     * platform thread pool. Pair with {@link WaitStrategy#BLOCKING} or
+     * {@link WaitStrategy#SLEEPING}; a spinning strategy would hold a carrier
+     * thread, so {@link AsyncHandler} replaces it with BLOCKING.
+     */
+    public boolean isVirtualThreads() { return virtualThreads; }
+    public void setVirtualThreads(boolean virtualThreads) { this.virtualThreads = virtualThreads; }
+    
+    /**
+     * Drop records below WARN once their queue passes the level's watermark, a
+     * fraction of capacity, and always admit WARN and above
+     */
+    public boolean isPriorityShedding() { return priorityShedding; }
+    public void setPriorityShedding(boolean priorityShedding) { this.priorityShedding = priorityShedding; }
+    
+    public double getDebugWatermark() { return debugWatermark; }
+    public void setDebugWatermark(double debugWatermark) { this.debugWatermark = debugWatermark; }
+    
+    public double getInfoWatermark() { return infoWatermark; }
+    public void setInfoWatermark(double infoWatermark) { this.infoWatermark = infoWatermark; }
+    
+    public double getEventWatermark() { return eventWatermark; }
+    public void setEventWatermark(double eventWatermark) { this.eventWatermark = eventWatermark; }
+    
+    /** Give records at or above the express level their own queue, drained before the backlog */
+    public boolean isExpressLane() { return expressLane; }
+    public void setExpressLane(boolean expressLane) { this.expressLane = expressLane; }
+    
+    public LogLevel getExpressLevel() { return expressLevel; }
+    public void setExpressLevel(LogLevel expressLevel) { this.expressLevel = expressLevel; }
+    
+    public int getExpressQueueSize() { return expressQueueSize; }
+    public void setExpressQueueSize(int expressQueueSize) { this.expressQueueSize = expressQueueSize; }
+    
+    /**
+     * Level at which the publisher waits until the record has been delivered;
+     * null disables flush-through. Only applies to the express lane.
+     */
+    public LogLevel getFlushThroughLevel() { return flushThroughLevel; }
+    public void setFlushThroughLevel(LogLevel flushThroughLevel) { this.flushThroughLevel = flushThroughLevel; }
+    
+    /** Longest a flush-through publisher waits for delivery */
+    public long getFlushThroughTimeoutMillis() { return flushThroughTimeoutMillis; }
+    public void setFlushThroughTimeoutMillis(long flushThroughTimeoutMillis) { this.flushThroughTimeoutMillis = flushThroughTimeoutMillis; }
+    
+    /**
+     * Threads that format records ahead of a single writer per lane; 0 formats
+     * on the worker as before. Only handlers exposing a shared formatter benefit.
+     */
+    public int getFormatThreads() { return formatThreads; }
+    public void setFormatThreads(int formatThreads) { this.formatThreads = formatThreads; }
+    
+    /** Most chunks a lane may have formatting or waiting to be written at once */
+    public int getPipelineWindow() { return pipelineWindow; }
+    public void setPipelineWindow(int pipelineWindow) { this.pipelineWindow = pipelineWindow; }
 }
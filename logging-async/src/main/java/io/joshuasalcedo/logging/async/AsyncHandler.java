@@ -1,28 +1,265 @@
 package io.joshuasalcedo.logging.async;
+import io.joshuasalcedo.logging.async.queue.LogQueue;
+import io.joshuasalcedo.logging.async.queue.MemoryLogQueue;
+import io.joshuasalcedo.logging.async.queue.RingBufferLogQueue;
 import io.joshuasalcedo.logging.formatter.Formatter;
 
 import io.joshuasalcedo.logging.handler.Handler;
 
 import io.joshuasalcedo.logging.core.Log;
 import io.joshuasalcedo.logging.core.LogLevel;
+import io.joshuasalcedo.logging.util.MetricsBridge;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+import java.util.function.IntFunction;
 
+/**
+ * Hands records to background workers through a {@link LogQueue}.
+ * <p>
+ * By default the queue is a lock-free {@link RingBufferLogQueue} drained by a
+ * single worker, in batches, so records reach the wrapped handler in the order
+ * they were queued. Any other queue can be supplied; the requested thread count
+ * is only honoured by queues that support multiple consumers, and those do not
+ * preserve order across workers.
+ * <p>
+ * With {@link AsyncConfiguration#setPartitions(int)} above one, records are
+ * routed by {@link PartitionKey} to that many lanes, each a ring with its own
+ * worker. Records from one logger (or thread) stay in order while lanes
+ * deliver in parallel. Lanes share the wrapped handler, which must then be
+ * thread-safe, unless one handler per lane is supplied.
+ * <p>
+ * Workers hand each drain to the wrapped handler in one
+ * {@link Handler#publishBatch(List)} call, optionally lingering for a partial
+ * batch to fill. Idle workers wait according to the configured
+ * {@link WaitStrategy}.
+ * <p>
+ * Workers are platform threads from a pool per handler unless
+ * {@link AsyncConfiguration#setVirtualThreads(boolean)} is set. Virtual workers
+ * share the JVM's carrier threads with every other async handler, and a sink
+ * that blocks on JDBC or HTTP unmounts instead of holding a platform thread.
+ * A spinning {@link WaitStrategy} would pin those carriers, so virtual workers
+ * fall back to {@link WaitStrategy#BLOCKING}.
+ * <p>
+ * With {@link AsyncConfiguration#setPriorityShedding(boolean)}, records below
+ * WARN are dropped once their lane passes that level's occupancy watermark:
+ * DEBUG first, then INFO, then EVENT. The headroom above the watermarks stays
+ * free for WARN and above, which are always admitted and wait for space if the
+ * lane is completely full. {@link #getMinimumAdmittedLevel()} and
+ * {@link #getBackpressure()} let applications cut their own logging early.
+ * <p>
+ * With {@link AsyncConfiguration#setExpressLane(boolean)}, records at or above
+ * the express level go to a small queue per lane that its worker always
+ * drains before the main queue, so they wait for at most the batch in flight
+ * rather than the whole backlog. They may overtake earlier, less severe
+ * records. A flush-through level additionally makes the publisher wait,
+ * bounded, until the record has been handed to the wrapped handler.
+ * <p>
+ * When metrics are enabled, each worker reports every drain to the metrics
+ * module: the depth it found, the batch size, and its busy and idle time.
+ * Producers only add their time blocked on a full lane, on a path that is
+ * already waiting. Enqueue-to-handoff latency is sampled, one record per lane
+ * at a time, so the producer fast path stays free of shared writes.
+ * <p>
+ * With {@link AsyncConfiguration#setFormatThreads(int)}, each lane becomes a
+ * two-stage pipeline: its worker hands drained batches to a shared pool that
+ * formats them in parallel with the wrapped handler's shared formatter, and a
+ * single writer per lane puts the results back in sequence and writes them
+ * through {@link Handler#publishEncodedBatch(List, List)}. CPU-heavy
+ * formatting scales across cores while output stays ordered and I/O stays on
+ * one thread. Flushes and flush-through wait for the writer.
+ */
 public class AsyncHandler implements Handler {
     private final Handler wrappedHandler;
-    private final BlockingQueue<Log> queue;
+    private final Lane[] lanes;
+    private final PartitionKey partitionKey;
     private final ExecutorService executor;
     private final AtomicBoolean isRunning;
-    private final int maxQueueSize;
     private final boolean discardOnOverflow;
     private final AtomicInteger droppedLogs;
+    private final long shutdownTimeoutSeconds;
+    private final int batchSize;
+    private final long lingerNanos;
+    private final long startNanos;
+    private final boolean virtualThreads;
+    private final WaitStrategy waitStrategy;
+    private final boolean priorityShedding;
+    private final AtomicLongArray droppedByLevel;
+    private final LogLevel expressLevel;
+    private final LogLevel flushThroughLevel;
+    private final long flushThroughNanos;
+    private final int formatThreads;
+    private final ExecutorService formatters;
     
     // Default configuration
     private static final int DEFAULT_QUEUE_SIZE = 10000;
     private static final boolean DEFAULT_DISCARD_ON_OVERFLOW = true;
     private static final int DEFAULT_THREAD_COUNT = 2;
+    private static final long LINGER_POLL_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    // Long enough for a record to come back from a spilling queue's disk backlog
+    private static final long PROBE_EXPIRY_NANOS = TimeUnit.MINUTES.toNanos(1);
+    
+    /**
+     * One queue with its own workers and waiter. Unpartitioned handlers have a
+     * single lane.
+     */
+    private final class Lane {
+        final int index;
+        final LogQueue queue;
+        final WorkerWaiter waiter;
+        final Handler handler;
+        final LongAdder delivered = new LongAdder();
+        final AtomicInteger dropped = new AtomicInteger();
+        final int capacity;
+        final int debugLimit;
+        final int infoLimit;
+        final int eventLimit;
+        final LogQueue express;
+        final BooleanSupplier ready;
+        final String metricsName;
+        final AtomicReference<LatencyProbe> probe = new AtomicReference<>();
+        final AtomicLong producerBlockedNanos = new AtomicLong();
+        final FormattingPipeline pipeline;
+        // Set on close when the writer did not stop and may still be using the handler
+        boolean writerStuck;
+        
+        Lane(int index, LogQueue queue, AsyncConfiguration config, Handler handler, String metricsName) {
+            this.index = index;
+            this.queue = queue;
+            this.metricsName = metricsName;
+            // Same consumer model as the main queue, so any of the lane's workers may drain it
+            if (!config.isExpressLane()) {
+                this.express = null;
+            } else if (queue.supportsMultipleConsumers()) {
+                this.express = new MemoryLogQueue(config.getExpressQueueSize());
+            } else {
+                this.express = new RingBufferLogQueue(config.getExpressQueueSize());
+            }
+            this.ready = () -> hasPending() || !isRunning.get();
+            this.waiter = new WorkerWaiter(waitStrategy);
+            this.handler = handler;
+            this.capacity = queue.getCapacity();
+            this.debugLimit = limit(config.getDebugWatermark());
+            this.infoLimit = limit(config.getInfoWatermark());
+            this.eventLimit = limit(config.getEventWatermark());
+            this.pipeline = formatters == null ? null : new FormattingPipeline(handler, formatters, formatThreads,
+                    config.getPipelineWindow(), this::completeProbe, writerThreads(index));
+        }
+        
+        boolean hasPending() {
+            return !queue.isEmpty() || (express != null && !express.isEmpty());
+        }
+        
+        int depth() {
+            return queue.size() + (express != null ? express.size() : 0);
+        }
+        
+        private int limit(double watermark) {
+            return (int) (capacity * Math.max(0, Math.min(1, watermark)));
+        }
+        
+        // Depth at which records of this level are shed; WARN and above may fill the lane
+        int admitLimit(LogLevel level) {
+            int value = level.getValue();
+            if (value >= LogLevel.WARN.getValue()) {
+                return capacity;
+            } else if (value >= LogLevel.EVENT.getValue()) {
+                return eventLimit;
+            } else if (value >= LogLevel.INFO.getValue()) {
+                return infoLimit;
+            }
+            return debugLimit;
+        }
+        
+        LogLevel minimumAdmittedLevel() {
+            int depth = queue.size();
+            if (depth < debugLimit) {
+                return LogLevel.DEBUG;
+            } else if (depth < infoLimit) {
+                return LogLevel.INFO;
+            } else if (depth < eventLimit) {
+                return LogLevel.EVENT;
+            }
+            return LogLevel.WARN;
+        }
+        
+        // Time this record unless another one in the lane is already being timed
+        void sampleLatency(Log record) {
+            LatencyProbe current = probe.get();
+            long now = System.nanoTime();
+            // A queue may discard the timed record, so a probe that was never completed expires
+            if (current == null || now - current.enqueuedNanos() > PROBE_EXPIRY_NANOS) {
+                probe.compareAndSet(current, new LatencyProbe(record, now));
+            }
+        }
+        
+        // The record never made it into the queue, so free the probe for another
+        void cancelProbe(Log record) {
+            LatencyProbe current = probe.get();
+            if (current != null && current.record() == record) {
+                probe.compareAndSet(current, null);
+            }
+        }
+        
+        void completeProbe(List<Log> records) {
+            LatencyProbe current = probe.get();
+            if (current == null) {
+                return;
+            }
+            for (Log record : records) {
+                if (current.matches(record)) {
+                    probe.compareAndSet(current, null);
+                    MetricsBridge.recordAsyncLatency(metricsName, System.nanoTime() - current.enqueuedNanos());
+                    return;
+                }
+            }
+        }
+    }
+    
+    private record LatencyProbe(Log record, long enqueuedNanos) {
+        
+        /**
+         * The timed record, or a copy of it: a queue that spills to disk hands
+         * back a new instance with the same timestamp, level, logger and message
+         */
+        boolean matches(Log candidate) {
+            if (candidate == record) {
+                return true;
+            }
+            return candidate.getTimestamp() != null
+                    && candidate.getTimestamp().equals(record.getTimestamp())
+                    && candidate.getLevel() == record.getLevel()
+                    && Objects.equals(candidate.getLoggerName(), record.getLoggerName())
+                    && Objects.equals(candidate.getMessage(), record.getMessage());
+        }
+    }
+    
+    /**
+     * Point-in-time view of one lane
+     *
+     * @param lane            lane index
+     * @param depth           records waiting in the lane's queue
+     * @param delivered       records handed to the wrapped handler so far
+     * @param dropped         records discarded because the lane was full
+     * @param eventsPerSecond delivered records per second since the handler started
+     */
+    public record LaneStats(int lane, int depth, long delivered, long dropped, double eventsPerSecond) {
+    }
     
     public AsyncHandler(Handler handler) {
         this(handler, DEFAULT_QUEUE_SIZE, DEFAULT_DISCARD_ON_OVERFLOW, DEFAULT_THREAD_COUNT);
@@ -33,12 +270,75 @@ public class AsyncHandler implements Handler {
     }
     
     public AsyncHandler(Handler handler, int queueSize, boolean discardOnOverflow, int threadCount) {
-        this.wrappedHandler = handler;
-        this.maxQueueSize = queueSize;
-        this.discardOnOverflow = discardOnOverflow;
-        this.queue = new LinkedBlockingQueue<>(queueSize);
+        this(handler, new RingBufferLogQueue(queueSize), discardOnOverflow, threadCount);
+    }
+    
+    public AsyncHandler(Handler handler, LogQueue queue, boolean discardOnOverflow, int threadCount) {
+        this(handler, queue, configuration(discardOnOverflow, threadCount));
+    }
+    
+    /**
+     * Async handler over ring queues, partitioned when the configuration asks
+     * for more than one partition. All lanes share {@code handler}.
+     */
+    public AsyncHandler(Handler handler, AsyncConfiguration config) {
+        this(lane -> handler, null, config);
+    }
+    
+    /**
+     * Partitioned async handler with its own wrapped handler per lane, for
+     * handlers that are not thread-safe. Formatter, level and close are
+     * applied to every lane's handler.
+     */
+    public AsyncHandler(IntFunction<Handler> laneHandlers, AsyncConfiguration config) {
+        this(laneHandlers, null, config);
+    }
+    
+    /**
+     * Async handler over a caller-supplied queue; a single queue cannot be
+     * partitioned
+     */
+    public AsyncHandler(Handler handler, LogQueue queue, AsyncConfiguration config) {
+        this(lane -> handler, Objects.requireNonNull(queue, "queue"), config);
+    }
+    
+    private AsyncHandler(IntFunction<Handler> laneHandlers, LogQueue queue, AsyncConfiguration config) {
+        int partitions = Math.max(1, config.getPartitions());
+        if (queue != null && partitions > 1) {
+            throw new IllegalArgumentException("A supplied LogQueue cannot be partitioned: " + partitions + " partitions");
+        }
+        
+        this.discardOnOverflow = config.isDiscardOnOverflow();
+        this.partitionKey = config.getPartitionKey() != null ? config.getPartitionKey() : PartitionKey.LOGGER_NAME;
         this.isRunning = new AtomicBoolean(true);
         this.droppedLogs = new AtomicInteger(0);
+        this.shutdownTimeoutSeconds = config.getShutdownTimeoutSeconds();
+        this.batchSize = Math.max(1, config.getBatchSize());
+        this.lingerNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, config.getLingerMillis()));
+        this.startNanos = System.nanoTime();
+        this.virtualThreads = config.isVirtualThreads();
+        this.waitStrategy = workerWaitStrategy(config);
+        this.priorityShedding = config.isPriorityShedding();
+        this.droppedByLevel = new AtomicLongArray(LogLevel.values().length);
+        this.expressLevel = config.isExpressLane() ? config.getExpressLevel() : null;
+        this.flushThroughLevel = config.isExpressLane() ? config.getFlushThroughLevel() : null;
+        this.flushThroughNanos = TimeUnit.MILLISECONDS.toNanos(config.getFlushThroughTimeoutMillis());
+        this.formatThreads = Math.max(0, config.getFormatThreads());
+        // Formatting is CPU-bound, so it stays on platform threads even when workers are virtual
+        this.formatters = formatThreads == 0 ? null : Executors.newFixedThreadPool(formatThreads,
+                Thread.ofPlatform().daemon().name("AsyncLogger-Format-", 1).factory());
+        
+        // Lanes split the configured queue size between them
+        this.lanes = new Lane[partitions];
+        int laneCapacity = Math.max(1, (config.getQueueSize() + partitions - 1) / partitions);
+        for (int i = 0; i < partitions; i++) {
+            LogQueue laneQueue = queue != null ? queue : new RingBufferLogQueue(laneCapacity);
+            Handler laneHandler = laneHandlers.apply(i);
+            String metricsName = "AsyncHandler(" + laneHandler.getClass().getSimpleName() + ")"
+                    + (partitions > 1 ? "#" + i : "");
+            lanes[i] = new Lane(i, laneQueue, config, laneHandler, metricsName);
+        }
+        this.wrappedHandler = lanes[0].handler;
         
         // Create thread pool with custom thread factory
         ThreadFactory threadFactory = new ThreadFactory() {
@@ -52,12 +352,42 @@ public class AsyncHandler implements Handler {
             }
         };
         
-        this.executor = Executors.newFixedThreadPool(threadCount, threadFactory);
+        // A single-consumer queue gets exactly one worker
+        int workersPerLane = lanes[0].queue.supportsMultipleConsumers() ? config.getThreadCount() : 1;
+        this.executor = virtualThreads
+                ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("AsyncLogger-", 1).factory())
+                : Executors.newFixedThreadPool(workersPerLane * partitions, threadFactory);
         
         // Start worker threads
-        for (int i = 0; i < threadCount; i++) {
-            executor.submit(this::processLogs);
+        for (Lane lane : lanes) {
+            for (int i = 0; i < workersPerLane; i++) {
+                executor.submit(() -> processLogs(lane));
+            }
+        }
+    }
+    
+    private ThreadFactory writerThreads(int lane) {
+        String name = "AsyncLogger-Writer-" + lane;
+        return virtualThreads ? Thread.ofVirtual().name(name).factory() : Thread.ofPlatform().daemon().name(name).factory();
+    }
+    
+    // A spinning virtual worker never unmounts, so it would hold its carrier thread while idle
+    private static WaitStrategy workerWaitStrategy(AsyncConfiguration config) {
+        WaitStrategy strategy = config.getWaitStrategy() != null ? config.getWaitStrategy() : WaitStrategy.BLOCKING;
+        if (config.isVirtualThreads()
+                && (strategy == WaitStrategy.BUSY_SPIN || strategy == WaitStrategy.YIELDING)) {
+            System.err.printf("AsyncHandler: %s would pin carrier threads of virtual workers; using BLOCKING%n",
+                    strategy);
+            return WaitStrategy.BLOCKING;
         }
+        return strategy;
+    }
+    
+    private static AsyncConfiguration configuration(boolean discardOnOverflow, int threadCount) {
+        AsyncConfiguration config = new AsyncConfiguration();
+        config.setDiscardOnOverflow(discardOnOverflow);
+        config.setThreadCount(threadCount);
+        return config;
     }
     
     @Override
@@ -66,71 +396,271 @@ public class AsyncHandler implements Handler {
             return;
         }
         
+        Lane lane = laneFor(record);
+        if (expressLevel != null && record.getLevel().getValue() >= expressLevel.getValue()
+                && publishExpress(lane, record)) {
+            return;
+        }
+        
+        boolean alwaysAdmitted = priorityShedding && record.getLevel().getValue() >= LogLevel.WARN.getValue();
+        boolean measured = MetricsBridge.isEnabled();
+        if (measured) {
+            // Before enqueueing, or the worker could deliver the record before the probe exists
+            lane.sampleLatency(record);
+        }
         try {
-            if (!queue.offer(record)) {
+            if (priorityShedding && !alwaysAdmitted && lane.queue.size() >= lane.admitLimit(record.getLevel())) {
+                // Shed early so the headroom stays free for WARN and above
+                drop(lane, record);
+            } else if (lane.queue.offer(record)) {
+                lane.waiter.signal();
+            } else {
                 // Queue is full
-                if (!discardOnOverflow) {
+                if (!discardOnOverflow || alwaysAdmitted) {
                     // Block until space is available
-                    queue.put(record);
-                } else {
-                    // Discard the log and increment counter
-                    droppedLogs.incrementAndGet();
-                    
-                    // Periodically log a warning about dropped logs
-                    if (droppedLogs.get() % 1000 == 0) {
-                        Log warning = new Log(
-                            LogLevel.WARN,
-                            String.format("AsyncHandler has dropped %d logs due to queue overflow", droppedLogs.get()),
-                            "AsyncHandler"
-                        );
-                        wrappedHandler.publish(warning);
+                    long blockedStart = measured ? System.nanoTime() : 0;
+                    lane.queue.put(record);
+                    lane.waiter.signal();
+                    if (measured) {
+                        lane.producerBlockedNanos.addAndGet(System.nanoTime() - blockedStart);
                     }
+                } else {
+                    drop(lane, record);
                 }
             }
         } catch (InterruptedException e) {
+            lane.cancelProbe(record);
             Thread.currentThread().interrupt();
         }
     }
     
-    private void processLogs() {
-        while (isRunning.get() || !queue.isEmpty()) {
+    /**
+     * Queue a severe record ahead of the backlog, and wait for delivery if it
+     * reaches the flush-through level
+     *
+     * @return false if the express queue is full and the record still needs queueing
+     */
+    private boolean publishExpress(Lane lane, Log record) {
+        if (!lane.express.offer(record)) {
+            return false;
+        }
+        if (flushThroughLevel == null || record.getLevel().getValue() < flushThroughLevel.getValue()) {
+            lane.waiter.signal();
+            return true;
+        }
+        
+        // The marker right behind the record is signalled once the record has been delivered
+        CountDownLatch delivered = new CountDownLatch(1);
+        boolean marked = lane.express.offer(new FlushMarker(delivered));
+        lane.waiter.signal();
+        if (marked) {
             try {
-                Log record = queue.poll(100, TimeUnit.MILLISECONDS);
-                if (record != null) {
-                    if (record instanceof FlushMarker) {
-                        // Signal the flush completion without forwarding to the wrapped handler
-                        ((FlushMarker) record).signal();
-                    } else {
-                        wrappedHandler.publish(record);
-                    }
-                }
+                delivered.await(flushThroughNanos, TimeUnit.NANOSECONDS);
             } catch (InterruptedException e) {
                 Thread.currentThread().interrupt();
-                break;
-            } catch (Exception e) {
-                // Log the error but continue processing
-                Log error = new Log(
-                    LogLevel.ERROR,
-                    "Error in async log processing: " + e.getMessage(),
-                    "AsyncHandler"
-                );
+            }
+        }
+        return true;
+    }
+    
+    private void drop(Lane lane, Log record) {
+        // Discard the log and increment counters
+        lane.cancelProbe(record);
+        lane.dropped.incrementAndGet();
+        droppedByLevel.incrementAndGet(record.getLevel().ordinal());
+        int dropped = droppedLogs.incrementAndGet();
+        MetricsBridge.recordDroppedLog();
+        
+        // Periodically log a warning about dropped logs. Only the lane's worker may
+        // call its handler, so the warning is queued; stderr gets it if there is no room.
+        if (dropped % 1000 == 0) {
+            String message = String.format("AsyncHandler has dropped %d logs due to queue overflow", dropped);
+            LogQueue target = lane.express != null ? lane.express : lane.queue;
+            if (target.offer(new Log(LogLevel.WARN, message, "AsyncHandler"))) {
+                lane.waiter.signal();
+            } else {
+                System.err.println(message);
+            }
+        }
+    }
+    
+    // Records from the same logger, or the same publishing thread, always map to the same lane
+    private Lane laneFor(Log record) {
+        if (lanes.length == 1) {
+            return lanes[0];
+        }
+        int hash = partitionKey == PartitionKey.THREAD
+                ? Long.hashCode(Thread.currentThread().threadId())
+                : Objects.hashCode(record.getLoggerName());
+        return lanes[Math.floorMod(hash ^ (hash >>> 16), lanes.length)];
+    }
+    
+    private void processLogs(Lane lane) {
+        List<Log> batch = new ArrayList<>(batchSize);
+        int idle = 0;
+        long waitingSince = 0;
+        while ((isRunning.get() || lane.hasPending()) && !Thread.currentThread().isInterrupted()) {
+            // Severe records first, without lingering
+            if (lane.express != null && lane.express.drainTo(batch, batchSize) > 0) {
+                idle = 0;
+                waitingSince = deliverDrained(lane, batch, waitingSince);
+                continue;
+            }
+            
+            // Take whatever is already queued in one go
+            if (lane.queue.drainTo(batch, batchSize) == 0) {
                 try {
-                    wrappedHandler.publish(error);
-                } catch (Exception ignored) {
-                    // If we can't even log the error, give up
+                    idle = lane.waiter.idle(idle, lane.ready);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
                 }
+                continue;
             }
+            
+            idle = 0;
+            if (lingerNanos > 0) {
+                linger(lane, batch);
+            }
+            waitingSince = deliverDrained(lane, batch, waitingSince);
         }
     }
     
+    /**
+     * Deliver and clear a drained batch, reporting the drain when metrics are
+     * enabled. Lingering counts as idle time.
+     *
+     * @param waitingSince when the worker last finished delivering, or 0 if unknown
+     * @return when the worker finished this delivery, or 0 if not measured
+     */
+    private long deliverDrained(Lane lane, List<Log> batch, long waitingSince) {
+        if (!MetricsBridge.isEnabled()) {
+            deliver(lane, batch);
+            batch.clear();
+            return 0;
+        }
+        
+        // The worker samples the depth, so producers never pay for the high-watermark
+        int depth = batch.size() + lane.depth();
+        long start = System.nanoTime();
+        int records = deliver(lane, batch);
+        long end = System.nanoTime();
+        MetricsBridge.recordAsyncDrain(lane.metricsName, depth, records, end - start,
+                waitingSince > 0 ? start - waitingSince : 0, lane.producerBlockedNanos.getAndSet(0));
+        batch.clear();
+        return end;
+    }
+    
+    /**
+     * Top up a partial batch until it is full or the linger time runs out.
+     * A pending flush, an express record or close ends the wait early.
+     */
+    private void linger(Lane lane, List<Log> batch) {
+        long deadline = System.nanoTime() + lingerNanos;
+        int checked = 0;
+        while (batch.size() < batchSize && isRunning.get() && !Thread.currentThread().isInterrupted()
+                && (lane.express == null || lane.express.isEmpty())) {
+            for (; checked < batch.size(); checked++) {
+                if (batch.get(checked) instanceof FlushMarker) {
+                    return;
+                }
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return;
+            }
+            if (lane.queue.drainTo(batch, batchSize - batch.size()) == 0) {
+                LockSupport.parkNanos(Math.min(remaining, LINGER_POLL_NANOS));
+            }
+        }
+    }
+    
+    // Records between flush markers go to the wrapped handler as one batch; returns the records delivered
+    private int deliver(Lane lane, List<Log> batch) {
+        int start = 0;
+        int markers = 0;
+        for (int i = 0; i < batch.size(); i++) {
+            if (batch.get(i) instanceof FlushMarker) {
+                deliverRecords(lane, batch.subList(start, i));
+                completeFlush(lane, (FlushMarker) batch.get(i));
+                start = i + 1;
+                markers++;
+            }
+        }
+        deliverRecords(lane, batch.subList(start, batch.size()));
+        return batch.size() - markers;
+    }
+    
+    // Signal the flush completion once everything before it is written, without forwarding to the wrapped handler
+    private void completeFlush(Lane lane, FlushMarker marker) {
+        if (lane.pipeline == null) {
+            marker.signal();
+            return;
+        }
+        try {
+            lane.pipeline.barrier(marker::signal);
+        } catch (InterruptedException e) {
+            marker.signal();
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    private void deliverRecords(Lane lane, List<Log> records) {
+        if (records.isEmpty()) {
+            return;
+        }
+        
+        if (lane.pipeline != null) {
+            // The pipeline's writer completes the latency probe and reports handler errors
+            try {
+                lane.pipeline.submit(records);
+                lane.delivered.add(records.size());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return;
+        }
+        
+        lane.completeProbe(records);
+        try {
+            lane.handler.publishBatch(records);
+        } catch (Exception e) {
+            // Log the error but continue processing
+            Log error = new Log(
+                LogLevel.ERROR,
+                "Error in async log processing: " + e.getMessage(),
+                "AsyncHandler"
+            );
+            try {
+                lane.handler.publish(error);
+            } catch (Exception ignored) {
+                // If we can't even log the error, give up
+            }
+        }
+        lane.delivered.add(records.size());
+    }
+    
+    // Each lane handler once, even when all lanes share one
+    private Set<Handler> laneHandlers() {
+        Set<Handler> handlers = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Lane lane : lanes) {
+            handlers.add(lane.handler);
+        }
+        return handlers;
+    }
+    
     @Override
     public void setFormatter(Formatter formatter) {
-        wrappedHandler.setFormatter(formatter);
+        for (Handler handler : laneHandlers()) {
+            handler.setFormatter(formatter);
+        }
     }
     
     @Override
     public void setLevel(LogLevel level) {
-        wrappedHandler.setLevel(level);
+        for (Handler handler : laneHandlers()) {
+            handler.setLevel(level);
+        }
     }
     
     @Override
@@ -140,24 +670,29 @@ public class AsyncHandler implements Handler {
     
     @Override
     public void close() {
-        // Stop accepting new logs
+        // Stop accepting new logs and wake parked workers so they drain and exit
         isRunning.set(false);
+        for (Lane lane : lanes) {
+            lane.waiter.signalAll();
+        }
         
         // Shutdown executor
         executor.shutdown();
         
         try {
             // Wait for pending logs to be processed
-            if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            if (!executor.awaitTermination(shutdownTimeoutSeconds, TimeUnit.SECONDS)) {
                 executor.shutdownNow();
                 
-                // Process remaining logs synchronously
-                Log record;
-                while ((record = queue.poll()) != null) {
-                    try {
-                        wrappedHandler.publish(record);
-                    } catch (Exception ignored) {
-                        // Best effort
+                // Process remaining logs synchronously, unless a stuck worker still owns a single-consumer queue
+                boolean terminated = executor.awaitTermination(1, TimeUnit.SECONDS);
+                closePipelines();
+                for (Lane lane : lanes) {
+                    if ((terminated || lane.queue.supportsMultipleConsumers()) && !lane.writerStuck) {
+                        if (lane.express != null) {
+                            drainSynchronously(lane.express, lane.handler);
+                        }
+                        drainSynchronously(lane.queue, lane.handler);
                     }
                 }
             }
@@ -165,9 +700,20 @@ public class AsyncHandler implements Handler {
             executor.shutdownNow();
             Thread.currentThread().interrupt();
         }
+        closePipelines();
         
-        // Close the wrapped handler
-        wrappedHandler.close();
+        // Close the wrapped handlers, except those a stuck writer may still be inside
+        Set<Handler> inUse = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Lane lane : lanes) {
+            if (lane.writerStuck) {
+                inUse.add(lane.handler);
+            }
+        }
+        for (Handler handler : laneHandlers()) {
+            if (!inUse.contains(handler)) {
+                handler.close();
+            }
+        }
         
         // Log final statistics if any logs were dropped
         if (droppedLogs.get() > 0) {
@@ -175,31 +721,149 @@ public class AsyncHandler implements Handler {
         }
     }
     
+    // Let each writer finish what the workers handed over; a second call finds them stopped
+    private void closePipelines() {
+        if (formatters == null) {
+            return;
+        }
+        for (Lane lane : lanes) {
+            if (!lane.writerStuck && !lane.pipeline.close(TimeUnit.SECONDS.toNanos(shutdownTimeoutSeconds))) {
+                lane.writerStuck = true;
+                System.err.printf("AsyncHandler: writer of lane %d did not stop; leaving its handler open%n", lane.index);
+            }
+        }
+        formatters.shutdown();
+    }
+    
+    private static void drainSynchronously(LogQueue queue, Handler handler) {
+        Log record;
+        while ((record = queue.poll()) != null) {
+            if (record instanceof FlushMarker) {
+                ((FlushMarker) record).signal();
+                continue;
+            }
+            try {
+                handler.publish(record);
+            } catch (Exception ignored) {
+                // Best effort
+            }
+        }
+    }
+    
     // Delegate methods to wrapped handler
     public Handler getWrappedHandler() {
         return wrappedHandler;
     }
     
     public int getQueueSize() {
-        return queue.size();
+        int size = 0;
+        for (Lane lane : lanes) {
+            size += lane.depth();
+        }
+        return size;
     }
     
     public int getDroppedLogsCount() {
         return droppedLogs.get();
     }
     
+    public long getDroppedLogsCount(LogLevel level) {
+        return droppedByLevel.get(level.ordinal());
+    }
+    
+    /**
+     * Records dropped so far, per level, including levels with none
+     */
+    public Map<LogLevel, Long> getDroppedLogsByLevel() {
+        Map<LogLevel, Long> dropped = new EnumMap<>(LogLevel.class);
+        for (LogLevel level : LogLevel.values()) {
+            dropped.put(level, droppedByLevel.get(level.ordinal()));
+        }
+        return dropped;
+    }
+    
+    /**
+     * Occupancy of the fullest lane, from 0 to 1. Reads two counters per lane,
+     * so it is cheap enough to check before every log call.
+     */
+    public double getBackpressure() {
+        double fullest = 0;
+        for (Lane lane : lanes) {
+            fullest = Math.max(fullest, (double) lane.queue.size() / lane.capacity);
+        }
+        return fullest;
+    }
+    
+    /**
+     * Lowest level the fullest lane currently accepts. Records below it are
+     * shed, so callers can skip building them. Always DEBUG unless priority
+     * shedding is enabled.
+     */
+    public LogLevel getMinimumAdmittedLevel() {
+        if (!priorityShedding) {
+            return LogLevel.DEBUG;
+        }
+        LogLevel minimum = LogLevel.DEBUG;
+        for (Lane lane : lanes) {
+            LogLevel level = lane.minimumAdmittedLevel();
+            if (level.getValue() > minimum.getValue()) {
+                minimum = level;
+            }
+        }
+        return minimum;
+    }
+    
     public boolean isRunning() {
         return isRunning.get();
     }
     
+    public WaitStrategy getWaitStrategy() {
+        return lanes[0].waiter.getStrategy();
+    }
+    
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+    
+    /**
+     * Threads formatting ahead of each lane's writer, or 0 when workers format
+     */
+    public int getFormatThreads() {
+        return formatThreads;
+    }
+    
+    public int getPartitionCount() {
+        return lanes.length;
+    }
+    
+    public PartitionKey getPartitionKey() {
+        return partitionKey;
+    }
+    
+    /**
+     * Depth and throughput of every lane, in lane order
+     */
+    public List<LaneStats> getLaneStats() {
+        double seconds = Math.max((System.nanoTime() - startNanos) / 1e9, 1e-9);
+        List<LaneStats> stats = new ArrayList<>(lanes.length);
+        for (Lane lane : lanes) {
+            long delivered = lane.delivered.sum();
+            stats.add(new LaneStats(lane.index, lane.queue.size(), delivered, lane.dropped.get(), delivered / seconds));
+        }
+        return stats;
+    }
+    
     // Flush method to ensure all pending logs are processed
     public void flush() {
-        // Use a special marker that won't be sent to the wrapped handler
-        CountDownLatch latch = new CountDownLatch(1);
+        // Use a special marker per lane that won't be sent to the wrapped handler
+        CountDownLatch latch = new CountDownLatch(lanes.length);
         
         try {
-            queue.put(new FlushMarker(latch));
-            // Wait for the marker to be processed
+            for (Lane lane : lanes) {
+                lane.queue.put(new FlushMarker(latch));
+                lane.waiter.signal();
+            }
+            // Wait for the markers to be processed
             latch.await(5, TimeUnit.SECONDS);
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
@@ -219,4 +883,4 @@ public class AsyncHandler implements Handler {
             latch.countDown();
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,263 @@
+package io.joshuasalcedo.logging.async;
+
+import io.joshuasalcedo.logging.core.Log;
+import io.joshuasalcedo.logging.core.LogLevel;
+import io.joshuasalcedo.logging.formatter.Formatter;
+import io.joshuasalcedo.logging.handler.Handler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Formats a lane's records in parallel and writes them in order from a single
+ * thread.
+ * <p>
+ * The lane's worker hands over each batch in queue order. Every chunk of it
+ * takes the next sequence number and is formatted on a shared pool with the
+ * wrapped handler's shared formatter, so chunks may finish in any order. They
+ * land in a reorder buffer, a ring indexed by sequence number, from which the
+ * writer takes them strictly in sequence and hands each run of ready chunks to
+ * the handler in one {@link Handler#publishEncodedBatch(List, List)} call. The
+ * window of permits bounds the chunks in flight, so a slow sink pushes back on
+ * the worker and from there on the lane's queue.
+ * <p>
+ * Formatters are called from several threads at once, as they already are when
+ * several threads log through one handler.
+ */
+final class FormattingPipeline {
+
+    // Smaller chunks cost more in hand-offs than they gain in parallelism
+    private static final int MIN_CHUNK_SIZE = 16;
+    // Safety net only; completed chunks unpark the writer
+    private static final long WRITER_RECHECK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    // How long a writer that missed the close deadline gets to return once interrupted
+    private static final long INTERRUPT_GRACE_MILLIS = 1000;
+
+    private final Handler handler;
+    private final Executor formatters;
+    private final int parallelism;
+    private final Consumer<List<Log>> beforeWrite;
+    private final AtomicReferenceArray<Chunk> reorder;
+    private final Semaphore window;
+    private final AtomicLong nextSequence = new AtomicLong();
+    private final Thread writer;
+    private volatile boolean closed;
+
+    /**
+     * Records in sequence, or a barrier that runs once everything before it has
+     * been written. Encoded is null when the handler has no shared formatter or
+     * formatting failed; the handler then formats the records itself.
+     */
+    private static final class Chunk {
+        final List<Log> records;
+        final Runnable barrier;
+        List<Log> accepted;
+        List<String> encoded;
+
+        Chunk(List<Log> records, Runnable barrier) {
+            this.records = records;
+            this.barrier = barrier;
+        }
+    }
+
+    /**
+     * @param handler      wrapped handler, written to only from the writer thread
+     * @param formatters   pool that formats chunks
+     * @param parallelism  threads in that pool; a batch is split into at most this many chunks
+     * @param window       most chunks formatting or waiting to be written
+     * @param beforeWrite  called with each chunk's records just before they are written
+     * @param writerThread factory for the writer thread
+     */
+    FormattingPipeline(Handler handler, Executor formatters, int parallelism, int window,
+                       Consumer<List<Log>> beforeWrite, ThreadFactory writerThread) {
+        this.handler = handler;
+        this.formatters = formatters;
+        this.parallelism = Math.max(1, parallelism);
+        this.beforeWrite = beforeWrite;
+        this.reorder = new AtomicReferenceArray<>(Math.max(1, window));
+        this.window = new Semaphore(reorder.length());
+        this.writer = writerThread.newThread(this::write);
+        writer.start();
+    }
+
+    /**
+     * Queue records for formatting and writing after everything submitted so
+     * far. Blocks while the window is full. The list is copied.
+     */
+    void submit(List<Log> records) throws InterruptedException {
+        int chunkSize = Math.max(MIN_CHUNK_SIZE, (records.size() + parallelism - 1) / parallelism);
+        for (int from = 0; from < records.size(); from += chunkSize) {
+            List<Log> chunk = new ArrayList<>(records.subList(from, Math.min(records.size(), from + chunkSize)));
+            long sequence = claim();
+            try {
+                formatters.execute(() -> formatAndComplete(sequence, chunk));
+            } catch (RejectedExecutionException e) {
+                // The pool is shutting down; format here rather than lose the sequence
+                formatAndComplete(sequence, chunk);
+            }
+        }
+    }
+
+    /**
+     * Run an action once everything submitted before it has been written
+     */
+    void barrier(Runnable action) throws InterruptedException {
+        complete(claim(), new Chunk(List.of(), action));
+    }
+
+    /**
+     * Write what has been submitted and stop the writer, waiting at most the
+     * given time. A writer still busy then is interrupted and abandons the rest.
+     * Nothing may be submitted afterwards.
+     *
+     * @return false if the writer is still running, possibly inside the handler
+     */
+    boolean close(long timeoutNanos) {
+        closed = true;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(Math.max(1, TimeUnit.NANOSECONDS.toMillis(timeoutNanos)));
+            if (writer.isAlive()) {
+                writer.interrupt();
+                writer.join(INTERRUPT_GRACE_MILLIS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return !writer.isAlive();
+    }
+
+    private long claim() throws InterruptedException {
+        window.acquire();
+        return nextSequence.getAndIncrement();
+    }
+
+    private int slot(long sequence) {
+        return (int) (sequence % reorder.length());
+    }
+
+    private void complete(long sequence, Chunk chunk) {
+        reorder.set(slot(sequence), chunk);
+        LockSupport.unpark(writer);
+    }
+
+    // Every sequence must be completed, or the writer waits on the hole for good
+    private void formatAndComplete(long sequence, List<Log> records) {
+        Chunk chunk;
+        try {
+            chunk = format(records);
+        } catch (Throwable t) {
+            // An Error such as StackOverflowError from the formatter; the handler gets the records to format
+            chunk = new Chunk(records, null);
+        }
+        complete(sequence, chunk);
+    }
+
+    private Chunk format(List<Log> records) {
+        Chunk chunk = new Chunk(records, null);
+        Formatter formatter = handler.getSharedFormatter();
+        if (formatter == null) {
+            return chunk;
+        }
+
+        // Skip what the handler would filter anyway
+        LogLevel level = handler.getLevel();
+        List<Log> accepted = new ArrayList<>(records.size());
+        List<String> encoded = new ArrayList<>(records.size());
+        try {
+            for (Log record : records) {
+                if (level == null || record.getLevel().getValue() >= level.getValue()) {
+                    encoded.add(formatter.format(record));
+                    accepted.add(record);
+                }
+            }
+        } catch (RuntimeException e) {
+            // Leave the chunk to the handler, which reports the failure the usual way
+            return chunk;
+        }
+        chunk.accepted = accepted;
+        chunk.encoded = encoded;
+        return chunk;
+    }
+
+    private void write() {
+        long next = 0;
+        List<Log> records = new ArrayList<>();
+        List<String> encoded = new ArrayList<>();
+        while (true) {
+            if (Thread.currentThread().isInterrupted()) {
+                // close() gave up waiting; leave the rest unwritten
+                return;
+            }
+            Chunk chunk = reorder.get(slot(next));
+            if (chunk == null) {
+                if (closed && next == nextSequence.get()) {
+                    return;
+                }
+                LockSupport.parkNanos(this, WRITER_RECHECK_NANOS);
+                continue;
+            }
+
+            // Take every chunk that is ready in sequence and write them together
+            int taken = 0;
+            do {
+                reorder.set(slot(next), null);
+                next++;
+                taken++;
+                if (chunk.barrier != null) {
+                    publish(records, encoded);
+                    chunk.barrier.run();
+                } else if (chunk.encoded == null) {
+                    publish(records, encoded);
+                    beforeWrite.accept(chunk.records);
+                    publish(chunk.records, null);
+                } else {
+                    beforeWrite.accept(chunk.records);
+                    records.addAll(chunk.accepted);
+                    encoded.addAll(chunk.encoded);
+                }
+            } while ((chunk = reorder.get(slot(next))) != null);
+            publish(records, encoded);
+            window.release(taken);
+        }
+    }
+
+    // Encoded null hands the records to the handler to format; clears both lists
+    private void publish(List<Log> records, List<String> encoded) {
+        if (records.isEmpty()) {
+            return;
+        }
+        try {
+            if (encoded != null) {
+                handler.publishEncodedBatch(records, encoded);
+            } else {
+                handler.publishBatch(records);
+            }
+        } catch (Exception | StackOverflowError e) {
+            // Log the error but keep writing; the writer is the only one the lane has
+            Log error = new Log(
+                LogLevel.ERROR,
+                "Error in async log processing: " + e.getMessage(),
+                "AsyncHandler"
+            );
+            try {
+                handler.publish(error);
+            } catch (Exception ignored) {
+                // If we can't even log the error, give up
+            }
+        }
+        records.clear();
+        if (encoded != null) {
+            encoded.clear();
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package io.joshuasalcedo.logging.async;
+
+/**
+ * What a partitioned {@link AsyncHandler} hashes to pick a record's lane.
+ * Records with the same key always share a lane, so they are delivered in
+ * the order they were published.
+ */
+public enum PartitionKey {
+
+    /**
+     * The record's logger name. Keeps each logger's output in order no matter
+     * which threads write to it.
+     */
+    LOGGER_NAME,
+
+    /**
+     * The publishing thread. Keeps each thread's output in order, and spreads
+     * a busy logger used from many threads across lanes.
+     */
+    THREAD
+}
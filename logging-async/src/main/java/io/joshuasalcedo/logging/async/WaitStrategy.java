@@ -0,0 +1,35 @@
+package io.joshuasalcedo.logging.async;
+
+/**
+ * How an async worker waits when its queue is empty.
+ * <p>
+ * The choice trades wake-up latency after a quiet period against the CPU an
+ * idle worker burns. Only {@link #BLOCKING} makes producers signal, and only
+ * while a worker is actually parked.
+ */
+public enum WaitStrategy {
+
+    /**
+     * Spin briefly, then park until a producer signals. Lowest idle CPU with
+     * immediate wake-up; each wake-up costs the producer a lock and an unpark.
+     */
+    BLOCKING,
+
+    /**
+     * Spin, then yield, then sleep with a growing interval capped at one
+     * millisecond. No producer cost; wake-up latency grows with idle time.
+     */
+    SLEEPING,
+
+    /**
+     * Spin briefly, then {@link Thread#yield()} in a loop. Low latency while
+     * other threads are runnable, but an idle worker still uses a core.
+     */
+    YIELDING,
+
+    /**
+     * Spin on {@link Thread#onSpinWait()}. Lowest latency; dedicates a core
+     * per worker, so only use it with spare cores.
+     */
+    BUSY_SPIN
+}
@@ -0,0 +1,119 @@
+package io.joshuasalcedo.logging.async;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Idle loop of the async workers for one {@link WaitStrategy}.
+ * <p>
+ * For {@link WaitStrategy#BLOCKING} a worker registers itself as waiting
+ * before its final emptiness check, and producers check that count after
+ * enqueueing. Both are volatile, so either the worker sees the new record or
+ * the producer sees the waiter and signals; no wake-up is lost.
+ */
+final class WorkerWaiter {
+
+    // Wait configuration
+    private static final int SPIN_TRIES = 100;
+    private static final int YIELD_TRIES = 100;
+    private static final long MIN_SLEEP_NANOS = 1_000;
+    private static final long MAX_SLEEP_NANOS = 1_000_000;
+    // Safety net only; producers and close() signal parked workers
+    private static final long BLOCKING_RECHECK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final WaitStrategy strategy;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private volatile int waiting;
+
+    WorkerWaiter(WaitStrategy strategy) {
+        this.strategy = strategy != null ? strategy : WaitStrategy.BLOCKING;
+    }
+
+    /**
+     * Wait once for work to appear
+     *
+     * @param idleCount consecutive empty polls so far
+     * @param ready     true once there is work to do or the worker should stop
+     * @return the idle count to pass next time
+     */
+    int idle(int idleCount, BooleanSupplier ready) throws InterruptedException {
+        switch (strategy) {
+            case BUSY_SPIN -> Thread.onSpinWait();
+            case YIELDING -> {
+                if (idleCount < SPIN_TRIES) {
+                    Thread.onSpinWait();
+                } else {
+                    Thread.yield();
+                }
+            }
+            case SLEEPING -> {
+                if (idleCount < SPIN_TRIES) {
+                    Thread.onSpinWait();
+                } else if (idleCount < SPIN_TRIES + YIELD_TRIES) {
+                    Thread.yield();
+                } else {
+                    int sleeps = Math.min(idleCount - SPIN_TRIES - YIELD_TRIES, 10);
+                    LockSupport.parkNanos(Math.min(MIN_SLEEP_NANOS << sleeps, MAX_SLEEP_NANOS));
+                    if (Thread.interrupted()) {
+                        throw new InterruptedException();
+                    }
+                }
+            }
+            case BLOCKING -> {
+                if (idleCount < SPIN_TRIES) {
+                    Thread.onSpinWait();
+                } else {
+                    park(ready);
+                }
+            }
+        }
+        return idleCount + 1;
+    }
+
+    private void park(BooleanSupplier ready) throws InterruptedException {
+        lock.lock();
+        try {
+            waiting++;
+            if (!ready.getAsBoolean()) {
+                notEmpty.awaitNanos(BLOCKING_RECHECK_NANOS);
+            }
+        } finally {
+            waiting--;
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Called by producers after enqueueing; free unless a worker is parked
+     */
+    void signal() {
+        if (waiting > 0) {
+            lock.lock();
+            try {
+                notEmpty.signal();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Wake every parked worker, e.g. so they notice shutdown
+     */
+    void signalAll() {
+        lock.lock();
+        try {
+            notEmpty.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    WaitStrategy getStrategy() {
+        return strategy;
+    }
+}
@@ -2,6 +2,8 @@ package io.joshuasalcedo.logging.async.queue;
 
 import io.joshuasalcedo.logging.core.Log;
 
+import java.util.List;
+
 /**
  * Interface for log queues used in async processing
  */
@@ -20,4 +22,34 @@ public interface LogQueue {
     boolean isEmpty();
     
     void clear();
+    
+    /**
+     * Move up to {@code maxEvents} queued logs into {@code sink} without waiting
+     *
+     * @return the number of logs moved
+     */
+    default int drainTo(List<Log> sink, int maxEvents) {
+        int count = 0;
+        Log log;
+        while (count < maxEvents && (log = poll()) != null) {
+            sink.add(log);
+            count++;
+        }
+        return count;
+    }
+    
+    /**
+     * Whether several threads may take from the queue at once; single-consumer
+     * queues must be drained by exactly one thread
+     */
+    default boolean supportsMultipleConsumers() {
+        return true;
+    }
+    
+    /**
+     * Most logs the queue can hold, or {@link Integer#MAX_VALUE} if unbounded
+     */
+    default int getCapacity() {
+        return Integer.MAX_VALUE;
+    }
 }
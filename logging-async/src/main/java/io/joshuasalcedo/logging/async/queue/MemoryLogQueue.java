@@ -1,6 +1,7 @@
 package io.joshuasalcedo.logging.async.queue;
 
 import io.joshuasalcedo.logging.core.Log;
+import java.util.List;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
@@ -11,9 +12,11 @@ import java.util.concurrent.TimeUnit;
 public class MemoryLogQueue implements LogQueue {
     
     private final BlockingQueue<Log> queue;
+    private final int capacity;
     
     public MemoryLogQueue(int capacity) {
         this.queue = new LinkedBlockingQueue<>(capacity);
+        this.capacity = capacity;
     }
     
     @Override
@@ -50,4 +53,14 @@ public class MemoryLogQueue implements LogQueue {
     public void clear() {
         queue.clear();
     }
+    
+    @Override
+    public int drainTo(List<Log> sink, int maxEvents) {
+        return queue.drainTo(sink, maxEvents);
+    }
+    
+    @Override
+    public int getCapacity() {
+        return capacity;
+    }
 }
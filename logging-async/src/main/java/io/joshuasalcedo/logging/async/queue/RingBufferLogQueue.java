@@ -0,0 +1,233 @@
+package io.joshuasalcedo.logging.async.queue;
+
+import io.joshuasalcedo.logging.core.Log;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Lock-free, bounded multi-producer single-consumer ring buffer.
+ * <p>
+ * The slot array is allocated once at a power-of-two capacity. A producer
+ * claims a sequence with a single CAS and then publishes the record into its
+ * slot with a release store; the consumer reads slots in order, so an empty
+ * slot behind a claimed sequence simply means that producer has not finished
+ * writing yet. The consumer frees a whole batch of slots with one store of its
+ * sequence, which is what {@link #drainTo(List, int)} is for.
+ * <p>
+ * Only one thread may consume at a time ({@link #supportsMultipleConsumers()}
+ * is false). Blocking calls spin, then yield, then park with a growing
+ * interval, since there is no lock to wait on.
+ */
+public class RingBufferLogQueue extends RingBufferPad2 implements LogQueue {
+
+    private static final VarHandle PRODUCER_SEQUENCE;
+    private static final VarHandle PRODUCER_LIMIT;
+    private static final VarHandle CONSUMER_SEQUENCE;
+    private static final VarHandle SLOTS = MethodHandles.arrayElementVarHandle(Log[].class);
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            PRODUCER_SEQUENCE = lookup.findVarHandle(RingBufferProducerFields.class, "producerSequence", long.class);
+            PRODUCER_LIMIT = lookup.findVarHandle(RingBufferProducerFields.class, "producerLimit", long.class);
+            CONSUMER_SEQUENCE = lookup.findVarHandle(RingBufferConsumerFields.class, "consumerSequence", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    // Wait configuration
+    private static final int SPIN_TRIES = 100;
+    private static final int YIELD_TRIES = 100;
+    private static final long MIN_PARK_NANOS = 50_000;
+    private static final long MAX_PARK_NANOS = 1_000_000;
+
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private final Log[] slots;
+    private final int mask;
+
+    /**
+     * @param capacity minimum number of slots; rounded up to a power of two
+     */
+    public RingBufferLogQueue(int capacity) {
+        if (capacity <= 0 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Capacity must be between 1 and " + MAX_CAPACITY + ": " + capacity);
+        }
+        int size = 1 << (32 - Integer.numberOfLeadingZeros(capacity - 1));
+        this.slots = new Log[size];
+        this.mask = size - 1;
+        PRODUCER_LIMIT.setRelease(this, (long) size);
+    }
+
+    @Override
+    public boolean offer(Log log) {
+        Objects.requireNonNull(log, "log");
+
+        long limit = (long) PRODUCER_LIMIT.getAcquire(this);
+        long sequence;
+        do {
+            sequence = (long) PRODUCER_SEQUENCE.getVolatile(this);
+            if (sequence >= limit) {
+                // Only look at the consumer's cache line when the cached limit runs out
+                limit = (long) CONSUMER_SEQUENCE.getAcquire(this) + slots.length;
+                if (sequence >= limit) {
+                    return false;
+                }
+                PRODUCER_LIMIT.setRelease(this, limit);
+            }
+        } while (!PRODUCER_SEQUENCE.compareAndSet(this, sequence, sequence + 1));
+
+        SLOTS.setRelease(slots, (int) sequence & mask, log);
+        return true;
+    }
+
+    @Override
+    public Log poll() {
+        long sequence = (long) CONSUMER_SEQUENCE.getOpaque(this);
+        int index = (int) sequence & mask;
+        Log log = (Log) SLOTS.getAcquire(slots, index);
+        if (log == null) {
+            if (sequence == (long) PRODUCER_SEQUENCE.getVolatile(this)) {
+                return null;
+            }
+            // Claimed but not yet written; the producer is a few instructions away
+            do {
+                Thread.onSpinWait();
+                log = (Log) SLOTS.getAcquire(slots, index);
+            } while (log == null);
+        }
+        slots[index] = null;
+        CONSUMER_SEQUENCE.setRelease(this, sequence + 1);
+        return log;
+    }
+
+    /**
+     * Read up to {@code maxEvents} published records and free their slots with a
+     * single sequence update. Stops early at a slot whose producer is still writing.
+     */
+    @Override
+    public int drainTo(List<Log> sink, int maxEvents) {
+        long sequence = (long) CONSUMER_SEQUENCE.getOpaque(this);
+        int count = 0;
+        while (count < maxEvents) {
+            int index = (int) (sequence + count) & mask;
+            Log log = (Log) SLOTS.getAcquire(slots, index);
+            if (log == null) {
+                break;
+            }
+            slots[index] = null;
+            sink.add(log);
+            count++;
+        }
+        if (count > 0) {
+            CONSUMER_SEQUENCE.setRelease(this, sequence + count);
+        }
+        return count;
+    }
+
+    @Override
+    public Log poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        int idle = 0;
+        Log log;
+        while ((log = poll()) == null) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return null;
+            }
+            idle = idle(idle, remaining);
+        }
+        return log;
+    }
+
+    @Override
+    public void put(Log log) throws InterruptedException {
+        int idle = 0;
+        while (!offer(log)) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            idle = idle(idle, MAX_PARK_NANOS);
+        }
+    }
+
+    private static int idle(int idle, long maxParkNanos) {
+        if (idle < SPIN_TRIES) {
+            Thread.onSpinWait();
+        } else if (idle < SPIN_TRIES + YIELD_TRIES) {
+            Thread.yield();
+        } else {
+            int parks = Math.min(idle - SPIN_TRIES - YIELD_TRIES, 10);
+            LockSupport.parkNanos(Math.min(Math.min(MIN_PARK_NANOS << parks, MAX_PARK_NANOS), maxParkNanos));
+        }
+        return idle + 1;
+    }
+
+    @Override
+    public int size() {
+        long consumer = (long) CONSUMER_SEQUENCE.getVolatile(this);
+        long producer = (long) PRODUCER_SEQUENCE.getVolatile(this);
+        return (int) Math.max(0, Math.min(slots.length, producer - consumer));
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return (long) CONSUMER_SEQUENCE.getVolatile(this) == (long) PRODUCER_SEQUENCE.getVolatile(this);
+    }
+
+    /**
+     * Discard queued records. Consumes, so call it from the consumer thread or
+     * when no consumer is running.
+     */
+    @Override
+    public void clear() {
+        while (poll() != null) {
+            // Discard
+        }
+    }
+
+    @Override
+    public boolean supportsMultipleConsumers() {
+        return false;
+    }
+
+    @Override
+    public int getCapacity() {
+        return slots.length;
+    }
+}
+
+// Field padding. The JVM packs the fields of one class by type, so padding only
+// holds across a class hierarchy: each sequence gets a cache line of its own,
+// with 64 bytes of longs on either side, and producers never write the line the
+// consumer spins on.
+
+abstract class RingBufferPad0 {
+    long p00, p01, p02, p03, p04, p05, p06, p07;
+}
+
+abstract class RingBufferProducerFields extends RingBufferPad0 {
+    volatile long producerSequence;
+    volatile long producerLimit;
+}
+
+abstract class RingBufferPad1 extends RingBufferProducerFields {
+    long p10, p11, p12, p13, p14, p15, p16, p17;
+}
+
+abstract class RingBufferConsumerFields extends RingBufferPad1 {
+    volatile long consumerSequence;
+}
+
+abstract class RingBufferPad2 extends RingBufferConsumerFields {
+    long p20, p21, p22, p23, p24, p25, p26, p27;
+}
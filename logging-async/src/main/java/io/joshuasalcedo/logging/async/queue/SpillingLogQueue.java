@@ -0,0 +1,754 @@
+package io.joshuasalcedo.logging.async.queue;
+
+import io.joshuasalcedo.logging.core.Log;
+import io.joshuasalcedo.logging.core.LogLevel;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded in-memory ring that spills to memory-mapped segment files when it is
+ * full, and replays unconsumed segments after a restart.
+ * <p>
+ * Records go to a {@link RingBufferLogQueue} until it fills up. From then on
+ * every offer is appended to the newest segment file instead, and keeps going
+ * there until the consumer has read the disk empty again, so a producer's
+ * records always come out in the order it queued them. The consumer drains
+ * memory first, then the segments oldest first, deleting each one once it has
+ * been read. The read offset is kept in the segment header, so a restarted
+ * queue on the same directory picks up after the last record handed out.
+ * Records still in memory when the process stops are not kept.
+ * <p>
+ * Segment layout (big-endian):
+ * <pre>
+ *   0   int   magic
+ *   4   int   version
+ *   8   int   segment size in bytes
+ *   12  int   read offset
+ *   16        records
+ * </pre>
+ * A record is an int payload length followed by the payload; a length of zero
+ * marks the end of what has been written. The payload is written before its
+ * length, so a record is either complete or absent.
+ * <p>
+ * Disk usage is bounded by {@code maxSegments} files of {@code segmentBytes}
+ * each. When they are all in use, {@link DiskFullPolicy} decides whether new
+ * records are refused or the oldest segment is thrown away.
+ * <p>
+ * Only plain {@link Log} records are written out. Subclasses, such as the
+ * flush markers {@code AsyncHandler} sends through its queue, keep their place
+ * on disk but stay on the heap, and are not replayed after a restart. A
+ * throwable is stored as its class name, message, stack trace and causes, and
+ * comes back as a stand-in whose {@code toString} and stack trace match the
+ * original.
+ * <p>
+ * Only one thread may consume at a time ({@link #supportsMultipleConsumers()}
+ * is false), and only one queue may use a directory. Producers take a lock only
+ * while spilling.
+ */
+public class SpillingLogQueue implements LogQueue, Closeable {
+
+    /**
+     * What to do with a record when every segment is in use
+     */
+    public enum DiskFullPolicy {
+        /** Refuse the record; {@code offer} returns false and {@code put} waits */
+        REJECT_NEW,
+        /** Delete the oldest segment, unread records included, to make room */
+        DROP_OLDEST
+    }
+
+    static final int MAGIC = 0x53574C53;  // "SWLS"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 16;
+    static final int RECORD_HEADER_BYTES = 4;
+    static final int MIN_SEGMENT_BYTES = 4096;
+
+    private static final int SEGMENT_SIZE_OFFSET = 8;
+    private static final int READ_OFFSET_OFFSET = 12;
+    // Placeholder for a record that stays on the heap
+    private static final int HEAP_RECORD = -1;
+    private static final int MAX_CAUSES = 16;
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    // Default configuration
+    private static final int DEFAULT_SEGMENT_BYTES = 8 * 1024 * 1024;
+    private static final int DEFAULT_MAX_SEGMENTS = 16;
+
+    // Wait configuration
+    private static final long MIN_PARK_NANOS = 50_000;
+    private static final long MAX_PARK_NANOS = 1_000_000;
+
+    private final RingBufferLogQueue memory;
+    private final Path directory;
+    private final int segmentBytes;
+    private final int maxSegments;
+    private final DiskFullPolicy policy;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ArrayDeque<Segment> segments = new ArrayDeque<>();
+    // Heap records whose segment was dropped; handed out before the disk
+    private final ArrayDeque<Log> released = new ArrayDeque<>();
+    private final ByteArrayOutputStream encodeBuffer = new ByteArrayOutputStream(256);
+    private long nextSequence;
+    private volatile boolean spilling;
+    private volatile long diskRecords;
+    private volatile long droppedRecords;
+    private boolean closed;
+
+    public SpillingLogQueue(int memoryCapacity, Path directory) throws IOException {
+        this(memoryCapacity, directory, DEFAULT_SEGMENT_BYTES, DEFAULT_MAX_SEGMENTS, DiskFullPolicy.REJECT_NEW);
+    }
+
+    /**
+     * @param memoryCapacity slots in the in-memory ring; rounded up to a power of two
+     * @param directory      where segment files live; created if missing, replayed if not empty
+     * @param segmentBytes   size of each segment file
+     * @param maxSegments    most segment files on disk at once
+     * @param policy         what to do when all segments are in use
+     */
+    public SpillingLogQueue(int memoryCapacity, Path directory, int segmentBytes, int maxSegments,
+                            DiskFullPolicy policy) throws IOException {
+        if (segmentBytes < MIN_SEGMENT_BYTES) {
+            throw new IllegalArgumentException("Segment size must be at least " + MIN_SEGMENT_BYTES + ": " + segmentBytes);
+        }
+        if (maxSegments < 1) {
+            throw new IllegalArgumentException("Max segments must be positive: " + maxSegments);
+        }
+        this.memory = new RingBufferLogQueue(memoryCapacity);
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.maxSegments = maxSegments;
+        this.policy = policy != null ? policy : DiskFullPolicy.REJECT_NEW;
+
+        Files.createDirectories(directory);
+        recover();
+    }
+
+    /**
+     * Map the segments left by a previous run, oldest first
+     */
+    private void recover() throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path file : stream) {
+                files.add(file);
+            }
+        }
+        files.sort(null);
+
+        long pending = 0;
+        for (Path file : files) {
+            long sequence = sequenceOf(file);
+            nextSequence = Math.max(nextSequence, sequence + 1);
+            Segment segment = Segment.open(file, sequence);
+            if (segment == null) {
+                continue;
+            }
+            if (segment.pending == 0) {
+                segment.delete();
+                continue;
+            }
+            segments.addLast(segment);
+            pending += segment.pending;
+        }
+        diskRecords = pending;
+        spilling = pending > 0;
+    }
+
+    @Override
+    public boolean offer(Log log) {
+        if (!spilling && memory.offer(log)) {
+            return true;
+        }
+
+        lock.lock();
+        try {
+            if (!spilling) {
+                if (memory.offer(log)) {
+                    return true;
+                }
+                spilling = true;
+            }
+            return spill(log);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void put(Log log) throws InterruptedException {
+        int idle = 0;
+        while (!offer(log)) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            LockSupport.parkNanos(Math.min(MIN_PARK_NANOS << Math.min(idle++, 10), MAX_PARK_NANOS));
+        }
+    }
+
+    @Override
+    public Log poll() {
+        Log log = memory.poll();
+        if (log != null || !spilling) {
+            return log;
+        }
+
+        lock.lock();
+        try {
+            // A producer that saw spilling off may have used the ring since
+            log = memory.poll();
+            return log != null ? log : readDisk();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int drainTo(List<Log> sink, int maxEvents) {
+        int count = memory.drainTo(sink, maxEvents);
+        if (count == maxEvents || !spilling) {
+            return count;
+        }
+
+        lock.lock();
+        try {
+            count += memory.drainTo(sink, maxEvents - count);
+            Log log;
+            while (count < maxEvents && (log = readDisk()) != null) {
+                sink.add(log);
+                count++;
+            }
+            return count;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Log poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        int idle = 0;
+        Log log;
+        while ((log = poll()) == null) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return null;
+            }
+            LockSupport.parkNanos(Math.min(Math.min(MIN_PARK_NANOS << Math.min(idle++, 10), MAX_PARK_NANOS), remaining));
+        }
+        return log;
+    }
+
+    /**
+     * Append a record to the newest segment, opening a new one when it is full.
+     * Called with the lock held.
+     */
+    private boolean spill(Log log) {
+        if (closed) {
+            return false;
+        }
+
+        byte[] payload = null;
+        if (log.getClass() == Log.class) {
+            try {
+                payload = encode(log);
+            } catch (IOException | RuntimeException e) {
+                System.err.println("Failed to spill log record: " + e.getMessage());
+                droppedRecords++;
+                return true;
+            }
+            if (RECORD_HEADER_BYTES + payload.length > segmentBytes - HEADER_BYTES) {
+                // Could never be written; keep the queue moving
+                droppedRecords++;
+                return true;
+            }
+        }
+        int recordBytes = RECORD_HEADER_BYTES + (payload != null ? payload.length : 0);
+
+        Segment tail = segments.peekLast();
+        if (tail == null || !tail.fits(recordBytes)) {
+            if (segments.size() >= maxSegments) {
+                if (policy == DiskFullPolicy.REJECT_NEW) {
+                    return false;
+                }
+                dropOldest();
+            }
+            try {
+                tail = Segment.create(directory.resolve(segmentName(nextSequence)), nextSequence, segmentBytes);
+                nextSequence++;
+            } catch (IOException e) {
+                System.err.println("Failed to create spill segment in " + directory + ": " + e.getMessage());
+                return false;
+            }
+            segments.addLast(tail);
+        }
+
+        if (payload != null) {
+            tail.append(payload);
+        } else {
+            tail.appendHeapRecord(log);
+        }
+        diskRecords++;
+        return true;
+    }
+
+    private void dropOldest() {
+        Segment oldest = segments.removeFirst();
+        // Heap records go out early rather than being lost; flush markers must still fire
+        released.addAll(oldest.heapRecords);
+        long lost = oldest.pending - oldest.heapRecords.size();
+        droppedRecords += lost;
+        diskRecords -= lost;
+        oldest.delete();
+    }
+
+    /**
+     * Next record from disk, or null once the disk is empty, at which point
+     * producers go back to the ring. Called with the lock held.
+     */
+    private Log readDisk() {
+        Log log = released.poll();
+        if (log != null) {
+            diskRecords--;
+            return log;
+        }
+
+        Segment head;
+        while ((head = segments.peekFirst()) != null) {
+            if (head.pending > 0) {
+                long pending = head.pending;
+                log = head.next();
+                diskRecords -= pending - head.pending;
+                if (log != null) {
+                    return log;
+                }
+                continue;
+            }
+            if (head == segments.peekLast()) {
+                break;
+            }
+            segments.removeFirst();
+            head.delete();
+        }
+
+        if (diskRecords == 0) {
+            while ((head = segments.pollFirst()) != null) {
+                head.delete();
+            }
+            spilling = false;
+        }
+        return null;
+    }
+
+    @Override
+    public int size() {
+        return (int) Math.min(Integer.MAX_VALUE, memory.size() + diskRecords);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return diskRecords == 0 && memory.isEmpty();
+    }
+
+    /**
+     * Discard queued records, deleting every segment. Consumes, so call it from
+     * the consumer thread or when no consumer is running.
+     */
+    @Override
+    public void clear() {
+        lock.lock();
+        try {
+            memory.clear();
+            released.clear();
+            Segment segment;
+            while ((segment = segments.pollFirst()) != null) {
+                segment.delete();
+            }
+            diskRecords = 0;
+            spilling = false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean supportsMultipleConsumers() {
+        return false;
+    }
+
+    /**
+     * Unbounded in records; the disk is bounded in bytes instead
+     */
+    @Override
+    public int getCapacity() {
+        return Integer.MAX_VALUE;
+    }
+
+    /**
+     * Whether producers are currently writing to disk
+     */
+    public boolean isSpilling() {
+        return spilling;
+    }
+
+    /**
+     * Records waiting on disk
+     */
+    public long getSpilledCount() {
+        return diskRecords;
+    }
+
+    /**
+     * Segment files currently on disk
+     */
+    public int getSegmentCount() {
+        lock.lock();
+        try {
+            return segments.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Records lost on the disk path: dropped with the oldest segment, too large
+     * for a segment, or impossible to encode
+     */
+    public long getDroppedCount() {
+        return droppedRecords;
+    }
+
+    /**
+     * Unmap the segments, leaving unread records on disk for the next queue
+     * opened on this directory. Records still in memory are not written out.
+     */
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            Segment segment;
+            while ((segment = segments.pollFirst()) != null) {
+                segment.unmap();
+            }
+            released.clear();
+            diskRecords = 0;
+            spilling = false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static String segmentName(long sequence) {
+        return String.format("%s%016x%s", SEGMENT_PREFIX, sequence, SEGMENT_SUFFIX);
+    }
+
+    private static long sequenceOf(Path file) {
+        String name = file.getFileName().toString();
+        try {
+            return Long.parseUnsignedLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()), 16);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private byte[] encode(Log log) throws IOException {
+        encodeBuffer.reset();
+        DataOutputStream out = new DataOutputStream(encodeBuffer);
+        writeString(out, log.getLevel() != null ? log.getLevel().name() : null);
+        writeString(out, log.getMessage());
+        writeString(out, log.getLoggerName());
+        Instant timestamp = log.getTimestamp();
+        out.writeBoolean(timestamp != null);
+        if (timestamp != null) {
+            out.writeLong(timestamp.getEpochSecond());
+            out.writeInt(timestamp.getNano());
+        }
+        writeString(out, log.getClassName());
+        writeString(out, log.getMethodName());
+        out.writeInt(log.getLineNumber());
+
+        int causes = 0;
+        for (Throwable t = log.getThrowable(); t != null && causes < MAX_CAUSES; t = t.getCause()) {
+            causes++;
+        }
+        out.writeInt(causes);
+        Throwable throwable = log.getThrowable();
+        for (int i = 0; i < causes; i++, throwable = throwable.getCause()) {
+            writeString(out, throwable.getClass().getName());
+            writeString(out, throwable.getMessage());
+            StackTraceElement[] frames = throwable.getStackTrace();
+            out.writeInt(frames.length);
+            for (StackTraceElement frame : frames) {
+                writeString(out, frame.getClassLoaderName());
+                writeString(out, frame.getModuleName());
+                writeString(out, frame.getModuleVersion());
+                writeString(out, frame.getClassName());
+                writeString(out, frame.getMethodName());
+                writeString(out, frame.getFileName());
+                out.writeInt(frame.getLineNumber());
+            }
+        }
+        out.flush();
+        return encodeBuffer.toByteArray();
+    }
+
+    static Log decode(byte[] payload) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        String level = readString(in);
+        String message = readString(in);
+        String loggerName = readString(in);
+        Instant timestamp = in.readBoolean() ? Instant.ofEpochSecond(in.readLong(), in.readInt()) : null;
+        String className = readString(in);
+        String methodName = readString(in);
+        int lineNumber = in.readInt();
+
+        int causes = in.readInt();
+        String[] types = new String[causes];
+        String[] messages = new String[causes];
+        StackTraceElement[][] traces = new StackTraceElement[causes][];
+        for (int i = 0; i < causes; i++) {
+            types[i] = readString(in);
+            messages[i] = readString(in);
+            traces[i] = new StackTraceElement[in.readInt()];
+            for (int f = 0; f < traces[i].length; f++) {
+                traces[i][f] = new StackTraceElement(readString(in), readString(in), readString(in),
+                        readString(in), readString(in), readString(in), in.readInt());
+            }
+        }
+        SpilledThrowable throwable = null;
+        for (int i = causes - 1; i >= 0; i--) {
+            throwable = new SpilledThrowable(types[i], messages[i], throwable);
+            throwable.setStackTrace(traces[i]);
+        }
+
+        return new Log(level != null ? LogLevel.valueOf(level) : null, message, loggerName, timestamp,
+                className, methodName, lineNumber, throwable);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Stand-in for a throwable that went through a segment file; prints like
+     * the original
+     */
+    private static final class SpilledThrowable extends Exception {
+        private final String originalClassName;
+
+        SpilledThrowable(String originalClassName, String message, Throwable cause) {
+            super(message, cause);
+            this.originalClassName = originalClassName;
+        }
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            // The stack trace is restored from disk
+            return this;
+        }
+
+        @Override
+        public String toString() {
+            String message = getLocalizedMessage();
+            return message != null ? originalClassName + ": " + message : originalClassName;
+        }
+    }
+
+    /**
+     * One mapped segment file. Accessed with the queue lock held.
+     */
+    private static final class Segment {
+        final long sequence;
+        final Path file;
+        final Arena arena;
+        final ByteBuffer buffer;
+        final ArrayDeque<Log> heapRecords = new ArrayDeque<>();
+        int writeOffset;
+        int readOffset;
+        // Records written but not yet read, heap records included
+        long pending;
+
+        private Segment(long sequence, Path file, Arena arena, ByteBuffer buffer) {
+            this.sequence = sequence;
+            this.file = file;
+            this.arena = arena;
+            this.buffer = buffer;
+        }
+
+        static Segment create(Path file, long sequence, int segmentBytes) throws IOException {
+            Segment segment = map(file, sequence, segmentBytes, true);
+            segment.buffer.putInt(4, VERSION);
+            segment.buffer.putInt(SEGMENT_SIZE_OFFSET, segmentBytes);
+            segment.buffer.putInt(READ_OFFSET_OFFSET, HEADER_BYTES);
+            segment.buffer.putInt(0, MAGIC);
+            segment.writeOffset = HEADER_BYTES;
+            segment.readOffset = HEADER_BYTES;
+            return segment;
+        }
+
+        /**
+         * Map a segment left by a previous run and count its unread records, or
+         * return null if the file is not a segment
+         */
+        static Segment open(Path file, long sequence) throws IOException {
+            long size = Files.size(file);
+            if (sequence < 0 || size < MIN_SEGMENT_BYTES || size > Integer.MAX_VALUE) {
+                System.err.println("Ignoring unrecognised spill file: " + file);
+                return null;
+            }
+            Segment segment = map(file, sequence, (int) size, false);
+            ByteBuffer buffer = segment.buffer;
+            int readOffset = buffer.getInt(READ_OFFSET_OFFSET);
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION
+                    || buffer.getInt(SEGMENT_SIZE_OFFSET) != size
+                    || readOffset < HEADER_BYTES || readOffset > size) {
+                System.err.println("Ignoring unrecognised spill file: " + file);
+                segment.unmap();
+                return null;
+            }
+
+            // Find the end of what was written; heap records were not kept, so skip them
+            int offset = HEADER_BYTES;
+            while (offset + RECORD_HEADER_BYTES <= size) {
+                int length = buffer.getInt(offset);
+                if (length == HEAP_RECORD) {
+                    offset += RECORD_HEADER_BYTES;
+                    continue;
+                }
+                if (length <= 0 || offset + RECORD_HEADER_BYTES + (long) length > size) {
+                    break;
+                }
+                if (offset >= readOffset) {
+                    segment.pending++;
+                }
+                offset += RECORD_HEADER_BYTES + length;
+            }
+            segment.writeOffset = offset;
+            segment.readOffset = Math.min(readOffset, offset);
+            return segment;
+        }
+
+        private static Segment map(Path file, long sequence, int segmentBytes, boolean create) throws IOException {
+            Arena arena = Arena.ofShared();
+            StandardOpenOption mode = create ? StandardOpenOption.CREATE_NEW : StandardOpenOption.READ;
+            try (FileChannel channel = FileChannel.open(file, mode, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes, arena).asByteBuffer();
+                return new Segment(sequence, file, arena, buffer);
+            } catch (IOException | RuntimeException e) {
+                arena.close();
+                throw e;
+            }
+        }
+
+        boolean fits(int recordBytes) {
+            return writeOffset + recordBytes <= buffer.capacity();
+        }
+
+        void append(byte[] payload) {
+            buffer.put(writeOffset + RECORD_HEADER_BYTES, payload, 0, payload.length);
+            // Length last, so a reader after a crash never sees half a record
+            buffer.putInt(writeOffset, payload.length);
+            writeOffset += RECORD_HEADER_BYTES + payload.length;
+            pending++;
+        }
+
+        void appendHeapRecord(Log log) {
+            buffer.putInt(writeOffset, HEAP_RECORD);
+            writeOffset += RECORD_HEADER_BYTES;
+            heapRecords.addLast(log);
+            pending++;
+        }
+
+        /**
+         * Read the next record and persist the read offset; null if it was a
+         * heap record from a previous run or could not be decoded
+         */
+        Log next() {
+            while (readOffset < writeOffset) {
+                int length = buffer.getInt(readOffset);
+                if (length == HEAP_RECORD) {
+                    readOffset += RECORD_HEADER_BYTES;
+                    Log log = heapRecords.poll();
+                    if (log == null) {
+                        continue;
+                    }
+                    buffer.putInt(READ_OFFSET_OFFSET, readOffset);
+                    pending--;
+                    return log;
+                }
+
+                byte[] payload = new byte[length];
+                buffer.get(readOffset + RECORD_HEADER_BYTES, payload);
+                readOffset += RECORD_HEADER_BYTES + length;
+                buffer.putInt(READ_OFFSET_OFFSET, readOffset);
+                pending--;
+                try {
+                    return decode(payload);
+                } catch (IOException | RuntimeException e) {
+                    System.err.println("Skipping unreadable spilled log record in " + file + ": " + e.getMessage());
+                    return null;
+                }
+            }
+            // Nothing left to read, whatever the count said
+            pending = 0;
+            return null;
+        }
+
+        void unmap() {
+            arena.close();
+        }
+
+        void delete() {
+            unmap();
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                System.err.println("Failed to delete spill segment " + file + ": " + e.getMessage());
+            }
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package io.joshuasalcedo.logging.async;
 
 import io.joshuasalcedo.logging.async.AsyncHandler;
+import io.joshuasalcedo.logging.async.queue.MemoryLogQueue;
+import io.joshuasalcedo.logging.async.queue.SpillingLogQueue;
 import io.joshuasalcedo.logging.core.Log;
 import io.joshuasalcedo.logging.core.LogLevel;
 import io.joshuasalcedo.logging.core.Logger;
@@ -8,16 +10,28 @@ import io.joshuasalcedo.logging.formatter.Formatter;
 import io.joshuasalcedo.logging.handler.ConsoleHandler;
 import io.joshuasalcedo.logging.handler.Handler;
 import io.joshuasalcedo.logging.manager.LoggerManager;
+import io.joshuasalcedo.logging.metrics.LoggingMetrics;
+import io.joshuasalcedo.logging.metrics.collector.AsyncQueueStats;
+import io.joshuasalcedo.logging.metrics.collector.DefaultMetricsCollector;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
 
+import static org.awaitility.Awaitility.await;
 import static org.junit.jupiter.api.Assertions.*;
 
 public class AsyncHandlerTest {
@@ -63,6 +77,60 @@ public class AsyncHandlerTest {
         }
     }
 
+    // Holds the first record until released, so a backlog builds up behind it
+    private static class GatedHandler extends TestHandler {
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch gate = new CountDownLatch(1);
+
+        GatedHandler() {
+            super(null);
+        }
+
+        @Override
+        public void publish(Log record) {
+            entered.countDown();
+            try {
+                gate.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            super.publish(record);
+        }
+    }
+
+    // Formats at an uneven cost, so chunks finish out of order, and tracks the threads involved
+    private static class EncodingHandler extends TestHandler {
+        private final List<String> lines = new ArrayList<>();
+        final Set<String> formatThreads = ConcurrentHashMap.newKeySet();
+        final Set<String> writeThreads = ConcurrentHashMap.newKeySet();
+        private final Formatter formatter = record -> {
+            formatThreads.add(Thread.currentThread().getName());
+            if (record.getMessage().length() % 2 == 0) {
+                LockSupport.parkNanos(20_000);
+            }
+            return record.getLevel() + " " + record.getMessage();
+        };
+
+        EncodingHandler() {
+            super(null);
+        }
+
+        @Override
+        public Formatter getSharedFormatter() {
+            return formatter;
+        }
+
+        @Override
+        public synchronized void publishEncodedBatch(List<Log> records, List<String> encoded) {
+            writeThreads.add(Thread.currentThread().getName());
+            lines.addAll(encoded);
+        }
+
+        public synchronized List<String> getLines() {
+            return new ArrayList<>(lines);
+        }
+    }
+
     @BeforeEach
     public void setUp() {
         // Ensure async is enabled
@@ -148,6 +216,228 @@ public class AsyncHandlerTest {
         asyncHandler.close();
     }
 
+    @Test
+    public void testAcceptsAnyLogQueue() throws InterruptedException {
+        int logCount = 200;
+        CountDownLatch latch = new CountDownLatch(logCount);
+        TestHandler testHandler = new TestHandler(latch);
+        AsyncHandler asyncHandler = new AsyncHandler(testHandler, new MemoryLogQueue(50), false, 2);
+
+        for (int i = 0; i < logCount; i++) {
+            asyncHandler.publish(new Log(LogLevel.INFO, "Message " + i, "TestLogger"));
+        }
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS), "Not all logs were processed in time");
+        assertEquals(logCount, testHandler.getLogs().size());
+        assertEquals(0, asyncHandler.getDroppedLogsCount());
+
+        asyncHandler.close();
+    }
+
+    @Test
+    public void testEveryWaitStrategyWakesPromptly() throws InterruptedException {
+        for (WaitStrategy strategy : WaitStrategy.values()) {
+            AsyncConfiguration config = new AsyncConfiguration();
+            config.setWaitStrategy(strategy);
+            CountDownLatch latch = new CountDownLatch(1);
+            TestHandler testHandler = new TestHandler(latch);
+            AsyncHandler asyncHandler = new AsyncHandler(testHandler, config);
+            assertEquals(strategy, asyncHandler.getWaitStrategy());
+
+            // Let the worker go fully idle before publishing
+            Thread.sleep(200);
+            long start = System.nanoTime();
+            asyncHandler.publish(new Log(LogLevel.INFO, "wake up", "TestLogger"));
+            assertTrue(latch.await(5, TimeUnit.SECONDS), strategy + " never delivered");
+            long wakeMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            assertTrue(wakeMillis < 50, strategy + " took " + wakeMillis + " ms to wake");
+
+            start = System.nanoTime();
+            asyncHandler.close();
+            long closeMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            assertTrue(closeMillis < 50, strategy + " took " + closeMillis + " ms to close");
+        }
+    }
+
+    @Test
+    public void testDrainsReachWrappedHandlerAsBatches() throws InterruptedException {
+        int logCount = 25;
+        List<Integer> batchSizes = new ArrayList<>();
+        TestHandler testHandler = new TestHandler(null) {
+            @Override
+            public void publishBatch(List<Log> records) {
+                synchronized (batchSizes) {
+                    batchSizes.add(records.size());
+                }
+                super.publishBatch(records);
+            }
+        };
+        AsyncConfiguration config = new AsyncConfiguration();
+        config.setBatchSize(10);
+        config.setLingerMillis(500);
+        AsyncHandler asyncHandler = new AsyncHandler(testHandler, config);
+
+        for (int i = 0; i < logCount; i++) {
+            asyncHandler.publish(new Log(LogLevel.INFO, "Message " + i, "TestLogger"));
+        }
+
+        // A pending flush cuts the linger short
+        long start = System.nanoTime();
+        asyncHandler.flush();
+        long flushMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        assertTrue(flushMillis < 250, "Flush waited " + flushMillis + " ms for the linger");
+
+        List<Log> received = testHandler.getLogs();
+        assertEquals(logCount, received.size());
+        for (int i = 0; i < logCount; i++) {
+            assertEquals("Message " + i, received.get(i).getMessage());
+        }
+        synchronized (batchSizes) {
+            assertEquals(logCount, batchSizes.stream().mapToInt(Integer::intValue).sum());
+            assertTrue(batchSizes.stream().allMatch(size -> size <= 10), "Batch over limit: " + batchSizes);
+            assertTrue(batchSizes.contains(10), "Linger never filled a batch: " + batchSizes);
+        }
+
+        asyncHandler.close();
+    }
+
+    @Test
+    public void testPartitionedLanesKeepPerLoggerOrder() throws InterruptedException {
+        int loggers = 8;
+        int logsPerLogger = 500;
+        int totalLogs = loggers * logsPerLogger;
+        CountDownLatch latch = new CountDownLatch(totalLogs);
+        TestHandler testHandler = new TestHandler(latch);
+        AsyncConfiguration config = new AsyncConfiguration();
+        config.setPartitions(4);
+        AsyncHandler asyncHandler = new AsyncHandler(testHandler, config);
+        assertEquals(4, asyncHandler.getPartitionCount());
+
+        // One thread per logger, all publishing at once
+        Thread[] threads = new Thread[loggers];
+        for (int t = 0; t < loggers; t++) {
+            String loggerName = "Logger" + t;
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < logsPerLogger; i++) {
+                    asyncHandler.publish(new Log(LogLevel.INFO, String.valueOf(i), loggerName));
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertTrue(latch.await(10, TimeUnit.SECONDS), "Not all logs were processed in time");
+
+        int[] next = new int[loggers];
+        for (Log log : testHandler.getLogs()) {
+            int logger = Integer.parseInt(log.getLoggerName().substring("Logger".length()));
+            assertEquals(next[logger]++, Integer.parseInt(log.getMessage()), "Out of order for " + log.getLoggerName());
+        }
+
+        List<AsyncHandler.LaneStats> lanes = asyncHandler.getLaneStats();
+        assertEquals(4, lanes.size());
+        assertEquals(totalLogs, lanes.stream().mapToLong(AsyncHandler.LaneStats::delivered).sum());
+        assertTrue(lanes.stream().filter(lane -> lane.delivered() > 0).count() > 1, "All loggers hashed to one lane");
+
+        asyncHandler.close();
+    }
+
+    @Test
+    public void testPartitionedLanesCanOwnTheirHandlers() throws InterruptedException {
+        int logCount = 400;
+        CountDownLatch latch = new CountDownLatch(logCount);
+        List<TestHandler> laneHandlers = new ArrayList<>();
+        AsyncConfiguration config = new AsyncConfiguration();
+        config.setPartitions(3);
+        config.setPartitionKey(PartitionKey.THREAD);
+        AsyncHandler asyncHandler = new AsyncHandler(lane -> {
+            TestHandler handler = new TestHandler(latch);
+            laneHandlers.add(handler);
+            return handler;
+        }, config);
+        assertEquals(3, laneHandlers.size());
+
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < logCount / threads.length; i++) {
+                    asyncHandler.publish(new Log(LogLevel.INFO, Thread.currentThread().getName(), "TestLogger"));
+                }
+            }, "Publisher-" + t);
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertTrue(latch.await(5, TimeUnit.SECONDS), "Not all logs were processed in time");
+
+        // Every publishing thread is served by exactly one lane
+        for (Thread thread : threads) {
+            long lanesSeen = laneHandlers.stream()
+                    .filter(handler -> handler.getLogs().stream().anyMatch(log -> log.getMessage().equals(thread.getName())))
+                    .count();
+            assertEquals(1, lanesSeen, thread.getName() + " spread across lanes");
+        }
+
+        asyncHandler.setLevel(LogLevel.ERROR);
+        assertTrue(laneHandlers.stream().allMatch(handler -> handler.getLevel() == LogLevel.ERROR));
+        asyncHandler.close();
+    }
+
+    @Test
+    public void testVirtualThreadWorkers() throws InterruptedException {
+        int logCount = 100;
+        CountDownLatch latch = new CountDownLatch(logCount);
+        List<Thread> deliveryThreads = new ArrayList<>();
+        TestHandler testHandler = new TestHandler(latch) {
+            @Override
+            public synchronized void publish(Log record) {
+                deliveryThreads.add(Thread.currentThread());
+                super.publish(record);
+            }
+        };
+        AsyncConfiguration config = new AsyncConfiguration();
+        config.setVirtualThreads(true);
+        config.setPartitions(2);
+        AsyncHandler asyncHandler = new AsyncHandler(testHandler, config);
+        assertTrue(asyncHandler.isVirtualThreads());
+
+        for (int i = 0; i < logCount; i++) {
+            asyncHandler.publish(new Log(LogLevel.INFO, "Message " + i, "Logger" + (i % 4)));
+        }
+        assertTrue(latch.await(5, TimeUnit.SECONDS), "Not all logs were processed in time");
+
+        synchronized (testHandler) {
+            assertTrue(deliveryThreads.stream().allMatch(Thread::isVirtual), "Delivered on a platform thread");
+            assertTrue(deliveryThreads.stream().allMatch(thread -> thread.getName().startsWith("AsyncLogger-")));
+        }
+
+        long start = System.nanoTime();
+        asyncHandler.close();
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1000, "Virtual workers did not stop");
+    }
+
+    @Test
+    public void testVirtualWorkersDoNotSpin() throws InterruptedException {
+        for (WaitStrategy strategy : WaitStrategy.values()) {
+            AsyncConfiguration config = new AsyncConfiguration();
+            config.setVirtualThreads(true);
+            config.setWaitStrategy(strategy);
+            CountDownLatch latch = new CountDownLatch(1);
+            AsyncHandler asyncHandler = new AsyncHandler(new TestHandler(latch), config);
+
+            // Spinning would pin a carrier thread, so those fall back to blocking
+            WaitStrategy expected = strategy == WaitStrategy.BUSY_SPIN || strategy == WaitStrategy.YIELDING
+                    ? WaitStrategy.BLOCKING : strategy;
+            assertEquals(expected, asyncHandler.getWaitStrategy(), strategy + " on virtual workers");
+
+            asyncHandler.publish(new Log(LogLevel.INFO, "delivered", "TestLogger"));
+            assertTrue(latch.await(5, TimeUnit.SECONDS), strategy + " never delivered");
+            asyncHandler.close();
+        }
+    }
+
     @Test
     public void testQueueOverflow() throws InterruptedException {
         // Create async handler with small queue
@@ -179,6 +469,368 @@ public class AsyncHandlerTest {
         asyncHandler.close();
     }
 
+    @Test
+    public void testPrioritySheddingKeepsHeadroomForWarnings() throws InterruptedException {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch gate = new CountDownLatch(1);
+        TestHandler stalledHandler = new TestHandler(null) {
+            @Override
+            public void publish(Log record) {
+                entered.countDown();
+                try {
+                    gate.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                super.publish(record);
+            }
+        };
+        AsyncConfiguration config = new AsyncConfiguration();
+        config.setQueueSize(16);
+        config.setPriorityShedding(true);
+        AsyncHandler asyncHandler = new AsyncHandler(stalledHandler, config);
+
+        // Park the worker inside the handler so the queue only fills
+        asyncHandler.publish(new Log(LogLevel.INFO, "blocker", "TestLogger"));
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+        assertEquals(LogLevel.DEBUG, asyncHandler.getMinimumAdmittedLevel());
+
+        // Watermarks 0.5 / 0.75 / 0.9 of 16 slots admit 8 DEBUG, 4 INFO and 2 EVENT
+        for (LogLevel level : List.of(LogLevel.DEBUG, LogLevel.INFO, LogLevel.EVENT)) {
+            for (int i = 0; i < 10; i++) {
+                asyncHandler.publish(new Log(level, level + " " + i, "TestLogger"));
+            }
+        }
+        // The remaining headroom belongs to WARN and above
+        asyncHandler.publish(new Log(LogLevel.WARN, "WARN 0", "TestLogger"));
+        asyncHandler.publish(new Log(LogLevel.WARN, "WARN 1", "TestLogger"));
+        assertEquals(2, asyncHandler.getDroppedLogsCount(LogLevel.DEBUG));
+        assertEquals(6, asyncHandler.getDroppedLogsCount(LogLevel.INFO));
+        assertEquals(8, asyncHandler.getDroppedLogsCount(LogLevel.EVENT));
+        assertEquals(0, asyncHandler.getDroppedLogsCount(LogLevel.WARN));
+        assertEquals(16, asyncHandler.getDroppedLogsByLevel().values().stream().mapToLong(Long::longValue).sum());
+        assertEquals(LogLevel.WARN, asyncHandler.getMinimumAdmittedLevel());
+        assertEquals(1.0, asyncHandler.getBackpressure());
+
+        // WARN and above wait for space instead of being dropped
+        Thread critical = new Thread(() -> asyncHandler.publish(new Log(LogLevel.CRITICAL, "critical", "TestLogger")));
+        critical.start();
+        gate.countDown();
+        critical.join(5000);
+        asyncHandler.flush();
+
+        List<Log> delivered = stalledHandler.getLogs();
+        assertEquals(8, delivered.stream().filter(log -> log.getLevel() == LogLevel.DEBUG).count());
+        assertEquals(5, delivered.stream().filter(log -> log.getLevel() == LogLevel.INFO).count());
+        assertEquals(2, delivered.stream().filter(log -> log.getLevel() == LogLevel.EVENT).count());
+        assertEquals(2, delivered.stream().filter(log -> log.getLevel() == LogLevel.WARN).count());
+        assertEquals(1, delivered.stream().filter(log -> log.getLevel() == LogLevel.CRITICAL).count());
+        assertEquals(0, asyncHandler.getQueueSize());
+
+        asyncHandler.close();
+    }
+
+    @Test
+    public void testDropWarningIsWrittenByTheWorker() throws InterruptedException {
+        Set<String> publishThreads = ConcurrentHashMap.newKeySet();
+        GatedHandler gatedHandler = new GatedHandler() {
+            @Override
+            public void publish(Log record) {
+                publishThreads.add(Thread.currentThread().getName());
+                super.publish(record);
+            }
+        };
+        AsyncConfiguration config = new AsyncConfiguration();
+        config.setQueueSize(10);
+        config.setBatchSize(1);
+        config.setDiscardOnOverflow(true);
+        config.setExpressLane(true);
+        AsyncHandler asyncHandler = new AsyncHandler(gatedHandler, config);
+
+        asyncHandler.publish(new Log(LogLevel.INFO, "blocker", "TestLogger"));
+        assertTrue(gatedHandler.entered.await(5, TimeUnit.SECONDS));
+        while (asyncHandler.getDroppedLogsCount() < 1000) {
+            asyncHandler.publish(new Log(LogLevel.INFO, "flood", "TestLogger"));
+        }
+
+        gatedHandler.gate.countDown();
+        asyncHandler.flush();
+        asyncHandler.close();
+
+        assertFalse(publishThreads.contains(Thread.currentThread().getName()),
+                "Producer called the lane handler directly");
+        assertTrue(gatedHandler.getLogs().stream().anyMatch(log -> log.getLevel() == LogLevel.WARN
+                && log.getMessage().equals("AsyncHandler has dropped 1000 logs due to queue overflow")));
+    }
+
+    @Test
+    public void testExpressLaneOvertakesBacklogAndFlushesThrough() throws InterruptedException {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch gate = new CountDownLatch(1);
+        TestHandler stalledHandler = new TestHandler(null) {
+            @Override
+            public void publish(Log record) {
+                entered.countDown();
+                try {
+                    gate.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                super.publish(record);
+            }
+        };
+        AsyncConfiguration config = new AsyncConfiguration();
+        config.setBatchSize(1);
+        config.setExpressLane(true);
+        config.setFlushThroughLevel(LogLevel.CRITICAL);
+        AsyncHandler asyncHandler = new AsyncHandler(stalledHandler, config);
+
+        asyncHandler.publish(new Log(LogLevel.INFO, "blocker", "TestLogger"));
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 100; i++) {
+            asyncHandler.publish(new Log(LogLevel.DEBUG, "backlog " + i, "TestLogger"));
+        }
+        asyncHandler.publish(new Log(LogLevel.ERROR, "error", "TestLogger"));
+
+        // CRITICAL waits for its own delivery, so it is already written when publish returns
+        AtomicBoolean writtenOnReturn = new AtomicBoolean();
+        Thread critical = new Thread(() -> {
+            asyncHandler.publish(new Log(LogLevel.CRITICAL, "critical", "TestLogger"));
+            writtenOnReturn.set(stalledHandler.getLogs().stream().anyMatch(log -> log.getMessage().equals("critical")));
+        });
+        critical.start();
+        critical.join(200);
+        assertTrue(critical.isAlive(), "Flush-through returned before delivery");
+
+        gate.countDown();
+        critical.join(5000);
+        assertTrue(writtenOnReturn.get());
+        asyncHandler.flush();
+
+        List<Log> delivered = stalledHandler.getLogs();
+        assertEquals(103, delivered.size());
+        assertEquals("blocker", delivered.get(0).getMessage());
+        assertEquals("error", delivered.get(1).getMessage());
+        assertEquals("critical", delivered.get(2).getMessage());
+        assertEquals("backlog 0", delivered.get(3).getMessage());
+
+        asyncHandler.close();
+    }
+
+    @Test
+    public void testReportsQueueAndLatencyMetrics() throws InterruptedException {
+        LoggingMetrics.getInstance().reset();
+        DefaultMetricsCollector collector = (DefaultMetricsCollector) LoggingMetrics.getInstance().getCollector();
+        GatedHandler gatedHandler = new GatedHandler();
+        AsyncConfiguration config = new AsyncConfiguration();
+        config.setQueueSize(16);
+        config.setDiscardOnOverflow(false);
+        config.setBatchSize(4);
+        AsyncHandler asyncHandler = new AsyncHandler(gatedHandler, config);
+
+        asyncHandler.publish(new Log(LogLevel.INFO, "blocker", "TestLogger"));
+        assertTrue(gatedHandler.entered.await(5, TimeUnit.SECONDS));
+
+        // Fill the ring behind the stalled worker until the producer blocks
+        Thread producer = new Thread(() -> {
+            for (int i = 0; i < 40; i++) {
+                asyncHandler.publish(new Log(LogLevel.INFO, "backlog " + i, "TestLogger"));
+            }
+        });
+        producer.start();
+        Thread.sleep(100);
+        assertTrue(producer.isAlive(), "Producer should be blocked on the full ring");
+        gatedHandler.gate.countDown();
+        producer.join(5000);
+        asyncHandler.flush();
+
+        // Drains are reported after delivery, so the flush can finish first
+        await().atMost(5, TimeUnit.SECONDS).until(() -> {
+            AsyncQueueStats stats = collector.getAsyncQueues().get("AsyncHandler(GatedHandler)");
+            return stats != null && stats.getEvents() == 41 && stats.getProducerBlockedNanos() > 0;
+        });
+        AsyncQueueStats stats = collector.getAsyncQueues().get("AsyncHandler(GatedHandler)");
+        assertTrue(stats.getDepthHighWatermark() >= 16, "High-watermark " + stats.getDepthHighWatermark());
+        assertTrue(stats.getBatchSizes().getMax() <= 4);
+        assertTrue(stats.getBusyRatio() > 0);
+        assertTrue(stats.getLatencyMicros().getCount() >= 1);
+        assertTrue(collector.getSlowestAsyncLatencyNanos() > 0);
+        assertEquals(41, gatedHandler.getLogs().size());
+        assertTrue(collector.getDetailedReport().contains("AsyncHandler(GatedHandler): depth"));
+
+        asyncHandler.close();
+    }
+
+    @Test
+    public void testLatencyProbeSurvivesSpilling(@TempDir Path dir) throws InterruptedException, IOException {
+        LoggingMetrics.getInstance().reset();
+        DefaultMetricsCollector collector = (DefaultMetricsCollector) LoggingMetrics.getInstance().getCollector();
+        Semaphore permits = new Semaphore(0);
+        TestHandler permitHandler = new TestHandler(null) {
+            @Override
+            public void publish(Log record) {
+                permits.acquireUninterruptibly();
+                super.publish(record);
+            }
+        };
+        SpillingLogQueue queue = new SpillingLogQueue(4, dir);
+        AsyncConfiguration config = new AsyncConfiguration();
+        config.setBatchSize(1);
+        config.setDiscardOnOverflow(false);
+        AsyncHandler asyncHandler = new AsyncHandler(permitHandler, queue, config);
+
+        // The worker holds the first record, which is being timed, until spilling has begun
+        asyncHandler.publish(new Log(LogLevel.INFO, "blocker", "TestLogger"));
+        int i = 0;
+        while (!queue.isSpilling()) {
+            asyncHandler.publish(new Log(LogLevel.INFO, "backlog " + i++, "TestLogger"));
+        }
+        permits.release();
+        await().atMost(5, TimeUnit.SECONDS).until(() -> latencySamples(collector) == 1);
+
+        // Timed on the way in, read back from disk as a new instance
+        asyncHandler.publish(new Log(LogLevel.INFO, "spilled", "TestLogger"));
+        assertTrue(queue.getSpilledCount() > 0);
+        permits.release(1_000);
+        asyncHandler.flush();
+        await().atMost(5, TimeUnit.SECONDS).until(() -> latencySamples(collector) == 2);
+
+        asyncHandler.publish(new Log(LogLevel.INFO, "after", "TestLogger"));
+        asyncHandler.flush();
+        await().atMost(5, TimeUnit.SECONDS).until(() -> latencySamples(collector) == 3);
+
+        asyncHandler.close();
+        queue.close();
+    }
+
+    private static long latencySamples(DefaultMetricsCollector collector) {
+        AsyncQueueStats stats = collector.getAsyncQueues().values().stream().findFirst().orElse(null);
+        return stats != null ? stats.getLatencyMicros().getCount() : 0;
+    }
+
+    @Test
+    public void testPipelineFormatsInParallelAndWritesInOrder() throws InterruptedException {
+        EncodingHandler handler = new EncodingHandler();
+        handler.setLevel(LogLevel.INFO);
+        AsyncConfiguration config = new AsyncConfiguration();
+        config.setFormatThreads(4);
+        config.setPipelineWindow(8);
+        config.setBatchSize(64);
+        config.setDiscardOnOverflow(false);
+        AsyncHandler asyncHandler = new AsyncHandler(handler, config);
+        assertEquals(4, asyncHandler.getFormatThreads());
+
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            LogLevel level = i % 10 == 0 ? LogLevel.DEBUG : LogLevel.INFO;
+            asyncHandler.publish(new Log(level, "m" + i, "TestLogger"));
+            if (level == LogLevel.INFO) {
+                expected.add("INFO m" + i);
+            }
+        }
+
+        // Flush returns once the writer has caught up; records below the handler's level are never formatted
+        asyncHandler.flush();
+        assertEquals(expected, handler.getLines());
+        assertEquals(Set.of("AsyncLogger-Writer-0"), handler.writeThreads);
+        assertFalse(handler.formatThreads.isEmpty());
+        assertTrue(handler.formatThreads.stream().allMatch(name -> name.startsWith("AsyncLogger-Format-")),
+                "Formatted on " + handler.formatThreads);
+        asyncHandler.close();
+
+        // A handler without a shared formatter still gets every record, in order
+        TestHandler plain = new TestHandler(null);
+        AsyncHandler plainAsync = new AsyncHandler(plain, config);
+        for (int i = 0; i < 100; i++) {
+            plainAsync.publish(new Log(LogLevel.INFO, "m" + i, "TestLogger"));
+        }
+        plainAsync.close();
+        List<Log> logs = plain.getLogs();
+        assertEquals(100, logs.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals("m" + i, logs.get(i).getMessage());
+        }
+    }
+
+    @Test
+    public void testFormatterErrorDoesNotStallThePipeline() throws InterruptedException {
+        TestHandler handler = new TestHandler(null) {
+            private final Formatter formatter = record -> {
+                if (record.getMessage().equals("deep")) {
+                    throw new StackOverflowError();
+                }
+                return record.getMessage();
+            };
+
+            @Override
+            public Formatter getSharedFormatter() {
+                return formatter;
+            }
+
+            @Override
+            public void publishEncodedBatch(List<Log> records, List<String> encoded) {
+                publishBatch(records);
+            }
+        };
+        AsyncConfiguration config = new AsyncConfiguration();
+        config.setFormatThreads(2);
+        config.setPipelineWindow(2);
+        config.setDiscardOnOverflow(false);
+        AsyncHandler asyncHandler = new AsyncHandler(handler, config);
+
+        for (int i = 0; i < 100; i++) {
+            asyncHandler.publish(new Log(LogLevel.INFO, i == 10 ? "deep" : "m" + i, "TestLogger"));
+        }
+        asyncHandler.flush();
+
+        // The chunk the formatter failed on is handed to the handler unformatted, in its place
+        List<Log> logs = handler.getLogs();
+        assertEquals(100, logs.size());
+        assertEquals("deep", logs.get(10).getMessage());
+        asyncHandler.close();
+    }
+
+    @Test
+    public void testCloseLeavesHandlerOfStuckWriterOpen() throws InterruptedException {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean closedWhileWriting = new AtomicBoolean();
+        AtomicBoolean writing = new AtomicBoolean();
+        EncodingHandler stuckHandler = new EncodingHandler() {
+            @Override
+            public void publishEncodedBatch(List<Log> records, List<String> encoded) {
+                writing.set(true);
+                entered.countDown();
+                // Ignores the interrupt from close
+                while (true) {
+                    try {
+                        release.await();
+                        break;
+                    } catch (InterruptedException ignored) {
+                    }
+                }
+                super.publishEncodedBatch(records, encoded);
+                writing.set(false);
+            }
+
+            @Override
+            public void close() {
+                closedWhileWriting.compareAndSet(false, writing.get());
+            }
+        };
+        AsyncConfiguration config = new AsyncConfiguration();
+        config.setFormatThreads(1);
+        config.setShutdownTimeoutSeconds(1);
+        AsyncHandler asyncHandler = new AsyncHandler(stuckHandler, config);
+
+        asyncHandler.publish(new Log(LogLevel.INFO, "stuck", "TestLogger"));
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+        asyncHandler.close();
+        release.countDown();
+
+        assertFalse(closedWhileWriting.get(), "Handler closed while its writer was still inside it");
+    }
+
     @Test
     public void testFlush() throws InterruptedException {
         TestHandler testHandler = new TestHandler(null);
@@ -0,0 +1,107 @@
+package io.joshuasalcedo.logging.async.queue;
+
+import io.joshuasalcedo.logging.core.Log;
+import io.joshuasalcedo.logging.core.LogLevel;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RingBufferLogQueueTest {
+
+    private static Log event(String message) {
+        return new Log(LogLevel.INFO, message, "TestLogger", Instant.now(), "TestClass", "test", 1, null);
+    }
+
+    @Test
+    public void testCapacityRoundsUpAndBoundsOffers() {
+        RingBufferLogQueue queue = new RingBufferLogQueue(10);
+        assertEquals(16, queue.getCapacity());
+        assertFalse(queue.supportsMultipleConsumers());
+
+        for (int i = 0; i < 16; i++) {
+            assertTrue(queue.offer(event("m" + i)));
+        }
+        assertFalse(queue.offer(event("overflow")));
+        assertEquals(16, queue.size());
+
+        // Freeing one slot admits exactly one more, and order wraps around correctly
+        assertEquals("m0", queue.poll().getMessage());
+        assertTrue(queue.offer(event("m16")));
+        assertFalse(queue.offer(event("overflow")));
+
+        List<Log> drained = new ArrayList<>();
+        assertEquals(10, queue.drainTo(drained, 10));
+        assertEquals(6, queue.drainTo(drained, 100));
+        assertEquals("m1", drained.get(0).getMessage());
+        assertEquals("m16", drained.get(15).getMessage());
+        assertTrue(queue.isEmpty());
+        assertNull(queue.poll());
+    }
+
+    @Test
+    public void testConcurrentProducersLoseNothingAndKeepPerProducerOrder() throws Exception {
+        int producers = 8;
+        int perProducer = 50_000;
+        RingBufferLogQueue queue = new RingBufferLogQueue(1024);
+        CountDownLatch start = new CountDownLatch(1);
+
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            String prefix = p + ":";
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < perProducer; i++) {
+                        queue.put(event(prefix + i));
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+
+        int[] next = new int[producers];
+        List<Log> batch = new ArrayList<>();
+        int received = 0;
+        while (received < producers * perProducer) {
+            Log first = queue.poll(5, TimeUnit.SECONDS);
+            assertNotNull(first, "Stalled after " + received + " events");
+            batch.add(first);
+            queue.drainTo(batch, 255);
+            for (Log log : batch) {
+                String[] parts = log.getMessage().split(":");
+                int producer = Integer.parseInt(parts[0]);
+                assertEquals(next[producer]++, Integer.parseInt(parts[1]));
+            }
+            received += batch.size();
+            batch.clear();
+        }
+
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void testBlockingCallsHonourTimeoutAndInterrupt() throws Exception {
+        RingBufferLogQueue queue = new RingBufferLogQueue(1);
+        long start = System.nanoTime();
+        assertNull(queue.poll(50, TimeUnit.MILLISECONDS));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50));
+
+        queue.put(event("first"));
+        Thread.currentThread().interrupt();
+        assertThrows(InterruptedException.class, () -> queue.put(event("second")));
+        assertFalse(Thread.currentThread().isInterrupted());
+    }
+}
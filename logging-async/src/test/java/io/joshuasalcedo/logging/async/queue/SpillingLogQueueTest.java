@@ -0,0 +1,167 @@
+package io.joshuasalcedo.logging.async.queue;
+
+import io.joshuasalcedo.logging.core.Log;
+import io.joshuasalcedo.logging.core.LogLevel;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SpillingLogQueueTest {
+
+    private static final int SEGMENT_BYTES = SpillingLogQueue.MIN_SEGMENT_BYTES;
+
+    @TempDir
+    Path directory;
+
+    private static Log event(String message) {
+        return new Log(LogLevel.INFO, message, "TestLogger", Instant.ofEpochSecond(1_700_000_000, 42),
+                "TestClass", "test", 7, null);
+    }
+
+    private long segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+
+    @Test
+    public void testSpillsWhenFullAndDrainsInOrder() throws Exception {
+        SpillingLogQueue queue = new SpillingLogQueue(4, directory, SEGMENT_BYTES, 100,
+                SpillingLogQueue.DiskFullPolicy.REJECT_NEW);
+        assertFalse(queue.supportsMultipleConsumers());
+
+        // A subclass stays on the heap but keeps its place in the order
+        Log marker = new Log(LogLevel.INFO, "marker", "TestLogger", Instant.now(), "TestClass", "test", 1, null) {};
+        for (int i = 0; i < 500; i++) {
+            assertTrue(queue.offer(i == 250 ? marker : event("m" + i)));
+        }
+        assertTrue(queue.isSpilling());
+        assertEquals(500, queue.size());
+        assertTrue(queue.getSegmentCount() > 1, "Expected several segments");
+
+        List<Log> drained = new ArrayList<>();
+        while (queue.drainTo(drained, 64) > 0) {
+            // Keep draining
+        }
+        assertEquals(500, drained.size());
+        for (int i = 0; i < 500; i++) {
+            if (i == 250) {
+                assertSame(marker, drained.get(i));
+            } else {
+                assertEquals("m" + i, drained.get(i).getMessage());
+            }
+        }
+        assertEquals(Instant.ofEpochSecond(1_700_000_000, 42), drained.get(499).getTimestamp());
+        assertEquals("TestClass", drained.get(499).getClassName());
+        assertEquals(7, drained.get(499).getLineNumber());
+
+        // Reading the disk empty deletes the segments and returns producers to memory
+        assertTrue(queue.isEmpty());
+        assertFalse(queue.isSpilling());
+        assertEquals(0, segmentFiles());
+        assertTrue(queue.offer(event("after")));
+        assertEquals(0, queue.getSegmentCount());
+        assertEquals("after", queue.poll().getMessage());
+        queue.close();
+    }
+
+    @Test
+    public void testReplaysUnreadRecordsAfterRestart() throws Exception {
+        // Large enough for a record carrying a JUnit-deep stack trace
+        int segmentBytes = 64 * 1024;
+        SpillingLogQueue queue = new SpillingLogQueue(4, directory, segmentBytes, 100,
+                SpillingLogQueue.DiskFullPolicy.REJECT_NEW);
+        for (int i = 0; i < 100; i++) {
+            queue.put(event("m" + i));
+        }
+        IllegalStateException failure = new IllegalStateException("boom", new IOException("disk"));
+        queue.put(new Log(LogLevel.ERROR, "failed", "TestLogger", Instant.now(), "TestClass", "test", 1, failure));
+
+        // The first four come from memory, the next six from disk
+        for (int i = 0; i < 10; i++) {
+            assertEquals("m" + i, queue.poll().getMessage());
+        }
+        queue.close();
+
+        SpillingLogQueue restarted = new SpillingLogQueue(4, directory, segmentBytes, 100,
+                SpillingLogQueue.DiskFullPolicy.REJECT_NEW);
+        assertTrue(restarted.isSpilling());
+        assertEquals(91, restarted.size());
+        for (int i = 10; i < 100; i++) {
+            assertEquals("m" + i, restarted.poll().getMessage());
+        }
+
+        Log replayed = restarted.poll();
+        assertEquals(LogLevel.ERROR, replayed.getLevel());
+        Throwable throwable = replayed.getThrowable();
+        assertEquals(failure.toString(), throwable.toString());
+        assertEquals("java.io.IOException: disk", throwable.getCause().toString());
+        assertArrayEquals(failure.getStackTrace(), throwable.getStackTrace());
+        StringWriter trace = new StringWriter();
+        throwable.printStackTrace(new PrintWriter(trace));
+        assertTrue(trace.toString().contains("Caused by: java.io.IOException: disk"));
+
+        assertNull(restarted.poll());
+        assertTrue(restarted.isEmpty());
+        restarted.close();
+    }
+
+    @Test
+    public void testRejectsNewRecordsWhenDiskIsFull() throws Exception {
+        SpillingLogQueue queue = new SpillingLogQueue(2, directory, SEGMENT_BYTES, 2,
+                SpillingLogQueue.DiskFullPolicy.REJECT_NEW);
+        int accepted = 0;
+        while (queue.offer(event("m" + accepted))) {
+            accepted++;
+        }
+        assertEquals(2, queue.getSegmentCount());
+        assertEquals(2, segmentFiles());
+        assertEquals(accepted, queue.size());
+        assertEquals(0, queue.getDroppedCount());
+
+        // Everything that was accepted comes back
+        for (int i = 0; i < accepted; i++) {
+            assertEquals("m" + i, queue.poll().getMessage());
+        }
+        assertNull(queue.poll());
+        queue.close();
+    }
+
+    @Test
+    public void testDropsOldestSegmentWhenDiskIsFull() throws Exception {
+        SpillingLogQueue queue = new SpillingLogQueue(2, directory, SEGMENT_BYTES, 2,
+                SpillingLogQueue.DiskFullPolicy.DROP_OLDEST);
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(queue.offer(event("m" + i)));
+        }
+        assertEquals(2, queue.getSegmentCount());
+        assertTrue(queue.getDroppedCount() > 0);
+        assertEquals(1000 - queue.getDroppedCount(), queue.size());
+
+        // The memory ring keeps the oldest two; the disk keeps the newest, in order
+        List<Log> drained = new ArrayList<>();
+        while (queue.drainTo(drained, 64) > 0) {
+            // Keep draining
+        }
+        assertEquals(1000 - queue.getDroppedCount(), drained.size());
+        assertEquals("m0", drained.get(0).getMessage());
+        assertEquals("m1", drained.get(1).getMessage());
+        int first = Integer.parseInt(drained.get(2).getMessage().substring(1));
+        for (int i = 2; i < drained.size(); i++) {
+            assertEquals("m" + (first + i - 2), drained.get(i).getMessage());
+        }
+        assertEquals("m999", drained.get(drained.size() - 1).getMessage());
+        queue.close();
+    }
+}
@@ -38,6 +38,22 @@ public class Log {
         this.throwable = throwable;
     }
 
+    /**
+     * Recreate a record with its original timestamp and call site, e.g. when
+     * replaying events that were buffered or persisted outside the heap.
+     */
+    public Log(LogLevel level, String message, String loggerName, Instant timestamp,
+               String className, String methodName, int lineNumber, Throwable throwable) {
+        this.level = level;
+        this.message = message;
+        this.loggerName = loggerName;
+        this.timestamp = timestamp;
+        this.className = className;
+        this.methodName = methodName;
+        this.lineNumber = lineNumber;
+        this.throwable = throwable;
+    }
+
     private StackTraceElement findCaller(StackTraceElement[] stackTrace) {
         // Skip internal logging framework calls
         for (int i = 3; i < stackTrace.length; i++) {
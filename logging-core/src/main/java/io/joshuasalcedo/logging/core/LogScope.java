@@ -0,0 +1,182 @@
+package io.joshuasalcedo.logging.core;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Per-unit-of-work buffer for low-level events.
+ * <p>
+ * While a scope is open on the current thread, records between the capture
+ * level and the threshold (DEBUG up to, but excluding, WARN by default) are
+ * held in a small in-memory buffer instead of reaching any handler - even
+ * when the logger itself is configured above DEBUG. If a record at or above
+ * the trigger level (ERROR by default) is logged inside the scope, the buffer
+ * is forwarded in order to the handlers of the loggers that produced it, and
+ * every later record in the scope passes straight through. If the scope closes
+ * without such a record, the buffer is simply discarded.
+ * <pre>
+ * try (LogScope scope = LogScope.open()) {
+ *     handleRequest(request);
+ * }
+ * </pre>
+ * Scopes are bound to the opening thread through a {@link ThreadLocal}, which
+ * is cheap on virtual threads; work handed to other threads is not covered.
+ * Scopes nest, and a triggered inner scope forwards its parents' buffers first.
+ */
+public final class LogScope implements AutoCloseable {
+
+    private static final ThreadLocal<LogScope> CURRENT = new ThreadLocal<>();
+
+    // Default configuration
+    private static final int DEFAULT_MAX_EVENTS = 256;
+
+    private final LogScope parent;
+    private final Thread owner;
+    private final LogLevel captureLevel;
+    private final LogLevel threshold;
+    private final LogLevel triggerLevel;
+    private final int maxEvents;
+    private final Deque<Entry> buffer = new ArrayDeque<>();
+
+    private boolean triggered;
+    private boolean closed;
+    private long droppedEvents;
+
+    private record Entry(Logger logger, Log record) {}
+
+    private LogScope(LogLevel captureLevel, LogLevel threshold, LogLevel triggerLevel, int maxEvents) {
+        if (threshold.getValue() <= captureLevel.getValue()) {
+            throw new IllegalArgumentException("Threshold " + threshold + " must be above capture level " + captureLevel);
+        }
+        if (triggerLevel.getValue() < threshold.getValue()) {
+            throw new IllegalArgumentException("Trigger level " + triggerLevel + " must not be below threshold " + threshold);
+        }
+        if (maxEvents <= 0) {
+            throw new IllegalArgumentException("maxEvents must be positive: " + maxEvents);
+        }
+
+        this.parent = CURRENT.get();
+        this.owner = Thread.currentThread();
+        this.captureLevel = captureLevel;
+        this.threshold = threshold;
+        this.triggerLevel = triggerLevel;
+        this.maxEvents = maxEvents;
+    }
+
+    /**
+     * Open a scope buffering DEBUG through EVENT records, forwarded on ERROR
+     */
+    public static LogScope open() {
+        return open(LogLevel.DEBUG, LogLevel.WARN, LogLevel.ERROR, DEFAULT_MAX_EVENTS);
+    }
+
+    /**
+     * Open a scope on the current thread
+     *
+     * @param captureLevel lowest level that is buffered
+     * @param threshold    records at or above this level are never buffered
+     * @param triggerLevel level that forwards the buffer
+     * @param maxEvents    buffer size; the oldest records are dropped beyond it
+     */
+    public static LogScope open(LogLevel captureLevel, LogLevel threshold, LogLevel triggerLevel, int maxEvents) {
+        LogScope scope = new LogScope(captureLevel, threshold, triggerLevel, maxEvents);
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    /**
+     * Get the innermost scope open on the current thread, if any
+     */
+    public static LogScope current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Check whether a record at this level would be captured even though the
+     * logger's own level filters it out
+     */
+    static boolean isCapturing(LogLevel level) {
+        LogScope scope = CURRENT.get();
+        return scope != null
+                && level.getValue() >= scope.captureLevel.getValue()
+                && level.getValue() < scope.threshold.getValue();
+    }
+
+    /**
+     * Offer a record produced by the given logger to the current scope
+     *
+     * @return true if the scope took the record and the logger must not publish it
+     */
+    static boolean intercept(Logger logger, Log record) {
+        LogScope scope = CURRENT.get();
+        return scope != null && scope.accept(logger, record);
+    }
+
+    private boolean accept(Logger logger, Log record) {
+        int value = record.getLevel().getValue();
+
+        if (value >= triggerLevel.getValue()) {
+            trigger();
+            return false;
+        }
+        if (triggered || value < captureLevel.getValue() || value >= threshold.getValue()) {
+            return false;
+        }
+
+        if (buffer.size() >= maxEvents) {
+            buffer.pollFirst();
+            droppedEvents++;
+        }
+        buffer.addLast(new Entry(logger, record));
+        return true;
+    }
+
+    /**
+     * Forward everything buffered so far and pass later records straight through
+     */
+    public void trigger() {
+        if (parent != null) {
+            parent.trigger();
+        }
+        triggered = true;
+
+        Entry entry;
+        while ((entry = buffer.pollFirst()) != null) {
+            entry.logger().publish(entry.record());
+        }
+    }
+
+    /**
+     * Close the scope, discarding the buffer unless it was triggered
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        if (Thread.currentThread() != owner) {
+            throw new IllegalStateException("LogScope must be closed by the thread that opened it");
+        }
+        closed = true;
+        buffer.clear();
+
+        if (parent != null) {
+            CURRENT.set(parent);
+        } else {
+            CURRENT.remove();
+        }
+    }
+
+    // Status getters
+    public boolean isTriggered() {
+        return triggered;
+    }
+
+    public int getBufferedEventCount() {
+        return buffer.size();
+    }
+
+    public long getDroppedEventCount() {
+        return droppedEvents;
+    }
+}
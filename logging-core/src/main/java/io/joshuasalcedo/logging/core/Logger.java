@@ -2,10 +2,23 @@ package io.joshuasalcedo.logging.core;
 
 import io.joshuasalcedo.logging.core.Log;
 import io.joshuasalcedo.logging.core.LogLevel;
+import io.joshuasalcedo.logging.formatter.Formatter;
 import io.joshuasalcedo.logging.handler.Handler;
+import io.joshuasalcedo.logging.util.MetricsBridge;
 
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class Logger {
     private final String name;
@@ -15,57 +28,132 @@ public class Logger {
     private boolean useParentHandlers = true;
     private boolean metricsEnabled = true;
     private static volatile boolean globalMetricsEnabled = true;
+    private volatile boolean parallelDispatch = false;
+    private volatile Duration dispatchDeadline = DEFAULT_DISPATCH_DEADLINE;
+    private final AtomicLong skippedDispatches = new AtomicLong();
+    
+    private static final Duration DEFAULT_DISPATCH_DEADLINE = Duration.ofSeconds(1);
+    
+    // Created on first use so loggers that never dispatch in parallel pay nothing
+    private static final class ParallelDispatch {
+        static final ExecutorService EXECUTOR = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("Logger-Dispatch-", 0).factory());
+        // Deliveries still running past their deadline, per handler, across all loggers
+        static final Map<Handler, Integer> STALLED = new ConcurrentHashMap<>();
+        
+        static void markStalled(Handler handler) {
+            STALLED.merge(handler, 1, Integer::sum);
+        }
+        
+        static void unmarkStalled(Handler handler) {
+            STALLED.computeIfPresent(handler, (key, count) -> count == 1 ? null : count - 1);
+        }
+    }
+    
+    private static final int DELIVERY_NEW = 0;
+    private static final int DELIVERY_RUNNING = 1;
+    private static final int DELIVERY_STALLED = 2;
+    private static final int DELIVERY_DONE = 3;
+    
+    /**
+     * One handler's share of a parallel dispatch. Whichever moves it out of NEW
+     * first decides whether it runs: its virtual thread, or a deadline that
+     * passed before the thread got to it. A delivery that moved to STALLED
+     * unmarks its handler when it returns.
+     */
+    private final class Delivery implements Callable<Void> {
+        private final Handler handler;
+        private final Log record;
+        private final String encoded;
+        private final AtomicInteger state = new AtomicInteger(DELIVERY_NEW);
+        
+        Delivery(Handler handler, Log record, String encoded) {
+            this.handler = handler;
+            this.record = record;
+            this.encoded = encoded;
+        }
+        
+        @Override
+        public Void call() {
+            if (!state.compareAndSet(DELIVERY_NEW, DELIVERY_RUNNING)) {
+                return null;
+            }
+            try {
+                deliver(handler, record, encoded);
+            } finally {
+                if (state.getAndSet(DELIVERY_DONE) == DELIVERY_STALLED) {
+                    ParallelDispatch.unmarkStalled(handler);
+                }
+            }
+            return null;
+        }
+        
+        /**
+         * Stop waiting for a delivery and mark its handler busy until it returns.
+         * A running delivery is not interrupted: an interrupt closes the channel
+         * of a FileChannel-based sink for good.
+         */
+        void abandon(Future<?> future) {
+            future.cancel(false);
+            if (state.compareAndSet(DELIVERY_NEW, DELIVERY_DONE)) {
+                return;
+            }
+            // Marked first, so a delivery that returns right after the CAS finds the mark to undo
+            ParallelDispatch.markStalled(handler);
+            if (!state.compareAndSet(DELIVERY_RUNNING, DELIVERY_STALLED)) {
+                ParallelDispatch.unmarkStalled(handler);
+            }
+        }
+    }
     
     public Logger(String name) {
         this.name = name;
     }
     
     public void log(LogLevel level, String message) {
-        if (level.getValue() < this.level.getValue()) {
+        if (level.getValue() < this.level.getValue() && !LogScope.isCapturing(level)) {
             return;
         }
         
         Log record = new Log(level, message, name);
-        publish(record);
+        dispatch(record);
     }
     
     public void log(LogLevel level, String message, Throwable throwable) {
-        if (level.getValue() < this.level.getValue()) {
+        if (level.getValue() < this.level.getValue() && !LogScope.isCapturing(level)) {
             return;
         }
         
         Log record = new Log(level, message, name, throwable);
+        dispatch(record);
+    }
+    
+    private void dispatch(Log record) {
+        // An open LogScope may hold the record back until the unit of work fails
+        if (LogScope.intercept(this, record)) {
+            return;
+        }
         publish(record);
     }
     
-    private void publish(Log record) {
+    void publish(Log record) {
+        publish(record, null);
+    }
+    
+    private void publish(Log record, SharedEncodings encodings) {
         long startTime = System.nanoTime();
         
         try {
             // Publish to this logger's handlers
-            for (Handler handler : handlers) {
-                long handlerStartTime = System.nanoTime();
-                try {
-                    handler.publish(record);
-                    
-                    // Record metrics for successful handler execution
-                    if (shouldRecordMetrics()) {
-                        long processingTime = System.nanoTime() - handlerStartTime;
-                        recordMetrics(record.getLevel(), this.name, handler.getClass().getSimpleName(), processingTime);
-                    }
-                } catch (Exception e) {
-                    // Record handler failure metrics
-                    if (shouldRecordMetrics()) {
-                        recordHandlerFailure(handler.getClass().getSimpleName(), e);
-                    }
-                    // Re-throw to maintain existing error handling behavior
-                    throw e;
-                }
+            if (parallelDispatch && handlers.size() > 1) {
+                encodings = publishParallel(record, encodings);
+            } else {
+                encodings = publishSequential(record, encodings);
             }
             
             // Publish to parent handlers if enabled
             if (useParentHandlers && parent != null) {
-                parent.publish(record);
+                parent.publish(record, encodings);
             }
             
         } catch (Exception e) {
@@ -77,6 +165,129 @@ public class Logger {
         }
     }
     
+    private SharedEncodings publishSequential(Log record, SharedEncodings encodings) {
+        for (Handler handler : handlers) {
+            long handlerStartTime = System.nanoTime();
+            try {
+                // Handlers with equivalent formatters share one encoding of the record
+                Formatter sharedFormatter = handler.getSharedFormatter();
+                if (sharedFormatter != null
+                        && record.getLevel().getValue() >= handler.getLevel().getValue()) {
+                    if (encodings == null) {
+                        encodings = new SharedEncodings();
+                    }
+                    handler.publishEncoded(record, encodings.encode(sharedFormatter, record));
+                } else {
+                    handler.publish(record);
+                }
+                
+                // Record metrics for successful handler execution
+                if (shouldRecordMetrics()) {
+                    long processingTime = System.nanoTime() - handlerStartTime;
+                    recordMetrics(record.getLevel(), this.name, handler.getClass().getSimpleName(), processingTime);
+                }
+            } catch (Exception e) {
+                // Record handler failure metrics
+                if (shouldRecordMetrics()) {
+                    recordHandlerFailure(handler.getClass().getSimpleName(), e);
+                }
+                // Re-throw to maintain existing error handling behavior
+                throw e;
+            }
+        }
+        return encodings;
+    }
+    
+    /**
+     * Fan the record out to every handler at once on virtual threads and wait
+     * until all have finished or the dispatch deadline passes. Shared encodings
+     * are computed on the caller first. A handler still running at the deadline
+     * is reported as failed and left to finish; until it returns, later dispatches
+     * skip it rather than queue more work behind it. The first handler failure
+     * is rethrown once every handler is done, as in sequential dispatch, except
+     * that the other handlers have still received the record.
+     */
+    private SharedEncodings publishParallel(Log record, SharedEncodings encodings) {
+        Handler[] targets = handlers.toArray(new Handler[0]);
+        String[] encoded = new String[targets.length];
+        for (int i = 0; i < targets.length; i++) {
+            Formatter sharedFormatter = targets[i].getSharedFormatter();
+            if (sharedFormatter != null
+                    && record.getLevel().getValue() >= targets[i].getLevel().getValue()) {
+                if (encodings == null) {
+                    encodings = new SharedEncodings();
+                }
+                encoded[i] = encodings.encode(sharedFormatter, record);
+            }
+        }
+        
+        List<Delivery> deliveries = new ArrayList<>(targets.length);
+        List<Future<?>> futures = new ArrayList<>(targets.length);
+        for (int i = 0; i < targets.length; i++) {
+            if (ParallelDispatch.STALLED.containsKey(targets[i])) {
+                skippedDispatches.incrementAndGet();
+                if (shouldRecordMetrics()) {
+                    MetricsBridge.recordDroppedLog();
+                }
+                continue;
+            }
+            Delivery delivery = new Delivery(targets[i], record, encoded[i]);
+            deliveries.add(delivery);
+            futures.add(ParallelDispatch.EXECUTOR.submit(delivery));
+        }
+        
+        RuntimeException failure = null;
+        long deadline = System.nanoTime() + dispatchDeadline.toNanos();
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                futures.get(i).get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                deliveries.get(i).abandon(futures.get(i));
+                if (shouldRecordMetrics()) {
+                    recordHandlerFailure(deliveries.get(i).handler.getClass().getSimpleName(), new TimeoutException(
+                            "Handler missed the dispatch deadline of " + dispatchDeadline.toMillis() + " ms"));
+                }
+            } catch (ExecutionException e) {
+                // deliver() has recorded it; handlers only throw unchecked exceptions
+                if (failure == null && e.getCause() instanceof RuntimeException cause) {
+                    failure = cause;
+                }
+            } catch (InterruptedException e) {
+                // Stop waiting, but keep the handlers still busy marked as such
+                for (int j = i; j < futures.size(); j++) {
+                    deliveries.get(j).abandon(futures.get(j));
+                }
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+        return encodings;
+    }
+    
+    private void deliver(Handler handler, Log record, String encoded) {
+        long handlerStartTime = System.nanoTime();
+        try {
+            if (encoded != null) {
+                handler.publishEncoded(record, encoded);
+            } else {
+                handler.publish(record);
+            }
+            if (shouldRecordMetrics()) {
+                recordMetrics(record.getLevel(), this.name, handler.getClass().getSimpleName(),
+                        System.nanoTime() - handlerStartTime);
+            }
+        } catch (Exception e) {
+            // One failing handler does not affect the others; the dispatch rethrows it afterwards
+            if (shouldRecordMetrics()) {
+                recordHandlerFailure(handler.getClass().getSimpleName(), e);
+            }
+            throw e;
+        }
+    }
+    
     private boolean shouldRecordMetrics() {
         return globalMetricsEnabled && metricsEnabled;
     }
@@ -186,6 +397,42 @@ public class Logger {
         this.useParentHandlers = useParentHandlers;
     }
     
+    // === Dispatch mode ===
+    
+    /**
+     * Publish to this logger's handlers concurrently on virtual threads instead of
+     * one after another, so the caller waits for the slowest handler rather than
+     * the sum of all of them. Worth it for several independent synchronous sinks;
+     * a handler that misses the deadline is skipped until it finishes, and each
+     * skipped event is counted in {@link #getSkippedDispatches()}.
+     */
+    public void setParallelDispatch(boolean enabled) {
+        this.parallelDispatch = enabled;
+    }
+    
+    public boolean isParallelDispatch() {
+        return parallelDispatch;
+    }
+    
+    /**
+     * Longest a parallel dispatch waits for its handlers
+     */
+    public void setDispatchDeadline(Duration deadline) {
+        this.dispatchDeadline = deadline != null ? deadline : DEFAULT_DISPATCH_DEADLINE;
+    }
+    
+    public Duration getDispatchDeadline() {
+        return dispatchDeadline;
+    }
+    
+    /**
+     * Events this logger did not hand to a handler because it was still busy
+     * with a delivery that missed the dispatch deadline
+     */
+    public long getSkippedDispatches() {
+        return skippedDispatches.get();
+    }
+    
     // === Metrics control ===
     
     /**
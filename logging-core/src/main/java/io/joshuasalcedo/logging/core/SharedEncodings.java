@@ -0,0 +1,40 @@
+package io.joshuasalcedo.logging.core;
+
+import io.joshuasalcedo.logging.formatter.Formatter;
+
+import java.util.Arrays;
+
+/**
+ * Formatted text of one record, keyed by {@link Formatter#encoderKey()}.
+ * <p>
+ * Lives for a single dispatch, from the logger that created the record up
+ * through its parents, so a console and a file handler configured with the
+ * same pattern format the event once. A dispatch rarely sees more than a few
+ * distinct formatters, so a linear scan beats hashing here.
+ */
+final class SharedEncodings {
+    private Object[] keys = new Object[4];
+    private String[] encodings = new String[4];
+    private int size;
+
+    String encode(Formatter formatter, Log record) {
+        Object key = formatter.encoderKey();
+        for (int i = 0; i < size; i++) {
+            if (keys[i].equals(key)) {
+                return encodings[i];
+            }
+        }
+
+        String encoded = formatter.format(record);
+        if (key != null) {
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+                encodings = Arrays.copyOf(encodings, size * 2);
+            }
+            keys[size] = key;
+            encodings[size] = encoded;
+            size++;
+        }
+        return encoded;
+    }
+}
@@ -4,4 +4,13 @@ import io.joshuasalcedo.logging.core.Log;
 
 public interface Formatter {
     String format(Log record);
+
+    /**
+     * Identity of this formatter's output. Formatters with equal keys produce the
+     * same text for the same record, so handlers using them can share one
+     * encoding per event. Defaults to the formatter instance itself.
+     */
+    default Object encoderKey() {
+        return this;
+    }
 }
\ No newline at end of file
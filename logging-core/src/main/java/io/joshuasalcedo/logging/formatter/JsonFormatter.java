@@ -7,6 +7,7 @@ import io.joshuasalcedo.logging.formatter.Formatter;
 import java.time.format.DateTimeFormatter;
 import java.time.ZoneId;
 import java.time.LocalDateTime;
+import java.util.List;
 
 
 /**
@@ -56,6 +57,11 @@ public class JsonFormatter implements Formatter {
         }
     }
     
+    @Override
+    public Object encoderKey() {
+        return List.of(getClass(), includeStackTrace);
+    }
+    
     private String getStackTraceAsString(Throwable throwable) {
         java.io.StringWriter sw = new java.io.StringWriter();
         java.io.PrintWriter pw = new java.io.PrintWriter(sw);
@@ -6,6 +6,7 @@ import io.joshuasalcedo.logging.formatter.Formatter;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
 
 /**
  * Pattern-based formatter similar to Logback
@@ -42,6 +43,11 @@ public class PatternFormatter implements Formatter {
         return result;
     }
     
+    @Override
+    public Object encoderKey() {
+        return Arrays.asList(getClass(), pattern);
+    }
+    
     private String getStackTraceAsString(Throwable throwable) {
         java.io.StringWriter sw = new java.io.StringWriter();
         java.io.PrintWriter pw = new java.io.PrintWriter(sw);
@@ -64,6 +64,12 @@ public class SimpleFormatter implements Formatter {
         return formatted;
     }
 
+    // Stateless: every instance of a class formats alike
+    @Override
+    public Object encoderKey() {
+        return getClass();
+    }
+
     // Helper method to format stack trace with colors
     private static String formatStackTrace(Throwable throwable) {
         StringBuilder sb = new StringBuilder();
@@ -3,6 +3,8 @@ package io.joshuasalcedo.logging.formatter;
 import io.joshuasalcedo.logging.core.Log;
 import io.joshuasalcedo.logging.formatter.Formatter;
 
+import java.util.Arrays;
+
 /**
  * Structured formatter for key-value logging
  */
@@ -36,4 +38,9 @@ public class StructuredFormatter implements Formatter {
         
         return sb.toString();
     }
+    
+    @Override
+    public Object encoderKey() {
+        return Arrays.asList(getClass(), separator);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,338 @@
+package io.joshuasalcedo.logging.handler;
+
+import io.joshuasalcedo.logging.core.Log;
+import io.joshuasalcedo.logging.core.LogLevel;
+import io.joshuasalcedo.logging.formatter.Formatter;
+import io.joshuasalcedo.logging.util.MetricsBridge;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fans events out to several sinks, each isolated behind its own bounded
+ * queue and worker thread.
+ * <p>
+ * The caller only pays for an enqueue per sink, so a sink that blocks (for
+ * example a {@code DatabaseHandler} stuck on JDBC) cannot delay the caller or
+ * the other sinks. Each sink has:
+ * <ul>
+ *   <li>an {@link OverflowPolicy} applied when its queue is full,</li>
+ *   <li>a call timeout; a watchdog counts overrunning calls as failures and
+ *       interrupts the worker,</li>
+ *   <li>a {@link CircuitBreaker}; while it is open, events for the sink are
+ *       dropped on the caller side instead of being queued.</li>
+ * </ul>
+ */
+public class BulkheadHandler implements Handler {
+    private LogLevel level = LogLevel.DEBUG;
+
+    private final List<Sink> sinks = new CopyOnWriteArrayList<>();
+    private final ScheduledExecutorService watchdog;
+    private volatile boolean running = true;
+
+    // Default configuration
+    private static final int DEFAULT_QUEUE_SIZE = 1000;
+    private static final long DEFAULT_TIMEOUT_MILLIS = 2000;
+    private static final int DEFAULT_FAILURE_THRESHOLD = 5;
+    private static final long DEFAULT_OPEN_MILLIS = 10_000;
+    private static final long WATCHDOG_INTERVAL_MILLIS = 100;
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 5000;
+
+    // Low bits of a call token: the call's id sits above them
+    private static final long IDLE = 0;
+    private static final long RUNNING = 1;
+    private static final long TIMED_OUT = 2;
+    private static final long INTERRUPTED = 3;
+    private static final long PHASE_MASK = 3;
+
+    /**
+     * One isolated downstream sink
+     */
+    public static final class Sink {
+        private final Handler handler;
+        private final BlockingQueue<Log> queue;
+        private final OverflowPolicy overflowPolicy;
+        private final long timeoutNanos;
+        private final CircuitBreaker circuitBreaker;
+        private final Thread worker;
+        private volatile boolean stopRequested;
+
+        // Id and phase of the call in progress, so the watchdog can only time out the call it measured
+        private final AtomicLong callToken = new AtomicLong(IDLE);
+        private volatile long callStartNanos;
+        private long callCount;
+
+        private final AtomicLong published = new AtomicLong(0);
+        private final AtomicLong dropped = new AtomicLong(0);
+        private final AtomicLong failures = new AtomicLong(0);
+        private final AtomicLong timeouts = new AtomicLong(0);
+
+        private Sink(Handler handler, int queueSize, long timeoutMillis, OverflowPolicy overflowPolicy,
+                     CircuitBreaker circuitBreaker, String workerName) {
+            this.handler = handler;
+            this.queue = new ArrayBlockingQueue<>(queueSize);
+            this.overflowPolicy = overflowPolicy;
+            this.timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+            this.circuitBreaker = circuitBreaker;
+            this.worker = new Thread(this::runWorker, workerName);
+            worker.setDaemon(true);
+        }
+
+        private void enqueue(Log record) {
+            if (circuitBreaker.isRejecting()) {
+                drop();
+                return;
+            }
+
+            boolean accepted = queue.offer(record);
+            if (!accepted) {
+                switch (overflowPolicy) {
+                    case DROP_OLDEST:
+                        while (!accepted) {
+                            if (queue.poll() != null) {
+                                drop();
+                            }
+                            accepted = queue.offer(record);
+                        }
+                        return;
+                    case BLOCK:
+                        try {
+                            accepted = queue.offer(record, timeoutNanos, TimeUnit.NANOSECONDS);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        break;
+                    default:
+                        break;
+                }
+            }
+            if (!accepted) {
+                drop();
+            }
+        }
+
+        private void drop() {
+            dropped.incrementAndGet();
+            MetricsBridge.recordDroppedLog();
+        }
+
+        private void runWorker() {
+            while (true) {
+                Log record;
+                try {
+                    record = queue.poll(100, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    // Interrupted by the watchdog or shutdown; keep going unless stopping
+                    if (stopRequested) {
+                        break;
+                    }
+                    continue;
+                }
+                if (record == null) {
+                    if (stopRequested) {
+                        break;
+                    }
+                    continue;
+                }
+                deliver(record);
+            }
+        }
+
+        private void deliver(Log record) {
+            if (!circuitBreaker.allowRequest()) {
+                drop();
+                return;
+            }
+
+            long token = (++callCount << 2) | RUNNING;
+            callStartNanos = System.nanoTime();
+            callToken.set(token);
+            Exception failure = null;
+            try {
+                handler.publish(record);
+            } catch (Exception e) {
+                failure = e;
+            }
+
+            // A timed-out call was already counted as a failure by the watchdog
+            boolean timedOut = finishCall(token);
+            if (failure != null) {
+                failures.incrementAndGet();
+                MetricsBridge.recordError("BulkheadSinkFailure", failure);
+                if (!timedOut) {
+                    circuitBreaker.recordFailure();
+                }
+            } else if (!timedOut) {
+                circuitBreaker.recordSuccess();
+                published.incrementAndGet();
+            }
+        }
+
+        /**
+         * End the call, returning whether the watchdog timed it out. If it
+         * did, wait for its interrupt to land before clearing it, so the
+         * interrupt cannot reach the next call.
+         */
+        private boolean finishCall(long token) {
+            boolean timedOut = !callToken.compareAndSet(token, IDLE);
+            if (timedOut) {
+                long interrupted = (token & ~PHASE_MASK) | INTERRUPTED;
+                while (callToken.get() != interrupted) {
+                    Thread.onSpinWait();
+                }
+                callToken.set(IDLE);
+            }
+            Thread.interrupted();
+            return timedOut;
+        }
+
+        private void checkTimeout(long now) {
+            long token = callToken.get();
+            if ((token & PHASE_MASK) != RUNNING || now - callStartNanos <= timeoutNanos) {
+                return;
+            }
+            // Only the call that was measured; if it already finished the CAS fails
+            long call = token & ~PHASE_MASK;
+            if (callToken.compareAndSet(token, call | TIMED_OUT)) {
+                timeouts.incrementAndGet();
+                circuitBreaker.recordFailure();
+                worker.interrupt();
+                callToken.set(call | INTERRUPTED);
+            }
+        }
+
+        // Status getters
+        public Handler getHandler() {
+            return handler;
+        }
+
+        public CircuitBreaker getCircuitBreaker() {
+            return circuitBreaker;
+        }
+
+        public int getQueuedEventCount() {
+            return queue.size();
+        }
+
+        public long getPublishedCount() {
+            return published.get();
+        }
+
+        public long getDroppedCount() {
+            return dropped.get();
+        }
+
+        public long getFailureCount() {
+            return failures.get();
+        }
+
+        public long getTimeoutCount() {
+            return timeouts.get();
+        }
+    }
+
+    public BulkheadHandler() {
+        this.watchdog = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "BulkheadHandler-Watchdog");
+            t.setDaemon(true);
+            return t;
+        });
+        watchdog.scheduleAtFixedRate(this::checkTimeouts, WATCHDOG_INTERVAL_MILLIS,
+                WATCHDOG_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Add a sink with the default queue size, timeout, circuit breaker and DROP_NEWEST overflow
+     */
+    public Sink addSink(Handler handler) {
+        return addSink(handler, DEFAULT_QUEUE_SIZE, DEFAULT_TIMEOUT_MILLIS, OverflowPolicy.DROP_NEWEST,
+                new CircuitBreaker(DEFAULT_FAILURE_THRESHOLD, DEFAULT_OPEN_MILLIS));
+    }
+
+    public Sink addSink(Handler handler, int queueSize, long timeoutMillis, OverflowPolicy overflowPolicy,
+                        CircuitBreaker circuitBreaker) {
+        if (queueSize <= 0) {
+            throw new IllegalArgumentException("queueSize must be positive: " + queueSize);
+        }
+
+        String workerName = "BulkheadHandler-" + handler.getClass().getSimpleName() + "-" + sinks.size();
+        Sink sink = new Sink(handler, queueSize, timeoutMillis, overflowPolicy, circuitBreaker, workerName);
+        sinks.add(sink);
+        sink.worker.start();
+        return sink;
+    }
+
+    @Override
+    public void publish(Log record) {
+        if (!running || record.getLevel().getValue() < level.getValue()) {
+            return;
+        }
+        for (Sink sink : sinks) {
+            sink.enqueue(record);
+        }
+    }
+
+    private void checkTimeouts() {
+        long now = System.nanoTime();
+        for (Sink sink : sinks) {
+            sink.checkTimeout(now);
+        }
+    }
+
+    /**
+     * Sets the formatter on every sink
+     */
+    @Override
+    public void setFormatter(Formatter formatter) {
+        for (Sink sink : sinks) {
+            sink.handler.setFormatter(formatter);
+        }
+    }
+
+    @Override
+    public void setLevel(LogLevel level) {
+        this.level = level != null ? level : LogLevel.DEBUG;
+    }
+
+    @Override
+    public LogLevel getLevel() {
+        return level;
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        for (Sink sink : sinks) {
+            sink.stopRequested = true;
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(SHUTDOWN_TIMEOUT_MILLIS);
+        for (Sink sink : sinks) {
+            try {
+                long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                sink.worker.join(Math.max(remaining, 1));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (sink.worker.isAlive()) {
+                System.err.printf("BulkheadHandler: sink %s did not drain, %d events discarded%n",
+                        sink.handler.getClass().getSimpleName(), sink.queue.size());
+                sink.worker.interrupt();
+            } else {
+                sink.handler.close();
+            }
+        }
+        watchdog.shutdownNow();
+    }
+
+    public List<Sink> getSinks() {
+        return new ArrayList<>(sinks);
+    }
+}
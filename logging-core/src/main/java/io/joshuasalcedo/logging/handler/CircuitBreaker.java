@@ -0,0 +1,100 @@
+package io.joshuasalcedo.logging.handler;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Consecutive-failure circuit breaker guarding calls into a downstream handler.
+ * <p>
+ * The circuit opens after {@code failureThreshold} consecutive failures and
+ * rejects calls for {@code openMillis}. After that one probe call is let
+ * through (half-open): success closes the circuit, failure opens it again. A
+ * probe that never reports back is abandoned after another {@code openMillis}.
+ */
+public final class CircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openNanos;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAtNanos;
+    private boolean probeInFlight;
+    private long probeStartedNanos;
+    private long openCount;
+
+    public CircuitBreaker(int failureThreshold, long openMillis) {
+        if (failureThreshold <= 0) {
+            throw new IllegalArgumentException("failureThreshold must be positive: " + failureThreshold);
+        }
+        this.failureThreshold = failureThreshold;
+        this.openNanos = TimeUnit.MILLISECONDS.toNanos(openMillis);
+    }
+
+    /**
+     * Check whether a call may go ahead; moves an expired open circuit to half-open
+     * and admits a single probe
+     */
+    public synchronized boolean allowRequest() {
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (System.nanoTime() - openedAtNanos < openNanos) {
+                    return false;
+                }
+                state = State.HALF_OPEN;
+                probeInFlight = true;
+                probeStartedNanos = System.nanoTime();
+                return true;
+            default:
+                if (probeInFlight && System.nanoTime() - probeStartedNanos < openNanos) {
+                    return false;
+                }
+                probeInFlight = true;
+                probeStartedNanos = System.nanoTime();
+                return true;
+        }
+    }
+
+    /**
+     * Check without side effects whether calls are currently being rejected
+     */
+    public synchronized boolean isRejecting() {
+        return state == State.OPEN && System.nanoTime() - openedAtNanos < openNanos;
+    }
+
+    public synchronized void recordSuccess() {
+        consecutiveFailures = 0;
+        probeInFlight = false;
+        state = State.CLOSED;
+    }
+
+    public synchronized void recordFailure() {
+        probeInFlight = false;
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            if (state != State.OPEN) {
+                openCount++;
+            }
+            state = State.OPEN;
+            openedAtNanos = System.nanoTime();
+        }
+    }
+
+    // Status getters
+    public synchronized State getState() {
+        return state;
+    }
+
+    public synchronized int getConsecutiveFailures() {
+        return consecutiveFailures;
+    }
+
+    public synchronized long getOpenCount() {
+        return openCount;
+    }
+}
@@ -4,13 +4,18 @@ import io.joshuasalcedo.logging.core.Log;
 import io.joshuasalcedo.logging.core.LogLevel;
 import io.joshuasalcedo.logging.formatter.Formatter;
 import io.joshuasalcedo.logging.formatter.SimpleFormatter;
+import io.joshuasalcedo.logging.util.MetricsBridge;
+import io.joshuasalcedo.logging.util.StringUtils;
 
 import java.io.PrintStream;
+import java.util.List;
 
 public class ConsoleHandler implements Handler {
     private Formatter formatter = new SimpleFormatter();
     private LogLevel level = LogLevel.INFO;
     private final PrintStream stream;
+    // Separator size in the stream's own charset, counted once
+    private final long lineSeparatorBytes;
 
     public ConsoleHandler() {
         this(System.out);
@@ -18,14 +23,87 @@ public class ConsoleHandler implements Handler {
 
     public ConsoleHandler(PrintStream stream) {
         this.stream = stream;
+        this.lineSeparatorBytes = StringUtils.encodedLength(System.lineSeparator(), stream.charset());
     }
 
     @Override
     public void publish(Log record) {
         if (record.getLevel().getValue() >= level.getValue()) {
-            stream.println(formatter.format(record));
+            publishEncoded(record, formatter.format(record));
+        }
+    }
+
+    @Override
+    public Formatter getSharedFormatter() {
+        return formatter;
+    }
+
+    @Override
+    public void publishEncoded(Log record, String encoded) {
+        if (record.getLevel().getValue() >= level.getValue()) {
+            if (MetricsBridge.isEnabled()) {
+                writeMeasured(encoded);
+            } else {
+                stream.println(encoded);
+                stream.flush();
+            }
+        }
+    }
+
+    /**
+     * Join the batch into one string so it reaches the stream in a single print
+     */
+    @Override
+    public void publishBatch(List<Log> records) {
+        writeBatch(records, null);
+    }
+
+    @Override
+    public void publishEncodedBatch(List<Log> records, List<String> encoded) {
+        writeBatch(records, encoded);
+    }
+
+    // Lines come from the formatter unless the caller already encoded them
+    private void writeBatch(List<Log> records, List<String> encoded) {
+        StringBuilder joined = new StringBuilder();
+        int events = 0;
+        for (int i = 0; i < records.size(); i++) {
+            Log record = records.get(i);
+            if (record.getLevel().getValue() >= level.getValue()) {
+                joined.append(encoded != null ? encoded.get(i) : formatter.format(record)).append(System.lineSeparator());
+                events++;
+            }
+        }
+        if (events == 0) {
+            return;
+        }
+
+        String text = joined.toString();
+        if (!MetricsBridge.isEnabled()) {
+            stream.print(text);
             stream.flush();
+            return;
         }
+        long start = System.nanoTime();
+        stream.print(text);
+        long written = System.nanoTime();
+        stream.flush();
+        long flushed = System.nanoTime();
+
+        MetricsBridge.recordHandlerWriteAndFlush(getClass().getSimpleName(),
+                StringUtils.encodedLength(text, stream.charset()), events, written - start, flushed - written);
+    }
+
+    private void writeMeasured(String encoded) {
+        long start = System.nanoTime();
+        stream.println(encoded);
+        long written = System.nanoTime();
+        stream.flush();
+        long flushed = System.nanoTime();
+
+        long bytes = StringUtils.encodedLength(encoded, stream.charset()) + lineSeparatorBytes;
+        MetricsBridge.recordHandlerWriteAndFlush(getClass().getSimpleName(), bytes, 1,
+                written - start, flushed - written);
     }
 
     @Override
@@ -0,0 +1,414 @@
+package io.joshuasalcedo.logging.handler;
+
+import io.joshuasalcedo.logging.core.Log;
+import io.joshuasalcedo.logging.core.LogLevel;
+import io.joshuasalcedo.logging.formatter.Formatter;
+import io.joshuasalcedo.logging.formatter.SimpleFormatter;
+import io.joshuasalcedo.logging.util.MetricsBridge;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * File sink that writes with {@code O_DIRECT} so application logs do not
+ * pollute the page cache.
+ * <p>
+ * Events are encoded into a buffer aligned to the file system block size and
+ * written in whole blocks at block-aligned offsets, as direct I/O requires.
+ * A flush (periodic, on ERROR and above, or explicit) writes the partial last
+ * block padded with zeros; that block stays in the buffer and is rewritten in
+ * place by the next flush. When the active segment reaches
+ * {@code maxSegmentBytes} it is completed with a padded final block, trimmed
+ * to its logical length and renamed to {@code <filename>.<n>}.
+ * <p>
+ * If the JDK or the file system does not support
+ * {@code com.sun.nio.file.ExtendedOpenOption.DIRECT} (tmpfs, some network file
+ * systems) the handler falls back to ordinary buffered writes
+ * with the same batching; {@link #isDirectIo()} reports which mode is active.
+ */
+public class DirectFileHandler implements Handler {
+    private Formatter formatter = new SimpleFormatter();
+    private LogLevel level = LogLevel.INFO;
+
+    private final Path path;
+    private final long maxSegmentBytes;
+    private final int blockSize;
+    private final int bufferSize;
+    private final ByteBuffer buffer;
+    private final ScheduledExecutorService flushScheduler;
+
+    private FileChannel channel;
+    private boolean directIo;
+    private boolean directUnsupported;
+    private int nextSegment;
+
+    // Offset of buffer[0] in the active segment; always block aligned
+    private long bufferOffset;
+    // Bytes of the partial last block already written by the previous flush
+    private int flushedTail;
+    private int unflushedEvents;
+    private boolean closed;
+
+    private final AtomicLong eventsWritten = new AtomicLong(0);
+    private final AtomicLong bytesWritten = new AtomicLong(0);
+    private final AtomicLong paddingBytes = new AtomicLong(0);
+    private final AtomicLong writeCalls = new AtomicLong(0);
+    private final AtomicLong rollovers = new AtomicLong(0);
+
+    // Default configuration
+    private static final int DEFAULT_BUFFER_SIZE = 256 * 1024;
+    private static final long DEFAULT_MAX_SEGMENT_BYTES = 256L * 1024 * 1024;
+    private static final long DEFAULT_FLUSH_INTERVAL_MILLIS = 1000;
+    private static final int FALLBACK_BLOCK_SIZE = 4096;
+    private static final byte[] LINE_SEPARATOR = System.lineSeparator().getBytes(StandardCharsets.UTF_8);
+    // Looked up reflectively: a direct reference to the JDK-internal type makes javac warn
+    private static final OpenOption DIRECT = lookupDirectOption();
+
+    public DirectFileHandler(String filename) throws IOException {
+        this(Path.of(filename), DEFAULT_BUFFER_SIZE, DEFAULT_MAX_SEGMENT_BYTES, DEFAULT_FLUSH_INTERVAL_MILLIS);
+    }
+
+    /**
+     * @param bufferSize      rounded up to a multiple of the block size
+     * @param maxSegmentBytes roll the active file once it reaches this size
+     */
+    public DirectFileHandler(Path path, int bufferSize, long maxSegmentBytes, long flushIntervalMillis)
+            throws IOException {
+        if (bufferSize <= 0 || maxSegmentBytes <= 0 || flushIntervalMillis <= 0) {
+            throw new IllegalArgumentException("Buffer size, segment size and flush interval must be positive");
+        }
+
+        this.path = path.toAbsolutePath();
+        this.maxSegmentBytes = maxSegmentBytes;
+        this.blockSize = blockSizeOf(this.path);
+
+        this.bufferSize = (int) alignUp(bufferSize, blockSize);
+        this.buffer = ByteBuffer.allocateDirect(this.bufferSize + blockSize).alignedSlice(blockSize);
+        this.nextSegment = findNextSegment();
+
+        openSegment();
+
+        this.flushScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "DirectFileHandler-Flush");
+            t.setDaemon(true);
+            return t;
+        });
+        flushScheduler.scheduleAtFixedRate(this::flush, flushIntervalMillis, flushIntervalMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    private static int blockSizeOf(Path path) {
+        try {
+            Path existing = path.getParent();
+            while (existing != null && !Files.exists(existing)) {
+                existing = existing.getParent();
+            }
+            long size = Files.getFileStore(existing != null ? existing : path).getBlockSize();
+            return size > 0 && size <= 64 * 1024 && Long.bitCount(size) == 1 ? (int) size : FALLBACK_BLOCK_SIZE;
+        } catch (IOException | UnsupportedOperationException e) {
+            return FALLBACK_BLOCK_SIZE;
+        }
+    }
+
+    private static long alignUp(long value, int alignment) {
+        return (value + alignment - 1) / alignment * alignment;
+    }
+
+    private int findNextSegment() {
+        int n = 1;
+        while (Files.exists(segmentPath(n))) {
+            n++;
+        }
+        return n;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static OpenOption lookupDirectOption() {
+        try {
+            Class<? extends Enum> type = Class.forName("com.sun.nio.file.ExtendedOpenOption").asSubclass(Enum.class);
+            return (OpenOption) Enum.valueOf(type, "DIRECT");
+        } catch (ReflectiveOperationException | IllegalArgumentException | ClassCastException e) {
+            return null;
+        }
+    }
+
+    private Path segmentPath(int n) {
+        return path.resolveSibling(path.getFileName() + "." + n);
+    }
+
+    /**
+     * Open the active file, preferring direct I/O, and load its partial last block
+     */
+    private void openSegment() throws IOException {
+        channel = null;
+        if (!directUnsupported) {
+            try {
+                if (DIRECT == null) {
+                    throw new UnsupportedOperationException("ExtendedOpenOption.DIRECT is not available in this JDK");
+                }
+                channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                        StandardOpenOption.WRITE, DIRECT);
+                directIo = true;
+            } catch (UnsupportedOperationException | IOException e) {
+                if (directIo) {
+                    // Worked for an earlier segment, so this is a real I/O problem
+                    throw e instanceof IOException io ? io : new IOException(e);
+                }
+                System.err.println("DirectFileHandler: direct I/O not available for " + path
+                        + ", using buffered writes: " + e.getMessage());
+                directUnsupported = true;
+            }
+        }
+        if (channel == null) {
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+        }
+
+        long logicalSize = logicalSize();
+        bufferOffset = logicalSize - logicalSize % blockSize;
+        flushedTail = 0;
+        resetBuffer();
+
+        int tail = (int) (logicalSize - bufferOffset);
+        if (tail > 0) {
+            // Continue in the partial block; direct reads must cover a whole aligned block
+            ByteBuffer block = buffer.duplicate();
+            block.limit(blockSize);
+            if (channel.read(block, bufferOffset) < tail) {
+                throw new IOException("Short read of last block in " + path);
+            }
+            buffer.position(tail);
+            flushedTail = tail;
+        }
+        // Drop any zero padding left behind by an earlier flush
+        channel.truncate(logicalSize);
+    }
+
+    private void resetBuffer() {
+        buffer.clear();
+        buffer.limit(bufferSize);
+    }
+
+    /**
+     * Size of the active file without zero padding from an interrupted segment
+     */
+    private long logicalSize() throws IOException {
+        long size = channel.size();
+        if (size == 0) {
+            return 0;
+        }
+        ByteBuffer block = ByteBuffer.allocateDirect(2 * blockSize).alignedSlice(blockSize);
+        block.limit(blockSize);
+        long blockStart = (size - 1) / blockSize * blockSize;
+        // One read: a direct read cannot continue from the unaligned end of a short read
+        int end = Math.max(0, channel.read(block, blockStart));
+        while (end > 0 && block.get(end - 1) == 0) {
+            end--;
+        }
+        return blockStart + end;
+    }
+
+    @Override
+    public void publish(Log record) {
+        if (record.getLevel().getValue() >= level.getValue()) {
+            publishEncoded(record, formatter.format(record));
+        }
+    }
+
+    @Override
+    public Formatter getSharedFormatter() {
+        return formatter;
+    }
+
+    @Override
+    public synchronized void publishEncoded(Log record, String encoded) {
+        if (closed || record.getLevel().getValue() < level.getValue()) {
+            return;
+        }
+
+        byte[] line = encoded.getBytes(StandardCharsets.UTF_8);
+        try {
+            append(line);
+            append(LINE_SEPARATOR);
+            unflushedEvents++;
+            eventsWritten.incrementAndGet();
+
+            if (bufferOffset + buffer.position() >= maxSegmentBytes) {
+                rollover();
+            } else if (record.getLevel().getValue() >= LogLevel.ERROR.getValue()) {
+                writeBuffer(true);
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to write log to " + path + ": " + e.getMessage());
+            MetricsBridge.recordError("DirectFileWriteError", e);
+        }
+    }
+
+    private void append(byte[] bytes) throws IOException {
+        int offset = 0;
+        while (offset < bytes.length) {
+            if (!buffer.hasRemaining()) {
+                writeBuffer(false);
+            }
+            int chunk = Math.min(buffer.remaining(), bytes.length - offset);
+            buffer.put(bytes, offset, chunk);
+            offset += chunk;
+        }
+    }
+
+    /**
+     * Write the buffered blocks at their aligned offset. Full blocks are then
+     * dropped from the buffer; a partial last block is written padded (when
+     * {@code includePartial}) and kept so later events complete it.
+     */
+    private void writeBuffer(boolean includePartial) throws IOException {
+        int dataBytes = buffer.position();
+        int fullBlocks = dataBytes / blockSize;
+        int tail = dataBytes - fullBlocks * blockSize;
+        if (fullBlocks == 0 && (!includePartial || tail == flushedTail)) {
+            return;     // Nothing new to write
+        }
+
+        int writeBytes = fullBlocks * blockSize;
+        if (includePartial && tail > 0) {
+            writeBytes = directIo ? (int) alignUp(dataBytes, blockSize) : dataBytes;
+            for (int i = dataBytes; i < writeBytes; i++) {
+                buffer.put(i, (byte) 0);
+            }
+            paddingBytes.addAndGet(writeBytes - dataBytes);
+        }
+
+        ByteBuffer out = buffer.duplicate();
+        out.position(0).limit(writeBytes);
+        long start = System.nanoTime();
+        while (out.hasRemaining()) {
+            channel.write(out, bufferOffset + out.position());
+        }
+        long blockedNanos = System.nanoTime() - start;
+        writeCalls.incrementAndGet();
+
+        long newBytes = (long) fullBlocks * blockSize + (includePartial ? tail : 0) - flushedTail;
+        bytesWritten.addAndGet(newBytes);
+        MetricsBridge.recordHandlerWrite(getClass().getSimpleName(), newBytes, unflushedEvents, blockedNanos);
+        unflushedEvents = 0;
+
+        // Keep the partial block at the start of the buffer
+        if (fullBlocks > 0) {
+            buffer.position(fullBlocks * blockSize).limit(dataBytes);
+            buffer.compact();
+            buffer.limit(bufferSize);
+            bufferOffset += (long) fullBlocks * blockSize;
+        }
+        flushedTail = includePartial ? tail : 0;
+    }
+
+    /**
+     * Pad and write the final block, trim the segment to its logical length and start a new one
+     */
+    private void rollover() throws IOException {
+        long logicalSize = bufferOffset + buffer.position();
+        writeBuffer(true);
+        channel.truncate(logicalSize);
+        channel.force(true);
+        channel.close();
+
+        Files.move(path, segmentPath(nextSegment++));
+        rollovers.incrementAndGet();
+        openSegment();
+    }
+
+    /**
+     * Write everything buffered so far, padding the partial last block
+     */
+    public synchronized void flush() {
+        if (closed) {
+            return;
+        }
+        try {
+            long start = System.nanoTime();
+            writeBuffer(true);
+            MetricsBridge.recordHandlerFlush(getClass().getSimpleName(), System.nanoTime() - start);
+        } catch (IOException e) {
+            System.err.println("Failed to flush log to " + path + ": " + e.getMessage());
+            MetricsBridge.recordError("DirectFileWriteError", e);
+        }
+    }
+
+    @Override
+    public void setFormatter(Formatter formatter) {
+        this.formatter = formatter != null ? formatter : new SimpleFormatter();
+    }
+
+    @Override
+    public void setLevel(LogLevel level) {
+        this.level = level != null ? level : LogLevel.INFO;
+    }
+
+    @Override
+    public LogLevel getLevel() {
+        return level;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        flushScheduler.shutdownNow();
+        try {
+            long logicalSize = bufferOffset + buffer.position();
+            writeBuffer(true);
+            channel.truncate(logicalSize);
+            channel.close();
+        } catch (IOException e) {
+            System.err.println("Failed to close log file " + path + ": " + e.getMessage());
+        }
+        closed = true;
+    }
+
+    // Status getters
+    public Path getPath() {
+        return path;
+    }
+
+    public boolean isDirectIo() {
+        return directIo;
+    }
+
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+    public long getEventsWritten() {
+        return eventsWritten.get();
+    }
+
+    public long getBytesWritten() {
+        return bytesWritten.get();
+    }
+
+    /**
+     * Zero bytes written to fill partial blocks; rewritten or trimmed later
+     */
+    public long getPaddingBytes() {
+        return paddingBytes.get();
+    }
+
+    public long getWriteCalls() {
+        return writeCalls.get();
+    }
+
+    public long getRolloverCount() {
+        return rollovers.get();
+    }
+}
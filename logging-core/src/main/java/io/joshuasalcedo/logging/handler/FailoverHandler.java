@@ -0,0 +1,553 @@
+package io.joshuasalcedo.logging.handler;
+
+import io.joshuasalcedo.logging.core.Log;
+import io.joshuasalcedo.logging.core.LogLevel;
+import io.joshuasalcedo.logging.formatter.Formatter;
+import io.joshuasalcedo.logging.util.MetricsBridge;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Failover chain: primary handler, then an optional secondary handler, then a
+ * local spill file.
+ * <p>
+ * A primary call that throws counts as a failure. After
+ * {@code failureThreshold} consecutive failures the {@link CircuitBreaker}
+ * opens and events skip the primary entirely, so an outage costs no round trip
+ * per event. Skipped events go to the secondary, or to the spill file if there
+ * is no secondary or it fails too.
+ * <p>
+ * A background task probes the primary on a schedule once the circuit allows
+ * it, using the oldest spilled event. After a successful probe the rest of the
+ * spill file is replayed in order, a chunk at a time, and a read offset in
+ * {@code <spillFile>.offset} records how far the primary has accepted it.
+ * Until the backlog is gone, new events keep bypassing the primary so they
+ * cannot overtake spilled ones; during that time only the probe task calls the
+ * primary.
+ * <p>
+ * Spilled events keep their timestamp, level, logger and call site; a
+ * throwable is stored as its rendered stack trace in the message.
+ */
+public class FailoverHandler implements Handler {
+    private LogLevel level = LogLevel.DEBUG;
+
+    private final Handler primary;
+    private final Handler secondary;
+    private final Path spillFile;
+    private final CircuitBreaker circuitBreaker;
+    private final ScheduledExecutorService probeExecutor;
+
+    // Guards the spill file, its writer and spilledCount
+    private final Object spillLock = new Object();
+    private final Path offsetFile;
+    private BufferedWriter spillWriter;
+    private long spilledCount;
+    // Read without the lock on every publish
+    private volatile boolean backlog;
+    private volatile boolean replaying;
+    private volatile boolean closed;
+
+    private final AtomicLong primaryEvents = new AtomicLong(0);
+    private final AtomicLong secondaryEvents = new AtomicLong(0);
+    private final AtomicLong spilledEvents = new AtomicLong(0);
+    private final AtomicLong replayedEvents = new AtomicLong(0);
+
+    // Default configuration
+    private static final int DEFAULT_FAILURE_THRESHOLD = 3;
+    private static final long DEFAULT_OPEN_MILLIS = 5000;
+    private static final long DEFAULT_PROBE_INTERVAL_MILLIS = 1000;
+    private static final char FIELD_SEPARATOR = '\t';
+    private static final int REPLAY_CHUNK_LINES = 256;
+
+    public FailoverHandler(Handler primary, Handler secondary, Path spillFile) {
+        this(primary, secondary, spillFile, new CircuitBreaker(DEFAULT_FAILURE_THRESHOLD, DEFAULT_OPEN_MILLIS),
+                DEFAULT_PROBE_INTERVAL_MILLIS);
+    }
+
+    /**
+     * @param secondary          fallback handler, may be null to spill straight to disk
+     * @param probeIntervalMillis how often the background task checks whether to probe the primary
+     */
+    public FailoverHandler(Handler primary, Handler secondary, Path spillFile, CircuitBreaker circuitBreaker,
+                           long probeIntervalMillis) {
+        this.primary = primary;
+        this.secondary = secondary;
+        this.spillFile = spillFile;
+        this.circuitBreaker = circuitBreaker;
+        this.offsetFile = spillFile.resolveSibling(spillFile.getFileName() + ".offset");
+
+        // Pick up events left behind by a previous run
+        this.spilledCount = countSpilledEvents();
+        this.backlog = spilledCount > 0;
+
+        this.probeExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "FailoverHandler-Probe");
+            t.setDaemon(true);
+            return t;
+        });
+        probeExecutor.scheduleWithFixedDelay(this::probeAndReplay, probeIntervalMillis,
+                probeIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void publish(Log record) {
+        if (closed || record.getLevel().getValue() < level.getValue()) {
+            return;
+        }
+
+        // Keep order: while a backlog is waiting for replay, the primary only sees replayed events
+        if (!hasSpilledEvents() && circuitBreaker.allowRequest()) {
+            if (tryPrimary(record)) {
+                return;
+            }
+        }
+
+        if (secondary != null) {
+            try {
+                secondary.publish(record);
+                secondaryEvents.incrementAndGet();
+                return;
+            } catch (Exception e) {
+                MetricsBridge.recordError("FailoverSecondaryFailure", e);
+            }
+        }
+        spill(record);
+    }
+
+    private boolean tryPrimary(Log record) {
+        try {
+            primary.publish(record);
+            circuitBreaker.recordSuccess();
+            primaryEvents.incrementAndGet();
+            return true;
+        } catch (Exception e) {
+            circuitBreaker.recordFailure();
+            MetricsBridge.recordError("FailoverPrimaryFailure", e);
+            return false;
+        }
+    }
+
+    // === Spill file ===
+
+    private boolean hasSpilledEvents() {
+        return replaying || backlog;
+    }
+
+    private void spill(Log record) {
+        synchronized (spillLock) {
+            try {
+                // Kept open for the whole outage; closed once the backlog is replayed
+                if (spillWriter == null) {
+                    // Never append onto a line a crash left unfinished
+                    trimPartialLine();
+                    spillWriter = Files.newBufferedWriter(spillFile, StandardCharsets.UTF_8,
+                            StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                }
+                spillWriter.write(encode(record));
+                spillWriter.newLine();
+                spillWriter.flush();
+                spilledCount++;
+                backlog = true;
+                spilledEvents.incrementAndGet();
+            } catch (IOException e) {
+                closeSpillWriter();
+                // Last resort, as DatabaseHandler does
+                System.err.println("FailoverHandler failed to spill to " + spillFile + ": " + e.getMessage());
+                System.err.println("Fallback log: " + record.getLevel() + " " + record.getLoggerName()
+                        + " - " + record.getMessage());
+                MetricsBridge.recordDroppedLog();
+            }
+        }
+    }
+
+    /**
+     * Background task: once the circuit allows a probe, send the oldest spilled
+     * event and replay the rest if it succeeds
+     */
+    private void probeAndReplay() {
+        if (closed || !hasSpilledEvents()) {
+            return;
+        }
+        if (!circuitBreaker.allowRequest()) {
+            return;
+        }
+
+        replaying = true;
+        try {
+            replaySpillFile();
+        } catch (IOException e) {
+            System.err.println("FailoverHandler failed to replay " + spillFile + ": " + e.getMessage());
+        } finally {
+            replaying = false;
+        }
+    }
+
+    /**
+     * Deliver the spill file from the persisted read offset, a chunk at a
+     * time. The offset only moves past events the primary has accepted, so a
+     * failure or a crash leaves the rest on disk; at worst the last chunk is
+     * delivered twice. The file is removed once it has been read to the end.
+     */
+    private void replaySpillFile() throws IOException {
+        long offset = readOffset();
+        boolean permitted = true;   // allowRequest was already granted for the probe
+        List<SpillLine> chunk = new ArrayList<>(REPLAY_CHUNK_LINES);
+        while (!closed) {
+            chunk.clear();
+            readSpillLines(offset, chunk);
+            if (chunk.isEmpty()) {
+                if (finishReplay(offset)) {
+                    return;
+                }
+                // Events were spilled meanwhile; carry on with them
+                continue;
+            }
+
+            int delivered = 0;
+            long consumed = 0;
+            boolean failed = false;
+            for (SpillLine line : chunk) {
+                Log record = decode(line.text());
+                if (record != null) {
+                    if (!permitted && !circuitBreaker.allowRequest()) {
+                        failed = true;
+                        break;
+                    }
+                    permitted = false;
+                    if (!tryPrimary(record)) {
+                        failed = true;
+                        break;
+                    }
+                }
+                delivered++;
+                consumed += line.bytes();
+            }
+
+            offset += consumed;
+            writeOffset(offset);
+            replayedEvents.addAndGet(delivered);
+            synchronized (spillLock) {
+                spilledCount = Math.max(0, spilledCount - delivered);
+            }
+            if (failed) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Remove the spill file if nothing was appended past the offset. An
+     * unfinished last line cannot be a write in progress while the lock is
+     * held, so it is discarded rather than waited for.
+     *
+     * @return false if there is more to replay
+     */
+    private boolean finishReplay(long offset) throws IOException {
+        synchronized (spillLock) {
+            if (Files.exists(spillFile) && Files.size(spillFile) > offset) {
+                trimPartialLine();
+                if (Files.size(spillFile) > offset) {
+                    return false;
+                }
+            }
+            closeSpillWriter();
+            Files.deleteIfExists(spillFile);
+            Files.deleteIfExists(offsetFile);
+            spilledCount = 0;
+            backlog = false;
+            return true;
+        }
+    }
+
+    private record SpillLine(String text, int bytes) {
+    }
+
+    /**
+     * Read up to a chunk of complete lines starting at the offset. A trailing
+     * line without its newline is still being written and is left for later.
+     */
+    private void readSpillLines(long offset, List<SpillLine> lines) throws IOException {
+        if (!Files.exists(spillFile)) {
+            return;
+        }
+        try (SeekableByteChannel channel = Files.newByteChannel(spillFile, StandardOpenOption.READ)) {
+            channel.position(offset);
+            InputStream in = new BufferedInputStream(Channels.newInputStream(channel));
+            ByteArrayOutputStream line = new ByteArrayOutputStream(256);
+            int b;
+            while (lines.size() < REPLAY_CHUNK_LINES && (b = in.read()) != -1) {
+                if (b != '\n') {
+                    line.write(b);
+                    continue;
+                }
+                int bytes = line.size() + 1;
+                String text = line.toString(StandardCharsets.UTF_8);
+                if (text.endsWith("\r")) {
+                    text = text.substring(0, text.length() - 1);
+                }
+                lines.add(new SpillLine(text, bytes));
+                line.reset();
+            }
+        }
+    }
+
+    /**
+     * Cut the spill file back to its last newline. Called under the spill
+     * lock, when any bytes past it are left over from a crash or failed write.
+     */
+    private void trimPartialLine() throws IOException {
+        if (!Files.exists(spillFile)) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(spillFile, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = channel.size();
+            long keep = 0;
+            ByteBuffer buffer = ByteBuffer.allocate(4096);
+            search:
+            for (long end = size; end > 0; ) {
+                int length = (int) Math.min(buffer.capacity(), end);
+                long start = end - length;
+                buffer.clear().limit(length);
+                while (buffer.hasRemaining() && channel.read(buffer, start + buffer.position()) >= 0) {
+                    // Positional reads may return short
+                }
+                for (int i = length - 1; i >= 0; i--) {
+                    if (buffer.get(i) == '\n') {
+                        keep = start + i + 1;
+                        break search;
+                    }
+                }
+                end = start;
+            }
+            if (keep < size) {
+                channel.truncate(keep);
+                System.err.println("FailoverHandler discarded an incomplete line of " + (size - keep)
+                        + " bytes at the end of " + spillFile);
+            }
+        }
+    }
+
+    // Lines from the read offset to the end, without holding them in memory
+    private long countSpilledEvents() {
+        long count = 0;
+        try {
+            long offset = readOffset();
+            List<SpillLine> chunk = new ArrayList<>(REPLAY_CHUNK_LINES);
+            do {
+                chunk.clear();
+                readSpillLines(offset, chunk);
+                for (SpillLine line : chunk) {
+                    offset += line.bytes();
+                }
+                count += chunk.size();
+            } while (!chunk.isEmpty());
+        } catch (IOException e) {
+            System.err.println("FailoverHandler failed to read " + spillFile + ": " + e.getMessage());
+        }
+        return count;
+    }
+
+    private long readOffset() throws IOException {
+        if (!Files.exists(offsetFile)) {
+            return 0;
+        }
+        long offset;
+        try {
+            offset = Long.parseLong(Files.readString(offsetFile, StandardCharsets.UTF_8).trim());
+        } catch (NumberFormatException e) {
+            System.err.println("FailoverHandler ignoring corrupt offset in " + offsetFile);
+            return 0;
+        }
+        // A spill file shorter than the offset was replaced; start over
+        long size = Files.exists(spillFile) ? Files.size(spillFile) : 0;
+        return offset >= 0 && offset <= size ? offset : 0;
+    }
+
+    private void writeOffset(long offset) throws IOException {
+        Path temp = offsetFile.resolveSibling(offsetFile.getFileName() + ".tmp");
+        Files.writeString(temp, Long.toString(offset), StandardCharsets.UTF_8);
+        Files.move(temp, offsetFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void closeSpillWriter() {
+        if (spillWriter == null) {
+            return;
+        }
+        try {
+            spillWriter.close();
+        } catch (IOException e) {
+            System.err.println("FailoverHandler failed to close " + spillFile + ": " + e.getMessage());
+        }
+        spillWriter = null;
+    }
+
+    // One event per line: tab-separated fields with \t, \n, \r and \\ escaped
+    static String encode(Log record) {
+        Instant timestamp = record.getTimestamp();
+        StringBuilder sb = new StringBuilder(128);
+        sb.append(timestamp.getEpochSecond()).append(FIELD_SEPARATOR)
+          .append(timestamp.getNano()).append(FIELD_SEPARATOR)
+          .append(record.getLevel().name()).append(FIELD_SEPARATOR);
+        escape(sb, record.getLoggerName()).append(FIELD_SEPARATOR);
+        escape(sb, record.getClassName()).append(FIELD_SEPARATOR);
+        escape(sb, record.getMethodName()).append(FIELD_SEPARATOR);
+        sb.append(record.getLineNumber()).append(FIELD_SEPARATOR);
+        escape(sb, messageWithStackTrace(record));
+        return sb.toString();
+    }
+
+    static Log decode(String line) {
+        String[] fields = line.split(String.valueOf(FIELD_SEPARATOR), -1);
+        if (fields.length != 8) {
+            System.err.println("FailoverHandler skipping malformed spill entry: " + line);
+            return null;
+        }
+        try {
+            Instant timestamp = Instant.ofEpochSecond(Long.parseLong(fields[0]), Long.parseLong(fields[1]));
+            return new Log(LogLevel.valueOf(fields[2]), unescape(fields[7]), unescape(fields[3]), timestamp,
+                    unescape(fields[4]), unescape(fields[5]), Integer.parseInt(fields[6]), null);
+        } catch (IllegalArgumentException | DateTimeException e) {
+            System.err.println("FailoverHandler skipping malformed spill entry: " + line);
+            return null;
+        }
+    }
+
+    private static StringBuilder escape(StringBuilder sb, String value) {
+        if (value == null) {
+            return sb;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> sb.append("\\\\");
+                case '\t' -> sb.append("\\t");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                default -> sb.append(c);
+            }
+        }
+        return sb;
+    }
+
+    private static String unescape(String value) {
+        if (value.indexOf('\\') < 0) {
+            return value;
+        }
+        StringBuilder sb = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' && i + 1 < value.length()) {
+                char next = value.charAt(++i);
+                switch (next) {
+                    case 't' -> sb.append('\t');
+                    case 'n' -> sb.append('\n');
+                    case 'r' -> sb.append('\r');
+                    default -> sb.append(next);
+                }
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static String messageWithStackTrace(Log record) {
+        if (record.getThrowable() == null) {
+            return record.getMessage();
+        }
+        StringWriter sw = new StringWriter();
+        sw.append(record.getMessage()).append(System.lineSeparator());
+        record.getThrowable().printStackTrace(new PrintWriter(sw));
+        return sw.toString();
+    }
+
+    /**
+     * Sets the formatter on the primary and secondary handlers
+     */
+    @Override
+    public void setFormatter(Formatter formatter) {
+        primary.setFormatter(formatter);
+        if (secondary != null) {
+            secondary.setFormatter(formatter);
+        }
+    }
+
+    @Override
+    public void setLevel(LogLevel level) {
+        this.level = level != null ? level : LogLevel.DEBUG;
+    }
+
+    @Override
+    public LogLevel getLevel() {
+        return level;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        probeExecutor.shutdown();
+        try {
+            probeExecutor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Spilled events stay on disk and are replayed by the next instance
+        synchronized (spillLock) {
+            closeSpillWriter();
+        }
+        primary.close();
+        if (secondary != null) {
+            secondary.close();
+        }
+    }
+
+    // Status getters
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    public long getPendingSpilledCount() {
+        synchronized (spillLock) {
+            return spilledCount;
+        }
+    }
+
+    public long getPrimaryEventCount() {
+        return primaryEvents.get();
+    }
+
+    public long getSecondaryEventCount() {
+        return secondaryEvents.get();
+    }
+
+    public long getSpilledEventCount() {
+        return spilledEvents.get();
+    }
+
+    public long getReplayedEventCount() {
+        return replayedEvents.get();
+    }
+}
@@ -4,17 +4,29 @@ import io.joshuasalcedo.logging.core.Log;
 import io.joshuasalcedo.logging.core.LogLevel;
 import io.joshuasalcedo.logging.formatter.Formatter;
 import io.joshuasalcedo.logging.formatter.SimpleFormatter;
+import io.joshuasalcedo.logging.util.MetricsBridge;
+import io.joshuasalcedo.logging.util.StringUtils;
 
 import java.io.BufferedWriter;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
 
 public class FileHandler implements Handler {
     private Formatter formatter = new SimpleFormatter();
     private LogLevel level = LogLevel.INFO;
     private PrintWriter writer;
     private final String filename;
+    private TimeIndexWriter timeIndex;
+    private long offset;
+
+    // FileWriter encodes with the default charset
+    private static final Charset CHARSET = Charset.defaultCharset();
+    private static final int LINE_SEPARATOR_BYTES = System.lineSeparator().getBytes(CHARSET).length;
 
     public FileHandler(String filename) throws IOException {
         this.filename = filename;
@@ -22,13 +34,126 @@ public class FileHandler implements Handler {
     }
 
     @Override
-    public synchronized void publish(Log record) {
+    public void publish(Log record) {
+        if (record.getLevel().getValue() >= level.getValue()) {
+            publishEncoded(record, formatter.format(record));
+        }
+    }
+
+    @Override
+    public Formatter getSharedFormatter() {
+        return formatter;
+    }
+
+    @Override
+    public synchronized void publishEncoded(Log record, String line) {
         if (record.getLevel().getValue() >= level.getValue()) {
-            writer.println(formatter.format(record));
-            writer.flush();
+            boolean measured = MetricsBridge.isEnabled();
+            long bytes = measured || timeIndex != null ? lineBytes(line) : 0;
+            if (timeIndex != null) {
+                indexRecord(record, bytes);
+            }
+            if (measured) {
+                writeMeasured(line, bytes);
+            } else {
+                writer.println(line);
+                writer.flush();
+            }
         }
     }
 
+    /**
+     * Buffer every line of the batch and flush once
+     */
+    @Override
+    public synchronized void publishBatch(List<Log> records) {
+        writeBatch(records, null);
+    }
+
+    @Override
+    public synchronized void publishEncodedBatch(List<Log> records, List<String> encoded) {
+        writeBatch(records, encoded);
+    }
+
+    // Lines come from the formatter unless the caller already encoded them
+    private void writeBatch(List<Log> records, List<String> encoded) {
+        boolean measured = MetricsBridge.isEnabled();
+        int events = 0;
+        long bytes = 0;
+        long writeNanos = 0;
+        for (int i = 0; i < records.size(); i++) {
+            Log record = records.get(i);
+            if (record.getLevel().getValue() < level.getValue()) {
+                continue;
+            }
+            String line = encoded != null ? encoded.get(i) : formatter.format(record);
+            long lineBytes = measured || timeIndex != null ? lineBytes(line) : 0;
+            if (timeIndex != null) {
+                indexRecord(record, lineBytes);
+            }
+            if (measured) {
+                long start = System.nanoTime();
+                writer.println(line);
+                writeNanos += System.nanoTime() - start;
+                bytes += lineBytes;
+            } else {
+                writer.println(line);
+            }
+            events++;
+        }
+        if (events == 0) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        writer.flush();
+        if (measured) {
+            MetricsBridge.recordHandlerWriteAndFlush(getClass().getSimpleName(), bytes, events,
+                    writeNanos, System.nanoTime() - start);
+        }
+    }
+
+    // The println lands in the BufferedWriter; the flush is the actual write(2)
+    private void writeMeasured(String line, long bytes) {
+        long start = System.nanoTime();
+        writer.println(line);
+        long written = System.nanoTime();
+        writer.flush();
+        long flushed = System.nanoTime();
+
+        MetricsBridge.recordHandlerWriteAndFlush(getClass().getSimpleName(), bytes, 1,
+                written - start, flushed - written);
+    }
+
+    private static long lineBytes(String line) {
+        return StringUtils.encodedLength(line, CHARSET) + LINE_SEPARATOR_BYTES;
+    }
+
+    /**
+     * Maintain a sparse {@code <filename>.idx} time index alongside the log so
+     * {@link TimeIndexedLogReader} can seek to a time window without scanning.
+     * An entry is written every {@code everyBytes} of output or every
+     * {@code everyMillis}, whichever comes first.
+     */
+    public synchronized void enableTimeIndex(long everyBytes, long everyMillis) throws IOException {
+        writer.flush();
+        Path path = Path.of(filename);
+        if (timeIndex != null) {
+            timeIndex.close();
+        }
+        offset = Files.size(path);
+        timeIndex = new TimeIndexWriter(path, offset, everyBytes, everyMillis);
+    }
+
+    private void indexRecord(Log record, long lineBytes) {
+        try {
+            timeIndex.beforeRecord(record.getTimestamp(), offset);
+        } catch (IOException e) {
+            System.err.println("Failed to update time index for " + filename + ": " + e.getMessage());
+        }
+        offset += lineBytes;
+    }
+
     @Override
     public void setFormatter(Formatter formatter) {
         this.formatter = formatter;
@@ -45,9 +170,17 @@ public class FileHandler implements Handler {
     }
 
     @Override
-    public void close() {
+    public synchronized void close() {
         if (writer != null) {
             writer.close();
         }
+        if (timeIndex != null) {
+            try {
+                timeIndex.close();
+            } catch (IOException e) {
+                System.err.println("Failed to close time index for " + filename + ": " + e.getMessage());
+            }
+            timeIndex = null;
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,389 @@
+package io.joshuasalcedo.logging.handler;
+
+import io.joshuasalcedo.logging.core.Log;
+import io.joshuasalcedo.logging.core.LogLevel;
+import io.joshuasalcedo.logging.formatter.Formatter;
+import io.joshuasalcedo.logging.formatter.SimpleFormatter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * "Flight recorder" that keeps the most recent events in a fixed-size
+ * off-heap ring and only writes them out when something goes wrong.
+ * <p>
+ * Every loggable record is encoded into a {@link MemorySegment} ring,
+ * overwriting the oldest entries once it is full, so running the root level at
+ * DEBUG costs an encode and a memory copy rather than I/O. The ring is dumped,
+ * oldest first, to a delegate {@link Handler} or appended to a file when a
+ * record at or above the trigger level (ERROR by default) arrives, when
+ * {@link #dump(String)} is called, on {@link #close()} or on JVM shutdown.
+ * Dumped entries are removed from the ring so the same events are not written
+ * twice.
+ * <p>
+ * This handler's own level decides what is recorded. The delegate still
+ * applies its level to the dump, so give it DEBUG, or the dumped history is
+ * cut down to what it would have logged anyway.
+ * <p>
+ * Throwables are not kept as objects; their stack traces are rendered into the
+ * recorded message.
+ */
+public class FlightRecorderHandler implements Handler {
+    private Formatter formatter = new SimpleFormatter();
+    private LogLevel level = LogLevel.DEBUG;
+    private volatile LogLevel triggerLevel = LogLevel.ERROR;
+
+    private final Handler delegate;
+    private final Path dumpFile;
+
+    private final Arena arena;
+    private final MemorySegment ring;
+    private final long capacity;
+    private long head;  // Total bytes ever written
+    private long tail;  // Start of the oldest retained entry
+    private int entries;
+    private boolean closed;
+
+    private final Thread shutdownHook;
+    private final AtomicLong recordedEvents = new AtomicLong(0);
+    private final AtomicLong overwrittenEvents = new AtomicLong(0);
+    private final AtomicLong dumpCount = new AtomicLong(0);
+
+    // Entry header: length, epoch second, nanos, level ordinal, line number
+    private static final int ENTRY_HEADER_BYTES = Integer.BYTES + Long.BYTES + Integer.BYTES + 1 + Integer.BYTES;
+    private static final LogLevel[] LEVELS = LogLevel.values();
+    private static final ValueLayout.OfInt INT = ValueLayout.JAVA_INT_UNALIGNED.withOrder(ByteOrder.BIG_ENDIAN);
+
+    public FlightRecorderHandler(long capacityBytes, Handler delegate) {
+        this(capacityBytes, delegate, null);
+    }
+
+    public FlightRecorderHandler(long capacityBytes, Path dumpFile) {
+        this(capacityBytes, null, dumpFile);
+    }
+
+    private FlightRecorderHandler(long capacityBytes, Handler delegate, Path dumpFile) {
+        if (capacityBytes < 1024) {
+            throw new IllegalArgumentException("Flight recorder capacity must be at least 1KB: " + capacityBytes);
+        }
+
+        if (delegate != null && delegate.getLevel() != null
+                && delegate.getLevel().getValue() > LogLevel.DEBUG.getValue()) {
+            System.err.println("FlightRecorderHandler: delegate level " + delegate.getLevel()
+                    + " will filter dumped history; set it to DEBUG");
+        }
+        this.delegate = delegate;
+        this.dumpFile = dumpFile;
+        this.capacity = capacityBytes;
+        this.arena = Arena.ofShared();
+        this.ring = arena.allocate(capacityBytes, Long.BYTES);
+
+        this.shutdownHook = new Thread(() -> dump("shutdown"), "FlightRecorder-Shutdown");
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+    }
+
+    @Override
+    public void publish(Log record) {
+        if (record.getLevel().getValue() < level.getValue()) {
+            return;
+        }
+
+        record(record);
+
+        if (record.getLevel().getValue() >= triggerLevel.getValue()) {
+            dump(record.getLevel().name());
+        }
+    }
+
+    private void record(Log record) {
+        byte[] logger = utf8(record.getLoggerName());
+        byte[] className = utf8(record.getClassName());
+        byte[] methodName = utf8(record.getMethodName());
+        byte[] message = utf8(messageWithStackTrace(record));
+
+        long length = ENTRY_HEADER_BYTES + 4L * Integer.BYTES
+                + logger.length + className.length + methodName.length + message.length;
+
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            if (length > capacity) {
+                // Never let one huge event wipe the whole ring
+                overwrittenEvents.incrementAndGet();
+                return;
+            }
+
+            // Evict the oldest entries until the new one fits
+            while (head + length - tail > capacity) {
+                tail += readInt(tail);
+                entries--;
+                overwrittenEvents.incrementAndGet();
+            }
+
+            Instant timestamp = record.getTimestamp();
+            long position = head;
+            position = writeInt(position, (int) length);
+            position = writeLong(position, timestamp.getEpochSecond());
+            position = writeInt(position, timestamp.getNano());
+            position = writeByte(position, (byte) record.getLevel().ordinal());
+            position = writeInt(position, record.getLineNumber());
+            position = writeBytes(position, logger);
+            position = writeBytes(position, className);
+            position = writeBytes(position, methodName);
+            writeBytes(position, message);
+
+            head += length;
+            entries++;
+        }
+        recordedEvents.incrementAndGet();
+    }
+
+    /**
+     * Write out everything currently held in the ring, oldest first, and clear it
+     *
+     * @param reason short description included in the dump header
+     * @return number of events dumped
+     */
+    public int dump(String reason) {
+        List<Log> events;
+        synchronized (this) {
+            if (closed || entries == 0) {
+                return 0;
+            }
+
+            events = new ArrayList<>(entries);
+            long position = tail;
+            while (position < head) {
+                events.add(readEntry(position));
+                position += readInt(position);
+            }
+
+            tail = head;
+            entries = 0;
+        }
+
+        dumpCount.incrementAndGet();
+        if (delegate != null) {
+            try {
+                delegate.publishBatch(events);
+            } catch (Exception e) {
+                System.err.println("FlightRecorderHandler failed to dump to delegate: " + e.getMessage());
+            }
+        } else {
+            writeDumpFile(events, reason);
+        }
+        return events.size();
+    }
+
+    private void writeDumpFile(List<Log> events, String reason) {
+        try (BufferedWriter writer = Files.newBufferedWriter(dumpFile, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            writer.write(String.format("=== Flight recorder dump at %s: %d events (%s) ===%n",
+                    Instant.now(), events.size(), reason));
+            for (Log event : events) {
+                writer.write(formatter.format(event));
+                writer.newLine();
+            }
+        } catch (IOException e) {
+            System.err.println("FlightRecorderHandler failed to write dump to " + dumpFile + ": " + e.getMessage());
+        }
+    }
+
+    private Log readEntry(long position) {
+        long offset = position + Integer.BYTES;
+        long epochSecond = readLong(offset);
+        offset += Long.BYTES;
+        int nanos = readInt(offset);
+        offset += Integer.BYTES;
+        LogLevel entryLevel = LEVELS[readByte(offset)];
+        offset += 1;
+        int lineNumber = readInt(offset);
+        offset += Integer.BYTES;
+
+        String logger = readString(offset);
+        offset += Integer.BYTES + readInt(offset);
+        String className = readString(offset);
+        offset += Integer.BYTES + readInt(offset);
+        String methodName = readString(offset);
+        offset += Integer.BYTES + readInt(offset);
+        String message = readString(offset);
+
+        return new Log(entryLevel, message, logger, Instant.ofEpochSecond(epochSecond, nanos),
+                className, methodName, lineNumber, null);
+    }
+
+    // === Ring access; positions are monotonic and wrap modulo the capacity ===
+
+    private long writeByte(long position, byte value) {
+        ring.set(ValueLayout.JAVA_BYTE, position % capacity, value);
+        return position + 1;
+    }
+
+    private long writeInt(long position, int value) {
+        long index = position % capacity;
+        if (index + Integer.BYTES <= capacity) {
+            ring.set(INT, index, value);
+            return position + Integer.BYTES;
+        }
+        // Straddles the end of the ring
+        for (int shift = 24; shift >= 0; shift -= 8) {
+            position = writeByte(position, (byte) (value >>> shift));
+        }
+        return position;
+    }
+
+    private long writeLong(long position, long value) {
+        position = writeInt(position, (int) (value >>> 32));
+        return writeInt(position, (int) value);
+    }
+
+    private long writeBytes(long position, byte[] bytes) {
+        position = writeInt(position, bytes.length);
+        int offset = 0;
+        while (offset < bytes.length) {
+            long index = position % capacity;
+            int chunk = (int) Math.min(bytes.length - offset, capacity - index);
+            MemorySegment.copy(bytes, offset, ring, ValueLayout.JAVA_BYTE, index, chunk);
+            offset += chunk;
+            position += chunk;
+        }
+        return position;
+    }
+
+    private byte readByte(long position) {
+        return ring.get(ValueLayout.JAVA_BYTE, position % capacity);
+    }
+
+    private int readInt(long position) {
+        long index = position % capacity;
+        if (index + Integer.BYTES <= capacity) {
+            return ring.get(INT, index);
+        }
+        int value = 0;
+        for (int i = 0; i < Integer.BYTES; i++) {
+            value = (value << 8) | (readByte(position + i) & 0xFF);
+        }
+        return value;
+    }
+
+    private long readLong(long position) {
+        return ((long) readInt(position) << 32) | (readInt(position + Integer.BYTES) & 0xFFFFFFFFL);
+    }
+
+    private String readString(long position) {
+        int length = readInt(position);
+        byte[] bytes = new byte[length];
+        long start = position + Integer.BYTES;
+        int offset = 0;
+        while (offset < length) {
+            long index = (start + offset) % capacity;
+            int chunk = (int) Math.min(length - offset, capacity - index);
+            MemorySegment.copy(ring, ValueLayout.JAVA_BYTE, index, bytes, offset, chunk);
+            offset += chunk;
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] utf8(String value) {
+        return value != null ? value.getBytes(StandardCharsets.UTF_8) : new byte[0];
+    }
+
+    private static String messageWithStackTrace(Log record) {
+        if (record.getThrowable() == null) {
+            return record.getMessage();
+        }
+        StringWriter sw = new StringWriter();
+        sw.append(record.getMessage()).append(System.lineSeparator());
+        record.getThrowable().printStackTrace(new PrintWriter(sw));
+        return sw.toString();
+    }
+
+    @Override
+    public void setFormatter(Formatter formatter) {
+        this.formatter = formatter != null ? formatter : new SimpleFormatter();
+    }
+
+    @Override
+    public void setLevel(LogLevel level) {
+        this.level = level != null ? level : LogLevel.DEBUG;
+    }
+
+    @Override
+    public LogLevel getLevel() {
+        return level;
+    }
+
+    /**
+     * Set the level at which a record triggers a dump of the ring
+     */
+    public void setTriggerLevel(LogLevel triggerLevel) {
+        this.triggerLevel = triggerLevel != null ? triggerLevel : LogLevel.ERROR;
+    }
+
+    public LogLevel getTriggerLevel() {
+        return triggerLevel;
+    }
+
+    @Override
+    public void close() {
+        try {
+            Runtime.getRuntime().removeShutdownHook(shutdownHook);
+        } catch (IllegalStateException e) {
+            // Already shutting down; the hook takes care of the final dump
+        }
+        // Whatever is still held would otherwise be lost with the ring
+        dump("close");
+
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            arena.close();
+        }
+
+        if (delegate != null) {
+            delegate.close();
+        }
+    }
+
+    // Status getters
+    public long getCapacityBytes() {
+        return capacity;
+    }
+
+    public synchronized long getUsedBytes() {
+        return head - tail;
+    }
+
+    public synchronized int getBufferedEventCount() {
+        return entries;
+    }
+
+    public long getRecordedEventCount() {
+        return recordedEvents.get();
+    }
+
+    public long getOverwrittenEventCount() {
+        return overwrittenEvents.get();
+    }
+
+    public long getDumpCount() {
+        return dumpCount.get();
+    }
+}
@@ -4,10 +4,54 @@ import io.joshuasalcedo.logging.core.Log;
 import io.joshuasalcedo.logging.core.LogLevel;
 import io.joshuasalcedo.logging.formatter.Formatter;
 
+import java.util.List;
+
 public interface Handler {
     void publish(Log record);
     void setFormatter(Formatter formatter);
     void setLevel(LogLevel level);
     LogLevel getLevel();
     void close();
+
+    /**
+     * Formatter whose output this handler writes unchanged, or null if it
+     * encodes events some other way. A logger formats each event once per
+     * distinct {@link Formatter#encoderKey()} and hands the text to every such
+     * handler through {@link #publishEncoded(Log, String)}.
+     */
+    default Formatter getSharedFormatter() {
+        return null;
+    }
+
+    /**
+     * Publish a record already formatted by a formatter with the same
+     * {@link Formatter#encoderKey()} as {@link #getSharedFormatter()}
+     */
+    default void publishEncoded(Log record, String encoded) {
+        publish(record);
+    }
+
+    /**
+     * Publish records in order as one unit of work, e.g. everything an async
+     * worker drained at once. Handlers that can write or commit several
+     * records together override this; an exception may leave any prefix of
+     * the batch published. The list is only valid for the duration of the call.
+     */
+    default void publishBatch(List<Log> records) {
+        for (Log record : records) {
+            publish(record);
+        }
+    }
+
+    /**
+     * Publish records already formatted by a formatter with the same
+     * {@link Formatter#encoderKey()} as {@link #getSharedFormatter()}, in order
+     * and as one unit of work like {@link #publishBatch(List)}. Both lists are
+     * only valid for the duration of the call.
+     */
+    default void publishEncodedBatch(List<Log> records, List<String> encoded) {
+        for (int i = 0; i < records.size(); i++) {
+            publishEncoded(records.get(i), encoded.get(i));
+        }
+    }
 }
\ No newline at end of file
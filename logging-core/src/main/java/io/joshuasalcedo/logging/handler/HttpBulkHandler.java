@@ -0,0 +1,462 @@
+package io.joshuasalcedo.logging.handler;
+
+import io.joshuasalcedo.logging.core.Log;
+import io.joshuasalcedo.logging.core.LogLevel;
+import io.joshuasalcedo.logging.formatter.Formatter;
+import io.joshuasalcedo.logging.formatter.JsonFormatter;
+import io.joshuasalcedo.logging.util.Histogram;
+import io.joshuasalcedo.logging.util.MetricsBridge;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Ships log events in bulk to an HTTP endpoint as gzip-compressed NDJSON.
+ * <p>
+ * Each event is formatted as one JSON line on the caller and queued. A batcher
+ * thread closes a batch when it reaches {@code maxBatchEvents} or
+ * {@code maxBatchBytes}, or when {@code lingerMillis} has passed since its
+ * first event, and POSTs it with {@code Content-Type: application/x-ndjson}
+ * and {@code Content-Encoding: gzip}. Up to {@code maxInFlight} requests are
+ * outstanding at once.
+ * <p>
+ * A batch that fails with an I/O error, 408, 429 or 5xx is retried whole, with
+ * exponential backoff, keeping its events in their original order and its
+ * in-flight slot. Batches carry an {@code X-Batch-Sequence} header so the
+ * receiver can restore order across concurrent batches; use
+ * {@code maxInFlight = 1} for strict end-to-end ordering.
+ * <p>
+ * When every slot is taken the batcher stops draining the queue, so a slow
+ * endpoint fills the queue and the {@link OverflowPolicy} decides what
+ * happens to new events.
+ */
+public class HttpBulkHandler implements Handler {
+    private Formatter formatter = new JsonFormatter();
+    private LogLevel level = LogLevel.INFO;
+
+    private final URI endpoint;
+    private final HttpClient client;
+    private final boolean ownsClient;
+    private final BlockingQueue<byte[]> queue;
+    private final OverflowPolicy overflowPolicy;
+    private final int maxBatchEvents;
+    private final int maxBatchBytes;
+    private final long lingerNanos;
+    private final int maxInFlight;
+    private final Semaphore inFlight;
+    private final Map<String, String> headers = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService retryScheduler;
+    private final Thread batcher;
+    private volatile boolean running = true;
+
+    private volatile int maxRetries = DEFAULT_MAX_RETRIES;
+    private volatile Duration requestTimeout = DEFAULT_REQUEST_TIMEOUT;
+    private volatile long blockTimeoutMillis = DEFAULT_BLOCK_TIMEOUT_MILLIS;
+
+    // Batcher thread only
+    private long nextSequence;
+    private byte[] carryOver;
+
+    // Events accepted but not yet delivered or given up on
+    private final AtomicLong outstanding = new AtomicLong(0);
+
+    private final AtomicLong eventsSent = new AtomicLong(0);
+    private final AtomicLong bytesSent = new AtomicLong(0);
+    private final AtomicLong batchesSent = new AtomicLong(0);
+    private final AtomicLong droppedEvents = new AtomicLong(0);
+    private final AtomicLong failedBatches = new AtomicLong(0);
+    private final AtomicLong retries = new AtomicLong(0);
+    private final Histogram batchSizeHistogram;
+    private final Histogram latencyHistogram = new Histogram(1, 2, 5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10_000);
+
+    // Default configuration
+    private static final int DEFAULT_QUEUE_SIZE = 10000;
+    private static final int DEFAULT_MAX_BATCH_EVENTS = 500;
+    private static final int DEFAULT_MAX_BATCH_BYTES = 1024 * 1024;
+    private static final long DEFAULT_LINGER_MILLIS = 200;
+    private static final int DEFAULT_MAX_IN_FLIGHT = 4;
+    private static final int DEFAULT_MAX_RETRIES = 5;
+    private static final Duration DEFAULT_REQUEST_TIMEOUT = Duration.ofSeconds(10);
+    private static final long DEFAULT_BLOCK_TIMEOUT_MILLIS = 1000;
+    private static final long INITIAL_BACKOFF_MILLIS = 100;
+    private static final long MAX_BACKOFF_MILLIS = 30_000;
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 5000;
+
+    public HttpBulkHandler(String endpoint) {
+        this(URI.create(endpoint));
+    }
+
+    public HttpBulkHandler(URI endpoint) {
+        this(endpoint, null, DEFAULT_QUEUE_SIZE, DEFAULT_MAX_BATCH_EVENTS, DEFAULT_MAX_BATCH_BYTES,
+                DEFAULT_LINGER_MILLIS, DEFAULT_MAX_IN_FLIGHT, OverflowPolicy.DROP_OLDEST);
+    }
+
+    /**
+     * @param client may be null to use a private client that is closed with the handler
+     */
+    public HttpBulkHandler(URI endpoint, HttpClient client, int queueSize, int maxBatchEvents, int maxBatchBytes,
+                           long lingerMillis, int maxInFlight, OverflowPolicy overflowPolicy) {
+        if (queueSize <= 0 || maxBatchEvents <= 0 || maxBatchBytes <= 0 || maxInFlight <= 0) {
+            throw new IllegalArgumentException("Queue size, batch limits and in-flight limit must be positive");
+        }
+        if (lingerMillis < 0) {
+            throw new IllegalArgumentException("lingerMillis must not be negative: " + lingerMillis);
+        }
+
+        this.endpoint = endpoint;
+        this.ownsClient = client == null;
+        this.client = client != null ? client : HttpClient.newBuilder()
+                .connectTimeout(DEFAULT_REQUEST_TIMEOUT)
+                .build();
+        this.queue = new ArrayBlockingQueue<>(queueSize);
+        this.overflowPolicy = overflowPolicy != null ? overflowPolicy : OverflowPolicy.DROP_OLDEST;
+        this.maxBatchEvents = maxBatchEvents;
+        this.maxBatchBytes = maxBatchBytes;
+        this.lingerNanos = TimeUnit.MILLISECONDS.toNanos(lingerMillis);
+        this.maxInFlight = maxInFlight;
+        this.inFlight = new Semaphore(maxInFlight);
+        this.batchSizeHistogram = Histogram.powersOfTwo(maxBatchEvents);
+
+        this.retryScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "HttpBulkHandler-Retry");
+            t.setDaemon(true);
+            return t;
+        });
+
+        this.batcher = new Thread(this::batchLoop, "HttpBulkHandler-Batcher");
+        batcher.setDaemon(true);
+        batcher.start();
+    }
+
+    @Override
+    public void publish(Log record) {
+        if (!running || record.getLevel().getValue() < level.getValue()) {
+            return;
+        }
+
+        byte[] line = formatter.format(record).getBytes(StandardCharsets.UTF_8);
+        outstanding.incrementAndGet();
+
+        boolean accepted = queue.offer(line);
+        if (!accepted) {
+            switch (overflowPolicy) {
+                case DROP_OLDEST:
+                    while (!accepted) {
+                        if (queue.poll() != null) {
+                            drop(1);
+                        }
+                        accepted = queue.offer(line);
+                    }
+                    return;
+                case BLOCK:
+                    try {
+                        accepted = queue.offer(line, blockTimeoutMillis, TimeUnit.MILLISECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+        if (!accepted) {
+            drop(1);
+        }
+    }
+
+    private void drop(long events) {
+        droppedEvents.addAndGet(events);
+        outstanding.addAndGet(-events);
+        for (long i = 0; i < events; i++) {
+            MetricsBridge.recordDroppedLog();
+        }
+    }
+
+    private record Batch(long sequence, byte[] body, int events, int rawBytes) {}
+
+    private void batchLoop() {
+        while (running || !queue.isEmpty() || carryOver != null) {
+            try {
+                List<byte[]> lines = collectBatch();
+                if (lines.isEmpty()) {
+                    continue;
+                }
+
+                // Backpressure: with every slot busy the queue fills up behind us
+                inFlight.acquire();
+                send(encode(lines), 0);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+    }
+
+    /**
+     * Wait briefly for the first event, then keep adding until a limit or the linger time is hit
+     */
+    private List<byte[]> collectBatch() throws InterruptedException {
+        List<byte[]> lines = new ArrayList<>();
+        byte[] first = carryOver != null ? carryOver : queue.poll(100, TimeUnit.MILLISECONDS);
+        carryOver = null;
+        if (first == null) {
+            return lines;
+        }
+        lines.add(first);
+        int bytes = first.length + 1;
+
+        long deadline = System.nanoTime() + lingerNanos;
+        while (lines.size() < maxBatchEvents) {
+            byte[] next = queue.poll();
+            if (next == null) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0 || !running) {
+                    break;
+                }
+                next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                if (next == null) {
+                    break;
+                }
+            }
+            if (bytes + next.length + 1 > maxBatchBytes) {
+                // Does not fit; it opens the next batch instead
+                carryOver = next;
+                break;
+            }
+            lines.add(next);
+            bytes += next.length + 1;
+        }
+        return lines;
+    }
+
+    private Batch encode(List<byte[]> lines) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        int rawBytes = 0;
+        try (GZIPOutputStream gzip = new GZIPOutputStream(buffer)) {
+            for (byte[] line : lines) {
+                gzip.write(line);
+                gzip.write('\n');
+                rawBytes += line.length + 1;
+            }
+        } catch (IOException e) {
+            // In-memory streams do not fail
+            throw new IllegalStateException(e);
+        }
+        batchSizeHistogram.record(lines.size());
+        return new Batch(nextSequence++, buffer.toByteArray(), lines.size(), rawBytes);
+    }
+
+    private void send(Batch batch, int attempt) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(endpoint)
+                .timeout(requestTimeout)
+                .header("Content-Type", "application/x-ndjson")
+                .header("Content-Encoding", "gzip")
+                .header("X-Batch-Sequence", Long.toString(batch.sequence()))
+                .POST(HttpRequest.BodyPublishers.ofByteArray(batch.body()));
+        headers.forEach(request::header);
+
+        long start = System.nanoTime();
+        try {
+            client.sendAsync(request.build(), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> onResponse(batch, attempt, start, response, error));
+        } catch (RuntimeException e) {
+            onResponse(batch, attempt, start, null, e);
+        }
+    }
+
+    private void onResponse(Batch batch, int attempt, long start, HttpResponse<Void> response, Throwable error) {
+        long latencyNanos = System.nanoTime() - start;
+        latencyHistogram.record(TimeUnit.NANOSECONDS.toMillis(latencyNanos));
+
+        int status = response != null ? response.statusCode() : -1;
+        if (error == null && status >= 200 && status < 300) {
+            eventsSent.addAndGet(batch.events());
+            bytesSent.addAndGet(batch.body().length);
+            batchesSent.incrementAndGet();
+            outstanding.addAndGet(-batch.events());
+            // One request is one write, so the exported write histograms show batch sizes and request latency
+            MetricsBridge.recordHandlerWrite(getClass().getSimpleName(), batch.body().length, batch.events(), latencyNanos);
+            inFlight.release();
+            return;
+        }
+
+        boolean retryable = error != null || status == 408 || status == 429 || status >= 500;
+        if (retryable && attempt < maxRetries && !retryScheduler.isShutdown()) {
+            retries.incrementAndGet();
+            long backoff = Math.min(INITIAL_BACKOFF_MILLIS << Math.min(attempt, 20), MAX_BACKOFF_MILLIS);
+            try {
+                // The batch keeps its in-flight slot while it waits
+                retryScheduler.schedule(() -> send(batch, attempt + 1), backoff, TimeUnit.MILLISECONDS);
+                return;
+            } catch (RuntimeException e) {
+                // Scheduler shut down concurrently; give up on the batch below
+            }
+        }
+
+        failedBatches.incrementAndGet();
+        MetricsBridge.recordError("HttpBulkDeliveryFailure", error != null
+                ? error
+                : new IOException("HTTP " + status + " from " + endpoint));
+        drop(batch.events());
+        inFlight.release();
+    }
+
+    /**
+     * Add a header to every request, e.g. {@code Authorization}
+     */
+    public void setHeader(String name, String value) {
+        if (value == null) {
+            headers.remove(name);
+        } else {
+            headers.put(name, value);
+        }
+    }
+
+    public void setMaxRetries(int maxRetries) {
+        this.maxRetries = Math.max(0, maxRetries);
+    }
+
+    public void setRequestTimeout(Duration requestTimeout) {
+        this.requestTimeout = requestTimeout != null ? requestTimeout : DEFAULT_REQUEST_TIMEOUT;
+    }
+
+    /**
+     * How long {@link OverflowPolicy#BLOCK} waits for room in the queue
+     */
+    public void setBlockTimeoutMillis(long blockTimeoutMillis) {
+        this.blockTimeoutMillis = Math.max(0, blockTimeoutMillis);
+    }
+
+    /**
+     * Wait until every accepted event has been delivered or given up on
+     *
+     * @return true if nothing was outstanding within the timeout
+     */
+    public boolean flush(long timeout, TimeUnit unit) {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (outstanding.get() > 0) {
+            if (System.nanoTime() >= deadline) {
+                return false;
+            }
+            try {
+                Thread.sleep(1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void setFormatter(Formatter formatter) {
+        this.formatter = formatter != null ? formatter : new JsonFormatter();
+    }
+
+    @Override
+    public void setLevel(LogLevel level) {
+        this.level = level != null ? level : LogLevel.INFO;
+    }
+
+    @Override
+    public LogLevel getLevel() {
+        return level;
+    }
+
+    @Override
+    public void close() {
+        // Stop accepting, let the batcher send what is queued, then wait for in-flight requests
+        running = false;
+        try {
+            batcher.join(SHUTDOWN_TIMEOUT_MILLIS);
+            if (batcher.isAlive()) {
+                batcher.interrupt();
+            }
+            if (inFlight.tryAcquire(maxInFlight, SHUTDOWN_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                inFlight.release(maxInFlight);
+            }
+        } catch (InterruptedException e) {
+            batcher.interrupt();
+            Thread.currentThread().interrupt();
+        }
+
+        retryScheduler.shutdownNow();
+        if (ownsClient) {
+            client.close();
+        }
+
+        long undelivered = outstanding.get();
+        if (undelivered > 0) {
+            System.err.printf("HttpBulkHandler: %d logs not delivered to %s%n", undelivered, endpoint);
+        }
+    }
+
+    // Status getters
+    public URI getEndpoint() {
+        return endpoint;
+    }
+
+    public int getQueuedEventCount() {
+        return queue.size();
+    }
+
+    public int getInFlightRequests() {
+        return maxInFlight - inFlight.availablePermits();
+    }
+
+    public long getEventsSent() {
+        return eventsSent.get();
+    }
+
+    public long getBytesSent() {
+        return bytesSent.get();
+    }
+
+    public long getBatchesSent() {
+        return batchesSent.get();
+    }
+
+    public long getDroppedEventCount() {
+        return droppedEvents.get();
+    }
+
+    public long getFailedBatchCount() {
+        return failedBatches.get();
+    }
+
+    public long getRetryCount() {
+        return retries.get();
+    }
+
+    /**
+     * Events per batch
+     */
+    public Histogram getBatchSizeHistogram() {
+        return batchSizeHistogram;
+    }
+
+    /**
+     * Request latency in milliseconds, one sample per attempt
+     */
+    public Histogram getLatencyHistogram() {
+        return latencyHistogram;
+    }
+}
@@ -4,18 +4,37 @@ import io.joshuasalcedo.logging.core.Log;
 import io.joshuasalcedo.logging.core.LogLevel;
 import io.joshuasalcedo.logging.formatter.Formatter;
 import io.joshuasalcedo.logging.formatter.SimpleFormatter;
+import io.joshuasalcedo.logging.util.MetricsBridge;
+import io.joshuasalcedo.logging.util.StringUtils;
 
 import org.jline.terminal.Terminal;
 import org.jline.terminal.TerminalBuilder;
 
 import java.io.IOException;
 import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
 
 /**
- * JLine-based console handler with colored output and terminal detection
+ * JLine-based console handler with colored output and terminal detection.
+ * <p>
+ * By default every line is written and flushed on the calling thread. After
+ * {@link #enableAsyncRendering(int, int)} records are handed to a dedicated
+ * render thread instead, which coalesces all pending lines into one terminal
+ * write per frame. When the terminal cannot keep up, excess lines are dropped
+ * and summarized rather than blocking the producers.
  */
 public class JLineHandler implements Handler {
-    private Formatter formatter = new SimpleFormatter();
+    // Read by the render thread
+    private volatile Formatter formatter = new SimpleFormatter();
     private LogLevel level = LogLevel.INFO;
     private Terminal terminal;
     private PrintStream out;
@@ -32,6 +51,32 @@ public class JLineHandler implements Handler {
     private static final String CRITICAL_COLOR = "\u001B[35m"; // Magenta
     private static final String BOLD = "\u001B[1m";
     
+    // Color prefix per level, resolved once instead of on every line
+    private static final Map<LogLevel, String> LEVEL_COLORS = new EnumMap<>(LogLevel.class);
+    
+    static {
+        for (LogLevel logLevel : LogLevel.values()) {
+            LEVEL_COLORS.put(logLevel, getColorForLevel(logLevel));
+        }
+    }
+    
+    // Async rendering defaults
+    private static final int DEFAULT_MAX_PENDING_LINES = 8192;
+    private static final int DEFAULT_MAX_FRAMES_PER_SECOND = 30;
+    private static final long RENDER_SHUTDOWN_TIMEOUT_MILLIS = 5000;
+    
+    // Async rendering state (null queue means lines are written on the caller)
+    private volatile BlockingQueue<Log> pendingLines;
+    private volatile boolean rendering;
+    // Cleared by the render thread before its last frame; producers then write directly
+    private volatile boolean accepting;
+    // Producers between checking accepting and queueing their record
+    private final AtomicInteger offering = new AtomicInteger();
+    private Thread renderThread;
+    private long frameIntervalNanos;
+    private final AtomicLong droppedSinceLastFrame = new AtomicLong(0);
+    private final AtomicLong droppedLines = new AtomicLong(0);
+    
     public JLineHandler() {
         initialize();
     }
@@ -41,6 +86,22 @@ public class JLineHandler implements Handler {
         initialize();
     }
     
+    public JLineHandler(boolean colorEnabled, boolean asyncRendering) {
+        this(colorEnabled);
+        if (asyncRendering) {
+            enableAsyncRendering(DEFAULT_MAX_PENDING_LINES, DEFAULT_MAX_FRAMES_PER_SECOND);
+        }
+    }
+    
+    /**
+     * Write to the given streams instead of a terminal, without colors
+     */
+    JLineHandler(PrintStream out, PrintStream err) {
+        this.out = out;
+        this.err = err;
+        this.colorEnabled = false;
+    }
+    
     private void initialize() {
         try {
             // Try to create JLine terminal
@@ -67,21 +128,76 @@ public class JLineHandler implements Handler {
         }
     }
     
+    /**
+     * Switch this handler to render on a dedicated thread.
+     * <p>
+     * Producers only enqueue the record; the render thread formats everything
+     * that is pending, writes it with a single print and flush per stream, and
+     * then waits out the rest of the frame. If more than {@code maxPendingLines}
+     * are waiting, new lines are dropped and a summary line is rendered instead.
+     *
+     * @param maxPendingLines    upper bound on lines waiting for the next frame
+     * @param maxFramesPerSecond upper bound on terminal writes per second
+     */
+    public synchronized void enableAsyncRendering(int maxPendingLines, int maxFramesPerSecond) {
+        if (pendingLines != null) {
+            return;
+        }
+        if (maxPendingLines <= 0) {
+            throw new IllegalArgumentException("maxPendingLines must be positive: " + maxPendingLines);
+        }
+        if (maxFramesPerSecond <= 0) {
+            throw new IllegalArgumentException("maxFramesPerSecond must be positive: " + maxFramesPerSecond);
+        }
+        
+        this.frameIntervalNanos = TimeUnit.SECONDS.toNanos(1) / maxFramesPerSecond;
+        BlockingQueue<Log> queue = new ArrayBlockingQueue<>(maxPendingLines);
+        this.rendering = true;
+        this.accepting = true;
+        this.pendingLines = queue;
+        
+        this.renderThread = new Thread(() -> renderLoop(queue), "JLineHandler-Render");
+        renderThread.setDaemon(true);
+        renderThread.start();
+    }
+    
     @Override
-    public synchronized void publish(Log record) {
+    public void publish(Log record) {
         if (record.getLevel().getValue() < level.getValue()) {
             return;
         }
         
+        BlockingQueue<Log> queue = pendingLines;
+        if (queue != null) {
+            // Counted before checking, so the render thread's last drain waits for this offer
+            offering.incrementAndGet();
+            try {
+                if (accepting) {
+                    // Never block the caller on the terminal: drop and let the next frame report it
+                    if (!queue.offer(record)) {
+                        droppedSinceLastFrame.incrementAndGet();
+                        droppedLines.incrementAndGet();
+                    }
+                    return;
+                }
+            } finally {
+                offering.decrementAndGet();
+            }
+        }
+        
+        // Synchronized with the last frame, so it cannot overtake lines still queued
+        writeDirect(record);
+    }
+    
+    private synchronized void writeDirect(Log record) {
         try {
-            String formattedMessage = formatter.format(record);
-            String coloredMessage = colorEnabled ? colorizeMessage(record.getLevel(), formattedMessage) : formattedMessage;
+            StringBuilder line = new StringBuilder(256);
+            appendLine(line, record);
             
             // Use err stream for ERROR and CRITICAL, out stream for others
-            PrintStream targetStream = (record.getLevel() == LogLevel.ERROR || record.getLevel() == LogLevel.CRITICAL) ? err : out;
+            PrintStream targetStream = isErrorLevel(record.getLevel()) ? err : out;
             
-            targetStream.println(coloredMessage);
-            targetStream.flush();
+            writeTo(targetStream, line, 1);
             
         } catch (Exception e) {
             // Fallback to System.err if there's any issue
@@ -90,16 +206,145 @@ public class JLineHandler implements Handler {
         }
     }
     
+    private void renderLoop(BlockingQueue<Log> pendingLines) {
+        List<Log> frame = new ArrayList<>();
+        StringBuilder buffer = new StringBuilder(8192);
+        
+        while (rendering) {
+            long frameStart = System.nanoTime();
+            
+            try {
+                Log first = pendingLines.poll(frameIntervalNanos, TimeUnit.NANOSECONDS);
+                if (first != null) {
+                    frame.add(first);
+                    pendingLines.drainTo(frame);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            
+            renderFrame(frame, buffer);
+            frame.clear();
+            
+            // Cap the frame rate; lines arriving meanwhile are coalesced into the next frame
+            long remaining = frameIntervalNanos - (System.nanoTime() - frameStart);
+            if (remaining > 0 && rendering) {
+                LockSupport.parkNanos(remaining);
+            }
+        }
+        
+        // Last frame: stop taking lines, wait for offers already under way, render the rest.
+        // Holding the lock keeps direct writes from overtaking it.
+        synchronized (this) {
+            accepting = false;
+            while (offering.get() > 0) {
+                Thread.onSpinWait();
+            }
+            pendingLines.drainTo(frame);
+            renderFrame(frame, buffer);
+        }
+    }
+    
+    /**
+     * Write the frame in order. Consecutive lines for the same stream go out in
+     * one write, so ERROR lines keep their place among the lines around them.
+     */
+    private void renderFrame(List<Log> frame, StringBuilder buffer) {
+        long dropped = droppedSinceLastFrame.getAndSet(0);
+        if (frame.isEmpty() && dropped == 0) {
+            return;
+        }
+        
+        buffer.setLength(0);
+        PrintStream current = out;
+        int events = 0;
+        for (Log record : frame) {
+            PrintStream target = isErrorLevel(record.getLevel()) ? err : out;
+            if (target != current) {
+                writeSegment(current, buffer, events);
+                current = target;
+                events = 0;
+            }
+            try {
+                appendLine(buffer, record);
+                events++;
+            } catch (Exception e) {
+                System.err.println("JLineHandler error: " + e.getMessage());
+            }
+        }
+        
+        if (dropped > 0) {
+            if (current != out) {
+                writeSegment(current, buffer, events);
+                current = out;
+                events = 0;
+            }
+            appendColored(buffer, LogLevel.WARN,
+                "JLineHandler dropped " + dropped + " log lines: terminal could not keep up");
+            buffer.append(System.lineSeparator());
+        }
+        writeSegment(current, buffer, events);
+    }
+    
+    // Write and clear the buffer if it holds anything
+    private void writeSegment(PrintStream stream, StringBuilder buffer, int events) {
+        if (buffer.length() == 0) {
+            return;
+        }
+        try {
+            writeTo(stream, buffer, events);
+        } catch (Exception e) {
+            System.err.println("JLineHandler render error: " + e.getMessage());
+        }
+        buffer.setLength(0);
+    }
+    
+    private void writeTo(PrintStream stream, CharSequence text, int events) {
+        if (!MetricsBridge.isEnabled()) {
+            stream.print(text);
+            stream.flush();
+            return;
+        }
+        
+        long start = System.nanoTime();
+        stream.print(text);
+        long written = System.nanoTime();
+        stream.flush();
+        long flushed = System.nanoTime();
+        
+        MetricsBridge.recordHandlerWriteAndFlush(getClass().getSimpleName(),
+                StringUtils.encodedLength(text, stream.charset()), events, written - start, flushed - written);
+    }
+    
+    private void appendLine(StringBuilder target, Log record) {
+        appendColored(target, record.getLevel(), formatter.format(record));
+        target.append(System.lineSeparator());
+    }
+    
+    private void appendColored(StringBuilder target, LogLevel level, String message) {
+        if (colorEnabled) {
+            target.append(LEVEL_COLORS.get(level)).append(message).append(RESET);
+        } else {
+            target.append(message);
+        }
+    }
+    
+    private static boolean isErrorLevel(LogLevel level) {
+        return level == LogLevel.ERROR || level == LogLevel.CRITICAL;
+    }
+    
     private String colorizeMessage(LogLevel level, String message) {
         if (!colorEnabled) {
             return message;
         }
         
-        String color = getColorForLevel(level);
-        return color + message + RESET;
+        StringBuilder colored = new StringBuilder(message.length() + 16);
+        appendColored(colored, level, message);
+        return colored.toString();
     }
     
-    private String getColorForLevel(LogLevel level) {
+    private static String getColorForLevel(LogLevel level) {
         return switch (level) {
             case DEBUG -> DEBUG_COLOR;
             case INFO -> INFO_COLOR;
@@ -127,6 +372,8 @@ public class JLineHandler implements Handler {
     
     @Override
     public void close() {
+        stopRendering();
+        
         try {
             if (out != null && out != System.out) {
                 out.flush();
@@ -142,6 +389,36 @@ public class JLineHandler implements Handler {
         }
     }
     
+    private void stopRendering() {
+        Thread thread;
+        synchronized (this) {
+            if (renderThread == null) {
+                return;
+            }
+            thread = renderThread;
+            renderThread = null;
+        }
+        
+        // Let the render thread drain what is pending before the terminal goes away
+        rendering = false;
+        LockSupport.unpark(thread);
+        try {
+            thread.join(RENDER_SHUTDOWN_TIMEOUT_MILLIS);
+            if (thread.isAlive()) {
+                thread.interrupt();
+            }
+        } catch (InterruptedException e) {
+            thread.interrupt();
+            Thread.currentThread().interrupt();
+        }
+        
+        // Callers already write directly after the last frame; this lets rendering be enabled again
+        synchronized (this) {
+            accepting = false;
+            pendingLines = null;
+        }
+    }
+    
     // Getter methods for configuration and status
     public boolean isColorEnabled() {
         return colorEnabled;
@@ -163,6 +440,25 @@ public class JLineHandler implements Handler {
         return terminal != null && "dumb".equals(terminal.getType());
     }
     
+    public boolean isAsyncRendering() {
+        return pendingLines != null;
+    }
+    
+    /**
+     * Number of lines waiting for the next render frame
+     */
+    public int getPendingLineCount() {
+        BlockingQueue<Log> queue = pendingLines;
+        return queue != null ? queue.size() : 0;
+    }
+    
+    /**
+     * Total number of lines dropped because the terminal could not keep up
+     */
+    public long getDroppedLineCount() {
+        return droppedLines.get();
+    }
+    
     /**
      * Test method to print a color test pattern
      */
@@ -0,0 +1,13 @@
+package io.joshuasalcedo.logging.handler;
+
+/**
+ * What a handler with a bounded queue does with a new event when the queue is full
+ */
+public enum OverflowPolicy {
+    /** Discard the new event */
+    DROP_NEWEST,
+    /** Discard the oldest queued event to make room */
+    DROP_OLDEST,
+    /** Wait, up to the handler's timeout, for room, then discard the new event */
+    BLOCK
+}
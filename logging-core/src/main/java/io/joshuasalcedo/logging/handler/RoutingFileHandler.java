@@ -0,0 +1,400 @@
+package io.joshuasalcedo.logging.handler;
+
+import io.joshuasalcedo.logging.core.Log;
+import io.joshuasalcedo.logging.core.LogLevel;
+import io.joshuasalcedo.logging.formatter.Formatter;
+import io.joshuasalcedo.logging.formatter.SimpleFormatter;
+import io.joshuasalcedo.logging.util.MetricsBridge;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Writes each event to a file chosen by a routing key, such as a logger
+ * prefix, the level or a tenant id taken from application context.
+ * <p>
+ * The key function result is mapped to a file under the base directory once
+ * and cached. Open channels are kept in an access-ordered LRU bounded by
+ * {@code maxOpenFiles}; the least recently used file is flushed and closed
+ * when a new one has to be opened. Pending output lives in write buffers
+ * borrowed from a pool shared by all destinations, so memory is bounded by the
+ * number of active files rather than the number of keys. A background task
+ * flushes buffers periodically and closes files that have been idle too long.
+ * ERROR and above are flushed immediately.
+ */
+public class RoutingFileHandler implements Handler {
+    private Formatter formatter = new SimpleFormatter();
+    private LogLevel level = LogLevel.INFO;
+
+    private final Path directory;
+    private final Function<Log, String> keyFunction;
+    private final Map<String, Path> pathCache = new ConcurrentHashMap<>();
+    private final LinkedHashMap<String, Destination> openFiles;
+    private final ArrayDeque<ByteBuffer> bufferPool = new ArrayDeque<>();
+    private final int maxOpenFiles;
+    private final int bufferSize;
+    private final long idleTimeoutNanos;
+    private final ScheduledExecutorService flushExecutor;
+    private boolean closed;
+
+    private long filesOpened;
+    private long filesEvicted;
+
+    // Default configuration
+    private static final int DEFAULT_MAX_OPEN_FILES = 64;
+    private static final int DEFAULT_BUFFER_SIZE = 16 * 1024;
+    private static final long DEFAULT_FLUSH_INTERVAL_MILLIS = 1000;
+    private static final long DEFAULT_IDLE_TIMEOUT_MILLIS = 60_000;
+    private static final int MAX_POOLED_BUFFERS = 16;
+    private static final int MAX_CACHED_KEYS = 10_000;
+    private static final byte[] NEWLINE = System.lineSeparator().getBytes(StandardCharsets.UTF_8);
+
+    private static class Destination {
+        final Path path;
+        final FileChannel channel;
+        ByteBuffer buffer;
+        int pendingEvents;
+        long lastWriteNanos;
+
+        Destination(Path path, FileChannel channel) {
+            this.path = path;
+            this.channel = channel;
+        }
+    }
+
+    public RoutingFileHandler(Path directory, Function<Log, String> keyFunction) {
+        this(directory, keyFunction, DEFAULT_MAX_OPEN_FILES, DEFAULT_BUFFER_SIZE,
+                DEFAULT_FLUSH_INTERVAL_MILLIS, DEFAULT_IDLE_TIMEOUT_MILLIS);
+    }
+
+    public RoutingFileHandler(Path directory, Function<Log, String> keyFunction, int maxOpenFiles,
+                              int bufferSize, long flushIntervalMillis, long idleTimeoutMillis) {
+        if (maxOpenFiles <= 0) {
+            throw new IllegalArgumentException("maxOpenFiles must be positive: " + maxOpenFiles);
+        }
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("bufferSize must be positive: " + bufferSize);
+        }
+
+        this.directory = directory;
+        this.keyFunction = keyFunction;
+        this.maxOpenFiles = maxOpenFiles;
+        this.bufferSize = bufferSize;
+        this.idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(idleTimeoutMillis);
+        this.openFiles = new LinkedHashMap<>(16, 0.75f, true);
+
+        this.flushExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "RoutingFileHandler-Flush");
+            t.setDaemon(true);
+            return t;
+        });
+        flushExecutor.scheduleAtFixedRate(this::flushAndCloseIdle, flushIntervalMillis,
+                flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Factory methods for common routing keys
+     */
+    public static RoutingFileHandler byLevel(Path directory) {
+        String[] keys = new String[LogLevel.values().length];
+        for (LogLevel logLevel : LogLevel.values()) {
+            keys[logLevel.ordinal()] = logLevel.name().toLowerCase();
+        }
+        return new RoutingFileHandler(directory, record -> keys[record.getLevel().ordinal()]);
+    }
+
+    /**
+     * Route by the first {@code segments} dot-separated parts of the logger name
+     */
+    public static RoutingFileHandler byLoggerPrefix(Path directory, int segments) {
+        return new RoutingFileHandler(directory, cachedByLoggerName(name -> loggerPrefix(name, segments)));
+    }
+
+    /**
+     * Wrap a key function that only depends on the logger name so it is computed
+     * once per logger
+     */
+    public static Function<Log, String> cachedByLoggerName(Function<String, String> keyForLogger) {
+        Map<String, String> cache = new ConcurrentHashMap<>();
+        return record -> {
+            String loggerName = record.getLoggerName() != null ? record.getLoggerName() : "";
+            String key = cache.get(loggerName);
+            if (key == null) {
+                if (cache.size() >= MAX_CACHED_KEYS) {
+                    cache.clear();
+                }
+                key = keyForLogger.apply(loggerName);
+                cache.put(loggerName, key);
+            }
+            return key;
+        };
+    }
+
+    private static String loggerPrefix(String loggerName, int segments) {
+        int end = -1;
+        for (int i = 0; i < segments; i++) {
+            end = loggerName.indexOf('.', end + 1);
+            if (end < 0) {
+                return loggerName;
+            }
+        }
+        return loggerName.substring(0, end);
+    }
+
+    @Override
+    public void publish(Log record) {
+        if (record.getLevel().getValue() < level.getValue()) {
+            return;
+        }
+
+        String key = keyFunction.apply(record);
+        Path path = resolvePath(key);
+        byte[] line = formatter.format(record).getBytes(StandardCharsets.UTF_8);
+        boolean flushNow = record.getLevel().getValue() >= LogLevel.ERROR.getValue();
+
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            try {
+                Destination destination = open(path);
+                append(destination, line);
+                append(destination, NEWLINE);
+                destination.pendingEvents++;
+                if (flushNow) {
+                    flush(destination);
+                }
+            } catch (IOException e) {
+                System.err.println("RoutingFileHandler failed to write to " + path + ": " + e.getMessage());
+                MetricsBridge.recordError("RoutingFileWriteError", e);
+                // The channel may be closed for good; the next record for this file reopens it
+                discard(path.toString());
+            }
+        }
+    }
+
+    private Path resolvePath(String key) {
+        String safeKey = key == null || key.isEmpty() ? "default" : key;
+        Path path = pathCache.get(safeKey);
+        if (path == null) {
+            if (pathCache.size() >= MAX_CACHED_KEYS) {
+                pathCache.clear();
+            }
+            // Keys may come from request data: keep them to a single file name
+            path = directory.resolve(safeKey.replaceAll("[^A-Za-z0-9._-]", "_") + ".log");
+            pathCache.put(safeKey, path);
+        }
+        return path;
+    }
+
+    private Destination open(Path path) throws IOException {
+        String fileKey = path.toString();
+        Destination destination = openFiles.get(fileKey);
+        if (destination != null) {
+            return destination;
+        }
+
+        // Make room before opening another descriptor
+        if (openFiles.size() >= maxOpenFiles) {
+            Iterator<Destination> eldest = openFiles.values().iterator();
+            Destination evicted = eldest.next();
+            eldest.remove();
+            closeDestination(evicted);
+            filesEvicted++;
+        }
+
+        Files.createDirectories(directory);
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        destination = new Destination(path, channel);
+        openFiles.put(fileKey, destination);
+        filesOpened++;
+        return destination;
+    }
+
+    private void append(Destination destination, byte[] bytes) throws IOException {
+        if (destination.buffer == null) {
+            destination.buffer = borrowBuffer();
+        }
+        if (bytes.length > destination.buffer.remaining()) {
+            flush(destination);
+            if (bytes.length > bufferSize) {
+                // Too large to buffer: write it straight through
+                write(destination, ByteBuffer.wrap(bytes));
+                destination.lastWriteNanos = System.nanoTime();
+                return;
+            }
+            destination.buffer = borrowBuffer();
+        }
+        destination.buffer.put(bytes);
+        destination.lastWriteNanos = System.nanoTime();
+    }
+
+    private void flush(Destination destination) throws IOException {
+        ByteBuffer buffer = destination.buffer;
+        if (buffer == null) {
+            return;
+        }
+        destination.buffer = null;
+        try {
+            buffer.flip();
+            write(destination, buffer);
+        } finally {
+            releaseBuffer(buffer);
+        }
+    }
+
+    private void write(Destination destination, ByteBuffer data) throws IOException {
+        int bytes = data.remaining();
+        while (data.hasRemaining()) {
+            destination.channel.write(data);
+        }
+        MetricsBridge.recordHandlerOutput(getClass().getSimpleName(), destination.pendingEvents, bytes);
+        destination.pendingEvents = 0;
+    }
+
+    private ByteBuffer borrowBuffer() {
+        ByteBuffer buffer = bufferPool.pollFirst();
+        return buffer != null ? buffer : ByteBuffer.allocateDirect(bufferSize);
+    }
+
+    private void releaseBuffer(ByteBuffer buffer) {
+        buffer.clear();
+        if (bufferPool.size() < MAX_POOLED_BUFFERS) {
+            bufferPool.addFirst(buffer);
+        }
+    }
+
+    // Drop a destination whose channel failed, along with whatever it had buffered
+    private void discard(String fileKey) {
+        Destination destination = openFiles.remove(fileKey);
+        if (destination == null) {
+            return;
+        }
+        if (destination.buffer != null) {
+            releaseBuffer(destination.buffer);
+            destination.buffer = null;
+        }
+        try {
+            destination.channel.close();
+        } catch (IOException ignored) {
+            // Best effort
+        }
+    }
+
+    private void closeDestination(Destination destination) {
+        try {
+            flush(destination);
+        } catch (IOException e) {
+            System.err.println("RoutingFileHandler failed to flush " + destination.path + ": " + e.getMessage());
+        }
+        try {
+            destination.channel.close();
+        } catch (IOException ignored) {
+            // Best effort
+        }
+    }
+
+    /**
+     * Background task: flush pending output and close files that went idle
+     */
+    private synchronized void flushAndCloseIdle() {
+        long now = System.nanoTime();
+        Iterator<Destination> it = openFiles.values().iterator();
+        while (it.hasNext()) {
+            Destination destination = it.next();
+            if (now - destination.lastWriteNanos > idleTimeoutNanos) {
+                it.remove();
+                closeDestination(destination);
+            } else {
+                flushOrDiscard(it, destination);
+            }
+        }
+    }
+
+    /**
+     * Write out pending output for every open file
+     */
+    public synchronized void flush() {
+        Iterator<Destination> it = openFiles.values().iterator();
+        while (it.hasNext()) {
+            flushOrDiscard(it, it.next());
+        }
+    }
+
+    private void flushOrDiscard(Iterator<Destination> it, Destination destination) {
+        try {
+            flush(destination);
+        } catch (IOException e) {
+            System.err.println("RoutingFileHandler failed to flush " + destination.path + ": " + e.getMessage());
+            it.remove();
+            try {
+                destination.channel.close();
+            } catch (IOException ignored) {
+                // Best effort
+            }
+        }
+    }
+
+    @Override
+    public void setFormatter(Formatter formatter) {
+        this.formatter = formatter != null ? formatter : new SimpleFormatter();
+    }
+
+    @Override
+    public void setLevel(LogLevel level) {
+        this.level = level != null ? level : LogLevel.INFO;
+    }
+
+    @Override
+    public LogLevel getLevel() {
+        return level;
+    }
+
+    @Override
+    public void close() {
+        flushExecutor.shutdown();
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            for (Destination destination : openFiles.values()) {
+                closeDestination(destination);
+            }
+            openFiles.clear();
+            bufferPool.clear();
+        }
+    }
+
+    // Status getters
+    public Path getDirectory() {
+        return directory;
+    }
+
+    public synchronized int getOpenFileCount() {
+        return openFiles.size();
+    }
+
+    public synchronized long getFilesOpened() {
+        return filesOpened;
+    }
+
+    public synchronized long getFilesEvicted() {
+        return filesEvicted;
+    }
+}
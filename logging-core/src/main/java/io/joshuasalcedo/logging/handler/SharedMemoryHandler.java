@@ -0,0 +1,209 @@
+package io.joshuasalcedo.logging.handler;
+
+import io.joshuasalcedo.logging.core.Log;
+import io.joshuasalcedo.logging.core.LogLevel;
+import io.joshuasalcedo.logging.formatter.Formatter;
+import io.joshuasalcedo.logging.formatter.StructuredFormatter;
+import io.joshuasalcedo.logging.util.MetricsBridge;
+
+import java.io.IOException;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Ships events to a sidecar on the same host through a memory-mapped ring.
+ * <p>
+ * Events are formatted on the caller and copied straight into the shared
+ * {@link SharedMemoryRing}; there is no socket write or syscall per event. The
+ * handler is the ring's single producer, so publish is serialized. When the
+ * sidecar's {@link SharedMemoryRingReader} has gone to sleep it sets a flag in
+ * the ring header, and only then does the handler send a one-byte doorbell
+ * over the Unix domain socket to wake it.
+ * <p>
+ * If the reader falls behind and the ring is full, new events are dropped
+ * rather than blocking the application.
+ */
+public class SharedMemoryHandler implements Handler {
+    private Formatter formatter = new StructuredFormatter();
+    private LogLevel level = LogLevel.INFO;
+
+    private final SharedMemoryRing ring;
+    private final UnixDomainSocketAddress doorbellAddress;
+    private final ByteBuffer doorbellByte = ByteBuffer.allocateDirect(1);
+    private SocketChannel doorbell;
+    private long lastDoorbellAttemptNanos;
+    private long writePosition;
+    private boolean closed;
+
+    private final AtomicLong eventsWritten = new AtomicLong(0);
+    private final AtomicLong bytesWritten = new AtomicLong(0);
+    private final AtomicLong droppedEvents = new AtomicLong(0);
+    private final AtomicLong doorbellsRung = new AtomicLong(0);
+
+    // Default configuration
+    private static final int DEFAULT_CAPACITY = 8 * 1024 * 1024;
+    private static final long DOORBELL_RETRY_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    public SharedMemoryHandler(Path ringFile, Path doorbellSocket) throws IOException {
+        this(ringFile, doorbellSocket, DEFAULT_CAPACITY);
+    }
+
+    public SharedMemoryHandler(Path ringFile, Path doorbellSocket, int capacityBytes) throws IOException {
+        this.ring = SharedMemoryRing.create(ringFile, capacityBytes);
+        this.doorbellAddress = UnixDomainSocketAddress.of(doorbellSocket);
+        this.writePosition = ring.writePosition();
+    }
+
+    @Override
+    public void publish(Log record) {
+        if (record.getLevel().getValue() < level.getValue()) {
+            return;
+        }
+
+        byte[] payload = formatter.format(record).getBytes(StandardCharsets.UTF_8);
+
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            if (!write(payload)) {
+                droppedEvents.incrementAndGet();
+                MetricsBridge.recordDroppedLog();
+                return;
+            }
+            eventsWritten.incrementAndGet();
+            bytesWritten.addAndGet(payload.length);
+
+            if (ring.isReaderWaiting() && ring.clearReaderWaiting()) {
+                ringDoorbell();
+            }
+        }
+    }
+
+    private boolean write(byte[] payload) {
+        int capacity = ring.capacity();
+        int recordSize = SharedMemoryRing.recordSize(payload.length);
+        if (recordSize > capacity / 2) {
+            // Would stall the ring for too long; treat as undeliverable
+            return false;
+        }
+
+        long position = writePosition;
+        int offset = (int) (position % capacity);
+        int padding = offset + recordSize > capacity ? capacity - offset : 0;
+        long free = capacity - (position - ring.readPosition());
+        if (padding + recordSize > free) {
+            return false;
+        }
+
+        ByteBuffer buffer = ring.buffer();
+        if (padding > 0) {
+            buffer.putInt(ring.dataIndex(position), SharedMemoryRing.PADDING);
+            position += padding;
+        }
+        int index = ring.dataIndex(position);
+        buffer.putInt(index, payload.length);
+        buffer.put(index + SharedMemoryRing.RECORD_HEADER_BYTES, payload, 0, payload.length);
+        position += recordSize;
+
+        writePosition = position;
+        ring.publishWritePosition(position);
+        return true;
+    }
+
+    private void ringDoorbell() {
+        if (doorbell == null && !connectDoorbell()) {
+            return;
+        }
+        try {
+            doorbellByte.clear();
+            // Non-blocking: a full socket buffer already means the reader has a wakeup pending
+            doorbell.write(doorbellByte);
+            doorbellsRung.incrementAndGet();
+        } catch (IOException e) {
+            closeDoorbell();
+        }
+    }
+
+    private boolean connectDoorbell() {
+        long now = System.nanoTime();
+        if (lastDoorbellAttemptNanos != 0 && now - lastDoorbellAttemptNanos < DOORBELL_RETRY_NANOS) {
+            return false;
+        }
+        lastDoorbellAttemptNanos = now;
+
+        try {
+            SocketChannel channel = SocketChannel.open(StandardProtocolFamily.UNIX);
+            channel.connect(doorbellAddress);
+            channel.configureBlocking(false);
+            doorbell = channel;
+            return true;
+        } catch (IOException e) {
+            // Reader not listening yet; it also polls the ring on a timeout
+            return false;
+        }
+    }
+
+    private void closeDoorbell() {
+        if (doorbell != null) {
+            try {
+                doorbell.close();
+            } catch (IOException ignored) {
+                // Best effort
+            }
+            doorbell = null;
+        }
+    }
+
+    @Override
+    public void setFormatter(Formatter formatter) {
+        this.formatter = formatter != null ? formatter : new StructuredFormatter();
+    }
+
+    @Override
+    public void setLevel(LogLevel level) {
+        this.level = level != null ? level : LogLevel.INFO;
+    }
+
+    @Override
+    public LogLevel getLevel() {
+        return level;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        closeDoorbell();
+        ring.close();
+    }
+
+    // Status getters
+    public synchronized long getPendingBytes() {
+        return closed ? 0 : writePosition - ring.readPosition();
+    }
+
+    public long getEventsWritten() {
+        return eventsWritten.get();
+    }
+
+    public long getBytesWritten() {
+        return bytesWritten.get();
+    }
+
+    public long getDroppedEventCount() {
+        return droppedEvents.get();
+    }
+
+    public long getDoorbellCount() {
+        return doorbellsRung.get();
+    }
+}
@@ -0,0 +1,173 @@
+package io.joshuasalcedo.logging.handler;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Memory-mapped single-producer/single-consumer ring shared between
+ * {@link SharedMemoryHandler} and {@link SharedMemoryRingReader}.
+ * <p>
+ * File layout (native byte order, both sides run on the same host):
+ * <pre>
+ *   0   int   magic
+ *   4   int   version
+ *   8   int   data capacity in bytes (multiple of 8)
+ *   64  long  write position (producer cache line)
+ *   128 long  read position (consumer cache line)
+ *   192 int   reader waiting flag
+ *   256       data
+ * </pre>
+ * Positions grow monotonically and wrap modulo the capacity. A record is an
+ * int payload length followed by the payload, padded to 8 bytes. A length of
+ * {@link #PADDING} marks the unused tail before the ring wraps, so records are
+ * never split.
+ */
+final class SharedMemoryRing implements AutoCloseable {
+
+    static final int MAGIC = 0x53574C52;  // "SWLR"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 256;
+    static final int RECORD_HEADER_BYTES = 4;
+    static final int PADDING = -1;
+
+    private static final int MAGIC_OFFSET = 0;
+    private static final int VERSION_OFFSET = 4;
+    private static final int CAPACITY_OFFSET = 8;
+    private static final int WRITE_POSITION_OFFSET = 64;
+    private static final int READ_POSITION_OFFSET = 128;
+    private static final int READER_WAITING_OFFSET = 192;
+
+    private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+    private static final VarHandle INTS = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.nativeOrder());
+
+    private final Arena arena;
+    private final ByteBuffer buffer;
+    private final int capacity;
+
+    private SharedMemoryRing(Arena arena, ByteBuffer buffer, int capacity) {
+        this.arena = arena;
+        this.buffer = buffer;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Map the ring for the producer, creating or reinitialising the file when it
+     * does not hold a ring of the requested capacity
+     */
+    static SharedMemoryRing create(Path file, int capacity) throws IOException {
+        if (capacity <= 0 || capacity % 8 != 0) {
+            throw new IllegalArgumentException("Ring capacity must be a positive multiple of 8: " + capacity);
+        }
+
+        SharedMemoryRing ring = map(file, capacity);
+        ByteBuffer buffer = ring.buffer;
+        boolean reusable = (int) INTS.getVolatile(buffer, MAGIC_OFFSET) == MAGIC
+                && buffer.getInt(VERSION_OFFSET) == VERSION
+                && buffer.getInt(CAPACITY_OFFSET) == capacity;
+        if (!reusable) {
+            INTS.setVolatile(buffer, MAGIC_OFFSET, 0);
+            buffer.putInt(VERSION_OFFSET, VERSION);
+            buffer.putInt(CAPACITY_OFFSET, capacity);
+            LONGS.setVolatile(buffer, WRITE_POSITION_OFFSET, 0L);
+            LONGS.setVolatile(buffer, READ_POSITION_OFFSET, 0L);
+            INTS.setVolatile(buffer, READER_WAITING_OFFSET, 0);
+            // Publish the header last so a reader never sees a half-initialised ring
+            INTS.setVolatile(buffer, MAGIC_OFFSET, MAGIC);
+        }
+        return ring;
+    }
+
+    /**
+     * Map an existing ring for the consumer
+     */
+    static SharedMemoryRing open(Path file) throws IOException {
+        if (!Files.exists(file) || Files.size(file) < HEADER_BYTES) {
+            throw new IOException("Shared memory ring not found: " + file);
+        }
+
+        int capacity = (int) (Files.size(file) - HEADER_BYTES);
+        SharedMemoryRing ring = map(file, capacity);
+        ByteBuffer buffer = ring.buffer;
+        if ((int) INTS.getVolatile(buffer, MAGIC_OFFSET) != MAGIC
+                || buffer.getInt(VERSION_OFFSET) != VERSION
+                || buffer.getInt(CAPACITY_OFFSET) != capacity) {
+            ring.close();
+            throw new IOException("Not an initialised shared memory ring: " + file);
+        }
+        return ring;
+    }
+
+    private static SharedMemoryRing map(Path file, int capacity) throws IOException {
+        Arena arena = Arena.ofShared();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES + (long) capacity, arena)
+                    .asByteBuffer()
+                    .order(ByteOrder.nativeOrder());
+            return new SharedMemoryRing(arena, buffer, capacity);
+        } catch (IOException | RuntimeException e) {
+            arena.close();
+            throw e;
+        }
+    }
+
+    static int recordSize(int payloadLength) {
+        return (RECORD_HEADER_BYTES + payloadLength + 7) & ~7;
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    ByteBuffer buffer() {
+        return buffer;
+    }
+
+    int dataIndex(long position) {
+        return HEADER_BYTES + (int) (position % capacity);
+    }
+
+    long writePosition() {
+        return (long) LONGS.getVolatile(buffer, WRITE_POSITION_OFFSET);
+    }
+
+    void publishWritePosition(long position) {
+        LONGS.setVolatile(buffer, WRITE_POSITION_OFFSET, position);
+    }
+
+    long readPosition() {
+        return (long) LONGS.getVolatile(buffer, READ_POSITION_OFFSET);
+    }
+
+    void publishReadPosition(long position) {
+        LONGS.setVolatile(buffer, READ_POSITION_OFFSET, position);
+    }
+
+    boolean isReaderWaiting() {
+        return (int) INTS.getVolatile(buffer, READER_WAITING_OFFSET) != 0;
+    }
+
+    /**
+     * Clear the waiting flag; returns true if this call cleared it
+     */
+    boolean clearReaderWaiting() {
+        return INTS.compareAndSet(buffer, READER_WAITING_OFFSET, 1, 0);
+    }
+
+    void setReaderWaiting(boolean waiting) {
+        INTS.setVolatile(buffer, READER_WAITING_OFFSET, waiting ? 1 : 0);
+    }
+
+    @Override
+    public void close() {
+        arena.close();
+    }
+}
@@ -0,0 +1,190 @@
+package io.joshuasalcedo.logging.handler;
+
+import java.io.IOException;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Consumer side of the shared memory transport, for use in a same-host
+ * log shipper.
+ * <p>
+ * Opens the ring written by a {@link SharedMemoryHandler} and listens for
+ * doorbells on a Unix domain socket. A typical loop:
+ * <pre>
+ * try (SharedMemoryRingReader reader = new SharedMemoryRingReader(ringFile, doorbellSocket)) {
+ *     while (running) {
+ *         if (reader.poll(payload -> ship(payload), 1024) == 0) {
+ *             reader.await(1, TimeUnit.SECONDS);
+ *         }
+ *     }
+ * }
+ * </pre>
+ * Only one reader may consume a ring at a time.
+ */
+public class SharedMemoryRingReader implements AutoCloseable {
+
+    private final SharedMemoryRing ring;
+    private final Path doorbellSocket;
+    private final ServerSocketChannel doorbellServer;
+    private final Selector selector;
+    private final ByteBuffer drainBuffer = ByteBuffer.allocate(256);
+    private long readPosition;
+
+    private long recordsRead;
+    private long bytesRead;
+    private long wakeups;
+
+    public SharedMemoryRingReader(Path ringFile, Path doorbellSocket) throws IOException {
+        this.ring = SharedMemoryRing.open(ringFile);
+        this.readPosition = ring.readPosition();
+        this.doorbellSocket = doorbellSocket;
+
+        // Replace a socket file left behind by a previous reader
+        Files.deleteIfExists(doorbellSocket);
+        this.selector = Selector.open();
+        this.doorbellServer = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+        doorbellServer.bind(UnixDomainSocketAddress.of(doorbellSocket));
+        doorbellServer.configureBlocking(false);
+        doorbellServer.register(selector, SelectionKey.OP_ACCEPT);
+    }
+
+    /**
+     * Hand up to {@code maxRecords} available payloads to the consumer, in order
+     *
+     * @return number of records consumed
+     */
+    public int poll(Consumer<byte[]> consumer, int maxRecords) {
+        long writePosition = ring.writePosition();
+        ByteBuffer buffer = ring.buffer();
+        int capacity = ring.capacity();
+        int count = 0;
+
+        while (readPosition < writePosition && count < maxRecords) {
+            int index = ring.dataIndex(readPosition);
+            int length = buffer.getInt(index);
+            if (length == SharedMemoryRing.PADDING) {
+                readPosition += capacity - (readPosition % capacity);
+                continue;
+            }
+
+            byte[] payload = new byte[length];
+            buffer.get(index + SharedMemoryRing.RECORD_HEADER_BYTES, payload, 0, length);
+            readPosition += SharedMemoryRing.recordSize(length);
+
+            consumer.accept(payload);
+            count++;
+            bytesRead += length;
+        }
+
+        if (count > 0 || readPosition == writePosition) {
+            // Release the space to the producer
+            ring.publishReadPosition(readPosition);
+        }
+        recordsRead += count;
+        return count;
+    }
+
+    /**
+     * Check whether records are waiting to be polled
+     */
+    public boolean hasData() {
+        return readPosition < ring.writePosition();
+    }
+
+    /**
+     * Sleep until the producer rings the doorbell or the timeout expires
+     *
+     * @return true if data is available
+     */
+    public boolean await(long timeout, TimeUnit unit) throws IOException {
+        if (hasData()) {
+            return true;
+        }
+
+        // Announce the wait, then re-check so a concurrent write cannot be missed
+        ring.setReaderWaiting(true);
+        if (hasData()) {
+            ring.setReaderWaiting(false);
+            return true;
+        }
+
+        long timeoutMillis = Math.max(1, unit.toMillis(timeout));
+        if (selector.select(timeoutMillis) > 0) {
+            handleDoorbellEvents();
+        }
+        ring.setReaderWaiting(false);
+        return hasData();
+    }
+
+    private void handleDoorbellEvents() throws IOException {
+        Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+        while (keys.hasNext()) {
+            SelectionKey key = keys.next();
+            keys.remove();
+
+            if (key.isAcceptable()) {
+                SocketChannel producer = doorbellServer.accept();
+                if (producer != null) {
+                    producer.configureBlocking(false);
+                    producer.register(selector, SelectionKey.OP_READ);
+                }
+            } else if (key.isReadable()) {
+                SocketChannel producer = (SocketChannel) key.channel();
+                drainBuffer.clear();
+                int read;
+                try {
+                    read = producer.read(drainBuffer);
+                } catch (IOException e) {
+                    read = -1;
+                }
+                if (read < 0) {
+                    key.cancel();
+                    producer.close();
+                } else if (read > 0) {
+                    wakeups++;
+                }
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (SelectionKey key : selector.keys()) {
+            key.channel().close();
+        }
+        selector.close();
+        doorbellServer.close();
+        Files.deleteIfExists(doorbellSocket);
+        ring.close();
+    }
+
+    // Status getters
+    public long getRecordsRead() {
+        return recordsRead;
+    }
+
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    public long getWakeupCount() {
+        return wakeups;
+    }
+
+    /**
+     * Bytes written by the producer but not yet consumed
+     */
+    public long getLagBytes() {
+        return ring.writePosition() - readPosition;
+    }
+}
@@ -0,0 +1,310 @@
+package io.joshuasalcedo.logging.handler;
+
+import io.joshuasalcedo.logging.core.Log;
+import io.joshuasalcedo.logging.core.LogLevel;
+import io.joshuasalcedo.logging.formatter.Formatter;
+import io.joshuasalcedo.logging.formatter.StructuredFormatter;
+import io.joshuasalcedo.logging.util.MetricsBridge;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Ships log events to a collector over a persistent TCP connection.
+ * <p>
+ * Each event is formatted on the caller and framed as a 4-byte big-endian
+ * length followed by the UTF-8 payload. Frames go into a bounded in-flight
+ * buffer; a sender thread drains it and writes as many frames as fit into one
+ * batch buffer per {@code write}, without waiting between batches.
+ * <p>
+ * While the collector is unreachable the sender reconnects with exponential
+ * backoff and the buffer keeps accepting events, discarding the oldest ones
+ * once it is full. A batch that failed mid-write is resent in full on the new
+ * connection, so delivery is at-least-once.
+ */
+public class SocketHandler implements Handler {
+    private Formatter formatter = new StructuredFormatter();
+    private LogLevel level = LogLevel.INFO;
+
+    private final InetSocketAddress address;
+    private final BlockingQueue<byte[]> inFlight;
+    private final ByteBuffer batchBuffer;
+    private final Thread sender;
+    private volatile boolean running = true;
+
+    private volatile SocketChannel channel;
+    private volatile ByteBuffer pendingBatch;
+    private int pendingBatchEvents;
+    private long backoffMillis;
+
+    private final AtomicLong eventsSent = new AtomicLong(0);
+    private final AtomicLong bytesSent = new AtomicLong(0);
+    private final AtomicLong droppedEvents = new AtomicLong(0);
+    private final AtomicLong reconnects = new AtomicLong(0);
+
+    // Default configuration
+    private static final int DEFAULT_MAX_BUFFERED_EVENTS = 10000;
+    private static final int DEFAULT_BATCH_BYTES = 64 * 1024;
+    private static final long INITIAL_BACKOFF_MILLIS = 100;
+    private static final long MAX_BACKOFF_MILLIS = 30_000;
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 5000;
+    private static final int FRAME_HEADER_BYTES = 4;
+
+    public SocketHandler(String host, int port) {
+        this(new InetSocketAddress(host, port), DEFAULT_MAX_BUFFERED_EVENTS, DEFAULT_BATCH_BYTES);
+    }
+
+    public SocketHandler(InetSocketAddress address, int maxBufferedEvents, int batchBytes) {
+        if (maxBufferedEvents <= 0) {
+            throw new IllegalArgumentException("maxBufferedEvents must be positive: " + maxBufferedEvents);
+        }
+        if (batchBytes <= FRAME_HEADER_BYTES) {
+            throw new IllegalArgumentException("batchBytes too small: " + batchBytes);
+        }
+
+        this.address = address;
+        this.inFlight = new ArrayBlockingQueue<>(maxBufferedEvents);
+        this.batchBuffer = ByteBuffer.allocateDirect(batchBytes);
+
+        this.sender = new Thread(this::sendLoop, "SocketHandler-" + address.getPort());
+        sender.setDaemon(true);
+        sender.start();
+    }
+
+    @Override
+    public void publish(Log record) {
+        if (!running || record.getLevel().getValue() < level.getValue()) {
+            return;
+        }
+
+        byte[] payload = formatter.format(record).getBytes(StandardCharsets.UTF_8);
+
+        // Keep accepting while disconnected: make room by discarding the oldest event
+        while (!inFlight.offer(payload)) {
+            if (inFlight.poll() != null) {
+                droppedEvents.incrementAndGet();
+                MetricsBridge.recordDroppedLog();
+            }
+        }
+    }
+
+    private void sendLoop() {
+        while (running || !inFlight.isEmpty() || pendingBatch != null) {
+            try {
+                if (!ensureConnected()) {
+                    if (!running) {
+                        break;
+                    }
+                    backoff();
+                    continue;
+                }
+                if (pendingBatch == null && !fillBatch()) {
+                    continue;
+                }
+                writePendingBatch();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        closeChannel();
+    }
+
+    /**
+     * Move as many frames as fit into the batch buffer, waiting briefly for the first one
+     */
+    private boolean fillBatch() throws InterruptedException {
+        byte[] first = inFlight.poll(100, TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return false;
+        }
+
+        ByteBuffer batch = batchBuffer;
+        batch.clear();
+
+        if (first.length + FRAME_HEADER_BYTES > batch.capacity()) {
+            // Oversized event goes out on its own
+            batch = ByteBuffer.allocate(first.length + FRAME_HEADER_BYTES);
+            batch.putInt(first.length).put(first).flip();
+            pendingBatch = batch;
+            pendingBatchEvents = 1;
+            return true;
+        }
+
+        batch.putInt(first.length).put(first);
+        int events = 1;
+
+        // Only drain what is guaranteed to fit; the rest waits for the next batch
+        byte[] next;
+        while ((next = inFlight.peek()) != null
+                && next.length + FRAME_HEADER_BYTES <= batch.remaining()) {
+            inFlight.poll();
+            batch.putInt(next.length).put(next);
+            events++;
+        }
+
+        batch.flip();
+        pendingBatch = batch;
+        pendingBatchEvents = events;
+        return true;
+    }
+
+    private boolean ensureConnected() {
+        if (channel != null && channel.isConnected()) {
+            return true;
+        }
+
+        try {
+            SocketChannel newChannel = SocketChannel.open();
+            newChannel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            newChannel.setOption(StandardSocketOptions.SO_KEEPALIVE, true);
+            newChannel.connect(address);
+
+            channel = newChannel;
+            backoffMillis = 0;
+            if (pendingBatch != null) {
+                // Resend the whole batch on the new connection
+                pendingBatch.rewind();
+            }
+            return true;
+        } catch (IOException e) {
+            MetricsBridge.recordError("SocketConnectError", e);
+            return false;
+        }
+    }
+
+    private void writePendingBatch() {
+        ByteBuffer batch = pendingBatch;
+        int bytes = batch.remaining();
+
+        try {
+            while (batch.hasRemaining()) {
+                channel.write(batch);
+            }
+        } catch (IOException e) {
+            MetricsBridge.recordError("SocketWriteError", e);
+            reconnects.incrementAndGet();
+            closeChannel();
+            return;
+        }
+
+        eventsSent.addAndGet(pendingBatchEvents);
+        bytesSent.addAndGet(bytes);
+        MetricsBridge.recordHandlerOutput(getClass().getSimpleName(), pendingBatchEvents, bytes);
+
+        pendingBatch = null;
+        pendingBatchEvents = 0;
+    }
+
+    private void backoff() throws InterruptedException {
+        backoffMillis = backoffMillis == 0
+                ? INITIAL_BACKOFF_MILLIS
+                : Math.min(backoffMillis * 2, MAX_BACKOFF_MILLIS);
+        Thread.sleep(backoffMillis);
+    }
+
+    private void closeChannel() {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+                // Best effort
+            }
+            channel = null;
+        }
+    }
+
+    /**
+     * Wait until every buffered event has been written to the socket
+     *
+     * @return true if the buffer drained within the timeout
+     */
+    public boolean flush(long timeout, TimeUnit unit) {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (!inFlight.isEmpty() || pendingBatch != null) {
+            if (System.nanoTime() >= deadline) {
+                return false;
+            }
+            try {
+                Thread.sleep(1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void setFormatter(Formatter formatter) {
+        this.formatter = formatter != null ? formatter : new StructuredFormatter();
+    }
+
+    @Override
+    public void setLevel(LogLevel level) {
+        this.level = level != null ? level : LogLevel.INFO;
+    }
+
+    @Override
+    public LogLevel getLevel() {
+        return level;
+    }
+
+    @Override
+    public void close() {
+        // Stop accepting new events and give the sender a chance to drain
+        running = false;
+        try {
+            sender.join(SHUTDOWN_TIMEOUT_MILLIS);
+            if (sender.isAlive()) {
+                sender.interrupt();
+            }
+        } catch (InterruptedException e) {
+            sender.interrupt();
+            Thread.currentThread().interrupt();
+        }
+
+        if (!inFlight.isEmpty()) {
+            System.err.printf("SocketHandler: %d buffered logs not delivered to %s%n", inFlight.size(), address);
+        }
+    }
+
+    // Status getters
+    public InetSocketAddress getAddress() {
+        return address;
+    }
+
+    public boolean isConnected() {
+        SocketChannel current = channel;
+        return current != null && current.isConnected();
+    }
+
+    public int getBufferedEventCount() {
+        return inFlight.size();
+    }
+
+    public long getEventsSent() {
+        return eventsSent.get();
+    }
+
+    public long getBytesSent() {
+        return bytesSent.get();
+    }
+
+    public long getDroppedEventCount() {
+        return droppedEvents.get();
+    }
+
+    public long getReconnectCount() {
+        return reconnects.get();
+    }
+}
@@ -0,0 +1,366 @@
+package io.joshuasalcedo.logging.handler;
+
+import io.joshuasalcedo.logging.core.Log;
+import io.joshuasalcedo.logging.core.LogLevel;
+import io.joshuasalcedo.logging.formatter.Formatter;
+import io.joshuasalcedo.logging.formatter.PatternFormatter;
+import io.joshuasalcedo.logging.util.MetricsBridge;
+import io.joshuasalcedo.logging.util.StringUtils;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * RFC 5424 syslog handler for a host-local syslog daemon.
+ * <p>
+ * The static parts of the header ({@code <PRI>1} per level, hostname,
+ * app-name and procid) are encoded to bytes once, so each event only appends
+ * its timestamp and message. Messages go out over UDP (one datagram each, RFC
+ * 5426) or over a Unix domain stream socket with octet-counting framing
+ * (RFC 6587). With a batch size above one, messages are accumulated and sent
+ * together: a single write for stream transports, back-to-back datagrams for
+ * UDP. Pending batches are flushed periodically and on close.
+ * <p>
+ * The JDK only supports stream-oriented Unix domain sockets, so daemons that
+ * listen on a datagram socket such as {@code /dev/log} must be reached over UDP.
+ */
+public class SyslogHandler implements Handler {
+
+    public enum Transport {
+        UDP,
+        UNIX_STREAM
+    }
+
+    // RFC 5424 facilities commonly used by applications
+    public static final int FACILITY_USER = 1;
+    public static final int FACILITY_DAEMON = 3;
+    public static final int FACILITY_LOCAL0 = 16;
+
+    private static final int DEFAULT_MAX_MESSAGE_BYTES = 2048;
+    private static final int MIN_MESSAGE_BYTES = 480;
+    private static final int DEFAULT_BATCH_SIZE = 1;
+    private static final long DEFAULT_FLUSH_INTERVAL_MILLIS = 200;
+    private static final String NILVALUE = "-";
+    private static final DateTimeFormatter SECOND_FORMAT =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss").withZone(ZoneOffset.UTC);
+
+    private Formatter formatter = new PatternFormatter("%logger - %message");
+    private LogLevel level = LogLevel.INFO;
+
+    private final Transport transport;
+    private final SocketAddress address;
+    private final int maxMessageBytes;
+    private final int batchSize;
+
+    // Precomputed "<PRI>1 " per level and " HOSTNAME APP-NAME PROCID - - " shared by all levels
+    private final byte[][] levelHeaders = new byte[LogLevel.values().length][];
+    private final byte[] headerSuffix;
+
+    private DatagramChannel datagramChannel;
+    private SocketChannel streamChannel;
+    private final ByteBuffer batchBuffer;
+    private final int[] messageEnds;
+    private int batchedMessages;
+
+    // Timestamp text only changes once per second
+    private long cachedEpochSecond = Long.MIN_VALUE;
+    private byte[] cachedSecondBytes;
+    private final byte[] fractionBytes = new byte[8];
+
+    private ScheduledExecutorService flushExecutor;
+    private final AtomicLong messagesSent = new AtomicLong(0);
+    private final AtomicLong bytesSent = new AtomicLong(0);
+    private final AtomicLong sendErrors = new AtomicLong(0);
+
+    public SyslogHandler(Transport transport, SocketAddress address, String appName, int facility) {
+        this(transport, address, appName, facility, DEFAULT_BATCH_SIZE, DEFAULT_MAX_MESSAGE_BYTES);
+    }
+
+    public SyslogHandler(Transport transport, SocketAddress address, String appName, int facility,
+                         int batchSize, int maxMessageBytes) {
+        if (facility < 0 || facility > 23) {
+            throw new IllegalArgumentException("Invalid syslog facility: " + facility);
+        }
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize must be positive: " + batchSize);
+        }
+        if (maxMessageBytes < MIN_MESSAGE_BYTES) {
+            // Every receiver must accept 480 bytes, which also covers the largest possible header
+            throw new IllegalArgumentException("maxMessageBytes must be at least " + MIN_MESSAGE_BYTES);
+        }
+
+        this.transport = transport;
+        this.address = address;
+        this.batchSize = batchSize;
+        this.maxMessageBytes = maxMessageBytes;
+
+        for (LogLevel logLevel : LogLevel.values()) {
+            int pri = facility * 8 + severityOf(logLevel);
+            levelHeaders[logLevel.ordinal()] = ("<" + pri + ">1 ").getBytes(StandardCharsets.US_ASCII);
+        }
+
+        String header = " " + headerField(localHostName(), 255)
+                + " " + headerField(appName, 48)
+                + " " + headerField(String.valueOf(ProcessHandle.current().pid()), 128)
+                + " " + NILVALUE   // MSGID
+                + " " + NILVALUE   // STRUCTURED-DATA
+                + " ";
+        this.headerSuffix = header.getBytes(StandardCharsets.US_ASCII);
+
+        // Room for the octet-count prefix of every message in the batch
+        this.batchBuffer = ByteBuffer.allocateDirect(batchSize * (maxMessageBytes + 12));
+        this.messageEnds = new int[batchSize];
+
+        if (batchSize > 1) {
+            this.flushExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "SyslogHandler-Flush");
+                t.setDaemon(true);
+                return t;
+            });
+            flushExecutor.scheduleAtFixedRate(this::flush, DEFAULT_FLUSH_INTERVAL_MILLIS,
+                    DEFAULT_FLUSH_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Factory methods for common transports
+     */
+    public static SyslogHandler udp(String host, int port, String appName) {
+        return new SyslogHandler(Transport.UDP, new InetSocketAddress(host, port), appName, FACILITY_USER);
+    }
+
+    public static SyslogHandler unixStream(Path socketPath, String appName) {
+        return new SyslogHandler(Transport.UNIX_STREAM, UnixDomainSocketAddress.of(socketPath), appName,
+                FACILITY_USER);
+    }
+
+    static int severityOf(LogLevel level) {
+        return switch (level) {
+            case CRITICAL -> 2;  // Critical
+            case ERROR -> 3;     // Error
+            case WARN -> 4;      // Warning
+            case EVENT -> 5;     // Notice
+            case INFO -> 6;      // Informational
+            case TODO, DEBUG -> 7; // Debug
+        };
+    }
+
+    @Override
+    public synchronized void publish(Log record) {
+        if (record.getLevel().getValue() < level.getValue()) {
+            return;
+        }
+
+        byte[] message = formatter.format(record).getBytes(StandardCharsets.UTF_8);
+        byte[] pri = levelHeaders[record.getLevel().ordinal()];
+        byte[] second = secondBytes(record.getTimestamp());
+        int fraction = encodeFraction(record.getTimestamp());
+
+        // Truncate the message so the whole syslog frame stays within the limit, without splitting a character
+        int headerLength = pri.length + second.length + fraction + headerSuffix.length;
+        int messageLength = StringUtils.utf8PrefixLength(message, maxMessageBytes - headerLength);
+
+        if (transport == Transport.UNIX_STREAM) {
+            int frameLength = headerLength + messageLength;
+            batchBuffer.put(Integer.toString(frameLength).getBytes(StandardCharsets.US_ASCII)).put((byte) ' ');
+        }
+
+        batchBuffer.put(pri)
+                .put(second)
+                .put(fractionBytes, 0, fraction)
+                .put(headerSuffix)
+                .put(message, 0, messageLength);
+
+        messageEnds[batchedMessages++] = batchBuffer.position();
+
+        if (batchedMessages == batchSize) {
+            sendBatch();
+        }
+    }
+
+    private byte[] secondBytes(Instant timestamp) {
+        long epochSecond = timestamp.getEpochSecond();
+        if (epochSecond != cachedEpochSecond) {
+            cachedSecondBytes = SECOND_FORMAT.format(timestamp).getBytes(StandardCharsets.US_ASCII);
+            cachedEpochSecond = epochSecond;
+        }
+        return cachedSecondBytes;
+    }
+
+    /**
+     * Encode ".ffffffZ" (microsecond precision) into the scratch array
+     */
+    private int encodeFraction(Instant timestamp) {
+        int micros = timestamp.getNano() / 1000;
+        fractionBytes[0] = '.';
+        for (int i = 6; i >= 1; i--) {
+            fractionBytes[i] = (byte) ('0' + micros % 10);
+            micros /= 10;
+        }
+        fractionBytes[7] = 'Z';
+        return 8;
+    }
+
+    private void sendBatch() {
+        if (batchedMessages == 0) {
+            return;
+        }
+
+        int messages = batchedMessages;
+        int bytes = batchBuffer.position();
+        batchBuffer.flip();
+
+        try {
+            if (transport == Transport.UDP) {
+                DatagramChannel channel = datagramChannel();
+                int start = 0;
+                for (int i = 0; i < messages; i++) {
+                    batchBuffer.limit(messageEnds[i]).position(start);
+                    channel.send(batchBuffer, address);
+                    start = messageEnds[i];
+                }
+            } else {
+                SocketChannel channel = streamChannel();
+                while (batchBuffer.hasRemaining()) {
+                    channel.write(batchBuffer);
+                }
+            }
+
+            messagesSent.addAndGet(messages);
+            bytesSent.addAndGet(bytes);
+            MetricsBridge.recordHandlerOutput(getClass().getSimpleName(), messages, bytes);
+
+        } catch (IOException e) {
+            sendErrors.incrementAndGet();
+            MetricsBridge.recordError("SyslogSendError", e);
+            System.err.println("SyslogHandler failed to send " + messages + " messages to " + address + ": " + e.getMessage());
+            closeChannels();
+        } finally {
+            batchBuffer.clear();
+            batchedMessages = 0;
+        }
+    }
+
+    private DatagramChannel datagramChannel() throws IOException {
+        if (datagramChannel == null || !datagramChannel.isOpen()) {
+            datagramChannel = DatagramChannel.open();
+        }
+        return datagramChannel;
+    }
+
+    private SocketChannel streamChannel() throws IOException {
+        if (streamChannel == null || !streamChannel.isOpen()) {
+            SocketChannel channel = SocketChannel.open(StandardProtocolFamily.UNIX);
+            channel.connect(address);
+            streamChannel = channel;
+        }
+        return streamChannel;
+    }
+
+    private void closeChannels() {
+        try {
+            if (datagramChannel != null) {
+                datagramChannel.close();
+            }
+            if (streamChannel != null) {
+                streamChannel.close();
+            }
+        } catch (IOException ignored) {
+            // Best effort
+        }
+        datagramChannel = null;
+        streamChannel = null;
+    }
+
+    /**
+     * Send any messages waiting in the current batch
+     */
+    public synchronized void flush() {
+        sendBatch();
+    }
+
+    @Override
+    public void setFormatter(Formatter formatter) {
+        this.formatter = formatter != null ? formatter : new PatternFormatter("%logger - %message");
+    }
+
+    @Override
+    public void setLevel(LogLevel level) {
+        this.level = level != null ? level : LogLevel.INFO;
+    }
+
+    @Override
+    public LogLevel getLevel() {
+        return level;
+    }
+
+    @Override
+    public void close() {
+        if (flushExecutor != null) {
+            flushExecutor.shutdown();
+        }
+        synchronized (this) {
+            sendBatch();
+            closeChannels();
+        }
+    }
+
+    private static String headerField(String value, int maxLength) {
+        if (value == null || value.isEmpty()) {
+            return NILVALUE;
+        }
+
+        // Header fields are limited to printable US-ASCII without spaces
+        StringBuilder sb = new StringBuilder(Math.min(value.length(), maxLength));
+        for (int i = 0; i < value.length() && sb.length() < maxLength; i++) {
+            char c = value.charAt(i);
+            sb.append(c > 32 && c < 127 ? c : '_');
+        }
+        return sb.toString();
+    }
+
+    private static String localHostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (IOException e) {
+            return NILVALUE;
+        }
+    }
+
+    // Status getters
+    public Transport getTransport() {
+        return transport;
+    }
+
+    public SocketAddress getAddress() {
+        return address;
+    }
+
+    public long getMessagesSent() {
+        return messagesSent.get();
+    }
+
+    public long getBytesSent() {
+        return bytesSent.get();
+    }
+
+    public long getSendErrors() {
+        return sendErrors.get();
+    }
+}
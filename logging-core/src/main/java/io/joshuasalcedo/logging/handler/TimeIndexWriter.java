@@ -0,0 +1,88 @@
+package io.joshuasalcedo.logging.handler;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+
+/**
+ * Writes the sparse time index kept next to a log file.
+ * <p>
+ * The index file is {@code <log file>.idx} and holds fixed-size entries of
+ * two big-endian longs: epoch milliseconds and the byte offset in the log
+ * file where the record with that timestamp starts. An entry is added when
+ * {@code everyBytes} of log output or {@code everyMillis} of time have passed
+ * since the previous one. Timestamps never go backwards in the index, so
+ * {@link TimeIndexedLogReader} can binary search it directly on disk.
+ */
+final class TimeIndexWriter implements AutoCloseable {
+
+    static final String INDEX_SUFFIX = ".idx";
+    static final int ENTRY_BYTES = 2 * Long.BYTES;
+
+    private final FileChannel channel;
+    private final ByteBuffer entry = ByteBuffer.allocate(ENTRY_BYTES);
+    private final long everyBytes;
+    private final long everyMillis;
+
+    private long indexPosition;
+    private long lastOffset = -1;
+    private long lastMillis = Long.MIN_VALUE;
+
+    TimeIndexWriter(Path logFile, long logFileSize, long everyBytes, long everyMillis) throws IOException {
+        if (everyBytes <= 0 || everyMillis <= 0) {
+            throw new IllegalArgumentException("Index intervals must be positive");
+        }
+        this.everyBytes = everyBytes;
+        this.everyMillis = everyMillis;
+        this.channel = FileChannel.open(indexFileFor(logFile), StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        // Continue from the last entry of an existing index, unless the log was replaced since
+        long size = channel.size() - channel.size() % ENTRY_BYTES;
+        if (size > 0) {
+            ByteBuffer last = ByteBuffer.allocate(ENTRY_BYTES);
+            channel.read(last, size - ENTRY_BYTES);
+            last.flip();
+            lastMillis = last.getLong();
+            lastOffset = last.getLong();
+        }
+        if (lastOffset > logFileSize || size != channel.size()) {
+            channel.truncate(lastOffset > logFileSize ? 0 : size);
+            if (lastOffset > logFileSize) {
+                lastMillis = Long.MIN_VALUE;
+                lastOffset = -1;
+            }
+        }
+        this.indexPosition = channel.size();
+    }
+
+    static Path indexFileFor(Path logFile) {
+        return logFile.resolveSibling(logFile.getFileName() + INDEX_SUFFIX);
+    }
+
+    /**
+     * Called before a record is written at {@code offset}; adds an entry when due
+     */
+    void beforeRecord(Instant timestamp, long offset) throws IOException {
+        long millis = Math.max(timestamp.toEpochMilli(), lastMillis);
+        if (lastOffset >= 0 && offset - lastOffset < everyBytes && millis - lastMillis < everyMillis) {
+            return;
+        }
+
+        entry.clear();
+        entry.putLong(millis).putLong(offset).flip();
+        while (entry.hasRemaining()) {
+            indexPosition += channel.write(entry, indexPosition);
+        }
+        lastMillis = millis;
+        lastOffset = offset;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,264 @@
+package io.joshuasalcedo.logging.handler;
+
+import java.io.BufferedReader;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Reads a time window out of log files written with a time index
+ * (see {@link FileHandler#enableTimeIndex(long, long)}).
+ * <p>
+ * Segments are ordered by their first indexed timestamp and segments entirely
+ * outside the window are skipped. Within a segment the {@code .idx} file is
+ * binary searched on disk for the last entry at or before the start of the
+ * window and the first entry after its end, so only that byte range of the
+ * log is read. Because the index is sparse, the range can include a few
+ * records just outside the window; pass a timestamp parser to filter exactly.
+ */
+public class TimeIndexedLogReader {
+
+    private final List<Segment> segments;
+    private final Function<String, Instant> timestampParser;
+    private final Charset charset;
+
+    private record Segment(Path logFile, Path indexFile, long firstMillis) {}
+
+    public TimeIndexedLogReader(List<Path> logFiles) throws IOException {
+        this(logFiles, null);
+    }
+
+    /**
+     * @param logFiles        segments in any order
+     * @param timestampParser extracts a record's timestamp from its first line and
+     *                        returns null for continuation lines such as stack
+     *                        traces; may be null to skip exact filtering
+     */
+    public TimeIndexedLogReader(List<Path> logFiles, Function<String, Instant> timestampParser) throws IOException {
+        this.timestampParser = timestampParser;
+        this.charset = Charset.defaultCharset();
+
+        List<Segment> ordered = new ArrayList<>();
+        for (Path logFile : logFiles) {
+            Path indexFile = TimeIndexWriter.indexFileFor(logFile);
+            long entries = entryCount(indexFile);
+            long firstMillis = entries > 0 ? readEntry(indexFile, 0)[0] : Long.MAX_VALUE;
+            ordered.add(new Segment(logFile, indexFile, firstMillis));
+        }
+        ordered.sort(Comparator.comparingLong(Segment::firstMillis));
+        this.segments = ordered;
+    }
+
+    /**
+     * Collect a log file and its rolled siblings ({@code app.log.1}, {@code app.log.2024-01-01}, ...)
+     */
+    public static TimeIndexedLogReader forFile(Path logFile) throws IOException {
+        return forFile(logFile, null);
+    }
+
+    public static TimeIndexedLogReader forFile(Path logFile, Function<String, Instant> timestampParser)
+            throws IOException {
+        String baseName = logFile.getFileName().toString();
+        Path directory = logFile.toAbsolutePath().getParent();
+
+        List<Path> logFiles = new ArrayList<>();
+        try (Stream<Path> siblings = Files.list(directory)) {
+            siblings.filter(path -> {
+                String name = path.getFileName().toString();
+                return (name.equals(baseName) || name.startsWith(baseName + "."))
+                        && !name.endsWith(TimeIndexWriter.INDEX_SUFFIX);
+            }).forEach(logFiles::add);
+        }
+        return new TimeIndexedLogReader(logFiles, timestampParser);
+    }
+
+    /**
+     * Stream the lines of every record between {@code from} and {@code to}, inclusive
+     *
+     * @return number of lines passed to the consumer
+     */
+    public long read(Instant from, Instant to, Consumer<String> consumer) throws IOException {
+        long fromMillis = from.toEpochMilli();
+        long toMillis = to.toEpochMilli();
+        long lines = 0;
+
+        for (int i = 0; i < segments.size(); i++) {
+            Segment segment = segments.get(i);
+            long nextFirstMillis = i + 1 < segments.size() ? segments.get(i + 1).firstMillis() : Long.MAX_VALUE;
+            if (nextFirstMillis < fromMillis) {
+                continue;   // Segment ends before the window
+            }
+            if (segment.firstMillis() != Long.MAX_VALUE && segment.firstMillis() > toMillis) {
+                break;      // This and every later segment start after the window
+            }
+
+            long start = seek(segment, fromMillis, false);
+            long end = seek(segment, toMillis, true);
+            SegmentResult result = readRange(segment.logFile(), start, end, from, to, consumer);
+            lines += result.lines();
+            if (result.pastWindow()) {
+                break;
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * Byte offset in a log file where records at or after {@code time} can start
+     */
+    public long seek(Path logFile, Instant time) throws IOException {
+        return seek(new Segment(logFile, TimeIndexWriter.indexFileFor(logFile), 0), time.toEpochMilli(), false);
+    }
+
+    /**
+     * Binary search the index on disk. For the window start, returns the offset of
+     * the last entry at or before {@code millis} (0 if none); for the window end,
+     * the offset of the first entry after it (file size if none).
+     */
+    private long seek(Segment segment, long millis, boolean windowEnd) throws IOException {
+        long entries = entryCount(segment.indexFile());
+        long low = 0;
+        long high = entries - 1;
+        long found = -1;
+
+        try (FileChannel index = entries > 0 ? FileChannel.open(segment.indexFile(), StandardOpenOption.READ) : null) {
+            while (low <= high) {
+                long mid = (low + high) >>> 1;
+                long midMillis = readEntry(index, mid)[0];
+                if (windowEnd ? midMillis > millis : midMillis <= millis) {
+                    found = mid;
+                    if (windowEnd) {
+                        high = mid - 1;
+                    } else {
+                        low = mid + 1;
+                    }
+                } else if (windowEnd) {
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+
+            if (found >= 0) {
+                return readEntry(index, found)[1];
+            }
+        }
+        return windowEnd ? Files.size(segment.logFile()) : 0;
+    }
+
+    private record SegmentResult(long lines, boolean pastWindow) {}
+
+    private SegmentResult readRange(Path logFile, long start, long end, Instant from, Instant to,
+                                    Consumer<String> consumer) throws IOException {
+        if (end <= start) {
+            return new SegmentResult(0, false);
+        }
+
+        long lines = 0;
+        boolean including = timestampParser == null;
+        try (FileChannel channel = FileChannel.open(logFile, StandardOpenOption.READ)) {
+            channel.position(start);
+            InputStream in = new LimitedInputStream(Channels.newInputStream(channel), end - start);
+            BufferedReader reader = new BufferedReader(new InputStreamReader(in, charset), 64 * 1024);
+
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (timestampParser != null) {
+                    Instant timestamp = parseTimestamp(line);
+                    if (timestamp != null) {
+                        if (timestamp.isAfter(to)) {
+                            return new SegmentResult(lines, true);
+                        }
+                        including = !timestamp.isBefore(from);
+                    }
+                }
+                if (including) {
+                    consumer.accept(line);
+                    lines++;
+                }
+            }
+        }
+        return new SegmentResult(lines, false);
+    }
+
+    private Instant parseTimestamp(String line) {
+        try {
+            return timestampParser.apply(line);
+        } catch (RuntimeException e) {
+            return null;  // Treat unparseable lines as continuations
+        }
+    }
+
+    private static long entryCount(Path indexFile) throws IOException {
+        return Files.exists(indexFile) ? Files.size(indexFile) / TimeIndexWriter.ENTRY_BYTES : 0;
+    }
+
+    private static long[] readEntry(Path indexFile, long entry) throws IOException {
+        try (FileChannel index = FileChannel.open(indexFile, StandardOpenOption.READ)) {
+            return readEntry(index, entry);
+        }
+    }
+
+    private static long[] readEntry(FileChannel index, long entry) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(TimeIndexWriter.ENTRY_BYTES);
+        long position = entry * TimeIndexWriter.ENTRY_BYTES;
+        while (buffer.hasRemaining()) {
+            if (index.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Truncated time index entry " + entry);
+            }
+        }
+        buffer.flip();
+        return new long[]{buffer.getLong(), buffer.getLong()};
+    }
+
+    /**
+     * Stops after the end offset of the range
+     */
+    private static final class LimitedInputStream extends FilterInputStream {
+        private long remaining;
+
+        LimitedInputStream(InputStream in, long limit) {
+            super(in);
+            this.remaining = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int b = super.read();
+            if (b >= 0) {
+                remaining--;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int n = super.read(b, off, (int) Math.min(len, remaining));
+            if (n > 0) {
+                remaining -= n;
+            }
+            return n;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package io.joshuasalcedo.logging.util;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fixed-bucket histogram for handler statistics.
+ * <p>
+ * Each bucket counts values up to and including its upper bound; values above
+ * the last bound land in an overflow bucket. Recording is lock-free and safe
+ * from any thread.
+ */
+public final class Histogram {
+
+    private final long[] upperBounds;
+    private final LongAdder[] counts;
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong(0);
+
+    public Histogram(long... upperBounds) {
+        if (upperBounds.length == 0) {
+            throw new IllegalArgumentException("At least one bucket bound is required");
+        }
+        this.upperBounds = upperBounds.clone();
+        Arrays.sort(this.upperBounds);
+        this.counts = new LongAdder[this.upperBounds.length + 1];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Buckets at 1, 2, 4, ... up to {@code limit}
+     */
+    public static Histogram powersOfTwo(long limit) {
+        int buckets = 64 - Long.numberOfLeadingZeros(Math.max(1, limit));
+        long[] bounds = new long[buckets];
+        for (int i = 0; i < buckets; i++) {
+            bounds[i] = 1L << i;
+        }
+        return new Histogram(bounds);
+    }
+
+    public void record(long value) {
+        int index = Arrays.binarySearch(upperBounds, value);
+        if (index < 0) {
+            index = -index - 1;
+        }
+        counts[index].increment();
+        sum.add(value);
+        max.accumulateAndGet(value, Math::max);
+    }
+
+    public long getCount() {
+        long total = 0;
+        for (LongAdder count : counts) {
+            total += count.sum();
+        }
+        return total;
+    }
+
+    public long getSum() {
+        return sum.sum();
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    public double getMean() {
+        long count = getCount();
+        return count == 0 ? 0 : (double) getSum() / count;
+    }
+
+    /**
+     * Upper bound of the bucket holding the given percentile (0-100);
+     * {@link #getMax()} when it falls in the overflow bucket
+     */
+    public long getPercentile(double percentile) {
+        long count = getCount();
+        if (count == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(count * percentile / 100.0);
+        long seen = 0;
+        for (int i = 0; i < upperBounds.length; i++) {
+            seen += counts[i].sum();
+            if (seen >= rank) {
+                return Math.min(upperBounds[i], getMax());
+            }
+        }
+        return getMax();
+    }
+
+    /**
+     * Bucket counts keyed by upper bound, with {@link Long#MAX_VALUE} for the overflow bucket
+     */
+    public Map<Long, Long> getBuckets() {
+        Map<Long, Long> buckets = new LinkedHashMap<>();
+        for (int i = 0; i < upperBounds.length; i++) {
+            buckets.put(upperBounds[i], counts[i].sum());
+        }
+        buckets.put(Long.MAX_VALUE, counts[upperBounds.length].sum());
+        return buckets;
+    }
+
+    public void reset() {
+        for (LongAdder count : counts) {
+            count.reset();
+        }
+        sum.reset();
+        max.set(0);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("count=%d mean=%.1f p50=%d p99=%d max=%d",
+                getCount(), getMean(), getPercentile(50), getPercentile(99), getMax());
+    }
+}
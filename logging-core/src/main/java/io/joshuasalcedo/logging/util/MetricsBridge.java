@@ -0,0 +1,133 @@
+package io.joshuasalcedo.logging.util;
+
+import io.joshuasalcedo.logging.core.Logger;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reflective bridge from core handlers to the optional logging-metrics module.
+ * <p>
+ * Core cannot depend on logging-metrics, so calls go through {@link Method}
+ * handles that are resolved once and cached. Every call is a silent no-op when
+ * the module is not on the classpath or metrics are globally disabled.
+ */
+public final class MetricsBridge {
+
+    private static final String METRICS_CLASS = "io.joshuasalcedo.logging.metrics.LoggingMetrics";
+
+    private static final Object METRICS = lookupInstance();
+    private static final Map<String, Optional<Method>> METHODS = new ConcurrentHashMap<>();
+
+    private MetricsBridge() {}
+
+    /**
+     * Check whether the metrics module is present
+     */
+    public static boolean isAvailable() {
+        return METRICS != null;
+    }
+
+    /**
+     * Check whether calls will be recorded; lets handlers skip timing and
+     * byte counting when nobody is listening
+     */
+    public static boolean isEnabled() {
+        return METRICS != null && Logger.isGlobalMetricsEnabled();
+    }
+
+    /**
+     * Record events and bytes written by an output handler
+     */
+    public static void recordHandlerOutput(String handlerName, long events, long bytes) {
+        invoke("recordHandlerOutput", new Class<?>[]{String.class, long.class, long.class},
+                handlerName, events, bytes);
+    }
+
+    /**
+     * Record one write call into a handler's sink and how long it blocked
+     */
+    public static void recordHandlerWrite(String handlerName, long bytes, long events, long blockedNanos) {
+        invoke("recordHandlerWrite", new Class<?>[]{String.class, long.class, long.class, long.class},
+                handlerName, bytes, events, blockedNanos);
+    }
+
+    /**
+     * Record one flush of a handler's sink and how long it blocked
+     */
+    public static void recordHandlerFlush(String handlerName, long blockedNanos) {
+        invoke("recordHandlerFlush", new Class<?>[]{String.class, long.class}, handlerName, blockedNanos);
+    }
+
+    /**
+     * Record a write into a handler's sink followed by its flush, in one call
+     */
+    public static void recordHandlerWriteAndFlush(String handlerName, long bytes, long events,
+                                                  long writeNanos, long flushNanos) {
+        invoke("recordHandlerWriteAndFlush", new Class<?>[]{String.class, long.class, long.class, long.class, long.class},
+                handlerName, bytes, events, writeNanos, flushNanos);
+    }
+
+    /**
+     * Record how long a sampled record took from an async queue to its handler
+     */
+    public static void recordAsyncLatency(String queueName, long latencyNanos) {
+        invoke("recordAsyncLatency", new Class<?>[]{String.class, long.class}, queueName, latencyNanos);
+    }
+
+    /**
+     * Record one drain of an async queue by its worker
+     */
+    public static void recordAsyncDrain(String queueName, int depth, int batchSize,
+                                        long busyNanos, long idleNanos, long producerBlockedNanos) {
+        invoke("recordAsyncDrain", new Class<?>[]{String.class, int.class, int.class, long.class, long.class, long.class},
+                queueName, depth, batchSize, busyNanos, idleNanos, producerBlockedNanos);
+    }
+
+    /**
+     * Record a log event dropped by a handler
+     */
+    public static void recordDroppedLog() {
+        invoke("recordDroppedLog", new Class<?>[0]);
+    }
+
+    /**
+     * Record an error raised inside a handler
+     */
+    public static void recordError(String errorType, Throwable error) {
+        invoke("recordError", new Class<?>[]{String.class, Throwable.class}, errorType, error);
+    }
+
+    private static void invoke(String methodName, Class<?>[] parameterTypes, Object... args) {
+        if (!isEnabled()) {
+            return;
+        }
+
+        Optional<Method> method = METHODS.computeIfAbsent(methodName + "/" + parameterTypes.length, key -> {
+            try {
+                return Optional.of(METRICS.getClass().getMethod(methodName, parameterTypes));
+            } catch (NoSuchMethodException e) {
+                return Optional.empty();
+            }
+        });
+
+        if (method.isPresent()) {
+            try {
+                method.get().invoke(METRICS, args);
+            } catch (Exception e) {
+                // Silently ignore metrics errors to not break logging
+            }
+        }
+    }
+
+    private static Object lookupInstance() {
+        try {
+            Class<?> metricsClass = Class.forName(METRICS_CLASS);
+            return metricsClass.getMethod("getInstance").invoke(null);
+        } catch (Exception | LinkageError e) {
+            return null;
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package io.joshuasalcedo.logging.util;
 
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
 /**
  * Utility functions for string manipulation
  */
@@ -19,4 +22,49 @@ public final class StringUtils {
         }
         return str.substring(0, maxLength - 3) + "...";
     }
+    
+    /**
+     * Longest prefix of the UTF-8 bytes, at most {@code maxLength}, that does
+     * not end inside a multi-byte character.
+     */
+    public static int utf8PrefixLength(byte[] utf8, int maxLength) {
+        if (maxLength >= utf8.length) {
+            return utf8.length;
+        }
+        int length = Math.max(0, maxLength);
+        // Back off while the first byte left out continues a character
+        while (length > 0 && (utf8[length] & 0xC0) == 0x80) {
+            length--;
+        }
+        return length;
+    }
+    
+    /**
+     * Number of bytes the text takes in the given charset. UTF-8 is counted
+     * without encoding; other charsets are encoded to count.
+     */
+    public static long encodedLength(CharSequence text, Charset charset) {
+        if (!StandardCharsets.UTF_8.equals(charset)) {
+            return text.toString().getBytes(charset).length;
+        }
+        long bytes = text.length();
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                continue;
+            }
+            if (c < 0x800) {
+                bytes += 1;
+            } else if (Character.isHighSurrogate(c) && i + 1 < text.length()
+                    && Character.isLowSurrogate(text.charAt(i + 1))) {
+                // Two chars, four bytes
+                bytes += 2;
+                i++;
+            } else if (!Character.isSurrogate(c)) {
+                bytes += 2;
+            }
+            // A lone surrogate is encoded as a one-byte '?'
+        }
+        return bytes;
+    }
 }
@@ -0,0 +1,105 @@
+package io.joshuasalcedo.logging.core;
+
+import io.joshuasalcedo.logging.formatter.Formatter;
+import io.joshuasalcedo.logging.handler.Handler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LogScopeTest {
+
+    private final List<String> published = new ArrayList<>();
+    private Logger logger;
+
+    @BeforeEach
+    public void setUp() {
+        logger = new Logger("ScopeTest");
+        logger.setLevel(LogLevel.WARN);
+        logger.setMetricsEnabled(false);
+        logger.addHandler(new Handler() {
+            @Override
+            public void publish(Log record) {
+                published.add(record.getLevel() + " " + record.getMessage());
+            }
+
+            @Override
+            public void setFormatter(Formatter formatter) {}
+
+            @Override
+            public void setLevel(LogLevel level) {}
+
+            @Override
+            public LogLevel getLevel() {
+                return LogLevel.DEBUG;
+            }
+
+            @Override
+            public void close() {}
+        });
+    }
+
+    @Test
+    public void testBufferDiscardedOnSuccess() {
+        try (LogScope scope = LogScope.open()) {
+            logger.debug("loading");
+            logger.info("loaded");
+            logger.warning("slow");
+            assertEquals(2, scope.getBufferedEventCount());
+        }
+
+        assertEquals(List.of("WARN slow"), published);
+        assertNull(LogScope.current());
+    }
+
+    @Test
+    public void testBufferForwardedInOrderOnError() {
+        try (LogScope scope = LogScope.open()) {
+            logger.debug("step 1");
+            logger.info("step 2");
+            logger.error("failed");
+            logger.debug("cleanup");
+            assertTrue(scope.isTriggered());
+        }
+
+        assertEquals(List.of("DEBUG step 1", "INFO step 2", "ERROR failed", "DEBUG cleanup"), published);
+    }
+
+    @Test
+    public void testNestedScopeForwardsParentFirst() {
+        try (LogScope outer = LogScope.open()) {
+            logger.debug("outer");
+            try (LogScope inner = LogScope.open()) {
+                logger.debug("inner");
+                logger.critical("crash");
+            }
+            assertSame(outer, LogScope.current());
+        }
+
+        assertEquals(List.of("DEBUG outer", "DEBUG inner", "CRITICAL crash"), published);
+    }
+
+    @Test
+    public void testOldestEventsDroppedWhenFull() {
+        try (LogScope scope = LogScope.open(LogLevel.DEBUG, LogLevel.WARN, LogLevel.ERROR, 2)) {
+            logger.debug("1");
+            logger.debug("2");
+            logger.debug("3");
+            assertEquals(1, scope.getDroppedEventCount());
+            logger.error("boom");
+        }
+
+        assertEquals(List.of("DEBUG 2", "DEBUG 3", "ERROR boom"), published);
+    }
+
+    @Test
+    public void testNoScopeKeepsLoggerLevel() {
+        logger.debug("hidden");
+        logger.warning("shown");
+
+        assertEquals(List.of("WARN shown"), published);
+    }
+}
@@ -0,0 +1,229 @@
+package io.joshuasalcedo.logging.core;
+
+import io.joshuasalcedo.logging.formatter.Formatter;
+import io.joshuasalcedo.logging.handler.Handler;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ParallelDispatchTest {
+
+    /**
+     * Sink that takes a fixed time per event, optionally failing
+     */
+    private static class SlowHandler implements Handler {
+        final List<String> messages = new CopyOnWriteArrayList<>();
+        final List<String> threads = new CopyOnWriteArrayList<>();
+        final long delayMillis;
+        final boolean failing;
+
+        SlowHandler(long delayMillis, boolean failing) {
+            this.delayMillis = delayMillis;
+            this.failing = failing;
+        }
+
+        @Override
+        public void publish(Log record) {
+            threads.add(Thread.currentThread().isVirtual() ? "virtual" : Thread.currentThread().getName());
+            try {
+                Thread.sleep(delayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (failing) {
+                throw new IllegalStateException("sink down");
+            }
+            messages.add(record.getMessage());
+        }
+
+        @Override
+        public void setFormatter(Formatter formatter) {}
+
+        @Override
+        public void setLevel(LogLevel level) {}
+
+        @Override
+        public LogLevel getLevel() {
+            return LogLevel.DEBUG;
+        }
+
+        @Override
+        public void close() {}
+    }
+
+    /**
+     * Ignores interrupts until released
+     */
+    private static class StuckHandler extends SlowHandler {
+        final Semaphore permits = new Semaphore(0);
+        final AtomicInteger entered = new AtomicInteger();
+        volatile boolean interrupted;
+
+        StuckHandler() {
+            super(0, false);
+        }
+
+        @Override
+        public void publish(Log record) {
+            entered.incrementAndGet();
+            while (true) {
+                try {
+                    permits.acquire();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            super.publish(record);
+        }
+
+        void releaseOne() {
+            permits.release();
+        }
+
+        void releaseAll() {
+            permits.release(1_000);
+        }
+    }
+
+    @Test
+    public void testLatencyIsMaxNotSum() {
+        Logger logger = new Logger("parallel");
+        logger.setParallelDispatch(true);
+        SlowHandler first = new SlowHandler(200, false);
+        SlowHandler second = new SlowHandler(200, false);
+        SlowHandler third = new SlowHandler(200, false);
+        logger.addHandler(first);
+        logger.addHandler(second);
+        logger.addHandler(third);
+
+        long start = System.nanoTime();
+        logger.info("hello");
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(elapsedMillis < 500, "Took " + elapsedMillis + " ms");
+        for (SlowHandler handler : List.of(first, second, third)) {
+            assertEquals(List.of("hello"), handler.messages);
+            assertEquals(List.of("virtual"), handler.threads);
+        }
+    }
+
+    @Test
+    public void testDeadlineAndFailuresDoNotBlockOtherHandlers() {
+        Logger logger = new Logger("parallel");
+        logger.setParallelDispatch(true);
+        logger.setDispatchDeadline(Duration.ofMillis(100));
+        SlowHandler stuck = new SlowHandler(2000, false);
+        SlowHandler failing = new SlowHandler(0, true);
+        SlowHandler healthy = new SlowHandler(10, false);
+        logger.addHandler(stuck);
+        logger.addHandler(failing);
+        logger.addHandler(healthy);
+
+        long start = System.nanoTime();
+        logger.info("hello");
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(elapsedMillis < 1000, "Caller waited " + elapsedMillis + " ms past the deadline");
+        assertEquals(List.of("hello"), healthy.messages);
+        assertTrue(failing.messages.isEmpty());
+    }
+
+    @Test
+    public void testSequentialByDefault() {
+        Logger logger = new Logger("sequential");
+        assertFalse(logger.isParallelDispatch());
+        SlowHandler first = new SlowHandler(0, false);
+        SlowHandler second = new SlowHandler(0, false);
+        logger.addHandler(first);
+        logger.addHandler(second);
+
+        logger.info("hello");
+
+        assertEquals(List.of(Thread.currentThread().getName()), first.threads);
+        assertEquals(List.of(Thread.currentThread().getName()), second.threads);
+    }
+
+    @Test
+    public void testStuckHandlerIsSkippedUntilItReturns() throws Exception {
+        Logger logger = new Logger("parallel");
+        logger.setParallelDispatch(true);
+        logger.setDispatchDeadline(Duration.ofMillis(50));
+        StuckHandler stuck = new StuckHandler();
+        SlowHandler healthy = new SlowHandler(0, false);
+        logger.addHandler(stuck);
+        logger.addHandler(healthy);
+
+        logger.info("first");
+        logger.info("second");
+
+        assertEquals(1, logger.getSkippedDispatches());
+        assertEquals(List.of("first", "second"), healthy.messages);
+
+        stuck.releaseAll();
+        Thread.sleep(100);
+        logger.info("third");
+
+        assertFalse(stuck.interrupted, "A late delivery must not be interrupted mid-write");
+        assertEquals(List.of("first", "third"), stuck.messages);
+        assertEquals(1, logger.getSkippedDispatches());
+    }
+
+    @Test
+    public void testSharedHandlerStaysBusyUntilEveryLateDeliveryReturns() throws Exception {
+        StuckHandler stuck = new StuckHandler();
+        Logger first = new Logger("first");
+        Logger second = new Logger("second");
+        for (Logger logger : List.of(first, second)) {
+            logger.setParallelDispatch(true);
+            logger.setDispatchDeadline(Duration.ofMillis(300));
+            logger.addHandler(stuck);
+            logger.addHandler(new SlowHandler(0, false));
+        }
+
+        // Both deliveries are in flight before either deadline passes
+        Thread other = new Thread(() -> first.info("one"));
+        other.start();
+        while (stuck.entered.get() == 0) {
+            Thread.sleep(1);
+        }
+        second.info("two");
+        other.join();
+
+        stuck.releaseOne();
+        Thread.sleep(100);
+        second.info("skipped");
+        assertEquals(1, second.getSkippedDispatches());
+
+        stuck.releaseAll();
+        Thread.sleep(100);
+        second.info("three");
+        assertEquals(1, second.getSkippedDispatches());
+        assertTrue(stuck.messages.contains("three"));
+    }
+
+    @Test
+    public void testHandlerFailureSkipsParentHandlersLikeSequentialDispatch() {
+        for (boolean parallel : new boolean[] {false, true}) {
+            Logger parent = new Logger("root");
+            SlowHandler parentHandler = new SlowHandler(0, false);
+            parent.addHandler(parentHandler);
+
+            Logger logger = new Logger("root.child");
+            logger.setParent(parent);
+            logger.setParallelDispatch(parallel);
+            logger.addHandler(new SlowHandler(0, true));
+            logger.addHandler(new SlowHandler(0, true));
+
+            logger.info("hello");
+
+            assertTrue(parentHandler.messages.isEmpty(), "parallel=" + parallel);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package io.joshuasalcedo.logging.core;
+
+import io.joshuasalcedo.logging.formatter.PatternFormatter;
+import io.joshuasalcedo.logging.formatter.StructuredFormatter;
+import io.joshuasalcedo.logging.handler.ConsoleHandler;
+import io.joshuasalcedo.logging.handler.FileHandler;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SharedEncodingTest {
+
+    private static final AtomicInteger formatCalls = new AtomicInteger();
+
+    /**
+     * Counts calls; the encoder key still comes from the pattern
+     */
+    private static class CountingFormatter extends PatternFormatter {
+        CountingFormatter(String pattern) {
+            super(pattern);
+        }
+
+        @Override
+        public String format(Log record) {
+            formatCalls.incrementAndGet();
+            return super.format(record);
+        }
+    }
+
+    @Test
+    public void testSamePatternIsFormattedOncePerEvent(@TempDir Path dir) throws Exception {
+        formatCalls.set(0);
+        ByteArrayOutputStream console = new ByteArrayOutputStream();
+        Path file = dir.resolve("app.log");
+
+        Logger root = new Logger("root");
+        ConsoleHandler consoleHandler = new ConsoleHandler(new PrintStream(console, true));
+        consoleHandler.setFormatter(new CountingFormatter("%level %message"));
+        root.addHandler(consoleHandler);
+
+        Logger child = new Logger("root.child");
+        child.setParent(root);
+        FileHandler fileHandler = new FileHandler(file.toString());
+        fileHandler.setFormatter(new CountingFormatter("%level %message"));
+        child.addHandler(fileHandler);
+
+        child.info("hello");
+        child.warning("again");
+        fileHandler.close();
+
+        assertEquals(2, formatCalls.get());
+        assertEquals(List.of("INFO hello", "WARN again"), console.toString().lines().toList());
+        assertEquals(List.of("INFO hello", "WARN again"), Files.readAllLines(file));
+    }
+
+    @Test
+    public void testDifferentPatternsAndFilteredHandlers(@TempDir Path dir) throws Exception {
+        formatCalls.set(0);
+        ByteArrayOutputStream console = new ByteArrayOutputStream();
+        ByteArrayOutputStream errors = new ByteArrayOutputStream();
+
+        Logger logger = new Logger("app");
+        ConsoleHandler plain = new ConsoleHandler(new PrintStream(console, true));
+        plain.setFormatter(new CountingFormatter("%message"));
+        ConsoleHandler errorsOnly = new ConsoleHandler(new PrintStream(errors, true));
+        errorsOnly.setFormatter(new CountingFormatter("!%message"));
+        errorsOnly.setLevel(LogLevel.ERROR);
+        logger.addHandler(plain);
+        logger.addHandler(errorsOnly);
+
+        logger.info("info");
+        assertEquals(1, formatCalls.get(), "Filtered handler must not trigger formatting");
+
+        logger.error("boom");
+        assertEquals(3, formatCalls.get());
+        assertEquals(List.of("info", "boom"), console.toString().lines().toList());
+        assertEquals(List.of("!boom"), errors.toString().lines().toList());
+    }
+
+    @Test
+    public void testNullSeparatorStillShares() {
+        ByteArrayOutputStream first = new ByteArrayOutputStream();
+        ByteArrayOutputStream second = new ByteArrayOutputStream();
+
+        Logger logger = new Logger("app");
+        ConsoleHandler a = new ConsoleHandler(new PrintStream(first, true));
+        a.setFormatter(new StructuredFormatter(null));
+        ConsoleHandler b = new ConsoleHandler(new PrintStream(second, true));
+        b.setFormatter(new StructuredFormatter(null));
+        logger.addHandler(a);
+        logger.addHandler(b);
+
+        logger.info("hello");
+
+        assertEquals(new StructuredFormatter(null).encoderKey(), new StructuredFormatter(null).encoderKey());
+        assertTrue(first.toString().contains("message=\"hello\""), first.toString());
+        assertEquals(first.toString(), second.toString());
+    }
+}
@@ -0,0 +1,107 @@
+package io.joshuasalcedo.logging.handler;
+
+import io.joshuasalcedo.logging.core.Log;
+import io.joshuasalcedo.logging.core.LogLevel;
+import io.joshuasalcedo.logging.formatter.Formatter;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BulkheadHandlerTest {
+
+    // Sink that records messages, optionally blocking until released
+    private static class TestSink implements Handler {
+        final List<String> messages = new CopyOnWriteArrayList<>();
+        final CountDownLatch release;
+
+        TestSink(boolean blocking) {
+            this.release = new CountDownLatch(blocking ? 1 : 0);
+        }
+
+        @Override
+        public void publish(Log record) {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                throw new IllegalStateException("Interrupted while blocked", e);
+            }
+            messages.add(record.getMessage());
+        }
+
+        @Override
+        public void setFormatter(Formatter formatter) {}
+
+        @Override
+        public void setLevel(LogLevel level) {}
+
+        @Override
+        public LogLevel getLevel() {
+            return LogLevel.DEBUG;
+        }
+
+        @Override
+        public void close() {}
+    }
+
+    @Test
+    public void testHungSinkDoesNotStallOthers() throws Exception {
+        BulkheadHandler handler = new BulkheadHandler();
+        TestSink hung = new TestSink(true);
+        TestSink fast = new TestSink(false);
+        BulkheadHandler.Sink hungSink = handler.addSink(hung, 10, 200, OverflowPolicy.DROP_NEWEST,
+                new CircuitBreaker(1, 60_000));
+        handler.addSink(fast);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 100; i++) {
+            handler.publish(new Log(LogLevel.INFO, "Message " + i, "TestLogger"));
+        }
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1), "Caller was held up by the hung sink");
+
+        waitFor(() -> fast.messages.size() == 100);
+        waitFor(() -> hungSink.getCircuitBreaker().getState() == CircuitBreaker.State.OPEN);
+        assertEquals(1, hungSink.getTimeoutCount());
+
+        // Open circuit: new events for the hung sink are dropped without queueing
+        long droppedBefore = hungSink.getDroppedCount();
+        handler.publish(new Log(LogLevel.INFO, "after open", "TestLogger"));
+        assertEquals(droppedBefore + 1, hungSink.getDroppedCount());
+
+        handler.close();
+    }
+
+    @Test
+    public void testDropOldestKeepsNewestEvents() throws Exception {
+        BulkheadHandler handler = new BulkheadHandler();
+        TestSink slow = new TestSink(true);
+        BulkheadHandler.Sink sink = handler.addSink(slow, 5, 60_000, OverflowPolicy.DROP_OLDEST,
+                new CircuitBreaker(5, 1000));
+
+        handler.publish(new Log(LogLevel.INFO, "first", "TestLogger"));
+        waitFor(() -> sink.getQueuedEventCount() == 0);
+        for (int i = 0; i < 20; i++) {
+            handler.publish(new Log(LogLevel.INFO, "Message " + i, "TestLogger"));
+        }
+        assertEquals(15, sink.getDroppedCount());
+
+        slow.release.countDown();
+        waitFor(() -> slow.messages.size() == 6);
+        assertEquals(List.of("first", "Message 15", "Message 16", "Message 17", "Message 18", "Message 19"),
+                slow.messages);
+
+        handler.close();
+    }
+
+    private void waitFor(java.util.function.BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(condition.getAsBoolean(), "Condition not met in time");
+    }
+}
@@ -0,0 +1,90 @@
+package io.joshuasalcedo.logging.handler;
+
+import io.joshuasalcedo.logging.core.Log;
+import io.joshuasalcedo.logging.core.LogLevel;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DirectFileHandlerTest {
+
+    private static Log event(LogLevel level, String message) {
+        return new Log(level, message, "TestLogger", Instant.now(), "TestClass", "test", 1, null);
+    }
+
+    private static DirectFileHandler handler(Path file, long maxSegmentBytes) throws Exception {
+        DirectFileHandler handler = new DirectFileHandler(file, 16 * 1024, maxSegmentBytes, 60_000);
+        handler.setFormatter(Log::getMessage);
+        return handler;
+    }
+
+    @Test
+    public void testFlushPadsPartialBlockAndCloseTrims(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("app.log");
+        DirectFileHandler handler = handler(file, Long.MAX_VALUE);
+        assertEquals(0, handler.getBlockSize() & (handler.getBlockSize() - 1));
+
+        handler.publish(event(LogLevel.INFO, "first"));
+        handler.flush();
+        String flushed = Files.readString(file);
+        assertEquals("first" + System.lineSeparator(), flushed.replace("\0", ""));
+        if (handler.isDirectIo()) {
+            assertEquals(handler.getBlockSize(), Files.size(file));
+        }
+
+        // Rewrites the padded block in place
+        handler.publish(event(LogLevel.ERROR, "second"));
+        handler.publish(event(LogLevel.INFO, "third"));
+        handler.close();
+
+        assertEquals(List.of("first", "second", "third"), Files.readAllLines(file));
+        assertFalse(Files.readString(file).contains("\0"));
+        assertEquals(3, handler.getEventsWritten());
+        assertEquals(Files.size(file), handler.getBytesWritten());
+    }
+
+    @Test
+    public void testRollsSegmentsWithoutPadding(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("app.log");
+        DirectFileHandler handler = handler(file, 20_000);
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            String message = "event " + i + " " + "x".repeat(i % 50);
+            expected.add(message);
+            handler.publish(event(LogLevel.INFO, message));
+        }
+        handler.close();
+
+        assertTrue(handler.getRolloverCount() > 0);
+        List<String> lines = new ArrayList<>();
+        for (int n = 1; n <= handler.getRolloverCount(); n++) {
+            Path segment = dir.resolve("app.log." + n);
+            assertFalse(Files.readString(segment).contains("\0"), "Padding left in " + segment);
+            lines.addAll(Files.readAllLines(segment));
+        }
+        lines.addAll(Files.readAllLines(file));
+        assertEquals(expected, lines);
+    }
+
+    @Test
+    public void testReopenContinuesInPartialBlock(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("app.log");
+        DirectFileHandler first = handler(file, Long.MAX_VALUE);
+        first.publish(event(LogLevel.INFO, "one"));
+        first.publish(event(LogLevel.INFO, "two"));
+        first.close();
+
+        DirectFileHandler second = handler(file, Long.MAX_VALUE);
+        second.publish(event(LogLevel.INFO, "three"));
+        second.close();
+
+        assertEquals(List.of("one", "two", "three"), Files.readAllLines(file));
+    }
+}
@@ -0,0 +1,187 @@
+package io.joshuasalcedo.logging.handler;
+
+import io.joshuasalcedo.logging.core.Log;
+import io.joshuasalcedo.logging.core.LogLevel;
+import io.joshuasalcedo.logging.formatter.Formatter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FailoverHandlerTest {
+
+    // Sink that can be switched into an outage
+    private static class FlakySink implements Handler {
+        final List<String> messages = new CopyOnWriteArrayList<>();
+        final AtomicInteger calls = new AtomicInteger();
+        volatile boolean down;
+        volatile int acceptLimit = Integer.MAX_VALUE;
+
+        @Override
+        public void publish(Log record) {
+            calls.incrementAndGet();
+            if (down || messages.size() >= acceptLimit) {
+                throw new IllegalStateException("Sink unavailable");
+            }
+            messages.add(record.getMessage());
+        }
+
+        @Override
+        public void setFormatter(Formatter formatter) {}
+
+        @Override
+        public void setLevel(LogLevel level) {}
+
+        @Override
+        public LogLevel getLevel() {
+            return LogLevel.DEBUG;
+        }
+
+        @Override
+        public void close() {}
+    }
+
+    @Test
+    public void testCircuitOpensAndSpillIsReplayedInOrder(@TempDir Path dir) throws Exception {
+        FlakySink primary = new FlakySink();
+        FailoverHandler handler = new FailoverHandler(primary, null, dir.resolve("spill.log"),
+                new CircuitBreaker(3, 200), 50);
+
+        handler.publish(new Log(LogLevel.INFO, "before", "TestLogger"));
+        primary.down = true;
+        for (int i = 0; i < 10; i++) {
+            handler.publish(new Log(LogLevel.INFO, "outage " + i, "TestLogger"));
+        }
+
+        // Once the backlog exists only the probe retries the failing primary
+        assertTrue(primary.calls.get() < 6, "Primary called per event: " + primary.calls.get());
+        assertEquals(10, handler.getPendingSpilledCount());
+        waitFor(() -> handler.getCircuitBreaker().getState() == CircuitBreaker.State.OPEN);
+
+        primary.down = false;
+        handler.publish(new Log(LogLevel.INFO, "after", "TestLogger"));
+        waitFor(() -> handler.getPendingSpilledCount() == 0 && primary.messages.size() == 12);
+
+        assertEquals("before", primary.messages.get(0));
+        for (int i = 0; i < 10; i++) {
+            assertEquals("outage " + i, primary.messages.get(i + 1));
+        }
+        assertEquals("after", primary.messages.get(11));
+        assertEquals(CircuitBreaker.State.CLOSED, handler.getCircuitBreaker().getState());
+
+        handler.close();
+    }
+
+    @Test
+    public void testSecondaryTakesOverDuringOutage(@TempDir Path dir) {
+        FlakySink primary = new FlakySink();
+        FlakySink secondary = new FlakySink();
+        primary.down = true;
+        FailoverHandler handler = new FailoverHandler(primary, secondary, dir.resolve("spill.log"));
+
+        for (int i = 0; i < 5; i++) {
+            handler.publish(new Log(LogLevel.WARN, "Message " + i, "TestLogger"));
+        }
+
+        assertEquals(5, secondary.messages.size());
+        assertEquals(0, handler.getSpilledEventCount());
+        assertEquals(3, primary.calls.get());
+
+        handler.close();
+    }
+
+    @Test
+    public void testFailedReplayKeepsTheRestOnDisk(@TempDir Path dir) throws Exception {
+        Path spillFile = dir.resolve("spill.log");
+        FlakySink down = new FlakySink();
+        down.down = true;
+        FailoverHandler outage = new FailoverHandler(down, null, spillFile, new CircuitBreaker(3, 60_000), 50);
+        for (int i = 0; i < 600; i++) {
+            outage.publish(new Log(LogLevel.INFO, "outage " + i, "TestLogger"));
+        }
+        outage.close();
+
+        // The primary gives out again part-way through the replay
+        FlakySink partial = new FlakySink();
+        partial.acceptLimit = 300;
+        FailoverHandler restarted = new FailoverHandler(partial, null, spillFile, new CircuitBreaker(3, 60_000), 50);
+        assertEquals(600, restarted.getPendingSpilledCount());
+        waitFor(() -> restarted.getReplayedEventCount() == 300 && partial.calls.get() > 300);
+        restarted.close();
+        assertEquals(300, restarted.getPendingSpilledCount());
+        assertTrue(Files.exists(spillFile));
+
+        // The next instance starts where the last one stopped
+        FlakySink healthy = new FlakySink();
+        FailoverHandler recovered = new FailoverHandler(healthy, null, spillFile, new CircuitBreaker(3, 200), 50);
+        assertEquals(300, recovered.getPendingSpilledCount());
+        waitFor(() -> recovered.getPendingSpilledCount() == 0 && healthy.messages.size() == 300);
+        for (int i = 0; i < 300; i++) {
+            assertEquals("outage " + (300 + i), healthy.messages.get(i));
+        }
+        assertFalse(Files.exists(spillFile));
+        recovered.close();
+    }
+
+    @Test
+    public void testIncompleteLastLineIsDiscarded(@TempDir Path dir) throws Exception {
+        // A crash in the middle of a spill left the last line without its newline
+        Path spillFile = dir.resolve("spill.log");
+        String complete = FailoverHandler.encode(new Log(LogLevel.INFO, "complete", "TestLogger"));
+        String partial = FailoverHandler.encode(new Log(LogLevel.INFO, "partial", "TestLogger"));
+        Files.writeString(spillFile, complete + "\n" + partial.substring(0, partial.length() / 2));
+
+        FlakySink primary = new FlakySink();
+        primary.down = true;
+        FailoverHandler handler = new FailoverHandler(primary, null, spillFile, new CircuitBreaker(3, 200), 50);
+        handler.publish(new Log(LogLevel.INFO, "after restart", "TestLogger"));
+        List<String> lines = Files.readAllLines(spillFile);
+        assertEquals(2, lines.size());
+        assertEquals(complete, lines.get(0));
+        assertEquals("after restart", FailoverHandler.decode(lines.get(1)).getMessage());
+
+        primary.down = false;
+        waitFor(() -> !Files.exists(spillFile));
+        assertEquals(List.of("complete", "after restart"), primary.messages);
+        assertEquals(0, handler.getPendingSpilledCount());
+        handler.close();
+    }
+
+    @Test
+    public void testOutOfRangeTimestampIsSkipped() {
+        assertNull(FailoverHandler.decode("9223372036854775807\t0\tINFO\tTestLogger\tFoo\tbar\t1\tmessage"));
+    }
+
+    @Test
+    public void testSpillEncodingRoundTrip() {
+        Log original = new Log(LogLevel.ERROR, "line one\n\tline two \\ end", "Test\tLogger",
+                Instant.parse("2024-05-01T12:00:00.000000123Z"), "com.example.Foo", "bar", 17, null);
+
+        Log decoded = FailoverHandler.decode(FailoverHandler.encode(original));
+
+        assertNotNull(decoded);
+        assertEquals(original.getMessage(), decoded.getMessage());
+        assertEquals(original.getLoggerName(), decoded.getLoggerName());
+        assertEquals(original.getTimestamp(), decoded.getTimestamp());
+        assertEquals(LogLevel.ERROR, decoded.getLevel());
+        assertEquals("com.example.Foo", decoded.getClassName());
+        assertEquals("bar", decoded.getMethodName());
+        assertEquals(17, decoded.getLineNumber());
+    }
+
+    private void waitFor(java.util.function.BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(condition.getAsBoolean(), "Condition not met in time");
+    }
+}
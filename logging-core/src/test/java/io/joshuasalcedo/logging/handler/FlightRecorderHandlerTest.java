@@ -0,0 +1,141 @@
+package io.joshuasalcedo.logging.handler;
+
+import io.joshuasalcedo.logging.core.Log;
+import io.joshuasalcedo.logging.core.LogLevel;
+import io.joshuasalcedo.logging.formatter.Formatter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FlightRecorderHandlerTest {
+
+    // Collects whatever the recorder dumps
+    private static class CapturingHandler implements Handler {
+        final List<Log> published = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void publish(Log record) {
+            published.add(record);
+        }
+
+        @Override
+        public void setFormatter(Formatter formatter) {}
+
+        @Override
+        public void setLevel(LogLevel level) {}
+
+        @Override
+        public LogLevel getLevel() {
+            return LogLevel.DEBUG;
+        }
+
+        @Override
+        public void close() {}
+    }
+
+    @Test
+    public void testErrorDumpsRecentContext() {
+        CapturingHandler sink = new CapturingHandler();
+        FlightRecorderHandler handler = new FlightRecorderHandler(64 * 1024, sink);
+
+        Instant timestamp = Instant.parse("2024-01-01T10:15:30.123456789Z");
+        handler.publish(new Log(LogLevel.DEBUG, "step 1", "TestLogger", timestamp,
+                "com.example.Service", "run", 42, null));
+        handler.publish(new Log(LogLevel.INFO, "step 2", "TestLogger"));
+        assertTrue(sink.published.isEmpty(), "Nothing should be written before a trigger");
+
+        handler.publish(new Log(LogLevel.ERROR, "failed", "TestLogger", new IllegalStateException("boom")));
+
+        assertEquals(3, sink.published.size());
+        Log first = sink.published.get(0);
+        assertEquals("step 1", first.getMessage());
+        assertEquals(LogLevel.DEBUG, first.getLevel());
+        assertEquals(timestamp, first.getTimestamp());
+        assertEquals("com.example.Service", first.getClassName());
+        assertEquals("run", first.getMethodName());
+        assertEquals(42, first.getLineNumber());
+        assertTrue(sink.published.get(2).getMessage().contains("IllegalStateException: boom"));
+        assertEquals(0, handler.getBufferedEventCount());
+
+        handler.close();
+    }
+
+    @Test
+    public void testOldestEntriesAreOverwritten() {
+        CapturingHandler sink = new CapturingHandler();
+        FlightRecorderHandler handler = new FlightRecorderHandler(2048, sink);
+
+        for (int i = 0; i < 500; i++) {
+            handler.publish(new Log(LogLevel.DEBUG, "Message " + i, "TestLogger"));
+        }
+
+        assertTrue(handler.getOverwrittenEventCount() > 0);
+        assertTrue(handler.getUsedBytes() <= handler.getCapacityBytes());
+
+        int dumped = handler.dump("test");
+        assertEquals(dumped, sink.published.size());
+        assertEquals("Message 499", sink.published.get(dumped - 1).getMessage());
+        for (int i = 1; i < dumped; i++) {
+            assertEquals("Message " + (500 - dumped + i), sink.published.get(i).getMessage());
+        }
+
+        handler.close();
+    }
+
+    @Test
+    public void testDumpToFile(@TempDir Path dir) throws Exception {
+        Path dumpFile = dir.resolve("flight.log");
+        FlightRecorderHandler handler = new FlightRecorderHandler(4096, dumpFile);
+        handler.setFormatter(Log::getMessage);
+
+        handler.publish(new Log(LogLevel.DEBUG, "before", "TestLogger"));
+        handler.publish(new Log(LogLevel.CRITICAL, "crash", "TestLogger"));
+
+        List<String> lines = Files.readAllLines(dumpFile);
+        assertEquals(3, lines.size());
+        assertTrue(lines.get(0).startsWith("=== Flight recorder dump"));
+        assertEquals(List.of("before", "crash"), lines.subList(1, 3));
+
+        handler.close();
+    }
+
+    @Test
+    public void testDelegateLevelIsLeftAlone(@TempDir Path dir) throws Exception {
+        Path logFile = dir.resolve("app.log");
+        FileHandler delegate = new FileHandler(logFile.toString());
+        delegate.setFormatter(Log::getMessage);
+        delegate.setLevel(LogLevel.DEBUG);
+        FlightRecorderHandler handler = new FlightRecorderHandler(4096, delegate);
+        handler.setLevel(LogLevel.INFO);
+
+        handler.publish(new Log(LogLevel.DEBUG, "not recorded", "TestLogger"));
+        handler.publish(new Log(LogLevel.INFO, "context", "TestLogger"));
+        handler.publish(new Log(LogLevel.ERROR, "failed", "TestLogger"));
+
+        assertEquals(List.of("context", "failed"), Files.readAllLines(logFile));
+        assertEquals(LogLevel.DEBUG, delegate.getLevel());
+
+        handler.close();
+    }
+
+    @Test
+    public void testCloseDumpsWhatIsLeft() {
+        CapturingHandler sink = new CapturingHandler();
+        FlightRecorderHandler handler = new FlightRecorderHandler(4096, sink);
+
+        handler.publish(new Log(LogLevel.INFO, "pending", "TestLogger"));
+        assertTrue(sink.published.isEmpty());
+        handler.close();
+
+        assertEquals(1, sink.published.size());
+        assertEquals("pending", sink.published.get(0).getMessage());
+        assertEquals(1, handler.getDumpCount());
+    }
+}
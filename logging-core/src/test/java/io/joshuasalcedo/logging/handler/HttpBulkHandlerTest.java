@@ -0,0 +1,154 @@
+package io.joshuasalcedo.logging.handler;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.joshuasalcedo.logging.core.Log;
+import io.joshuasalcedo.logging.core.LogLevel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HttpBulkHandlerTest {
+
+    private HttpServer server;
+    private URI endpoint;
+
+    private final List<String> received = new CopyOnWriteArrayList<>();
+    private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+    private final AtomicInteger failuresToReturn = new AtomicInteger(0);
+    private final AtomicInteger requests = new AtomicInteger(0);
+    private volatile CountDownLatch gate = new CountDownLatch(0);
+
+    @BeforeEach
+    public void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/bulk", this::handle);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+        endpoint = URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/bulk");
+    }
+
+    @AfterEach
+    public void stopServer() {
+        gate.countDown();
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        try {
+            gate.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        int status = 200;
+        if (failuresToReturn.getAndUpdate(n -> Math.max(0, n - 1)) > 0) {
+            status = 503;
+        } else if (!"gzip".equals(exchange.getRequestHeaders().getFirst("Content-Encoding"))
+                || !"application/x-ndjson".equals(exchange.getRequestHeaders().getFirst("Content-Type"))) {
+            status = 400;
+        } else {
+            try (InputStream in = new GZIPInputStream(exchange.getRequestBody())) {
+                String body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+                List<String> lines = body.lines().toList();
+                batchSizes.add(lines.size());
+                received.addAll(lines);
+            }
+        }
+        exchange.sendResponseHeaders(status, -1);
+        exchange.close();
+    }
+
+    private static void waitFor(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("Condition not met in time");
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    private static Log event(int i) {
+        return new Log(LogLevel.INFO, "event " + i, "TestLogger", Instant.now(), "TestClass", "test", 1, null);
+    }
+
+    @Test
+    public void testShipsGzippedNdjsonBatches() {
+        HttpBulkHandler handler = new HttpBulkHandler(endpoint, null, 100, 10, 64 * 1024, 50, 2,
+                OverflowPolicy.BLOCK);
+        for (int i = 0; i < 25; i++) {
+            handler.publish(event(i));
+        }
+        assertTrue(handler.flush(5, TimeUnit.SECONDS));
+        handler.close();
+
+        assertEquals(25, received.size());
+        assertTrue(batchSizes.stream().allMatch(size -> size <= 10), "Batch sizes " + batchSizes);
+        for (String line : received) {
+            assertTrue(line.startsWith("{") && line.endsWith("}"), line);
+        }
+        assertEquals(25, handler.getEventsSent());
+        assertEquals(handler.getBatchesSent(), handler.getBatchSizeHistogram().getCount());
+        assertEquals(25, handler.getBatchSizeHistogram().getSum());
+        assertTrue(handler.getLatencyHistogram().getCount() >= handler.getBatchesSent());
+    }
+
+    @Test
+    public void testRetriesBatchWithoutReordering() {
+        failuresToReturn.set(2);
+        HttpBulkHandler handler = new HttpBulkHandler(endpoint, null, 100, 100, 64 * 1024, 50, 1,
+                OverflowPolicy.BLOCK);
+        for (int i = 0; i < 5; i++) {
+            handler.publish(event(i));
+        }
+        assertTrue(handler.flush(5, TimeUnit.SECONDS));
+        handler.close();
+
+        assertEquals(5, received.size());
+        for (int i = 0; i < 5; i++) {
+            assertTrue(received.get(i).contains("\"message\":\"event " + i + "\""), received.get(i));
+        }
+        assertEquals(2, handler.getRetryCount());
+        assertEquals(0, handler.getDroppedEventCount());
+        assertEquals(3, requests.get());
+    }
+
+    @Test
+    public void testSlowEndpointTriggersOverflowPolicy() {
+        gate = new CountDownLatch(1);
+        HttpBulkHandler handler = new HttpBulkHandler(endpoint, null, 4, 1, 64 * 1024, 0, 1,
+                OverflowPolicy.DROP_NEWEST);
+        for (int i = 0; i < 20; i++) {
+            handler.publish(event(i));
+        }
+        long dropped = handler.getDroppedEventCount();
+        assertTrue(dropped > 0, "Expected drops while the endpoint is stalled");
+        waitFor(() -> handler.getInFlightRequests() == 1);
+
+        gate.countDown();
+        assertTrue(handler.flush(5, TimeUnit.SECONDS));
+        handler.close();
+
+        assertEquals(20, received.size() + dropped);
+        assertTrue(received.get(0).contains("\"message\":\"event 0\""));
+    }
+}
@@ -0,0 +1,125 @@
+package io.joshuasalcedo.logging.handler;
+
+import io.joshuasalcedo.logging.core.Log;
+import io.joshuasalcedo.logging.core.LogLevel;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JLineHandlerTest {
+
+    // Both streams land in one buffer, in the order they were written
+    private final ByteArrayOutputStream terminal = new ByteArrayOutputStream();
+
+    private PrintStream stream(String tag) {
+        return new PrintStream(new OutputStream() {
+            // A line may reach us in more than one write; tag it only where it starts
+            private boolean lineStart = true;
+
+            @Override
+            public void write(int b) {
+                write(new byte[] {(byte) b}, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] bytes, int offset, int length) {
+                synchronized (terminal) {
+                    String text = new String(bytes, offset, length);
+                    for (String line : text.split("(?<=\n)")) {
+                        terminal.writeBytes(((lineStart ? tag : "") + line).getBytes());
+                        lineStart = line.endsWith("\n");
+                    }
+                }
+            }
+        }, true);
+    }
+
+    private JLineHandler handler() {
+        JLineHandler handler = new JLineHandler(stream("out:"), stream("err:"));
+        handler.setFormatter(Log::getMessage);
+        handler.setLevel(LogLevel.DEBUG);
+        return handler;
+    }
+
+    private List<String> lines() {
+        synchronized (terminal) {
+            return terminal.toString().lines().toList();
+        }
+    }
+
+    @Test
+    public void testErrorLinesKeepTheirPlaceInAFrame() throws Exception {
+        JLineHandler handler = handler();
+        handler.enableAsyncRendering(1024, 2);
+
+        // The first line renders at once; the rest wait for the next frame together
+        handler.publish(new Log(LogLevel.INFO, "first", "TestLogger"));
+        Thread.sleep(50);
+        handler.publish(new Log(LogLevel.INFO, "before", "TestLogger"));
+        handler.publish(new Log(LogLevel.ERROR, "failed", "TestLogger"));
+        handler.publish(new Log(LogLevel.INFO, "after", "TestLogger"));
+        handler.close();
+
+        assertEquals(List.of("out:first", "out:before", "err:failed", "out:after"), lines());
+    }
+
+    @Test
+    public void testOverflowIsDroppedAndReported() throws Exception {
+        JLineHandler handler = handler();
+        handler.enableAsyncRendering(2, 1);
+
+        handler.publish(new Log(LogLevel.INFO, "first", "TestLogger"));
+        Thread.sleep(50);
+        for (int i = 0; i < 5; i++) {
+            handler.publish(new Log(LogLevel.INFO, "line " + i, "TestLogger"));
+        }
+        assertEquals(3, handler.getDroppedLineCount());
+        handler.close();
+
+        assertEquals(List.of("out:first", "out:line 0", "out:line 1",
+                "out:JLineHandler dropped 3 log lines: terminal could not keep up"), lines());
+    }
+
+    @Test
+    public void testNothingIsLostWhileRenderingStops() throws Exception {
+        JLineHandler handler = handler();
+        handler.enableAsyncRendering(100_000, 30);
+
+        int perThread = 2_000;
+        List<Thread> producers = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            String name = "t" + t;
+            Thread producer = new Thread(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    handler.publish(new Log(LogLevel.INFO, name + " " + i, "TestLogger"));
+                }
+            });
+            producers.add(producer);
+            producer.start();
+        }
+        Thread.sleep(5);
+        handler.close();
+        for (Thread producer : producers) {
+            producer.join();
+        }
+
+        assertEquals(0, handler.getDroppedLineCount());
+        assertFalse(handler.isAsyncRendering());
+        List<String> lines = lines();
+        assertEquals(4 * perThread, lines.size());
+        // Lines written directly after the last frame never overtake queued ones
+        for (int t = 0; t < 4; t++) {
+            String prefix = "out:t" + t + " ";
+            List<String> own = lines.stream().filter(line -> line.startsWith(prefix)).toList();
+            for (int i = 0; i < perThread; i++) {
+                assertEquals(prefix + i, own.get(i));
+            }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package io.joshuasalcedo.logging.handler;
+
+import io.joshuasalcedo.logging.core.Log;
+import io.joshuasalcedo.logging.core.LogLevel;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RoutingFileHandlerTest {
+
+    @Test
+    public void testRoutesByLoggerPrefix(@TempDir Path dir) throws Exception {
+        RoutingFileHandler handler = RoutingFileHandler.byLoggerPrefix(dir, 3);
+        handler.setFormatter(Log::getMessage);
+
+        handler.publish(new Log(LogLevel.INFO, "order created", "com.shop.orders.OrderService"));
+        handler.publish(new Log(LogLevel.INFO, "payment taken", "com.shop.payments.Gateway"));
+        handler.publish(new Log(LogLevel.INFO, "order shipped", "com.shop.orders.Shipping"));
+        handler.publish(new Log(LogLevel.DEBUG, "ignored", "com.shop.orders.Shipping"));
+        handler.close();
+
+        assertEquals(List.of("order created", "order shipped"), Files.readAllLines(dir.resolve("com.shop.orders.log")));
+        assertEquals(2, handler.getFilesOpened());
+    }
+
+    @Test
+    public void testOpenFilesBoundedByLru(@TempDir Path dir) throws Exception {
+        RoutingFileHandler handler = new RoutingFileHandler(dir, Log::getLoggerName, 2, 1024, 1000, 60_000);
+        handler.setFormatter(Log::getMessage);
+
+        for (int round = 0; round < 3; round++) {
+            for (String tenant : List.of("a", "b", "c", "d")) {
+                handler.publish(new Log(LogLevel.INFO, tenant + round, tenant));
+                assertTrue(handler.getOpenFileCount() <= 2);
+            }
+        }
+        handler.close();
+
+        assertTrue(handler.getFilesEvicted() > 0);
+        for (String tenant : List.of("a", "b", "c", "d")) {
+            assertEquals(List.of(tenant + 0, tenant + 1, tenant + 2), Files.readAllLines(dir.resolve(tenant + ".log")));
+        }
+    }
+
+    @Test
+    public void testUnsafeKeysStayInDirectory(@TempDir Path dir) throws Exception {
+        RoutingFileHandler handler = new RoutingFileHandler(dir, record -> "../escape/x");
+        handler.setFormatter(Log::getMessage);
+
+        handler.publish(new Log(LogLevel.ERROR, "contained", "TestLogger"));
+        assertEquals(List.of("contained"), Files.readAllLines(dir.resolve(".._escape_x.log")));
+
+        handler.close();
+    }
+
+    @Test
+    public void testFailedFileIsReopened(@TempDir Path dir) throws Exception {
+        RoutingFileHandler handler = new RoutingFileHandler(dir, record -> "app");
+        handler.setFormatter(Log::getMessage);
+        handler.publish(new Log(LogLevel.ERROR, "first", "TestLogger"));
+
+        // An interrupt during the write closes the file's channel for good
+        Thread interrupted = new Thread(() -> {
+            Thread.currentThread().interrupt();
+            handler.publish(new Log(LogLevel.ERROR, "lost", "TestLogger"));
+        });
+        interrupted.start();
+        interrupted.join();
+
+        handler.publish(new Log(LogLevel.ERROR, "after", "TestLogger"));
+        handler.close();
+
+        assertEquals(List.of("first", "after"), Files.readAllLines(dir.resolve("app.log")));
+        assertEquals(2, handler.getFilesOpened());
+    }
+}
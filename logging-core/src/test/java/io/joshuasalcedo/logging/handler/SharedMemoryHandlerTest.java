@@ -0,0 +1,92 @@
+package io.joshuasalcedo.logging.handler;
+
+import io.joshuasalcedo.logging.core.Log;
+import io.joshuasalcedo.logging.core.LogLevel;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SharedMemoryHandlerTest {
+
+    @Test
+    public void testRecordsArriveInOrderAcrossWrap(@TempDir Path dir) throws Exception {
+        Path ringFile = dir.resolve("ring");
+        Path doorbell = dir.resolve("doorbell.sock");
+        SharedMemoryHandler handler = new SharedMemoryHandler(ringFile, doorbell, 4096);
+        handler.setFormatter(Log::getMessage);
+
+        List<String> received = new ArrayList<>();
+        try (SharedMemoryRingReader reader = new SharedMemoryRingReader(ringFile, doorbell)) {
+            // Several passes over a small ring force padding records at the wrap point
+            for (int i = 0; i < 1000; i++) {
+                handler.publish(new Log(LogLevel.INFO, "Message " + i, "TestLogger"));
+                if (i % 50 == 49) {
+                    reader.poll(payload -> received.add(new String(payload, StandardCharsets.UTF_8)), 100);
+                }
+            }
+            reader.poll(payload -> received.add(new String(payload, StandardCharsets.UTF_8)), 100);
+            assertEquals(0, reader.getLagBytes());
+        }
+
+        assertEquals(1000, received.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals("Message " + i, received.get(i));
+        }
+        assertEquals(0, handler.getDroppedEventCount());
+        handler.close();
+    }
+
+    @Test
+    public void testDropsWhenReaderFallsBehind(@TempDir Path dir) throws Exception {
+        Path ringFile = dir.resolve("ring");
+        SharedMemoryHandler handler = new SharedMemoryHandler(ringFile, dir.resolve("doorbell.sock"), 1024);
+        handler.setFormatter(Log::getMessage);
+
+        for (int i = 0; i < 200; i++) {
+            handler.publish(new Log(LogLevel.INFO, "Message " + i, "TestLogger"));
+        }
+
+        assertTrue(handler.getDroppedEventCount() > 0);
+        assertEquals(200, handler.getEventsWritten() + handler.getDroppedEventCount());
+        assertTrue(handler.getPendingBytes() <= 1024);
+        handler.close();
+    }
+
+    @Test
+    public void testDoorbellWakesWaitingReader(@TempDir Path dir) throws Exception {
+        Path ringFile = dir.resolve("ring");
+        Path doorbell = dir.resolve("doorbell.sock");
+        SharedMemoryHandler handler = new SharedMemoryHandler(ringFile, doorbell, 4096);
+        handler.setFormatter(Log::getMessage);
+
+        try (SharedMemoryRingReader reader = new SharedMemoryRingReader(ringFile, doorbell)) {
+            Thread producer = new Thread(() -> {
+                try {
+                    Thread.sleep(200);
+                } catch (InterruptedException ignored) {
+                    return;
+                }
+                handler.publish(new Log(LogLevel.WARN, "wake up", "TestLogger"));
+            });
+            producer.start();
+
+            long start = System.nanoTime();
+            assertTrue(reader.await(10, TimeUnit.SECONDS));
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5), "Reader slept through the doorbell");
+            producer.join();
+
+            List<String> received = new ArrayList<>();
+            reader.poll(payload -> received.add(new String(payload, StandardCharsets.UTF_8)), 10);
+            assertEquals(List.of("wake up"), received);
+            assertEquals(1, handler.getDoorbellCount());
+        }
+        handler.close();
+    }
+}
@@ -0,0 +1,154 @@
+package io.joshuasalcedo.logging.handler;
+
+import io.joshuasalcedo.logging.core.Log;
+import io.joshuasalcedo.logging.core.LogLevel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SocketHandlerTest {
+
+    private ServerSocketChannel server;
+    private final List<String> received = new CopyOnWriteArrayList<>();
+    private Thread acceptor;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        server = ServerSocketChannel.open();
+        server.bind(new InetSocketAddress("127.0.0.1", 0));
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        server.close();
+        if (acceptor != null) {
+            acceptor.join(1000);
+        }
+    }
+
+    // Stand-in collector: decode length-prefixed frames from every accepted connection
+    private void startCollector() {
+        acceptor = new Thread(() -> {
+            try {
+                while (server.isOpen()) {
+                    SocketChannel client = server.accept();
+                    Thread reader = new Thread(() -> readFrames(client));
+                    reader.setDaemon(true);
+                    reader.start();
+                }
+            } catch (IOException ignored) {
+                // Server closed
+            }
+        });
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    private void readFrames(SocketChannel client) {
+        try (DataInputStream in = new DataInputStream(Channels.newInputStream(client))) {
+            while (true) {
+                byte[] payload = new byte[in.readInt()];
+                in.readFully(payload);
+                received.add(new String(payload, StandardCharsets.UTF_8));
+            }
+        } catch (EOFException ignored) {
+            // Connection closed
+        } catch (IOException ignored) {
+            // Connection reset
+        }
+    }
+
+    private InetSocketAddress serverAddress() throws IOException {
+        return (InetSocketAddress) server.getLocalAddress();
+    }
+
+    @Test
+    public void testFramesArriveInOrder() throws Exception {
+        startCollector();
+        SocketHandler handler = new SocketHandler(serverAddress(), 1000, 512);
+        handler.setFormatter(Log::getMessage);
+
+        for (int i = 0; i < 200; i++) {
+            handler.publish(new Log(LogLevel.INFO, "Message " + i, "TestLogger"));
+        }
+
+        assertTrue(handler.flush(5, TimeUnit.SECONDS), "Buffered events were not sent in time");
+        waitFor(() -> received.size() == 200);
+
+        for (int i = 0; i < 200; i++) {
+            assertEquals("Message " + i, received.get(i));
+        }
+        assertEquals(200, handler.getEventsSent());
+        assertTrue(handler.getBytesSent() > 200 * 4L);
+
+        handler.close();
+    }
+
+    @Test
+    public void testLevelFiltering() throws Exception {
+        startCollector();
+        SocketHandler handler = new SocketHandler(serverAddress(), 100, 1024);
+        handler.setFormatter(Log::getMessage);
+        handler.setLevel(LogLevel.WARN);
+
+        handler.publish(new Log(LogLevel.INFO, "ignored", "TestLogger"));
+        handler.publish(new Log(LogLevel.ERROR, "kept", "TestLogger"));
+
+        assertTrue(handler.flush(5, TimeUnit.SECONDS));
+        waitFor(() -> received.size() == 1);
+        assertEquals(List.of("kept"), received);
+
+        handler.close();
+    }
+
+    @Test
+    public void testBuffersWhileCollectorUnavailable() throws Exception {
+        // Collector is down: connections to the port are refused
+        InetSocketAddress address = serverAddress();
+        server.close();
+
+        SocketHandler handler = new SocketHandler(address, 50, 1024);
+        handler.setFormatter(Log::getMessage);
+
+        for (int i = 0; i < 80; i++) {
+            handler.publish(new Log(LogLevel.INFO, "Message " + i, "TestLogger"));
+        }
+
+        assertFalse(handler.isConnected());
+        assertEquals(30, handler.getDroppedEventCount(), "Oldest events should be discarded when full");
+
+        // Collector comes back on the same port
+        server = ServerSocketChannel.open();
+        server.bind(address);
+        startCollector();
+
+        assertTrue(handler.flush(10, TimeUnit.SECONDS), "Events were not delivered after reconnect");
+        waitFor(() -> received.size() == 50);
+        assertEquals("Message 30", received.get(0));
+        assertEquals("Message 79", received.get(49));
+
+        handler.close();
+    }
+
+    private void waitFor(java.util.function.BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(condition.getAsBoolean(), "Condition not met in time");
+    }
+}
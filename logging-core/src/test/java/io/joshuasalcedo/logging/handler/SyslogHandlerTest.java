@@ -0,0 +1,166 @@
+package io.joshuasalcedo.logging.handler;
+
+import io.joshuasalcedo.logging.core.Log;
+import io.joshuasalcedo.logging.core.LogLevel;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SyslogHandlerTest {
+
+    private static final String RFC5424_PATTERN =
+            "<\\d+>1 \\d{4}-\\d{2}-\\d{2}T\\d{2}:\\d{2}:\\d{2}\\.\\d{6}Z \\S+ test-app \\d+ - - .*";
+
+    @Test
+    public void testUdpMessagesUsePrecomputedHeader() throws IOException {
+        try (DatagramChannel receiver = DatagramChannel.open()) {
+            receiver.bind(new InetSocketAddress("127.0.0.1", 0));
+            InetSocketAddress address = (InetSocketAddress) receiver.getLocalAddress();
+
+            SyslogHandler handler = new SyslogHandler(SyslogHandler.Transport.UDP, address, "test-app",
+                    SyslogHandler.FACILITY_LOCAL0);
+            handler.setFormatter(Log::getMessage);
+            handler.setLevel(LogLevel.DEBUG);
+
+            handler.publish(new Log(LogLevel.ERROR, "disk full", "TestLogger"));
+            handler.publish(new Log(LogLevel.DEBUG, "cache miss", "TestLogger"));
+
+            String error = receive(receiver);
+            String debug = receive(receiver);
+
+            // local0 (16) * 8 + error (3) / debug (7)
+            assertTrue(error.startsWith("<131>1 "), error);
+            assertTrue(debug.startsWith("<135>1 "), debug);
+            assertTrue(error.matches(RFC5424_PATTERN), error);
+            assertTrue(error.endsWith(" - - disk full"), error);
+            assertEquals(2, handler.getMessagesSent());
+
+            handler.close();
+        }
+    }
+
+    @Test
+    public void testUdpBatchSendsOneDatagramPerMessage() throws IOException {
+        try (DatagramChannel receiver = DatagramChannel.open()) {
+            receiver.bind(new InetSocketAddress("127.0.0.1", 0));
+
+            SyslogHandler handler = new SyslogHandler(SyslogHandler.Transport.UDP, receiver.getLocalAddress(),
+                    "test-app", SyslogHandler.FACILITY_USER, 10, 2048);
+            handler.setFormatter(Log::getMessage);
+
+            for (int i = 0; i < 3; i++) {
+                handler.publish(new Log(LogLevel.INFO, "Message " + i, "TestLogger"));
+            }
+            assertEquals(0, handler.getMessagesSent(), "Batch should be held until flushed");
+
+            handler.flush();
+            for (int i = 0; i < 3; i++) {
+                assertTrue(receive(receiver).endsWith("Message " + i));
+            }
+
+            handler.close();
+        }
+    }
+
+    @Test
+    public void testTruncationKeepsWholeCharacters() throws IOException {
+        try (DatagramChannel receiver = DatagramChannel.open()) {
+            receiver.bind(new InetSocketAddress("127.0.0.1", 0));
+
+            SyslogHandler handler = new SyslogHandler(SyslogHandler.Transport.UDP, receiver.getLocalAddress(),
+                    "test-app", SyslogHandler.FACILITY_USER, 1, 480);
+            handler.setFormatter(Log::getMessage);
+
+            // Three-byte characters, shifted so at least one cut falls inside a character
+            String euros = "\u20ac".repeat(500);
+            for (String prefix : List.of("", "a", "aa")) {
+                handler.publish(new Log(LogLevel.INFO, prefix + euros, "TestLogger"));
+                handler.flush();
+
+                ByteBuffer datagram = ByteBuffer.allocate(4096);
+                receiver.receive(datagram);
+                datagram.flip();
+                int length = datagram.remaining();
+                assertTrue(length <= 480 && length > 477, "Datagram of " + length + " bytes");
+                try {
+                    String text = StandardCharsets.UTF_8.newDecoder()
+                            .onMalformedInput(CodingErrorAction.REPORT)
+                            .decode(datagram)
+                            .toString();
+                    assertTrue(text.endsWith("\u20ac"), text);
+                } catch (CharacterCodingException e) {
+                    fail("Message was cut inside a character: " + e);
+                }
+            }
+
+            handler.close();
+        }
+    }
+
+    @Test
+    public void testUnixStreamUsesOctetCounting(@TempDir Path tempDir) throws Exception {
+        Path socketPath = tempDir.resolve("syslog.sock");
+        try (ServerSocketChannel server = ServerSocketChannel.open(StandardProtocolFamily.UNIX)) {
+            server.bind(UnixDomainSocketAddress.of(socketPath));
+
+            SyslogHandler handler = new SyslogHandler(SyslogHandler.Transport.UNIX_STREAM,
+                    UnixDomainSocketAddress.of(socketPath), "test-app", SyslogHandler.FACILITY_USER, 4, 2048);
+            handler.setFormatter(Log::getMessage);
+
+            for (int i = 0; i < 4; i++) {
+                handler.publish(new Log(LogLevel.WARN, "Message " + i, "TestLogger"));
+            }
+
+            try (SocketChannel client = server.accept();
+                 InputStream in = Channels.newInputStream(client)) {
+                List<String> frames = new ArrayList<>();
+                for (int i = 0; i < 4; i++) {
+                    frames.add(readOctetCountedFrame(in));
+                }
+
+                for (int i = 0; i < 4; i++) {
+                    assertTrue(frames.get(i).startsWith("<12>1 "), frames.get(i));
+                    assertTrue(frames.get(i).matches(RFC5424_PATTERN), frames.get(i));
+                    assertTrue(frames.get(i).endsWith("Message " + i));
+                }
+            }
+
+            handler.close();
+        }
+    }
+
+    private static String receive(DatagramChannel receiver) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(4096);
+        receiver.receive(buffer);
+        buffer.flip();
+        return StandardCharsets.UTF_8.decode(buffer).toString();
+    }
+
+    private static String readOctetCountedFrame(InputStream in) throws IOException {
+        int length = 0;
+        int c;
+        while ((c = in.read()) != ' ') {
+            assertTrue(c >= '0' && c <= '9', "Expected octet count");
+            length = length * 10 + (c - '0');
+        }
+        return new String(in.readNBytes(length), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,90 @@
+package io.joshuasalcedo.logging.handler;
+
+import io.joshuasalcedo.logging.core.Log;
+import io.joshuasalcedo.logging.core.LogLevel;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TimeIndexedLogReaderTest {
+
+    private static final Instant BASE = Instant.parse("2024-03-01T00:00:00Z");
+
+    // Lines look like "<epoch millis> message"
+    private static final Function<String, Instant> PARSER =
+            line -> Instant.ofEpochMilli(Long.parseLong(line.substring(0, line.indexOf(' '))));
+
+    private static Log at(long second, String message) {
+        return new Log(LogLevel.INFO, message, "TestLogger", BASE.plusSeconds(second),
+                "TestClass", "test", 1, null);
+    }
+
+    private static FileHandler indexedHandler(Path file) throws Exception {
+        FileHandler handler = new FileHandler(file.toString());
+        handler.setFormatter(record -> record.getTimestamp().toEpochMilli() + " " + record.getMessage());
+        handler.enableTimeIndex(256, 10_000);
+        return handler;
+    }
+
+    @Test
+    public void testSeeksIntoWindow(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("app.log");
+        FileHandler handler = indexedHandler(file);
+        for (int i = 0; i < 3600; i++) {
+            handler.publish(at(i, "event " + i));
+        }
+        handler.close();
+
+        TimeIndexedLogReader reader = new TimeIndexedLogReader(List.of(file), PARSER);
+        List<String> lines = new ArrayList<>();
+        reader.read(BASE.plusSeconds(1800), BASE.plusSeconds(1919), lines::add);
+
+        assertEquals(120, lines.size());
+        assertTrue(lines.get(0).endsWith(" event 1800"));
+        assertTrue(lines.get(119).endsWith(" event 1919"));
+
+        // The sparse index lands close to the window instead of at the start of the file
+        long offset = reader.seek(file, BASE.plusSeconds(1800));
+        assertTrue(offset > 0 && offset < Files.size(file));
+        String firstLine = Files.readString(file).substring((int) offset).lines().findFirst().orElseThrow();
+        long firstSecond = (PARSER.apply(firstLine).toEpochMilli() - BASE.toEpochMilli()) / 1000;
+        assertTrue(firstSecond <= 1800 && firstSecond > 1780, "Seeked to second " + firstSecond);
+    }
+
+    @Test
+    public void testReadsAcrossRolledSegments(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("app.log");
+
+        // First segment, then rolled aside together with its index
+        FileHandler first = indexedHandler(file);
+        for (int i = 0; i < 100; i++) {
+            first.publish(at(i, "old " + i));
+        }
+        first.close();
+        Files.move(file, dir.resolve("app.log.1"));
+        Files.move(dir.resolve("app.log.idx"), dir.resolve("app.log.1.idx"));
+
+        FileHandler second = indexedHandler(file);
+        for (int i = 100; i < 200; i++) {
+            second.publish(at(i, "new " + i));
+        }
+        second.close();
+
+        List<String> lines = new ArrayList<>();
+        TimeIndexedLogReader.forFile(file, PARSER).read(BASE.plusSeconds(95), BASE.plusSeconds(104), lines::add);
+
+        assertEquals(10, lines.size());
+        assertTrue(lines.get(0).endsWith(" old 95"));
+        assertTrue(lines.get(4).endsWith(" old 99"));
+        assertTrue(lines.get(5).endsWith(" new 100"));
+        assertTrue(lines.get(9).endsWith(" new 104"));
+    }
+}
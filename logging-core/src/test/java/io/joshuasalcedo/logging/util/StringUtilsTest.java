@@ -0,0 +1,30 @@
+package io.joshuasalcedo.logging.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StringUtilsTest {
+
+    @Test
+    public void testEncodedLengthMatchesEncoding() {
+        String[] samples = {
+            "",
+            "plain ascii",
+            "café über",
+            "日本語のログ",
+            "emoji 🚀 and 🐛",
+            "lone \ud83d surrogate and \ude80 too",
+            "trailing high \ud83d"
+        };
+        for (Charset charset : new Charset[] {StandardCharsets.UTF_8, StandardCharsets.ISO_8859_1, StandardCharsets.UTF_16}) {
+            for (String sample : samples) {
+                assertEquals(sample.getBytes(charset).length, StringUtils.encodedLength(sample, charset),
+                        charset + ": " + sample);
+            }
+        }
+    }
+}
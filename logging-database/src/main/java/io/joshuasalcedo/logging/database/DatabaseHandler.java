@@ -7,9 +7,13 @@ import io.joshuasalcedo.logging.core.LogLevel;
 import io.joshuasalcedo.logging.formatter.Formatter;
 import io.joshuasalcedo.logging.formatter.SimpleFormatter;
 import io.joshuasalcedo.logging.handler.Handler;
+import io.joshuasalcedo.logging.util.MetricsBridge;
 
+import java.nio.charset.StandardCharsets;
 import java.sql.SQLException;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.Executors;
@@ -26,6 +30,7 @@ public class DatabaseHandler implements Handler {
     private final AtomicLong totalLogsWritten = new AtomicLong(0);
     private final AtomicLong totalErrors = new AtomicLong(0);
     private volatile boolean healthy = true;
+    private volatile boolean propagateErrors = false;
     private ScheduledExecutorService cleanupExecutor;
     
     // Constructors
@@ -76,33 +81,116 @@ public class DatabaseHandler implements Handler {
         }
         
         try {
+            long start = System.nanoTime();
             logRepository.save(record);
+            long blockedNanos = System.nanoTime() - start;
             totalLogsWritten.incrementAndGet();
             
+            // One INSERT per record, committed with it under autocommit
+            if (MetricsBridge.isEnabled()) {
+                MetricsBridge.recordHandlerWrite(getClass().getSimpleName(), estimateRowBytes(record), 1, blockedNanos);
+            }
+            
             // Reset healthy status if we were previously unhealthy
             if (!healthy) {
                 healthy = true;
             }
             
         } catch (SQLException e) {
-            totalErrors.incrementAndGet();
-            healthy = false;
+            handleSaveFailure(e, List.of(record));
+        }
+    }
+    
+    /**
+     * Insert the batch with one JDBC batch and one commit instead of a
+     * statement and commit per record. A failure rolls back the whole batch.
+     */
+    @Override
+    public synchronized void publishBatch(List<Log> records) {
+        List<Log> accepted = new ArrayList<>(records.size());
+        for (Log record : records) {
+            if (record.getLevel().getValue() >= level.getValue()) {
+                accepted.add(record);
+            }
+        }
+        if (accepted.isEmpty()) {
+            return;
+        }
+        
+        try {
+            long start = System.nanoTime();
+            logRepository.saveAll(accepted);
+            long blockedNanos = System.nanoTime() - start;
+            totalLogsWritten.addAndGet(accepted.size());
             
-            // Log error with context
-            String errorMsg = String.format(
-                "Failed to save log to database [%s]: %s. Total errors: %d",
-                config.getDatabaseName(), e.getMessage(), totalErrors.get()
-            );
-            System.err.println(errorMsg);
+            if (MetricsBridge.isEnabled()) {
+                long bytes = 0;
+                for (Log record : accepted) {
+                    bytes += estimateRowBytes(record);
+                }
+                MetricsBridge.recordHandlerWrite(getClass().getSimpleName(), bytes, accepted.size(), blockedNanos);
+            }
             
-            // Fallback to stderr if database fails
-            System.err.println("Fallback log: " + formatter.format(record));
+            if (!healthy) {
+                healthy = true;
+            }
             
-            // Optionally try to reconnect on certain errors
+        } catch (SQLException e) {
+            handleSaveFailure(e, accepted);
+        }
+    }
+    
+    private void handleSaveFailure(SQLException e, List<Log> records) {
+        totalErrors.incrementAndGet();
+        healthy = false;
+        
+        // Log error with context
+        String errorMsg = String.format(
+            "Failed to save %s to database [%s]: %s. Total errors: %d",
+            records.size() == 1 ? "log" : records.size() + " logs",
+            config.getDatabaseName(), e.getMessage(), totalErrors.get()
+        );
+        
+        // Let a wrapping handler (e.g. FailoverHandler) decide where the records go
+        if (propagateErrors) {
             if (isConnectionError(e)) {
                 tryReconnect();
             }
+            throw new IllegalStateException(errorMsg, e);
+        }
+        
+        System.err.println(errorMsg);
+        
+        // Fallback to stderr if database fails
+        for (Log record : records) {
+            System.err.println("Fallback log: " + formatter.format(record));
+        }
+        
+        // Optionally try to reconnect on certain errors
+        if (isConnectionError(e)) {
+            tryReconnect();
+        }
+    }
+    
+    /**
+     * Approximate row size: UTF-8 length of the text columns plus the fixed-width ones.
+     * The stack trace column is left out rather than rendering it a second time.
+     */
+    private static long estimateRowBytes(Log record) {
+        long bytes = 4 + 8 + 4; // level_value, timestamp, line_number
+        bytes += utf8Length(record.getLevel().name());
+        bytes += utf8Length(record.getMessage());
+        bytes += utf8Length(record.getLoggerName());
+        bytes += utf8Length(record.getClassName());
+        bytes += utf8Length(record.getMethodName());
+        if (record.getThrowable() != null) {
+            bytes += utf8Length(record.getThrowable().getMessage());
         }
+        return bytes;
+    }
+    
+    private static int utf8Length(String value) {
+        return value != null ? value.getBytes(StandardCharsets.UTF_8).length : 0;
     }
     
     private boolean isConnectionError(SQLException e) {
@@ -159,6 +247,18 @@ public class DatabaseHandler implements Handler {
         return level;
     }
     
+    /**
+     * Throw from publish when a record cannot be saved instead of falling back
+     * to stderr, so a FailoverHandler can route it elsewhere
+     */
+    public void setPropagateErrors(boolean propagateErrors) {
+        this.propagateErrors = propagateErrors;
+    }
+    
+    public boolean isPropagateErrors() {
+        return propagateErrors;
+    }
+    
     @Override
     public void close() {
         try {
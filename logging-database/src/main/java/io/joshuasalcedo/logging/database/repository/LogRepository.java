@@ -297,31 +297,74 @@ public class LogRepository {
     }
     
     public void save(Log log) throws SQLException {
-        String sql = """
+        try (PreparedStatement stmt = connection.prepareStatement(insertSql())) {
+            bindInsert(stmt, log);
+            stmt.executeUpdate();
+        }
+    }
+    
+    /**
+     * Insert all logs as one JDBC batch. Under autocommit the batch runs in a
+     * single transaction, so either every row is stored or none is.
+     */
+    public void saveAll(List<Log> logs) throws SQLException {
+        if (logs.isEmpty()) {
+            return;
+        }
+        
+        boolean autoCommit = connection.getAutoCommit();
+        if (autoCommit) {
+            connection.setAutoCommit(false);
+        }
+        try (PreparedStatement stmt = connection.prepareStatement(insertSql())) {
+            for (Log log : logs) {
+                bindInsert(stmt, log);
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+            if (autoCommit) {
+                connection.commit();
+            }
+        } catch (SQLException e) {
+            if (autoCommit) {
+                try {
+                    connection.rollback();
+                } catch (SQLException rollbackFailure) {
+                    e.addSuppressed(rollbackFailure);
+                }
+            }
+            throw e;
+        } finally {
+            if (autoCommit) {
+                connection.setAutoCommit(true);
+            }
+        }
+    }
+    
+    private String insertSql() {
+        return """
             INSERT INTO %s (level, level_value, message, logger_name, timestamp, 
                            class_name, method_name, line_number, throwable_message, throwable_stack_trace)
             VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
             """.formatted(tableName);
+    }
+    
+    private void bindInsert(PreparedStatement stmt, Log log) throws SQLException {
+        stmt.setString(1, log.getLevel().name());
+        stmt.setInt(2, log.getLevel().getValue());
+        stmt.setString(3, log.getMessage());
+        stmt.setString(4, log.getLoggerName());
+        stmt.setTimestamp(5, Timestamp.from(log.getTimestamp()));
+        stmt.setString(6, log.getClassName());
+        stmt.setString(7, log.getMethodName());
+        stmt.setInt(8, log.getLineNumber());
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, log.getLevel().name());
-            stmt.setInt(2, log.getLevel().getValue());
-            stmt.setString(3, log.getMessage());
-            stmt.setString(4, log.getLoggerName());
-            stmt.setTimestamp(5, Timestamp.from(log.getTimestamp()));
-            stmt.setString(6, log.getClassName());
-            stmt.setString(7, log.getMethodName());
-            stmt.setInt(8, log.getLineNumber());
-            
-            if (log.getThrowable() != null) {
-                stmt.setString(9, log.getThrowable().getMessage());
-                stmt.setString(10, getStackTraceAsString(log.getThrowable()));
-            } else {
-                stmt.setNull(9, Types.CLOB);
-                stmt.setNull(10, Types.CLOB);
-            }
-            
-            stmt.executeUpdate();
+        if (log.getThrowable() != null) {
+            stmt.setString(9, log.getThrowable().getMessage());
+            stmt.setString(10, getStackTraceAsString(log.getThrowable()));
+        } else {
+            stmt.setNull(9, Types.CLOB);
+            stmt.setNull(10, Types.CLOB);
         }
     }
     
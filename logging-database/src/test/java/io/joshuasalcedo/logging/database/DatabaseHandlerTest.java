@@ -105,6 +105,27 @@ public class DatabaseHandlerTest {
         assertEquals(LogLevel.WARN, records.get(0).level());
     }
     
+    @Test
+    public void testPublishBatchFiltersAndSavesTogether() throws SQLException {
+        handler.setLevel(LogLevel.WARN);
+        
+        handler.publishBatch(List.of(
+            new Log(LogLevel.WARN, "First warning", "TestLogger"),
+            new Log(LogLevel.INFO, "Filtered out", "TestLogger"),
+            new Log(LogLevel.ERROR, "Failure", "TestLogger", new RuntimeException("Batch exception")),
+            new Log(LogLevel.WARN, "Second warning", "TestLogger")
+        ));
+        
+        assertEquals(3, repository.count());
+        assertEquals(3, handler.getTotalLogsWritten());
+        assertEquals(1, repository.findWithThrowables(10).size());
+        assertTrue(repository.findByMessageContaining("Filtered").isEmpty());
+        
+        // Autocommit is restored for single inserts afterwards
+        handler.publish(new Log(LogLevel.WARN, "After batch", "TestLogger"));
+        assertEquals(4, repository.count());
+    }
+    
     @Test
     public void testSearchByCriteria() throws SQLException {
         // Set handler to accept all levels
@@ -136,6 +136,52 @@ public class LoggingMetrics {
         collector.recordAsyncLatency(latencyNanos);
     }
     
+    /**
+     * Record enqueue-to-delivery latency of a sampled record through a named async queue
+     */
+    public void recordAsyncLatency(String queueName, long latencyNanos) {
+        collector.recordAsyncLatency(queueName, latencyNanos);
+    }
+    
+    /**
+     * Record one drain of a named async queue: depth found, records taken,
+     * worker busy and idle time, and producer time blocked since the last drain
+     */
+    public void recordAsyncDrain(String queueName, int depth, int batchSize,
+                                 long busyNanos, long idleNanos, long producerBlockedNanos) {
+        collector.recordAsyncDrain(queueName, depth, batchSize, busyNanos, idleNanos, producerBlockedNanos);
+    }
+    
+    /**
+     * Record events and bytes written by an output handler
+     */
+    public void recordHandlerOutput(String handlerName, long events, long bytes) {
+        collector.recordHandlerOutput(handlerName, events, bytes);
+    }
+    
+    /**
+     * Record one write call into an output handler's sink and the time it blocked
+     */
+    public void recordHandlerWrite(String handlerName, long bytes, long events, long blockedNanos) {
+        collector.recordHandlerWrite(handlerName, bytes, events, blockedNanos);
+    }
+    
+    /**
+     * Record one flush of an output handler's sink and the time it blocked
+     */
+    public void recordHandlerFlush(String handlerName, long blockedNanos) {
+        collector.recordHandlerFlush(handlerName, blockedNanos);
+    }
+    
+    /**
+     * Record a write into an output handler's sink followed by its flush
+     */
+    public void recordHandlerWriteAndFlush(String handlerName, long bytes, long events,
+                                           long writeNanos, long flushNanos) {
+        collector.recordHandlerWrite(handlerName, bytes, events, writeNanos);
+        collector.recordHandlerFlush(handlerName, flushNanos);
+    }
+    
     
     /**
      * Get comprehensive logging statistics
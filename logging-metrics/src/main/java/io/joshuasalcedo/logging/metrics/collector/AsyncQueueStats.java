@@ -0,0 +1,116 @@
+package io.joshuasalcedo.logging.metrics.collector;
+
+import io.joshuasalcedo.logging.util.Histogram;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Queue and worker accounting for a single async queue.
+ * <p>
+ * Workers report once per drain: the queue depth they found, how many records
+ * they took, and how long they were busy delivering versus waiting since the
+ * previous drain. Producers are never touched; their time blocked on a full
+ * queue is summed on the side and handed over by the next drain. Latency is
+ * measured on sampled records, from enqueue to the hand-off to the wrapped
+ * handler.
+ */
+public class AsyncQueueStats {
+
+    // Bucket bounds in microseconds, 1 μs to 10 s
+    private static final long[] LATENCY_MICROS_BOUNDS = {
+            1, 2, 5, 10, 25, 50, 100, 250, 500, 1_000, 2_500, 5_000,
+            10_000, 25_000, 50_000, 100_000, 250_000, 500_000, 1_000_000, 2_500_000, 5_000_000, 10_000_000
+    };
+    private static final long MAX_BATCH_BUCKET = 4096;
+
+    private final LongAdder drains = new LongAdder();
+    private final LongAdder events = new LongAdder();
+    private final LongAdder busyNanos = new LongAdder();
+    private final LongAdder idleNanos = new LongAdder();
+    private final LongAdder producerBlockedNanos = new LongAdder();
+    private final AtomicLong depth = new AtomicLong(0);
+    private final AtomicLong depthHighWatermark = new AtomicLong(0);
+    private final Histogram batchSizes = Histogram.powersOfTwo(MAX_BATCH_BUCKET);
+    private final Histogram latencyMicros = new Histogram(LATENCY_MICROS_BOUNDS);
+
+    public void recordDrain(int depth, int batchSize, long busyNanos, long idleNanos, long producerBlockedNanos) {
+        drains.increment();
+        events.add(batchSize);
+        this.busyNanos.add(busyNanos);
+        this.idleNanos.add(idleNanos);
+        this.producerBlockedNanos.add(producerBlockedNanos);
+        this.depth.set(depth);
+        depthHighWatermark.accumulateAndGet(depth, Math::max);
+        batchSizes.record(batchSize);
+    }
+
+    public void recordLatency(long latencyNanos) {
+        latencyMicros.record(latencyNanos / 1000);
+    }
+
+    public long getDrains() {
+        return drains.sum();
+    }
+
+    public long getEvents() {
+        return events.sum();
+    }
+
+    /**
+     * Depth seen by the most recent drain
+     */
+    public long getDepth() {
+        return depth.get();
+    }
+
+    /**
+     * Deepest the queue has been at the start of a drain
+     */
+    public long getDepthHighWatermark() {
+        return depthHighWatermark.get();
+    }
+
+    /**
+     * Records taken per drain
+     */
+    public Histogram getBatchSizes() {
+        return batchSizes;
+    }
+
+    public double getAvgBatchSize() {
+        long count = getDrains();
+        return count > 0 ? (double) getEvents() / count : 0.0;
+    }
+
+    /**
+     * Enqueue-to-delivery latency of sampled records, in microseconds
+     */
+    public Histogram getLatencyMicros() {
+        return latencyMicros;
+    }
+
+    public long getBusyNanos() {
+        return busyNanos.sum();
+    }
+
+    public long getIdleNanos() {
+        return idleNanos.sum();
+    }
+
+    /**
+     * Share of worker time spent delivering, from 0 to 1
+     */
+    public double getBusyRatio() {
+        long busy = getBusyNanos();
+        long total = busy + getIdleNanos();
+        return total > 0 ? (double) busy / total : 0.0;
+    }
+
+    /**
+     * Total time producers spent waiting for space in a full queue
+     */
+    public long getProducerBlockedNanos() {
+        return producerBlockedNanos.sum();
+    }
+}
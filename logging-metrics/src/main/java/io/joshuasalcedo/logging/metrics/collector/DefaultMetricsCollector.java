@@ -7,6 +7,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.LongAdder;
 import java.util.Map;
+import java.util.TreeMap;
 
 /**
  * Default implementation of MetricsCollector with comprehensive performance tracking
@@ -18,6 +19,10 @@ public class DefaultMetricsCollector implements MetricsCollector {
     private final Map<String, LongAdder> errorCounts = new ConcurrentHashMap<>();
     private final Map<String, AtomicLong> queueSizes = new ConcurrentHashMap<>();
     private final Map<String, LongAdder> methodCounts = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> handlerEventsWritten = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> handlerBytesWritten = new ConcurrentHashMap<>();
+    private final Map<String, HandlerIoStats> handlerIo = new ConcurrentHashMap<>();
+    private final Map<String, AsyncQueueStats> asyncQueues = new ConcurrentHashMap<>();
     
     private final AtomicLong totalLogs = new AtomicLong(0);
     private final AtomicLong droppedLogs = new AtomicLong(0);
@@ -91,6 +96,37 @@ public class DefaultMetricsCollector implements MetricsCollector {
         }
     }
     
+    @Override
+    public void recordAsyncLatency(String queueName, long latencyNanos) {
+        recordAsyncLatency(latencyNanos);
+        asyncQueues.computeIfAbsent(queueName, k -> new AsyncQueueStats()).recordLatency(latencyNanos);
+    }
+    
+    @Override
+    public void recordAsyncDrain(String queueName, int depth, int batchSize,
+                                 long busyNanos, long idleNanos, long producerBlockedNanos) {
+        recordQueueSize(queueName, depth);
+        asyncQueues.computeIfAbsent(queueName, k -> new AsyncQueueStats())
+                .recordDrain(depth, batchSize, busyNanos, idleNanos, producerBlockedNanos);
+    }
+    
+    @Override
+    public void recordHandlerOutput(String handlerName, long events, long bytes) {
+        handlerEventsWritten.computeIfAbsent(handlerName, k -> new LongAdder()).add(events);
+        handlerBytesWritten.computeIfAbsent(handlerName, k -> new LongAdder()).add(bytes);
+    }
+    
+    @Override
+    public void recordHandlerWrite(String handlerName, long bytes, long events, long blockedNanos) {
+        recordHandlerOutput(handlerName, events, bytes);
+        handlerIo.computeIfAbsent(handlerName, k -> new HandlerIoStats()).recordWrite(bytes, events, blockedNanos);
+    }
+    
+    @Override
+    public void recordHandlerFlush(String handlerName, long blockedNanos) {
+        handlerIo.computeIfAbsent(handlerName, k -> new HandlerIoStats()).recordFlush(blockedNanos);
+    }
+    
     @Override
     public void recordHandlerFailure(String handlerName, Throwable failure) {
         handlerFailures.incrementAndGet();
@@ -165,6 +201,10 @@ public class DefaultMetricsCollector implements MetricsCollector {
         errorCounts.clear();
         queueSizes.clear();
         methodCounts.clear();
+        handlerEventsWritten.clear();
+        handlerBytesWritten.clear();
+        handlerIo.clear();
+        asyncQueues.clear();
     }
     
     // Extended metrics getters
@@ -186,6 +226,32 @@ public class DefaultMetricsCollector implements MetricsCollector {
         return methods;
     }
     
+    public Map<String, Long> getHandlerEventsWritten() {
+        Map<String, Long> events = new ConcurrentHashMap<>();
+        handlerEventsWritten.forEach((handler, adder) -> events.put(handler, adder.sum()));
+        return events;
+    }
+    
+    public Map<String, Long> getHandlerBytesWritten() {
+        Map<String, Long> bytes = new ConcurrentHashMap<>();
+        handlerBytesWritten.forEach((handler, adder) -> bytes.put(handler, adder.sum()));
+        return bytes;
+    }
+    
+    /**
+     * Per-handler write and flush accounting, for handlers that report it
+     */
+    public Map<String, HandlerIoStats> getHandlerIo() {
+        return new TreeMap<>(handlerIo);
+    }
+    
+    /**
+     * Per-queue depth, batching, worker and latency accounting, for async handlers
+     */
+    public Map<String, AsyncQueueStats> getAsyncQueues() {
+        return new TreeMap<>(asyncQueues);
+    }
+    
     public long getHandlerFailures() {
         return handlerFailures.get();
     }
@@ -286,6 +352,39 @@ public class DefaultMetricsCollector implements MetricsCollector {
                     .forEach(entry -> report.append(String.format("  %s: %,d\n", entry.getKey(), entry.getValue())));
         }
         
+        // Handler output
+        Map<String, Long> bytesWritten = getHandlerBytesWritten();
+        if (!bytesWritten.isEmpty()) {
+            Map<String, Long> eventsWritten = getHandlerEventsWritten();
+            report.append("\nHandler Output:\n");
+            bytesWritten.forEach((handler, bytes) -> report.append(String.format("  %s: %,d events, %,d bytes\n",
+                    handler, eventsWritten.getOrDefault(handler, 0L), bytes)));
+        }
+        
+        // Handler I/O
+        Map<String, HandlerIoStats> io = getHandlerIo();
+        if (!io.isEmpty()) {
+            report.append("\nHandler I/O:\n");
+            io.forEach((handler, ioStats) -> report.append(String.format(
+                    "  %s: %,d writes, %.1f events/write, %.0f bytes/sec, %,d flushes (%.2f/sec), " +
+                    "write p99 %d μs, flush p99 %d μs\n",
+                    handler, ioStats.getWriteCalls(), ioStats.getAvgEventsPerWrite(), ioStats.getBytesPerSecond(),
+                    ioStats.getFlushes(), ioStats.getFlushesPerSecond(),
+                    ioStats.getWriteMicros().getPercentile(99), ioStats.getFlushMicros().getPercentile(99))));
+        }
+        
+        // Async queues
+        Map<String, AsyncQueueStats> async = getAsyncQueues();
+        if (!async.isEmpty()) {
+            report.append("\nAsync Queues:\n");
+            async.forEach((queue, queueStats) -> report.append(String.format(
+                    "  %s: depth %,d (high %,d), %.1f events/drain, worker busy %.1f%%, " +
+                    "producers blocked %.2f ms, latency p50 %d μs, p99 %d μs\n",
+                    queue, queueStats.getDepth(), queueStats.getDepthHighWatermark(), queueStats.getAvgBatchSize(),
+                    queueStats.getBusyRatio() * 100, queueStats.getProducerBlockedNanos() / 1_000_000.0,
+                    queueStats.getLatencyMicros().getPercentile(50), queueStats.getLatencyMicros().getPercentile(99))));
+        }
+        
         // Queue sizes
         Map<String, Long> queues = getQueueSizes();
         if (!queues.isEmpty()) {
@@ -0,0 +1,119 @@
+package io.joshuasalcedo.logging.metrics.collector;
+
+import io.joshuasalcedo.logging.util.Histogram;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Write and flush accounting for a single output handler.
+ * <p>
+ * A write is one call into the sink (a print, a batch write, an INSERT), so
+ * events per write shows how well the handler batches and is kept as a
+ * histogram. Time blocked in writes and flushes is kept as microsecond
+ * histograms.
+ */
+public class HandlerIoStats {
+
+    // Bucket bounds in microseconds, 1 μs to 1 s
+    private static final long[] BLOCKED_MICROS_BOUNDS = {
+            1, 2, 5, 10, 25, 50, 100, 250, 500, 1_000, 2_500, 5_000,
+            10_000, 25_000, 50_000, 100_000, 250_000, 1_000_000
+    };
+    private static final long MAX_EVENTS_BUCKET = 65_536;
+
+    private final LongAdder writeCalls = new LongAdder();
+    private final LongAdder events = new LongAdder();
+    private final LongAdder bytes = new LongAdder();
+    private final LongAdder flushes = new LongAdder();
+    private final Histogram eventsPerWrite = Histogram.powersOfTwo(MAX_EVENTS_BUCKET);
+    private final Histogram writeMicros = new Histogram(BLOCKED_MICROS_BOUNDS);
+    private final Histogram flushMicros = new Histogram(BLOCKED_MICROS_BOUNDS);
+    private final AtomicLong firstRecordNanos = new AtomicLong(0);
+
+    public void recordWrite(long bytes, long events, long blockedNanos) {
+        markStart();
+        writeCalls.increment();
+        this.events.add(events);
+        this.bytes.add(bytes);
+        eventsPerWrite.record(events);
+        writeMicros.record(blockedNanos / 1000);
+    }
+
+    public void recordFlush(long blockedNanos) {
+        markStart();
+        flushes.increment();
+        flushMicros.record(blockedNanos / 1000);
+    }
+
+    private void markStart() {
+        if (firstRecordNanos.get() == 0) {
+            firstRecordNanos.compareAndSet(0, System.nanoTime());
+        }
+    }
+
+    public long getWriteCalls() {
+        return writeCalls.sum();
+    }
+
+    public long getEvents() {
+        return events.sum();
+    }
+
+    public long getBytes() {
+        return bytes.sum();
+    }
+
+    public long getFlushes() {
+        return flushes.sum();
+    }
+
+    /**
+     * Events handed over per write call
+     */
+    public Histogram getEventsPerWrite() {
+        return eventsPerWrite;
+    }
+
+    /**
+     * Time blocked per write, in microseconds
+     */
+    public Histogram getWriteMicros() {
+        return writeMicros;
+    }
+
+    /**
+     * Time blocked per flush, in microseconds
+     */
+    public Histogram getFlushMicros() {
+        return flushMicros;
+    }
+
+    public double getBytesPerSecond() {
+        return rate(getBytes());
+    }
+
+    public double getFlushesPerSecond() {
+        return rate(getFlushes());
+    }
+
+    public double getAvgEventsPerWrite() {
+        long calls = getWriteCalls();
+        return calls > 0 ? (double) getEvents() / calls : 0.0;
+    }
+
+    public double getAvgBytesPerWrite() {
+        long calls = getWriteCalls();
+        return calls > 0 ? (double) getBytes() / calls : 0.0;
+    }
+
+    // Rates run from the first recorded write or flush, not collector start
+    private double rate(long count) {
+        long start = firstRecordNanos.get();
+        if (start == 0) {
+            return 0.0;
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        return seconds > 0 ? count / seconds : 0.0;
+    }
+}
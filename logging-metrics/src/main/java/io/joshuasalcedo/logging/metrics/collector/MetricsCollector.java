@@ -33,6 +33,36 @@ public interface MetricsCollector {
      */
     void recordAsyncLatency(long latencyNanos);
     
+    /**
+     * Record latency for one sampled record through a named async queue
+     */
+    default void recordAsyncLatency(String queueName, long latencyNanos) {
+        recordAsyncLatency(latencyNanos);
+    }
+    
+    /**
+     * Record one drain of a named async queue by its worker
+     */
+    default void recordAsyncDrain(String queueName, int depth, int batchSize,
+                                  long busyNanos, long idleNanos, long producerBlockedNanos) {
+        recordQueueSize(queueName, depth);
+    }
+    
+    /**
+     * Record events and bytes written by an output handler
+     */
+    void recordHandlerOutput(String handlerName, long events, long bytes);
+    
+    /**
+     * Record one write call into an output handler's sink and the time it blocked
+     */
+    void recordHandlerWrite(String handlerName, long bytes, long events, long blockedNanos);
+    
+    /**
+     * Record one flush of an output handler's sink and the time it blocked
+     */
+    void recordHandlerFlush(String handlerName, long blockedNanos);
+    
     /**
      * Record handler failure
      */
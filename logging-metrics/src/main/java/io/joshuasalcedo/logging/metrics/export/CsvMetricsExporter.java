@@ -2,6 +2,8 @@ package io.joshuasalcedo.logging.metrics.export;
 
 import io.joshuasalcedo.logging.metrics.LoggingMetrics;
 import io.joshuasalcedo.logging.metrics.collector.DefaultMetricsCollector;
+import io.joshuasalcedo.logging.metrics.collector.AsyncQueueStats;
+import io.joshuasalcedo.logging.metrics.collector.HandlerIoStats;
 import io.joshuasalcedo.logging.core.LogLevel;
 
 import java.io.IOException;
@@ -72,6 +74,42 @@ public class CsvMetricsExporter implements MetricsExporter {
                         entry.getKey(), entry.getValue(), percentage));
                 });
         
+        // Handler I/O
+        Map<String, HandlerIoStats> handlerIo = collector.getHandlerIo();
+        if (!handlerIo.isEmpty()) {
+            csv.append("\\n# Handler I/O\\n");
+            csv.append("HandlerName,WriteCalls,Events,Bytes,Flushes,BytesPerSec,FlushesPerSec,AvgEventsPerWrite," +
+                       "AvgBytesPerWrite,WriteP50Micros,WriteP99Micros,WriteMaxMicros," +
+                       "FlushP50Micros,FlushP99Micros,FlushMaxMicros,EventsPerWriteP50,EventsPerWriteP99," +
+                       "EventsPerWriteMax\\n");
+            handlerIo.forEach((handler, io) -> csv.append(String.format(
+                    "%s,%d,%d,%d,%d,%.2f,%.2f,%.2f,%.2f,%d,%d,%d,%d,%d,%d,%d,%d,%d\\n",
+                    escapeCsvField(handler), io.getWriteCalls(), io.getEvents(), io.getBytes(), io.getFlushes(),
+                    io.getBytesPerSecond(), io.getFlushesPerSecond(), io.getAvgEventsPerWrite(),
+                    io.getAvgBytesPerWrite(),
+                    io.getWriteMicros().getPercentile(50), io.getWriteMicros().getPercentile(99),
+                    io.getWriteMicros().getMax(),
+                    io.getFlushMicros().getPercentile(50), io.getFlushMicros().getPercentile(99),
+                    io.getFlushMicros().getMax(),
+                    io.getEventsPerWrite().getPercentile(50), io.getEventsPerWrite().getPercentile(99),
+                    io.getEventsPerWrite().getMax())));
+        }
+        
+        // Async queues
+        Map<String, AsyncQueueStats> asyncQueues = collector.getAsyncQueues();
+        if (!asyncQueues.isEmpty()) {
+            csv.append("\\n# Async Queues\\n");
+            csv.append("QueueName,Depth,DepthHighWatermark,Drains,Events,AvgEventsPerDrain,BusyRatio," +
+                       "ProducerBlockedMillis,LatencyP50Micros,LatencyP99Micros,LatencyMaxMicros\\n");
+            asyncQueues.forEach((queue, queueStats) -> csv.append(String.format(
+                    "%s,%d,%d,%d,%d,%.2f,%.4f,%.3f,%d,%d,%d\\n",
+                    escapeCsvField(queue), queueStats.getDepth(), queueStats.getDepthHighWatermark(), queueStats.getDrains(),
+                    queueStats.getEvents(), queueStats.getAvgBatchSize(), queueStats.getBusyRatio(),
+                    queueStats.getProducerBlockedNanos() / 1_000_000.0,
+                    queueStats.getLatencyMicros().getPercentile(50), queueStats.getLatencyMicros().getPercentile(99),
+                    queueStats.getLatencyMicros().getMax())));
+        }
+        
         // Error breakdown
         Map<String, Long> errors = collector.getErrorCounts();
         if (!errors.isEmpty()) {
@@ -2,6 +2,8 @@ package io.joshuasalcedo.logging.metrics.export;
 
 import io.joshuasalcedo.logging.metrics.LoggingMetrics;
 import io.joshuasalcedo.logging.metrics.collector.DefaultMetricsCollector;
+import io.joshuasalcedo.logging.metrics.collector.AsyncQueueStats;
+import io.joshuasalcedo.logging.metrics.collector.HandlerIoStats;
 import io.joshuasalcedo.logging.core.LogLevel;
 
 import java.io.IOException;
@@ -60,6 +62,8 @@ public class HtmlMetricsExporter implements MetricsExporter {
         html.append(createLogLevelSection(stats));
         html.append(createLoggerSection(stats));
         html.append(createHandlerSection(stats));
+        html.append(createHandlerIoSection());
+        html.append(createAsyncQueueSection());
         html.append(createErrorSection());
         html.append(createQueueSection());
         
@@ -409,6 +413,58 @@ public class HtmlMetricsExporter implements MetricsExporter {
         return section.toString();
     }
     
+    private String createHandlerIoSection() {
+        StringBuilder section = new StringBuilder();
+        Map<String, HandlerIoStats> handlerIo = collector.getHandlerIo();
+        
+        if (!handlerIo.isEmpty()) {
+            section.append("        <div class=\"section\">\\n");
+            section.append("            <h2>💽 Handler I/O</h2>\\n");
+            
+            handlerIo.forEach((handler, io) -> {
+                section.append(createMetricRow(handler + " throughput", String.format("%.1f KB/s, %.1f events/write, %s writes",
+                    io.getBytesPerSecond() / 1024.0, io.getAvgEventsPerWrite(), formatNumber(io.getWriteCalls()))));
+                section.append(createMetricRow(handler + " flushes", String.format("%.2f/s, %s total",
+                    io.getFlushesPerSecond(), formatNumber(io.getFlushes()))));
+                section.append(createMetricRow(handler + " events per write", String.format("p50 %d, p99 %d, max %d",
+                    io.getEventsPerWrite().getPercentile(50), io.getEventsPerWrite().getPercentile(99), io.getEventsPerWrite().getMax())));
+                section.append(createMetricRow(handler + " write blocked", String.format("p50 %d μs, p99 %d μs, max %d μs",
+                    io.getWriteMicros().getPercentile(50), io.getWriteMicros().getPercentile(99), io.getWriteMicros().getMax())));
+                section.append(createMetricRow(handler + " flush blocked", String.format("p50 %d μs, p99 %d μs, max %d μs",
+                    io.getFlushMicros().getPercentile(50), io.getFlushMicros().getPercentile(99), io.getFlushMicros().getMax())));
+            });
+            
+            section.append("        </div>\\n");
+        }
+        
+        return section.toString();
+    }
+    
+    private String createAsyncQueueSection() {
+        StringBuilder section = new StringBuilder();
+        Map<String, AsyncQueueStats> asyncQueues = collector.getAsyncQueues();
+        
+        if (!asyncQueues.isEmpty()) {
+            section.append("        <div class=\"section\">\\n");
+            section.append("            <h2>⏱️ Async Queues</h2>\\n");
+            
+            asyncQueues.forEach((queue, stats) -> {
+                section.append(createMetricRow(queue + " depth", String.format("%s now, %s high-watermark",
+                    formatNumber(stats.getDepth()), formatNumber(stats.getDepthHighWatermark()))));
+                section.append(createMetricRow(queue + " drains", String.format("%.1f events/drain, %s drains",
+                    stats.getAvgBatchSize(), formatNumber(stats.getDrains()))));
+                section.append(createMetricRow(queue + " worker", String.format("%.1f%% busy, producers blocked %.2f ms",
+                    stats.getBusyRatio() * 100, stats.getProducerBlockedNanos() / 1_000_000.0)));
+                section.append(createMetricRow(queue + " latency", String.format("p50 %d μs, p99 %d μs, max %d μs",
+                    stats.getLatencyMicros().getPercentile(50), stats.getLatencyMicros().getPercentile(99), stats.getLatencyMicros().getMax())));
+            });
+            
+            section.append("        </div>\\n");
+        }
+        
+        return section.toString();
+    }
+    
     private String createSystemSection() {
         StringBuilder section = new StringBuilder();
         section.append("        <div class=\"section\">\\n");
@@ -2,6 +2,8 @@ package io.joshuasalcedo.logging.metrics.export;
 
 import io.joshuasalcedo.logging.metrics.LoggingMetrics;
 import io.joshuasalcedo.logging.metrics.collector.DefaultMetricsCollector;
+import io.joshuasalcedo.logging.metrics.collector.AsyncQueueStats;
+import io.joshuasalcedo.logging.metrics.collector.HandlerIoStats;
 import io.joshuasalcedo.logging.metrics.config.MetricsConfiguration;
 import io.joshuasalcedo.logging.metrics.template.TemplateEngine;
 import freemarker.template.TemplateException;
@@ -114,6 +116,8 @@ public class JsonMetricsExporter implements MetricsExporter {
         public Map<String, Long> getHandlerCounts() { return stats.getHandlerCounts(); }
         public Map<String, Long> getErrorCounts() { return collector.getErrorCounts(); }
         public Map<String, Long> getQueueSizes() { return collector.getQueueSizes(); }
+        public Map<String, HandlerIoStats> getHandlerIo() { return collector.getHandlerIo(); }
+        public Map<String, AsyncQueueStats> getAsyncQueues() { return collector.getAsyncQueues(); }
         // Note: MaxQueueSizes and AvgQueueSizes methods don't exist in DefaultMetricsCollector
         // Using current queue sizes as approximation
         public Map<String, Long> getMaxQueueSizes() { return collector.getQueueSizes(); }
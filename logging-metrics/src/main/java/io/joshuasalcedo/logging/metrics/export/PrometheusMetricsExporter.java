@@ -2,7 +2,10 @@ package io.joshuasalcedo.logging.metrics.export;
 
 import io.joshuasalcedo.logging.metrics.LoggingMetrics;
 import io.joshuasalcedo.logging.metrics.collector.DefaultMetricsCollector;
+import io.joshuasalcedo.logging.metrics.collector.AsyncQueueStats;
+import io.joshuasalcedo.logging.metrics.collector.HandlerIoStats;
 import io.joshuasalcedo.logging.core.LogLevel;
+import io.joshuasalcedo.logging.util.Histogram;
 
 import java.io.IOException;
 import java.io.OutputStream;
@@ -73,6 +76,44 @@ public class PrometheusMetricsExporter implements MetricsExporter {
                 "handler", sanitizeLabelValue(entry.getKey()));
         }
         
+        // Handler I/O, one metric family at a time so each stays contiguous
+        Map<String, HandlerIoStats> handlerIo = collector.getHandlerIo();
+        handlerIo.forEach((handler, io) -> addCounterWithLabels(prometheus, "handler_bytes_written_total",
+            "Total bytes written by handler", io.getBytes(), "handler", sanitizeLabelValue(handler)));
+        handlerIo.forEach((handler, io) -> addCounterWithLabels(prometheus, "handler_write_calls_total",
+            "Total write calls into the handler sink", io.getWriteCalls(), "handler", sanitizeLabelValue(handler)));
+        handlerIo.forEach((handler, io) -> addCounterWithLabels(prometheus, "handler_flushes_total",
+            "Total flushes of the handler sink", io.getFlushes(), "handler", sanitizeLabelValue(handler)));
+        handlerIo.forEach((handler, io) -> addGaugeWithLabels(prometheus, "handler_bytes_per_second",
+            "Bytes written per second by handler", io.getBytesPerSecond(), "handler", sanitizeLabelValue(handler)));
+        handlerIo.forEach((handler, io) -> addGaugeWithLabels(prometheus, "handler_flushes_per_second",
+            "Flushes per second by handler", io.getFlushesPerSecond(), "handler", sanitizeLabelValue(handler)));
+        handlerIo.forEach((handler, io) -> addGaugeWithLabels(prometheus, "handler_events_per_write",
+            "Average events per write call by handler", io.getAvgEventsPerWrite(), "handler", sanitizeLabelValue(handler)));
+        handlerIo.forEach((handler, io) -> addHistogramWithLabel(prometheus, "handler_write_events",
+            "Events per write call by handler", io.getEventsPerWrite(), 1, "handler", sanitizeLabelValue(handler)));
+        handlerIo.forEach((handler, io) -> addHistogramWithLabel(prometheus, "handler_write_blocked_seconds",
+            "Time blocked in handler write calls", io.getWriteMicros(), "handler", sanitizeLabelValue(handler)));
+        handlerIo.forEach((handler, io) -> addHistogramWithLabel(prometheus, "handler_flush_blocked_seconds",
+            "Time blocked in handler flushes", io.getFlushMicros(), "handler", sanitizeLabelValue(handler)));
+        
+        // Async queues
+        Map<String, AsyncQueueStats> asyncQueues = collector.getAsyncQueues();
+        asyncQueues.forEach((queue, queueStats) -> addGaugeWithLabels(prometheus, "async_queue_depth_high_watermark",
+            "Deepest the async queue has been at the start of a drain", queueStats.getDepthHighWatermark(),
+            "queue", sanitizeLabelValue(queue)));
+        asyncQueues.forEach((queue, queueStats) -> addCounterWithLabels(prometheus, "async_drains_total",
+            "Total drains of the async queue", queueStats.getDrains(), "queue", sanitizeLabelValue(queue)));
+        asyncQueues.forEach((queue, queueStats) -> addGaugeWithLabels(prometheus, "async_events_per_drain",
+            "Average records taken per drain", queueStats.getAvgBatchSize(), "queue", sanitizeLabelValue(queue)));
+        asyncQueues.forEach((queue, queueStats) -> addGaugeWithLabels(prometheus, "async_worker_busy_ratio",
+            "Share of worker time spent delivering", queueStats.getBusyRatio(), "queue", sanitizeLabelValue(queue)));
+        asyncQueues.forEach((queue, queueStats) -> addGaugeWithLabels(prometheus, "async_producer_blocked_seconds",
+            "Total time producers waited for space in the async queue", queueStats.getProducerBlockedNanos() / 1e9,
+            "queue", sanitizeLabelValue(queue)));
+        asyncQueues.forEach((queue, queueStats) -> addHistogramWithLabel(prometheus, "async_latency_seconds",
+            "Enqueue-to-delivery latency of sampled records", queueStats.getLatencyMicros(), "queue", sanitizeLabelValue(queue)));
+        
         // Error breakdown
         for (Map.Entry<String, Long> entry : collector.getErrorCounts().entrySet()) {
             addCounterWithLabels(prometheus, "errors_by_type_total", 
@@ -151,6 +192,50 @@ public class PrometheusMetricsExporter implements MetricsExporter {
         sb.append(metricName).append("{").append(labelName).append("=\"").append(labelValue).append("\"} ").append(value).append("\\n");
     }
     
+    private void addGaugeWithLabels(StringBuilder sb, String name, String help, double value, String labelName, String labelValue) {
+        String metricName = namespace + "_" + name;
+        
+        // Only add help and type once per metric name
+        if (!sb.toString().contains("# HELP " + metricName)) {
+            sb.append("# HELP ").append(metricName).append(" ").append(help).append("\\n");
+            sb.append("# TYPE ").append(metricName).append(" gauge\\n");
+        }
+        
+        sb.append(metricName).append("{").append(labelName).append("=\"").append(labelValue).append("\"} ").append(value).append("\\n");
+    }
+    
+    /**
+     * Histogram recorded in microseconds, exported in seconds with cumulative buckets
+     */
+    private void addHistogramWithLabel(StringBuilder sb, String name, String help, Histogram micros, String labelName, String labelValue) {
+        addHistogramWithLabel(sb, name, help, micros, 1_000_000.0, labelName, labelValue);
+    }
+    
+    /**
+     * Histogram with cumulative buckets, its values divided by {@code unit} on export
+     */
+    private void addHistogramWithLabel(StringBuilder sb, String name, String help, Histogram histogram, double unit,
+                                       String labelName, String labelValue) {
+        String metricName = namespace + "_" + name;
+        
+        // Only add help and type once per metric name
+        if (!sb.toString().contains("# HELP " + metricName)) {
+            sb.append("# HELP ").append(metricName).append(" ").append(help).append("\\n");
+            sb.append("# TYPE ").append(metricName).append(" histogram\\n");
+        }
+        
+        String label = labelName + "=\"" + labelValue + "\"";
+        long cumulative = 0;
+        for (Map.Entry<Long, Long> bucket : histogram.getBuckets().entrySet()) {
+            cumulative += bucket.getValue();
+            String le = bucket.getKey() == Long.MAX_VALUE ? "+Inf" : String.valueOf(bucket.getKey() / unit);
+            sb.append(metricName).append("_bucket{").append(label).append(",le=\"").append(le).append("\"} ")
+              .append(cumulative).append("\\n");
+        }
+        sb.append(metricName).append("_sum{").append(label).append("} ").append(histogram.getSum() / unit).append("\\n");
+        sb.append(metricName).append("_count{").append(label).append("} ").append(cumulative).append("\\n");
+    }
+    
     private String sanitizeMetricName(String name) {
         if (name == null) return "";
         // Prometheus metric names must match [a-zA-Z_:][a-zA-Z0-9_:]*
@@ -303,6 +303,58 @@
             </div>
         </div>
 
+        <#if stats.handlerIo?has_content>
+        <!-- Handler I/O -->
+        <div class="chart-container">
+            <h3>💽 Handler I/O</h3>
+            <#list stats.handlerIo?keys as handler>
+            <#assign io = stats.handlerIo[handler]>
+            <div class="metric">
+                <span class="metric-label">${handler} throughput</span>
+                <span class="metric-value">${(io.bytesPerSecond / 1024)?string("0.#")} KB/s, ${io.avgEventsPerWrite?string("0.#")} events/write</span>
+            </div>
+            <div class="metric">
+                <span class="metric-label">${handler} flushes</span>
+                <span class="metric-value">${io.flushesPerSecond?string("0.##")}/s, ${io.flushes?string.computer} total</span>
+            </div>
+            <div class="metric">
+                <span class="metric-label">${handler} events per write</span>
+                <span class="metric-value">p50 ${io.eventsPerWrite.getPercentile(50)?c}, p99 ${io.eventsPerWrite.getPercentile(99)?c}</span>
+            </div>
+            <div class="metric">
+                <span class="metric-label">${handler} write blocked</span>
+                <span class="metric-value">p50 ${io.writeMicros.getPercentile(50)?c} μs, p99 ${io.writeMicros.getPercentile(99)?c} μs</span>
+            </div>
+            <div class="metric">
+                <span class="metric-label">${handler} flush blocked</span>
+                <span class="metric-value">p50 ${io.flushMicros.getPercentile(50)?c} μs, p99 ${io.flushMicros.getPercentile(99)?c} μs</span>
+            </div>
+            </#list>
+        </div>
+        </#if>
+
+        <#if stats.asyncQueues?has_content>
+        <!-- Async Queues -->
+        <div class="chart-container">
+            <h3>⏱️ Async Queues</h3>
+            <#list stats.asyncQueues?keys as queue>
+            <#assign aq = stats.asyncQueues[queue]>
+            <div class="metric">
+                <span class="metric-label">${queue} depth</span>
+                <span class="metric-value">${aq.depth?c} now, ${aq.depthHighWatermark?c} high-watermark</span>
+            </div>
+            <div class="metric">
+                <span class="metric-label">${queue} worker</span>
+                <span class="metric-value">${(aq.busyRatio * 100)?string("0.#")}% busy, ${aq.avgBatchSize?string("0.#")} events/drain</span>
+            </div>
+            <div class="metric">
+                <span class="metric-label">${queue} latency</span>
+                <span class="metric-value">p50 ${aq.latencyMicros.getPercentile(50)?c} μs, p99 ${aq.latencyMicros.getPercentile(99)?c} μs</span>
+            </div>
+            </#list>
+        </div>
+        </#if>
+
         <!-- System Information -->
         <div class="chart-container">
             <h3>🖥️ System Information</h3>
@@ -45,6 +45,58 @@
     "${handler}": ${stats.handlerCounts[handler]}<#if handler_has_next>,</#if>
     </#list>
   },
+  "handlerIo": {
+    <#list stats.handlerIo?keys as handler>
+    <#assign io = stats.handlerIo[handler]>
+    "${handler}": {
+      "writeCalls": ${io.writeCalls?c},
+      "events": ${io.events?c},
+      "bytes": ${io.bytes?c},
+      "flushes": ${io.flushes?c},
+      "bytesPerSecond": ${io.bytesPerSecond?c},
+      "flushesPerSecond": ${io.flushesPerSecond?c},
+      "avgEventsPerWrite": ${io.avgEventsPerWrite?c},
+      "avgBytesPerWrite": ${io.avgBytesPerWrite?c},
+      "eventsPerWrite": {
+        "p50": ${io.eventsPerWrite.getPercentile(50)?c},
+        "p99": ${io.eventsPerWrite.getPercentile(99)?c},
+        "max": ${io.eventsPerWrite.max?c}
+      },
+      "writeBlockedMicros": {
+        "mean": ${io.writeMicros.mean?c},
+        "p50": ${io.writeMicros.getPercentile(50)?c},
+        "p99": ${io.writeMicros.getPercentile(99)?c},
+        "max": ${io.writeMicros.max?c}
+      },
+      "flushBlockedMicros": {
+        "mean": ${io.flushMicros.mean?c},
+        "p50": ${io.flushMicros.getPercentile(50)?c},
+        "p99": ${io.flushMicros.getPercentile(99)?c},
+        "max": ${io.flushMicros.max?c}
+      }
+    }<#if handler_has_next>,</#if>
+    </#list>
+  },
+  "asyncQueues": {
+    <#list stats.asyncQueues?keys as queue>
+    <#assign aq = stats.asyncQueues[queue]>
+    "${queue}": {
+      "depth": ${aq.depth?c},
+      "depthHighWatermark": ${aq.depthHighWatermark?c},
+      "drains": ${aq.drains?c},
+      "events": ${aq.events?c},
+      "avgEventsPerDrain": ${aq.avgBatchSize?c},
+      "workerBusyRatio": ${aq.busyRatio?c},
+      "producerBlockedNanos": ${aq.producerBlockedNanos?c},
+      "latencyMicros": {
+        "mean": ${aq.latencyMicros.mean?c},
+        "p50": ${aq.latencyMicros.getPercentile(50)?c},
+        "p99": ${aq.latencyMicros.getPercentile(99)?c},
+        "max": ${aq.latencyMicros.max?c}
+      }
+    }<#if queue_has_next>,</#if>
+    </#list>
+  },
   "errorCounts": {
     <#list stats.errorCounts?keys as error>
     "${error}": ${stats.errorCounts[error]}<#if error_has_next>,</#if>
@@ -0,0 +1,85 @@
+package io.joshuasalcedo.logging.metrics;
+
+import io.joshuasalcedo.logging.core.Log;
+import io.joshuasalcedo.logging.core.LogLevel;
+import io.joshuasalcedo.logging.handler.ConsoleHandler;
+import io.joshuasalcedo.logging.handler.FileHandler;
+import io.joshuasalcedo.logging.metrics.collector.DefaultMetricsCollector;
+import io.joshuasalcedo.logging.metrics.collector.HandlerIoStats;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Bytes and events the output handlers report for what they actually wrote
+ */
+public class HandlerIoAccountingTest {
+
+    private LoggingMetrics metrics;
+    private DefaultMetricsCollector collector;
+
+    @BeforeEach
+    void setUp() {
+        metrics = LoggingMetrics.getInstance();
+        metrics.reset();
+        collector = (DefaultMetricsCollector) metrics.getCollector();
+    }
+
+    private static Log log(LogLevel level, String message) {
+        return new Log(level, message, "TestLogger");
+    }
+
+    @Test
+    @DisplayName("ConsoleHandler counts bytes in the stream's charset, separator included")
+    void testConsoleHandlerCountsEncodedBytes() {
+        ByteArrayOutputStream console = new ByteArrayOutputStream();
+        ConsoleHandler handler = new ConsoleHandler(new PrintStream(console, true, StandardCharsets.UTF_16LE));
+        handler.setFormatter(Log::getMessage);
+
+        handler.publish(log(LogLevel.INFO, "caf\u00e9 \u20ac5"));
+        handler.publishBatch(List.of(
+                log(LogLevel.INFO, "first"),
+                log(LogLevel.DEBUG, "below the level"),
+                log(LogLevel.WARN, "\u65e5\u672c\u8a9e")));
+
+        HandlerIoStats io = collector.getHandlerIo().get("ConsoleHandler");
+        assertEquals(2, io.getWriteCalls());
+        assertEquals(3, io.getEvents());
+        assertEquals(2, io.getEventsPerWrite().getMax());
+        assertEquals(console.size(), io.getBytes());
+        assertEquals(3, collector.getHandlerEventsWritten().get("ConsoleHandler"));
+        assertEquals(console.size(), collector.getHandlerBytesWritten().get("ConsoleHandler"));
+    }
+
+    @Test
+    @DisplayName("FileHandler reports the bytes that reach the file")
+    void testFileHandlerCountsFileBytes(@TempDir Path tempDir) throws Exception {
+        Path file = tempDir.resolve("app.log");
+        FileHandler handler = new FileHandler(file.toString());
+        handler.setFormatter(Log::getMessage);
+
+        handler.publish(log(LogLevel.INFO, "na\u00efve \u2713"));
+        handler.publishBatch(List.of(
+                log(LogLevel.INFO, "one"),
+                log(LogLevel.ERROR, "two \u00fc"),
+                log(LogLevel.INFO, "three")));
+        handler.close();
+
+        HandlerIoStats io = collector.getHandlerIo().get("FileHandler");
+        assertEquals(2, io.getWriteCalls());
+        assertEquals(2, io.getFlushes());
+        assertEquals(4, io.getEvents());
+        assertEquals(3, io.getEventsPerWrite().getMax());
+        assertEquals(Files.size(file), io.getBytes());
+    }
+}
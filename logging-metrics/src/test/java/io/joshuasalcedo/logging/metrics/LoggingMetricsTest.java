@@ -1,7 +1,11 @@
 package io.joshuasalcedo.logging.metrics;
 
+import io.joshuasalcedo.logging.core.Log;
 import io.joshuasalcedo.logging.core.LogLevel;
+import io.joshuasalcedo.logging.handler.ConsoleHandler;
 import io.joshuasalcedo.logging.metrics.collector.DefaultMetricsCollector;
+import io.joshuasalcedo.logging.metrics.collector.AsyncQueueStats;
+import io.joshuasalcedo.logging.metrics.collector.HandlerIoStats;
 import io.joshuasalcedo.logging.metrics.export.JsonMetricsExporter;
 import io.joshuasalcedo.logging.metrics.export.CsvMetricsExporter;
 import io.joshuasalcedo.logging.metrics.export.PrometheusMetricsExporter;
@@ -10,6 +14,10 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.time.Instant;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -106,6 +114,105 @@ public class LoggingMetricsTest {
         assertEquals(2000, collector.getSlowestAsyncLatencyNanos());
     }
 
+    @Test
+    @DisplayName("Handler output tracking should accumulate events and bytes")
+    void testHandlerOutputTracking() {
+        metrics.recordHandlerOutput("SocketHandler", 10, 1024);
+        metrics.recordHandlerOutput("SocketHandler", 5, 512);
+
+        assertEquals(15, collector.getHandlerEventsWritten().get("SocketHandler"));
+        assertEquals(1536, collector.getHandlerBytesWritten().get("SocketHandler"));
+        assertTrue(collector.getDetailedReport().contains("Handler Output"));
+    }
+
+    @Test
+    @DisplayName("Handler I/O tracking should account writes, flushes and blocked time")
+    void testHandlerIoTracking() {
+        metrics.recordHandlerWrite("FileHandler", 4096, 32, 40_000);
+        metrics.recordHandlerWrite("FileHandler", 2048, 16, 3_000_000);
+        metrics.recordHandlerFlush("FileHandler", 150_000);
+
+        HandlerIoStats io = collector.getHandlerIo().get("FileHandler");
+        assertEquals(2, io.getWriteCalls());
+        assertEquals(6144, io.getBytes());
+        assertEquals(1, io.getFlushes());
+        assertEquals(24.0, io.getAvgEventsPerWrite(), 0.001);
+        assertEquals(3000, io.getWriteMicros().getMax());
+        assertEquals(32, io.getEventsPerWrite().getMax());
+        assertEquals(150, io.getFlushMicros().getPercentile(50));
+        assertTrue(io.getBytesPerSecond() > 0);
+
+        // Writes also feed the plain output totals
+        assertEquals(48, collector.getHandlerEventsWritten().get("FileHandler"));
+        assertEquals(6144, collector.getHandlerBytesWritten().get("FileHandler"));
+
+        assertTrue(collector.getDetailedReport().contains("Handler I/O"));
+        assertTrue(new JsonMetricsExporter(collector).export().contains("\"avgEventsPerWrite\": 24"));
+        assertTrue(new CsvMetricsExporter(collector).export().contains("FileHandler,2,48,6144,1,"));
+        String prometheus = new PrometheusMetricsExporter(collector).export();
+        assertTrue(prometheus.contains("logging_handler_bytes_written_total{handler=\"FileHandler\"} 6144"));
+        assertTrue(prometheus.contains("logging_handler_write_blocked_seconds_bucket{handler=\"FileHandler\",le=\"+Inf\"} 2"));
+        assertTrue(prometheus.contains("logging_handler_flush_blocked_seconds_count{handler=\"FileHandler\"} 1"));
+        assertTrue(prometheus.contains("logging_handler_write_events_bucket{handler=\"FileHandler\",le=\"32.0\"} 2"));
+        assertTrue(new HtmlMetricsExporter(collector).export().contains("FileHandler write blocked"));
+        assertTrue(new HtmlMetricsExporter(collector).export().contains("FileHandler events per write"));
+
+        metrics.reset();
+        assertTrue(collector.getHandlerIo().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Async queue tracking should account drains, worker time and latency")
+    void testAsyncQueueTracking() {
+        metrics.recordAsyncDrain("AsyncHandler(FileHandler)", 120, 64, 3_000_000, 1_000_000, 0);
+        metrics.recordAsyncDrain("AsyncHandler(FileHandler)", 40, 32, 1_000_000, 3_000_000, 2_500_000);
+        metrics.recordAsyncLatency("AsyncHandler(FileHandler)", 800_000);
+        metrics.recordAsyncLatency("AsyncHandler(FileHandler)", 4_000_000);
+
+        AsyncQueueStats queue = collector.getAsyncQueues().get("AsyncHandler(FileHandler)");
+        assertEquals(2, queue.getDrains());
+        assertEquals(96, queue.getEvents());
+        assertEquals(48.0, queue.getAvgBatchSize(), 0.001);
+        assertEquals(40, queue.getDepth());
+        assertEquals(120, queue.getDepthHighWatermark());
+        assertEquals(64, queue.getBatchSizes().getMax());
+        assertEquals(0.5, queue.getBusyRatio(), 0.001);
+        assertEquals(2_500_000, queue.getProducerBlockedNanos());
+        assertEquals(4000, queue.getLatencyMicros().getMax());
+
+        // Latency also feeds the overall async figures, and depth the queue status
+        assertEquals(2_400_000, collector.getAverageAsyncLatencyNanos());
+        assertEquals(40, collector.getQueueSizes().get("AsyncHandler(FileHandler)"));
+
+        assertTrue(collector.getDetailedReport().contains("Async Queues"));
+        assertTrue(new JsonMetricsExporter(collector).export().contains("\"depthHighWatermark\": 120"));
+        assertTrue(new CsvMetricsExporter(collector).export().contains("AsyncHandler(FileHandler),40,120,2,96,"));
+        String prometheus = new PrometheusMetricsExporter(collector).export();
+        assertTrue(prometheus.contains("logging_async_drains_total{queue=\"AsyncHandler(FileHandler)\"} 2"));
+        assertTrue(prometheus.contains("logging_async_latency_seconds_count{queue=\"AsyncHandler(FileHandler)\"} 2"));
+        assertTrue(new HtmlMetricsExporter(collector).export().contains("AsyncHandler(FileHandler) latency"));
+
+        metrics.reset();
+        assertTrue(collector.getAsyncQueues().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Output handlers should report their own writes and flushes")
+    void testConsoleHandlerReportsIo() {
+        ByteArrayOutputStream console = new ByteArrayOutputStream();
+        ConsoleHandler handler = new ConsoleHandler(new PrintStream(console, true));
+        handler.setFormatter(Log::getMessage);
+
+        handler.publish(new Log(LogLevel.INFO, "hello", "TestLogger", Instant.now(), "TestClass", "test", 1, null));
+        handler.publish(new Log(LogLevel.WARN, "world", "TestLogger", Instant.now(), "TestClass", "test", 2, null));
+
+        HandlerIoStats io = collector.getHandlerIo().get("ConsoleHandler");
+        assertNotNull(io);
+        assertEquals(2, io.getWriteCalls());
+        assertEquals(2, io.getFlushes());
+        assertEquals(console.size(), io.getBytes());
+    }
+
     @Test
     @DisplayName("Method call tracking should work correctly")
     void testMethodCallTracking() {
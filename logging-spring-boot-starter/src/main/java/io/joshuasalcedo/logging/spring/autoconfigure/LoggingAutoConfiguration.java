@@ -1,7 +1,9 @@
 package io.joshuasalcedo.logging.spring.autoconfigure;
 
 import io.joshuasalcedo.logging.async.AsyncConfiguration;
+import io.joshuasalcedo.logging.async.WaitStrategy;
 import io.joshuasalcedo.logging.async.AsyncHandler;
+import io.joshuasalcedo.logging.async.PartitionKey;
 import io.joshuasalcedo.logging.config.LoggingConfiguration;
 import io.joshuasalcedo.logging.core.LogLevel;
 import io.joshuasalcedo.logging.core.LoggingFacade;
@@ -198,6 +200,27 @@ public class LoggingAutoConfiguration {
             config.setThreadCount(asyncProps.getWorkerThreads());
             config.setDiscardOnOverflow(asyncProps.isDropOnOverflow());
             config.setShutdownTimeoutSeconds(asyncProps.getShutdownTimeout() / 1000);
+            config.setWaitStrategy(WaitStrategy.valueOf(
+                asyncProps.getWaitStrategy().trim().toUpperCase().replace('-', '_')));
+            config.setBatchSize(asyncProps.getBatchSize());
+            config.setLingerMillis(asyncProps.getLinger());
+            config.setPartitions(asyncProps.getPartitions());
+            config.setPartitionKey(PartitionKey.valueOf(
+                asyncProps.getPartitionKey().trim().toUpperCase().replace('-', '_')));
+            config.setVirtualThreads(asyncProps.isVirtualThreads());
+            config.setPriorityShedding(asyncProps.isPriorityShedding());
+            config.setDebugWatermark(asyncProps.getDebugWatermark());
+            config.setInfoWatermark(asyncProps.getInfoWatermark());
+            config.setEventWatermark(asyncProps.getEventWatermark());
+            config.setExpressLane(asyncProps.isExpressLane());
+            config.setExpressLevel(LogLevel.valueOf(asyncProps.getExpressLevel().toUpperCase()));
+            config.setExpressQueueSize(asyncProps.getExpressQueueSize());
+            if (asyncProps.getFlushThroughLevel() != null && !asyncProps.getFlushThroughLevel().isBlank()) {
+                config.setFlushThroughLevel(LogLevel.valueOf(asyncProps.getFlushThroughLevel().trim().toUpperCase()));
+            }
+            config.setFlushThroughTimeoutMillis(asyncProps.getFlushThroughTimeout());
+            config.setFormatThreads(asyncProps.getFormatThreads());
+            config.setPipelineWindow(asyncProps.getPipelineWindow());
             
             return config;
         }
@@ -214,11 +237,11 @@ public class LoggingAutoConfiguration {
             }
             
             if (!targetHandlers.isEmpty()) {
-                return new AsyncHandler(targetHandlers.get(0), asyncConfig.getQueueSize());
+                return new AsyncHandler(targetHandlers.get(0), asyncConfig);
             }
             
             // Default to console handler if no other handlers
-            return new AsyncHandler(new ConsoleHandler(), asyncConfig.getQueueSize());
+            return new AsyncHandler(new ConsoleHandler(), asyncConfig);
         }
     }
     
@@ -158,6 +158,23 @@ public class LoggingProperties {
         private int workerThreads = 2;
         private boolean dropOnOverflow = false;
         private long shutdownTimeout = 30000; // 30 seconds
+        private String waitStrategy = "blocking"; // blocking, sleeping, yielding or busy-spin
+        private int batchSize = 256;
+        private long linger = 0; // milliseconds
+        private int partitions = 1;
+        private String partitionKey = "logger-name"; // logger-name or thread
+        private boolean virtualThreads = false;
+        private boolean priorityShedding = false;
+        private double debugWatermark = 0.50; // fraction of queue capacity
+        private double infoWatermark = 0.75;
+        private double eventWatermark = 0.90;
+        private boolean expressLane = false;
+        private String expressLevel = "ERROR";
+        private int expressQueueSize = 1024;
+        private String flushThroughLevel = null; // e.g. CRITICAL; unset disables flush-through
+        private long flushThroughTimeout = 1000; // milliseconds
+        private int formatThreads = 0; // 0 formats on the worker
+        private int pipelineWindow = 64;
         
         // Getters and setters
         public boolean isEnabled() { return enabled; }
@@ -174,6 +191,57 @@ public class LoggingProperties {
         
         public long getShutdownTimeout() { return shutdownTimeout; }
         public void setShutdownTimeout(long shutdownTimeout) { this.shutdownTimeout = shutdownTimeout; }
+        
+        public String getWaitStrategy() { return waitStrategy; }
+        public void setWaitStrategy(String waitStrategy) { this.waitStrategy = waitStrategy; }
+        
+        public int getBatchSize() { return batchSize; }
+        public void setBatchSize(int batchSize) { this.batchSize = batchSize; }
+        
+        public long getLinger() { return linger; }
+        public void setLinger(long linger) { this.linger = linger; }
+        
+        public int getPartitions() { return partitions; }
+        public void setPartitions(int partitions) { this.partitions = partitions; }
+        
+        public String getPartitionKey() { return partitionKey; }
+        public void setPartitionKey(String partitionKey) { this.partitionKey = partitionKey; }
+        
+        public boolean isVirtualThreads() { return virtualThreads; }
+        public void setVirtualThreads(boolean virtualThreads) { this.virtualThreads = virtualThreads; }
+        
+        public boolean isPriorityShedding() { return priorityShedding; }
+        public void setPriorityShedding(boolean priorityShedding) { this.priorityShedding = priorityShedding; }
+        
+        public double getDebugWatermark() { return debugWatermark; }
+        public void setDebugWatermark(double debugWatermark) { this.debugWatermark = debugWatermark; }
+        
+        public double getInfoWatermark() { return infoWatermark; }
+        public void setInfoWatermark(double infoWatermark) { this.infoWatermark = infoWatermark; }
+        
+        public double getEventWatermark() { return eventWatermark; }
+        public void setEventWatermark(double eventWatermark) { this.eventWatermark = eventWatermark; }
+        
+        public boolean isExpressLane() { return expressLane; }
+        public void setExpressLane(boolean expressLane) { this.expressLane = expressLane; }
+        
+        public String getExpressLevel() { return expressLevel; }
+        public void setExpressLevel(String expressLevel) { this.expressLevel = expressLevel; }
+        
+        public int getExpressQueueSize() { return expressQueueSize; }
+        public void setExpressQueueSize(int expressQueueSize) { this.expressQueueSize = expressQueueSize; }
+        
+        public String getFlushThroughLevel() { return flushThroughLevel; }
+        public void setFlushThroughLevel(String flushThroughLevel) { this.flushThroughLevel = flushThroughLevel; }
+        
+        public long getFlushThroughTimeout() { return flushThroughTimeout; }
+        public void setFlushThroughTimeout(long flushThroughTimeout) { this.flushThroughTimeout = flushThroughTimeout; }
+        
+        public int getFormatThreads() { return formatThreads; }
+        public void setFormatThreads(int formatThreads) { this.formatThreads = formatThreads; }
+        
+        public int getPipelineWindow() { return pipelineWindow; }
+        public void setPipelineWindow(int pipelineWindow) { this.pipelineWindow = pipelineWindow; }
     }
     
     // Metrics properties
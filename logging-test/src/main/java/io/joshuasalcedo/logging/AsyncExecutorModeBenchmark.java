@@ -0,0 +1,181 @@
+package io.joshuasalcedo.logging;
+
+import io.joshuasalcedo.logging.async.AsyncConfiguration;
+import io.joshuasalcedo.logging.async.AsyncHandler;
+import io.joshuasalcedo.logging.core.Log;
+import io.joshuasalcedo.logging.core.LogLevel;
+import io.joshuasalcedo.logging.formatter.Formatter;
+import io.joshuasalcedo.logging.handler.Handler;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Benchmark of {@link AsyncHandler} workers on platform threads versus
+ * virtual threads, with many handlers in one JVM and a sink that blocks.
+ *
+ * <h2>What is measured</h2>
+ * <ul>
+ *   <li><b>Throughput</b>: events per second until every handler has
+ *       delivered everything</li>
+ *   <li><b>Platform threads</b>: peak live platform threads in the JVM during
+ *       the run, including carrier threads, producers and the JVM's own
+ *       threads; virtual threads are not counted</li>
+ *   <li><b>CPU</b>: process CPU time per second of wall time</li>
+ * </ul>
+ * Each sink sleeps {@value #SINK_BLOCK_MILLIS} ms per batch, standing in for a
+ * JDBC or HTTP round trip.
+ *
+ * <h2>Running the Benchmark</h2>
+ * <pre>
+ * mvn compile exec:java -Dexec.mainClass="io.joshuasalcedo.logging.AsyncExecutorModeBenchmark"
+ * </pre>
+ */
+public class AsyncExecutorModeBenchmark {
+
+    private static final int[] HANDLER_COUNTS = {8, 64, 256};
+    private static final int EVENTS_PER_HANDLER = 20_000;
+    private static final int PRODUCERS = 4;
+    private static final long SINK_BLOCK_MILLIS = 1;
+    private static final int WARMUP_ROUNDS = 1;
+
+    private static final Log EVENT = new Log(LogLevel.INFO, "blocking sink event", "benchmark", Instant.EPOCH,
+            AsyncExecutorModeBenchmark.class.getName(), "run", 0, null);
+
+    /**
+     * Blocks once per batch, like a sink that makes one round trip per drain
+     */
+    private static final class BlockingSink implements Handler {
+        final AtomicInteger received = new AtomicInteger();
+        final CountDownLatch done;
+
+        BlockingSink(CountDownLatch done) {
+            this.done = done;
+        }
+
+        @Override
+        public void publish(Log record) {
+            publishBatch(List.of(record));
+        }
+
+        @Override
+        public void publishBatch(List<Log> records) {
+            try {
+                Thread.sleep(SINK_BLOCK_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (received.addAndGet(records.size()) == EVENTS_PER_HANDLER) {
+                done.countDown();
+            }
+        }
+
+        @Override
+        public void setFormatter(Formatter formatter) {}
+
+        @Override
+        public void setLevel(LogLevel level) {}
+
+        @Override
+        public LogLevel getLevel() {
+            return LogLevel.DEBUG;
+        }
+
+        @Override
+        public void close() {}
+    }
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== ASYNC EXECUTOR MODE BENCHMARK ===");
+        System.out.printf("%,d events per handler from %d producers; sink blocks %d ms per batch; %d CPUs%n%n",
+                EVENTS_PER_HANDLER, PRODUCERS, SINK_BLOCK_MILLIS, Runtime.getRuntime().availableProcessors());
+
+        for (int round = 0; round <= WARMUP_ROUNDS; round++) {
+            boolean report = round == WARMUP_ROUNDS;
+            if (report) {
+                System.out.printf("%-9s %9s %15s %18s %8s%n",
+                        "Workers", "Handlers", "Events/sec", "Platform threads", "CPU");
+            }
+            for (int handlers : HANDLER_COUNTS) {
+                run(false, handlers, report);
+                run(true, handlers, report);
+            }
+        }
+
+        System.out.println("\n=== BENCHMARK COMPLETED ===");
+    }
+
+    private static void run(boolean virtualThreads, int handlerCount, boolean report) throws InterruptedException {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        CountDownLatch done = new CountDownLatch(handlerCount);
+        AsyncConfiguration config = new AsyncConfiguration();
+        config.setVirtualThreads(virtualThreads);
+        config.setDiscardOnOverflow(false);
+        List<AsyncHandler> handlers = new ArrayList<>(handlerCount);
+        for (int i = 0; i < handlerCount; i++) {
+            handlers.add(new AsyncHandler(new BlockingSink(done), config));
+        }
+
+        // Sample live platform threads while the run is in progress
+        AtomicBoolean sampling = new AtomicBoolean(true);
+        AtomicInteger peakThreads = new AtomicInteger();
+        Thread sampler = new Thread(() -> {
+            while (sampling.get()) {
+                peakThreads.accumulateAndGet(threads.getThreadCount(), Math::max);
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(5));
+            }
+        }, "Benchmark-Sampler");
+
+        long cpuStart = processCpuNanos();
+        long begin = System.nanoTime();
+        sampler.start();
+        List<Thread> producers = new ArrayList<>(PRODUCERS);
+        for (int p = 0; p < PRODUCERS; p++) {
+            int first = p;
+            Thread producer = new Thread(() -> {
+                // Each producer feeds its share of handlers
+                for (int h = first; h < handlerCount; h += PRODUCERS) {
+                    AsyncHandler handler = handlers.get(h);
+                    for (int i = 0; i < EVENTS_PER_HANDLER; i++) {
+                        handler.publish(EVENT);
+                    }
+                }
+            }, "Benchmark-Producer-" + p);
+            producer.start();
+            producers.add(producer);
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        done.await(5, TimeUnit.MINUTES);
+        double seconds = (System.nanoTime() - begin) / 1e9;
+        double cpuSeconds = (processCpuNanos() - cpuStart) / 1e9;
+        sampling.set(false);
+        sampler.join();
+
+        for (AsyncHandler handler : handlers) {
+            handler.close();
+        }
+
+        if (report) {
+            System.out.printf("%-9s %9d %,15.0f %18d %7.0f%%%n", virtualThreads ? "virtual" : "platform",
+                    handlerCount, (double) handlerCount * EVENTS_PER_HANDLER / seconds, peakThreads.get(),
+                    cpuSeconds >= 0 ? 100 * cpuSeconds / seconds : Double.NaN);
+        }
+    }
+
+    private static long processCpuNanos() {
+        if (ManagementFactory.getOperatingSystemMXBean() instanceof com.sun.management.OperatingSystemMXBean os) {
+            return os.getProcessCpuTime();
+        }
+        return -1;
+    }
+}
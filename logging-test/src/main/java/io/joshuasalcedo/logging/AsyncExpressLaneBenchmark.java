@@ -0,0 +1,146 @@
+package io.joshuasalcedo.logging;
+
+import io.joshuasalcedo.logging.async.AsyncConfiguration;
+import io.joshuasalcedo.logging.async.AsyncHandler;
+import io.joshuasalcedo.logging.core.Log;
+import io.joshuasalcedo.logging.core.LogLevel;
+import io.joshuasalcedo.logging.formatter.Formatter;
+import io.joshuasalcedo.logging.handler.Handler;
+import io.joshuasalcedo.logging.util.Histogram;
+
+import java.time.Instant;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Benchmark of ERROR latency through a saturated {@link AsyncHandler} with and
+ * without the express lane.
+ *
+ * <h2>What is measured</h2>
+ * <ul>
+ *   <li><b>Delivery latency</b>: time from {@code publish} of an ERROR to the
+ *       sink receiving it, while a producer keeps the queue full of DEBUG</li>
+ *   <li><b>Caller time</b>: time spent inside {@code publish} for the ERROR,
+ *       which is where flush-through waits</li>
+ *   <li><b>Lost</b>: ERRORs discarded because they arrived at a full queue</li>
+ * </ul>
+ * The sink spends {@value #SINK_MICROS_PER_EVENT} us per event, so a full
+ * queue of {@value #QUEUE_SIZE} events is a backlog of about 80 ms.
+ *
+ * <h2>Running the Benchmark</h2>
+ * <pre>
+ * mvn compile exec:java -Dexec.mainClass="io.joshuasalcedo.logging.AsyncExpressLaneBenchmark"
+ * </pre>
+ */
+public class AsyncExpressLaneBenchmark {
+
+    private static final int QUEUE_SIZE = 8192;
+    private static final long SINK_MICROS_PER_EVENT = 10;
+    private static final int SEVERE_EVENTS = 100;
+    private static final long SEVERE_INTERVAL_MILLIS = 20;
+    private static final int WARMUP_ROUNDS = 1;
+
+    /**
+     * Burns a fixed amount of CPU per event and times the ERRORs
+     */
+    private static final class SlowSink implements Handler {
+        final Histogram deliveryNanos = Histogram.powersOfTwo(TimeUnit.SECONDS.toNanos(10));
+        final CountDownLatch severeDone = new CountDownLatch(SEVERE_EVENTS);
+
+        @Override
+        public void publish(Log record) {
+            long until = System.nanoTime() + TimeUnit.MICROSECONDS.toNanos(SINK_MICROS_PER_EVENT);
+            while (System.nanoTime() < until) {
+                Thread.onSpinWait();
+            }
+            if (record.getLevel() == LogLevel.ERROR) {
+                deliveryNanos.record(System.nanoTime() - Long.parseLong(record.getMessage()));
+                severeDone.countDown();
+            }
+        }
+
+        @Override
+        public void setFormatter(Formatter formatter) {}
+
+        @Override
+        public void setLevel(LogLevel level) {}
+
+        @Override
+        public LogLevel getLevel() {
+            return LogLevel.DEBUG;
+        }
+
+        @Override
+        public void close() {}
+    }
+
+    private enum Mode { PLAIN, EXPRESS, FLUSH_THROUGH }
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== ASYNC EXPRESS LANE BENCHMARK ===");
+        System.out.printf("Queue %,d, sink %d us/event, %d ERRORs every %d ms under a DEBUG flood%n%n",
+                QUEUE_SIZE, SINK_MICROS_PER_EVENT, SEVERE_EVENTS, SEVERE_INTERVAL_MILLIS);
+
+        for (int round = 0; round <= WARMUP_ROUNDS; round++) {
+            boolean report = round == WARMUP_ROUNDS;
+            if (report) {
+                System.out.printf("%-14s %12s %12s %12s %14s %14s %6s%n",
+                        "Mode", "deliver p50", "deliver p99", "deliver max", "publish p99", "publish max", "Lost");
+            }
+            for (Mode mode : Mode.values()) {
+                run(mode, report);
+            }
+        }
+
+        System.out.println("\n=== BENCHMARK COMPLETED ===");
+    }
+
+    private static void run(Mode mode, boolean report) throws InterruptedException {
+        SlowSink sink = new SlowSink();
+        AsyncConfiguration config = new AsyncConfiguration();
+        config.setQueueSize(QUEUE_SIZE);
+        config.setExpressLane(mode != Mode.PLAIN);
+        if (mode == Mode.FLUSH_THROUGH) {
+            config.setFlushThroughLevel(LogLevel.ERROR);
+        }
+        AsyncHandler handler = new AsyncHandler(sink, config);
+
+        // Keep the queue saturated; overflow is discarded
+        AtomicBoolean flooding = new AtomicBoolean(true);
+        Log debug = new Log(LogLevel.DEBUG, "flood", "benchmark", Instant.EPOCH,
+                AsyncExpressLaneBenchmark.class.getName(), "flood", 0, null);
+        Thread flood = new Thread(() -> {
+            while (flooding.get()) {
+                handler.publish(debug);
+            }
+        }, "Benchmark-Flood");
+        flood.start();
+        Thread.sleep(200);
+
+        Histogram publishNanos = Histogram.powersOfTwo(TimeUnit.SECONDS.toNanos(10));
+        for (int i = 0; i < SEVERE_EVENTS; i++) {
+            long start = System.nanoTime();
+            handler.publish(new Log(LogLevel.ERROR, Long.toString(start), "benchmark", Instant.EPOCH,
+                    AsyncExpressLaneBenchmark.class.getName(), "run", 0, null));
+            publishNanos.record(System.nanoTime() - start);
+            Thread.sleep(SEVERE_INTERVAL_MILLIS);
+        }
+        sink.severeDone.await(2, TimeUnit.SECONDS);
+        flooding.set(false);
+        flood.join();
+        handler.close();
+
+        if (report) {
+            Histogram delivery = sink.deliveryNanos;
+            System.out.printf("%-14s %12s %12s %12s %14s %14s %6d%n", mode,
+                    millis(delivery.getPercentile(50)), millis(delivery.getPercentile(99)), millis(delivery.getMax()),
+                    millis(publishNanos.getPercentile(99)), millis(publishNanos.getMax()),
+                    handler.getDroppedLogsCount(LogLevel.ERROR));
+        }
+    }
+
+    private static String millis(long nanos) {
+        return String.format("%.3f ms", nanos / 1e6);
+    }
+}
@@ -0,0 +1,121 @@
+package io.joshuasalcedo.logging;
+
+import io.joshuasalcedo.logging.async.AsyncConfiguration;
+import io.joshuasalcedo.logging.async.AsyncHandler;
+import io.joshuasalcedo.logging.core.Log;
+import io.joshuasalcedo.logging.core.LogLevel;
+import io.joshuasalcedo.logging.formatter.Formatter;
+import io.joshuasalcedo.logging.formatter.JsonFormatter;
+import io.joshuasalcedo.logging.handler.Handler;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Benchmark of {@link AsyncHandler} formatting on its worker versus the
+ * two-stage pipeline with parallel formatters and a single writer.
+ *
+ * <h2>What is measured</h2>
+ * <ul>
+ *   <li><b>Throughput</b>: events per second from the first publish until the
+ *       writer has written the last event</li>
+ *   <li><b>Bytes</b>: formatted output per run, identical in every mode</li>
+ * </ul>
+ * Every event carries an exception, and the sink formats with a
+ * {@link JsonFormatter} that renders stack traces, so formatting dominates.
+ * Writing only counts characters, standing in for a fast sequential file.
+ * Parallel formatting cannot help beyond the machine's core count.
+ *
+ * <h2>Running the Benchmark</h2>
+ * <pre>
+ * mvn compile exec:java -Dexec.mainClass="io.joshuasalcedo.logging.AsyncPipelineBenchmark"
+ * </pre>
+ */
+public class AsyncPipelineBenchmark {
+
+    private static final int EVENTS = 200_000;
+    private static final int[] FORMAT_THREADS = {0, 1, 2, 4};
+    private static final int WARMUP_ROUNDS = 1;
+
+    private static final Log EVENT = new Log(LogLevel.ERROR, "request failed", "benchmark", Instant.EPOCH,
+            AsyncPipelineBenchmark.class.getName(), "run", 0,
+            new IllegalStateException("boom", new RuntimeException("cause")));
+
+    /**
+     * Formats on the worker unless handed encoded lines; writing only counts characters
+     */
+    private static final class CountingSink implements Handler {
+        private final Formatter formatter = new JsonFormatter(true);
+        private long written;
+
+        @Override
+        public void publish(Log record) {
+            written += formatter.format(record).length();
+        }
+
+        @Override
+        public Formatter getSharedFormatter() {
+            return formatter;
+        }
+
+        @Override
+        public void publishEncodedBatch(List<Log> records, List<String> encoded) {
+            for (String line : encoded) {
+                written += line.length();
+            }
+        }
+
+        @Override
+        public void setFormatter(Formatter formatter) {}
+
+        @Override
+        public void setLevel(LogLevel level) {}
+
+        @Override
+        public LogLevel getLevel() {
+            return LogLevel.DEBUG;
+        }
+
+        @Override
+        public void close() {}
+    }
+
+    public static void main(String[] args) {
+        System.out.println("=== ASYNC PIPELINE BENCHMARK ===");
+        System.out.printf("%,d ERROR events with stack traces, JSON formatting, %d cores%n%n",
+                EVENTS, Runtime.getRuntime().availableProcessors());
+
+        for (int round = 0; round <= WARMUP_ROUNDS; round++) {
+            boolean report = round == WARMUP_ROUNDS;
+            if (report) {
+                System.out.printf("%-16s %16s %14s%n", "Format threads", "Events/sec", "Bytes");
+            }
+            for (int threads : FORMAT_THREADS) {
+                run(threads, report);
+            }
+        }
+
+        System.out.println("\n=== BENCHMARK COMPLETED ===");
+    }
+
+    private static void run(int formatThreads, boolean report) {
+        CountingSink sink = new CountingSink();
+        AsyncConfiguration config = new AsyncConfiguration();
+        config.setQueueSize(16_384);
+        config.setDiscardOnOverflow(false);
+        config.setFormatThreads(formatThreads);
+        AsyncHandler handler = new AsyncHandler(sink, config);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < EVENTS; i++) {
+            handler.publish(EVENT);
+        }
+        handler.close();
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        if (report) {
+            System.out.printf("%-16s %,16.0f %,14d%n", formatThreads == 0 ? "0 (worker)" : formatThreads,
+                    EVENTS / seconds, sink.written);
+        }
+    }
+}
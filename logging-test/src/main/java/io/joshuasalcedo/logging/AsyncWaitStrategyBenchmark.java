@@ -0,0 +1,166 @@
+package io.joshuasalcedo.logging;
+
+import io.joshuasalcedo.logging.async.AsyncConfiguration;
+import io.joshuasalcedo.logging.async.AsyncHandler;
+import io.joshuasalcedo.logging.async.WaitStrategy;
+import io.joshuasalcedo.logging.core.Log;
+import io.joshuasalcedo.logging.core.LogLevel;
+import io.joshuasalcedo.logging.formatter.Formatter;
+import io.joshuasalcedo.logging.handler.Handler;
+import io.joshuasalcedo.logging.util.Histogram;
+
+import java.lang.management.ManagementFactory;
+import java.time.Instant;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Benchmark of end-to-end latency through {@link AsyncHandler} for each
+ * {@link WaitStrategy}.
+ *
+ * <h2>What is measured</h2>
+ * <ul>
+ *   <li><b>Latency</b>: time from {@code publish} to the wrapped handler
+ *       receiving the event. Each message carries its send time.</li>
+ *   <li><b>Paced</b>: one event every 100 μs, so the worker rarely idles long</li>
+ *   <li><b>Bursty</b>: bursts of 50 events separated by 10 ms of silence, so
+ *       every burst starts with a wake-up</li>
+ *   <li><b>CPU</b>: process CPU time per second of wall time during the run,
+ *       which shows what an idle worker costs</li>
+ * </ul>
+ *
+ * <h2>Running the Benchmark</h2>
+ * <pre>
+ * mvn compile exec:java -Dexec.mainClass="io.joshuasalcedo.logging.AsyncWaitStrategyBenchmark"
+ * </pre>
+ */
+public class AsyncWaitStrategyBenchmark {
+
+    private static final int PACED_EVENTS = 20_000;
+    private static final long PACED_INTERVAL_NANOS = 100_000;
+    private static final int BURSTS = 200;
+    private static final int BURST_SIZE = 50;
+    private static final long BURST_GAP_NANOS = 10_000_000;
+    private static final int WARMUP_ROUNDS = 1;
+
+    /**
+     * Records publish-to-delivery latency from the send time in each message
+     */
+    private static final class LatencySink implements Handler {
+        final Histogram nanos = Histogram.powersOfTwo(TimeUnit.SECONDS.toNanos(1));
+        final AtomicInteger received = new AtomicInteger();
+        final CountDownLatch done;
+        final int expected;
+
+        LatencySink(int expected) {
+            this.expected = expected;
+            this.done = new CountDownLatch(1);
+        }
+
+        @Override
+        public void publish(Log record) {
+            nanos.record(System.nanoTime() - Long.parseLong(record.getMessage()));
+            if (received.incrementAndGet() == expected) {
+                done.countDown();
+            }
+        }
+
+        @Override
+        public void setFormatter(Formatter formatter) {}
+
+        @Override
+        public void setLevel(LogLevel level) {}
+
+        @Override
+        public LogLevel getLevel() {
+            return LogLevel.DEBUG;
+        }
+
+        @Override
+        public void close() {}
+    }
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== ASYNC WAIT STRATEGY BENCHMARK ===");
+        System.out.printf("Paced: %,d events every %d us; bursty: %d bursts of %d every %d ms%n%n",
+                PACED_EVENTS, PACED_INTERVAL_NANOS / 1000, BURSTS, BURST_SIZE, BURST_GAP_NANOS / 1_000_000);
+
+        for (int round = 0; round <= WARMUP_ROUNDS; round++) {
+            boolean report = round == WARMUP_ROUNDS;
+            if (report) {
+                System.out.printf("%-10s %-7s %10s %10s %10s %10s %10s%n",
+                        "Strategy", "Load", "p50", "p99", "p99.9", "max", "CPU");
+            }
+            for (WaitStrategy strategy : WaitStrategy.values()) {
+                run(strategy, false, report);
+                run(strategy, true, report);
+            }
+        }
+
+        System.out.println("\n=== BENCHMARK COMPLETED ===");
+    }
+
+    private static void run(WaitStrategy strategy, boolean bursty, boolean report) throws InterruptedException {
+        int expected = bursty ? BURSTS * BURST_SIZE : PACED_EVENTS;
+        LatencySink sink = new LatencySink(expected);
+        AsyncConfiguration config = new AsyncConfiguration();
+        config.setWaitStrategy(strategy);
+        AsyncHandler handler = new AsyncHandler(sink, config);
+
+        long cpuStart = processCpuNanos();
+        long wallStart = System.nanoTime();
+        if (bursty) {
+            for (int burst = 0; burst < BURSTS; burst++) {
+                for (int i = 0; i < BURST_SIZE; i++) {
+                    handler.publish(event());
+                }
+                pauseNanos(BURST_GAP_NANOS);
+            }
+        } else {
+            for (int i = 0; i < PACED_EVENTS; i++) {
+                handler.publish(event());
+                pauseNanos(PACED_INTERVAL_NANOS);
+            }
+        }
+        sink.done.await(30, TimeUnit.SECONDS);
+        double wallSeconds = (System.nanoTime() - wallStart) / 1e9;
+        double cpuSeconds = (processCpuNanos() - cpuStart) / 1e9;
+        handler.close();
+
+        if (report) {
+            Histogram nanos = sink.nanos;
+            System.out.printf("%-10s %-7s %10s %10s %10s %10s %9.0f%%%n", strategy, bursty ? "bursty" : "paced",
+                    micros(nanos.getPercentile(50)), micros(nanos.getPercentile(99)),
+                    micros(nanos.getPercentile(99.9)), micros(nanos.getMax()),
+                    cpuSeconds >= 0 ? 100 * cpuSeconds / wallSeconds : Double.NaN);
+        }
+    }
+
+    // Skip the caller stack walk; the message is the send time
+    private static Log event() {
+        return new Log(LogLevel.INFO, Long.toString(System.nanoTime()), "benchmark", Instant.EPOCH,
+                AsyncWaitStrategyBenchmark.class.getName(), "run", 0, null);
+    }
+
+    // Park rather than spin so the producer never competes with the worker for a core
+    private static void pauseNanos(long nanos) {
+        long deadline = System.nanoTime() + nanos;
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    private static long processCpuNanos() {
+        if (ManagementFactory.getOperatingSystemMXBean() instanceof com.sun.management.OperatingSystemMXBean os) {
+            return os.getProcessCpuTime();
+        }
+        return -1;
+    }
+
+    private static String micros(long nanos) {
+        return String.format("%.1f us", nanos / 1000.0);
+    }
+}
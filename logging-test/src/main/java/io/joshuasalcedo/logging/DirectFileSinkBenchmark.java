@@ -0,0 +1,193 @@
+package io.joshuasalcedo.logging;
+
+import io.joshuasalcedo.logging.core.Log;
+import io.joshuasalcedo.logging.core.LogLevel;
+import io.joshuasalcedo.logging.handler.DirectFileHandler;
+import io.joshuasalcedo.logging.handler.FileHandler;
+import io.joshuasalcedo.logging.handler.Handler;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.FunctionDescriptor;
+import java.lang.foreign.Linker;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.lang.invoke.MethodHandle;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Benchmark comparing the O_DIRECT {@link DirectFileHandler} with the
+ * buffered {@link FileHandler}.
+ *
+ * <h2>What is measured</h2>
+ * <ul>
+ *   <li><b>Throughput</b>: a burst of events written as fast as possible,
+ *       including the final flush and close</li>
+ *   <li><b>Page cache</b>: how much of the finished log file is still resident
+ *       in the page cache, checked per page with {@code mincore(2)}, and the
+ *       change in the system-wide {@code Cached} figure from /proc/meminfo</li>
+ * </ul>
+ * Linux only for the page cache columns; elsewhere they show n/a.
+ *
+ * <h2>Running the Benchmark</h2>
+ * <pre>
+ * mvn compile exec:java -Dexec.mainClass="io.joshuasalcedo.logging.DirectFileSinkBenchmark"
+ * </pre>
+ * Run it on the file system you care about by passing a directory argument;
+ * the system temp directory is often tmpfs, which has no direct I/O.
+ */
+public class DirectFileSinkBenchmark {
+
+    private static final int EVENTS = 500_000;
+    private static final int WARMUP_ROUNDS = 1;
+    private static final String PAYLOAD = "x".repeat(80);
+
+    private interface SinkFactory {
+        Handler create(Path file) throws IOException;
+    }
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== DIRECT FILE SINK BENCHMARK ===");
+        System.out.printf("%,d events of ~%d bytes per run%n%n", EVENTS, PAYLOAD.length() + 40);
+
+        Path dir = args.length > 0
+                ? Files.createTempDirectory(Path.of(args[0]), "direct-benchmark")
+                : Files.createTempDirectory("direct-benchmark");
+        try {
+            for (int round = 0; round <= WARMUP_ROUNDS; round++) {
+                boolean report = round == WARMUP_ROUNDS;
+                if (report) {
+                    System.out.printf("%-10s %8s %15s %10s %14s %16s%n",
+                            "Sink", "Direct", "Events/sec", "MB/sec", "File cached", "System cached");
+                }
+                runSink("buffered", dir, file -> {
+                    FileHandler handler = new FileHandler(file.toString());
+                    handler.setFormatter(DirectFileSinkBenchmark::format);
+                    return handler;
+                }, report);
+                runSink("direct", dir, file -> {
+                    DirectFileHandler handler = new DirectFileHandler(file, 1024 * 1024, Long.MAX_VALUE, 1000);
+                    handler.setFormatter(DirectFileSinkBenchmark::format);
+                    return handler;
+                }, report);
+            }
+        } finally {
+            try (var files = Files.list(dir)) {
+                for (Path file : (Iterable<Path>) files::iterator) {
+                    Files.deleteIfExists(file);
+                }
+            }
+            Files.deleteIfExists(dir);
+        }
+
+        System.out.println("\n=== BENCHMARK COMPLETED ===");
+    }
+
+    private static void runSink(String name, Path dir, SinkFactory factory, boolean report) throws Exception {
+        Path file = dir.resolve(name + ".log");
+        Files.deleteIfExists(file);
+
+        Optional<Long> cachedBefore = systemCachedBytes();
+        Handler handler = factory.create(file);
+        long start = System.nanoTime();
+        for (int i = 0; i < EVENTS; i++) {
+            handler.publish(event(name));
+        }
+        handler.close();
+        double seconds = (System.nanoTime() - start) / 1e9;
+        Optional<Long> cachedAfter = systemCachedBytes();
+
+        long size = Files.size(file);
+        Optional<Long> fileCached = residentBytes(file);
+        boolean direct = handler instanceof DirectFileHandler directHandler && directHandler.isDirectIo();
+
+        if (report) {
+            System.out.printf("%-10s %8s %,15.0f %10.1f %14s %16s%n", name, direct ? "yes" : "no",
+                    EVENTS / seconds, size / seconds / (1024 * 1024),
+                    fileCached.map(bytes -> String.format("%.1f%%", 100.0 * bytes / Math.max(1, size)))
+                            .orElse("n/a"),
+                    cachedBefore.flatMap(before -> cachedAfter.map(after -> megabytes(after - before)))
+                            .orElse("n/a"));
+        }
+        Files.delete(file);
+    }
+
+    private static String format(Log record) {
+        return record.getTimestamp() + " INFO  " + record.getLoggerName() + " - " + record.getMessage();
+    }
+
+    // Skip the caller stack walk so the numbers reflect the sink
+    private static Log event(String name) {
+        return new Log(LogLevel.INFO, PAYLOAD, name, Instant.now(),
+                DirectFileSinkBenchmark.class.getName(), "runSink", 0, null);
+    }
+
+    private static String megabytes(long bytes) {
+        return String.format("%+.1f MB", bytes / (1024.0 * 1024.0));
+    }
+
+    /**
+     * The Cached line of /proc/meminfo; noisy, since other processes share it
+     */
+    private static Optional<Long> systemCachedBytes() {
+        try {
+            for (String line : Files.readAllLines(Path.of("/proc/meminfo"))) {
+                if (line.startsWith("Cached:")) {
+                    return Optional.of(Long.parseLong(line.replaceAll("[^0-9]", "")) * 1024);
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            // Not Linux
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Bytes of the file resident in the page cache, via mmap and mincore(2)
+     */
+    private static Optional<Long> residentBytes(Path file) {
+        try {
+            Linker linker = Linker.nativeLinker();
+            Optional<MemorySegment> mincoreSymbol = linker.defaultLookup().find("mincore");
+            Optional<MemorySegment> pageSizeSymbol = linker.defaultLookup().find("getpagesize");
+            if (mincoreSymbol.isEmpty() || pageSizeSymbol.isEmpty()) {
+                return Optional.empty();
+            }
+            MethodHandle mincore = linker.downcallHandle(mincoreSymbol.get(), FunctionDescriptor.of(
+                    ValueLayout.JAVA_INT, ValueLayout.ADDRESS, ValueLayout.JAVA_LONG, ValueLayout.ADDRESS));
+            MethodHandle getPageSize = linker.downcallHandle(pageSizeSymbol.get(),
+                    FunctionDescriptor.of(ValueLayout.JAVA_INT));
+            long pageSize = (int) getPageSize.invokeExact();
+
+            try (Arena arena = Arena.ofConfined();
+                 FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                long size = channel.size();
+                if (size == 0) {
+                    return Optional.of(0L);
+                }
+                MemorySegment mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size, arena);
+                long pages = (size + pageSize - 1) / pageSize;
+                MemorySegment vector = arena.allocate(pages);
+                int result = (int) mincore.invokeExact(mapped, size, vector);
+                if (result != 0) {
+                    return Optional.empty();
+                }
+
+                long resident = 0;
+                for (long page = 0; page < pages; page++) {
+                    if ((vector.get(ValueLayout.JAVA_BYTE, page) & 1) != 0) {
+                        resident += Math.min(pageSize, size - page * pageSize);
+                    }
+                }
+                return Optional.of(resident);
+            }
+        } catch (Throwable e) {
+            return Optional.empty();
+        }
+    }
+}
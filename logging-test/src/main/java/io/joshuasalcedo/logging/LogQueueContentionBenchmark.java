@@ -0,0 +1,130 @@
+package io.joshuasalcedo.logging;
+
+import io.joshuasalcedo.logging.async.queue.LogQueue;
+import io.joshuasalcedo.logging.async.queue.MemoryLogQueue;
+import io.joshuasalcedo.logging.async.queue.RingBufferLogQueue;
+import io.joshuasalcedo.logging.core.Log;
+import io.joshuasalcedo.logging.core.LogLevel;
+import io.joshuasalcedo.logging.util.Histogram;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+/**
+ * Benchmark comparing the lock-free {@link RingBufferLogQueue} with the
+ * {@link java.util.concurrent.LinkedBlockingQueue} behind {@link MemoryLogQueue}
+ * as producer count grows.
+ *
+ * <h2>What is measured</h2>
+ * <ul>
+ *   <li><b>Throughput</b>: a fixed number of events split across 1 to 64
+ *       producer threads, timed until a single consumer has drained them all
+ *       in batches</li>
+ *   <li><b>Enqueue latency</b>: time spent in {@code put} for every 32nd event,
+ *       including any wait for space</li>
+ * </ul>
+ * Every producer enqueues the same record so allocation does not mask the
+ * queue itself.
+ *
+ * <h2>Running the Benchmark</h2>
+ * <pre>
+ * mvn compile exec:java -Dexec.mainClass="io.joshuasalcedo.logging.LogQueueContentionBenchmark"
+ * </pre>
+ */
+public class LogQueueContentionBenchmark {
+
+    private static final int TOTAL_EVENTS = 4_000_000;
+    private static final int CAPACITY = 64 * 1024;
+    private static final int BATCH_SIZE = 256;
+    private static final int SAMPLE_EVERY = 32;
+    private static final int[] PRODUCER_COUNTS = {1, 2, 4, 8, 16, 32, 64};
+    private static final int WARMUP_ROUNDS = 1;
+
+    private static final Log EVENT = new Log(LogLevel.INFO, "queued event", "benchmark", Instant.now(),
+            LogQueueContentionBenchmark.class.getName(), "produce", 0, null);
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== LOG QUEUE CONTENTION BENCHMARK ===");
+        System.out.printf("%,d events per run, capacity %,d, one consumer draining %d at a time%n%n",
+                TOTAL_EVENTS, CAPACITY, BATCH_SIZE);
+
+        for (int round = 0; round <= WARMUP_ROUNDS; round++) {
+            boolean report = round == WARMUP_ROUNDS;
+            if (report) {
+                System.out.printf("%-10s %9s %15s %12s %12s %12s%n",
+                        "Queue", "Producers", "Events/sec", "put p50", "put p99", "put max");
+            }
+            for (int producers : PRODUCER_COUNTS) {
+                run("linked", producers, MemoryLogQueue::new, report);
+                run("ring", producers, RingBufferLogQueue::new, report);
+            }
+        }
+
+        System.out.println("\n=== BENCHMARK COMPLETED ===");
+    }
+
+    private static void run(String name, int producers, IntFunction<LogQueue> factory, boolean report)
+            throws InterruptedException {
+        LogQueue queue = factory.apply(CAPACITY);
+        Histogram putNanos = Histogram.powersOfTwo(TimeUnit.SECONDS.toNanos(1));
+        int perProducer = TOTAL_EVENTS / producers;
+        int expected = perProducer * producers;
+        CountDownLatch start = new CountDownLatch(1);
+
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            Thread producer = new Thread(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < perProducer; i++) {
+                        if (i % SAMPLE_EVERY == 0) {
+                            long begin = System.nanoTime();
+                            queue.put(EVENT);
+                            putNanos.record(System.nanoTime() - begin);
+                        } else {
+                            queue.put(EVENT);
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }, "Benchmark-Producer-" + p);
+            producer.start();
+            threads.add(producer);
+        }
+
+        List<Log> batch = new ArrayList<>(BATCH_SIZE);
+        long begin = System.nanoTime();
+        start.countDown();
+        int received = 0;
+        while (received < expected) {
+            Log first = queue.poll(1, TimeUnit.SECONDS);
+            if (first == null) {
+                throw new IllegalStateException(name + " stalled after " + received + " events");
+            }
+            batch.add(first);
+            queue.drainTo(batch, BATCH_SIZE - 1);
+            received += batch.size();
+            batch.clear();
+        }
+        double seconds = (System.nanoTime() - begin) / 1e9;
+
+        for (Thread producer : threads) {
+            producer.join();
+        }
+
+        if (report) {
+            System.out.printf("%-10s %9d %,15.0f %12s %12s %12s%n", name, producers, expected / seconds,
+                    micros(putNanos.getPercentile(50)), micros(putNanos.getPercentile(99)),
+                    micros(putNanos.getMax()));
+        }
+    }
+
+    private static String micros(long nanos) {
+        return String.format("%.2f us", nanos / 1000.0);
+    }
+}
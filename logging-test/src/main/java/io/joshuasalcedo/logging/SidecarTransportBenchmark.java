@@ -0,0 +1,261 @@
+package io.joshuasalcedo.logging;
+
+import io.joshuasalcedo.logging.core.Log;
+import io.joshuasalcedo.logging.core.LogLevel;
+import io.joshuasalcedo.logging.handler.Handler;
+import io.joshuasalcedo.logging.handler.SharedMemoryHandler;
+import io.joshuasalcedo.logging.handler.SharedMemoryRingReader;
+import io.joshuasalcedo.logging.handler.SocketHandler;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Benchmark comparing same-host shipping through {@link SharedMemoryHandler}
+ * with the TCP {@link SocketHandler}.
+ *
+ * <h2>What is measured</h2>
+ * <ul>
+ *   <li><b>Throughput</b>: a burst of events published as fast as possible,
+ *       timed until the receiving side has decoded the last one</li>
+ *   <li><b>Latency</b>: events published at a steady pace; each message carries
+ *       its send time, so the receiver records publish-to-receive latency</li>
+ * </ul>
+ * Both receivers run in this JVM so timestamps share a clock.
+ *
+ * <h2>Running the Benchmark</h2>
+ * <pre>
+ * mvn compile exec:java -Dexec.mainClass="io.joshuasalcedo.logging.SidecarTransportBenchmark"
+ * </pre>
+ */
+public class SidecarTransportBenchmark {
+
+    private static final int THROUGHPUT_EVENTS = 200_000;
+    private static final int LATENCY_EVENTS = 20_000;
+    private static final long LATENCY_PACE_NANOS = 20_000;
+    private static final int WARMUP_ROUNDS = 2;
+
+    /**
+     * Receiving side of one transport
+     */
+    private interface Receiver extends AutoCloseable {
+        Handler handler();
+
+        /** Start consuming; every received message is passed to the recorder */
+        void start(Recorder recorder);
+    }
+
+    /**
+     * Collects publish-to-receive latencies
+     */
+    private static final class Recorder {
+        final long[] latencies;
+        final CountDownLatch done;
+        int count;
+
+        Recorder(int expected) {
+            this.latencies = new long[expected];
+            this.done = new CountDownLatch(1);
+        }
+
+        void record(byte[] payload) {
+            long sent = Long.parseLong(new String(payload, StandardCharsets.US_ASCII));
+            latencies[count++] = System.nanoTime() - sent;
+            if (count == latencies.length) {
+                done.countDown();
+            }
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== SIDECAR TRANSPORT BENCHMARK ===");
+        System.out.printf("Throughput: %,d events per run; latency: %,d events every %d us%n%n",
+                THROUGHPUT_EVENTS, LATENCY_EVENTS, LATENCY_PACE_NANOS / 1000);
+
+        Path dir = Files.createTempDirectory("sidecar-benchmark");
+        try {
+            for (int round = 0; round <= WARMUP_ROUNDS; round++) {
+                boolean report = round == WARMUP_ROUNDS;
+                if (report) {
+                    System.out.printf("%-14s %15s %10s %10s %10s %10s%n",
+                            "Transport", "Events/sec", "p50 us", "p99 us", "p99.9 us", "max us");
+                }
+                runTransport("shared-memory", () -> new SharedMemoryReceiver(dir), report);
+                runTransport("tcp", TcpReceiver::new, report);
+            }
+        } finally {
+            try (var files = Files.list(dir)) {
+                for (Path file : (Iterable<Path>) files::iterator) {
+                    Files.deleteIfExists(file);
+                }
+            }
+            Files.deleteIfExists(dir);
+        }
+
+        System.out.println("\n=== BENCHMARK COMPLETED ===");
+    }
+
+    private interface ReceiverFactory {
+        Receiver create() throws IOException;
+    }
+
+    private static void runTransport(String name, ReceiverFactory factory, boolean report) throws Exception {
+        double eventsPerSecond;
+        try (Receiver receiver = factory.create()) {
+            Recorder recorder = new Recorder(THROUGHPUT_EVENTS);
+            receiver.start(recorder);
+
+            long start = System.nanoTime();
+            for (int i = 0; i < THROUGHPUT_EVENTS; i++) {
+                receiver.handler().publish(event(name));
+            }
+            awaitAll(recorder, name);
+            eventsPerSecond = THROUGHPUT_EVENTS / ((System.nanoTime() - start) / 1e9);
+            receiver.handler().close();
+        }
+
+        long[] latencies;
+        try (Receiver receiver = factory.create()) {
+            Recorder recorder = new Recorder(LATENCY_EVENTS);
+            receiver.start(recorder);
+
+            for (int i = 0; i < LATENCY_EVENTS; i++) {
+                receiver.handler().publish(event(name));
+                LockSupport.parkNanos(LATENCY_PACE_NANOS);
+            }
+            awaitAll(recorder, name);
+            latencies = recorder.latencies;
+            receiver.handler().close();
+        }
+
+        if (report) {
+            Arrays.sort(latencies);
+            System.out.printf("%-14s %,15.0f %10.1f %10.1f %10.1f %10.1f%n", name, eventsPerSecond,
+                    percentile(latencies, 0.50), percentile(latencies, 0.99),
+                    percentile(latencies, 0.999), latencies[latencies.length - 1] / 1000.0);
+        }
+    }
+
+    // Skip the caller stack walk so the numbers reflect the transport
+    private static Log event(String name) {
+        return new Log(LogLevel.INFO, Long.toString(System.nanoTime()), name, Instant.now(),
+                SidecarTransportBenchmark.class.getName(), "runTransport", 0, null);
+    }
+
+    private static void awaitAll(Recorder recorder, String name) throws InterruptedException {
+        if (!recorder.done.await(60, TimeUnit.SECONDS)) {
+            throw new IllegalStateException(name + ": only " + recorder.count + " events received");
+        }
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1);
+        return sorted[Math.max(index, 0)] / 1000.0;
+    }
+
+    /**
+     * Shared memory ring plus a consumer thread using the reader library
+     */
+    private static final class SharedMemoryReceiver implements Receiver {
+        private final SharedMemoryHandler handler;
+        private final SharedMemoryRingReader reader;
+        private Thread consumer;
+        private volatile boolean running = true;
+
+        SharedMemoryReceiver(Path dir) throws IOException {
+            Path ringFile = dir.resolve("ring");
+            Path doorbell = dir.resolve("doorbell.sock");
+            Files.deleteIfExists(ringFile);
+            this.handler = new SharedMemoryHandler(ringFile, doorbell, 64 * 1024 * 1024);
+            this.handler.setFormatter(Log::getMessage);
+            this.reader = new SharedMemoryRingReader(ringFile, doorbell);
+        }
+
+        @Override
+        public Handler handler() {
+            return handler;
+        }
+
+        @Override
+        public void start(Recorder recorder) {
+            consumer = new Thread(() -> {
+                try {
+                    while (running) {
+                        if (reader.poll(recorder::record, 4096) == 0) {
+                            reader.await(100, TimeUnit.MILLISECONDS);
+                        }
+                    }
+                } catch (IOException e) {
+                    System.err.println("Shared memory consumer failed: " + e.getMessage());
+                }
+            }, "SharedMemory-Consumer");
+            consumer.setDaemon(true);
+            consumer.start();
+        }
+
+        @Override
+        public void close() throws Exception {
+            running = false;
+            consumer.join();
+            reader.close();
+        }
+    }
+
+    /**
+     * Local TCP collector decoding SocketHandler's length-prefixed frames
+     */
+    private static final class TcpReceiver implements Receiver {
+        private final ServerSocketChannel server;
+        private final SocketHandler handler;
+        private Thread consumer;
+
+        TcpReceiver() throws IOException {
+            this.server = ServerSocketChannel.open();
+            server.bind(new InetSocketAddress("127.0.0.1", 0));
+            this.handler = new SocketHandler((InetSocketAddress) server.getLocalAddress(),
+                    THROUGHPUT_EVENTS, 64 * 1024);
+            this.handler.setFormatter(Log::getMessage);
+        }
+
+        @Override
+        public Handler handler() {
+            return handler;
+        }
+
+        @Override
+        public void start(Recorder recorder) {
+            consumer = new Thread(() -> {
+                try (SocketChannel client = server.accept();
+                     DataInputStream in = new DataInputStream(Channels.newInputStream(client))) {
+                    while (recorder.count < recorder.latencies.length) {
+                        byte[] payload = new byte[in.readInt()];
+                        in.readFully(payload);
+                        recorder.record(payload);
+                    }
+                } catch (IOException e) {
+                    // Connection closed
+                }
+            }, "Tcp-Consumer");
+            consumer.setDaemon(true);
+            consumer.start();
+        }
+
+        @Override
+        public void close() throws Exception {
+            server.close();
+            consumer.join(1000);
+        }
+    }
+}